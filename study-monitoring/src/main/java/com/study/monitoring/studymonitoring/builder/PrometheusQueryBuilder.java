@@ -5,25 +5,67 @@ import org.springframework.stereotype.Component;
 @Component
 public class PrometheusQueryBuilder {
 
-    public static String buildPrometheusQuery(String metricType, String aggregationType, String step, String application) {
-        String timeAggFunc = convertToPrometheusFunction(aggregationType);
-        String spaceAggFunc = convertToSpatialFunction(aggregationType);
-        String resolution = "1m";
+    // 로컬 집계용 원본 series 해상도 (recording rule 평가 주기와 같음)
+    public static final String RAW_RESOLUTION = "1m";
+    public static final long RAW_RESOLUTION_SECONDS = 60;
+
+    /**
+     * 로컬 집계용 원본 쿼리 (subquery 없이 1분 해상도로 조회)
+     * - 지표별 내부 식을 RAW_RESOLUTION step 의 query_range 로 받아
+     *   PrometheusStatisticsConverter.aggregateByStep 으로 avg / min / max / sum / count 를 한 번에 계산
+     * - Counter SUM 은 1분 increase 를 구간별로 더해 step 구간 increase 를 구함
+     * - step 과 무관한 쿼리라 어떤 조회 기간이든 같은 chunk 캐시를 재사용
+     * - recordedRule 이 있으면 내부 식을 다시 계산하지 않고 미리 계산된 series 를 읽음
+     *   (PrometheusRecordingRules.select 로 조회 구간 전체에 recorded series 가 있는 경우만 고름)
+     *
+     * @param recordedRule 사용할 recording rule (없으면 null)
+     * @return 원본 쿼리 (집계 방식은 localAggregationType 으로 구함)
+     */
+    public static String buildRawQuery(
+            String metricType, String aggregationType, String application, RecordingRule recordedRule) {
+        String selector = buildSelector(application);
+        String rawQuery;
+
+        if (isCounterMetric(metricType) && "SUM".equalsIgnoreCase(aggregationType)) {
+            rawQuery = getIncreaseExpression(metricType, RAW_RESOLUTION, selector);
+        } else {
+            String inner = recordedRule != null && !selector.isEmpty()
+                    ? recordedRule.selectExpression(selector)
+                    : buildInnerExpression(metricType, aggregationType, selector);
+            rawQuery = isPercentMetric(metricType) ? String.format("(%s) * 100", inner) : inner;
+        }
 
-        String selector = (application != null && !application.isBlank())
-                ? String.format("{application=\"%s\"}", application)
-                : "";
+        return withUpCheck(rawQuery, application, selector);
+    }
 
-        String upCheck = String.format("(max(up%s) or vector(0))", selector);
-        String baseQuery = "";
+    /**
+     * buildRawQuery 결과를 구간별로 집계할 방식 (avg_over_time / max_over_time ... 에 해당)
+     */
+    public static String localAggregationType(String metricType, String aggregationType) {
+        if ("DB_TRANSACTIONS".equalsIgnoreCase(metricType)) {
+            return "AVG";
+        }
+        if (isCounterMetric(metricType)) {
+            return switch (aggregationType.toUpperCase()) {
+                case "SUM", "MAX", "MIN" -> aggregationType.toUpperCase();
+                default -> "AVG";
+            };
+        }
+        return aggregationType.toUpperCase();
+    }
+
+    /**
+     * 지표별 내부 식 (1분 해상도, 퍼센트 변환(* 100) 제외)
+     */
+    private static String buildInnerExpression(String metricType, String aggregationType, String selector) {
+        String spaceAggFunc = convertToSpatialFunction(aggregationType);
 
         // Case 1: CPU Usage
         if ("CPU_USAGE".equalsIgnoreCase(metricType)) {
-            baseQuery = String.format("%s((%s(process_cpu_usage%s))[%s:%s]) * 100",
-                    timeAggFunc, spaceAggFunc, selector, step, resolution);
+            return String.format("%s(process_cpu_usage%s)", spaceAggFunc, selector);
         }
         // Case 2: Heap Usage (핵심 수정!)
-        else if ("HEAP_USAGE".equalsIgnoreCase(metricType)) {
+        if ("HEAP_USAGE".equalsIgnoreCase(metricType)) {
             String heapSelector = selector.isEmpty()
                     ? "{area=\"heap\"}"
                     : selector.replace("}", ", area=\"heap\"}");
@@ -41,45 +83,31 @@ public class PrometheusQueryBuilder {
             );
 
             // 비율 계산
-            String heapRatio = String.format(
+            return String.format(
                     "(%s / clamp_min(%s, 1))",
                     heapUsedQuery,
                     heapMaxQuery
             );
-
-            baseQuery = String.format("%s((%s)[%s:%s]) * 100",
-                    timeAggFunc, heapRatio, step, resolution);
         }
         // Case 3: Counter Metrics
-        else if (isCounterMetric(metricType)) {
-            String baseRate = getRateExpression(metricType, resolution, selector);
-            if ("SUM".equalsIgnoreCase(aggregationType)) {
-                baseQuery = getIncreaseExpression(metricType, step, selector);
-            } else {
-                baseQuery = switch (aggregationType.toUpperCase()) {
-                    case "AVG" -> String.format("avg_over_time((%s)[%s:%s])", baseRate, step, resolution);
-                    case "MAX" -> String.format("max_over_time((%s)[%s:%s])", baseRate, step, resolution);
-                    case "MIN" -> String.format("min_over_time((%s)[%s:%s])", baseRate, step, resolution);
-                    default -> String.format("avg_over_time((%s)[%s:%s])", baseRate, step, resolution);
-                };
-            }
+        if (isCounterMetric(metricType)) {
+            return getRateExpression(metricType, RAW_RESOLUTION, selector);
         }
         // Case 4: DB Connections
-        else if ("DB_CONNECTIONS".equalsIgnoreCase(metricType)) {
-            baseQuery = String.format("%s((sum(pg_stat_activity_count%s))[%s:%s])", timeAggFunc, selector, step, resolution);
+        if ("DB_CONNECTIONS".equalsIgnoreCase(metricType)) {
+            return String.format("sum(pg_stat_activity_count%s)", selector);
         }
         // Case 5: DB Size
-        else if ("DB_SIZE".equalsIgnoreCase(metricType)) {
-            baseQuery = String.format("%s((sum(pg_database_size_bytes%s))[%s:%s])", timeAggFunc, selector, step, resolution);
+        if ("DB_SIZE".equalsIgnoreCase(metricType)) {
+            return String.format("sum(pg_database_size_bytes%s)", selector);
         }
         // Case 6: DB Transactions
-        else if ("DB_TRANSACTIONS".equalsIgnoreCase(metricType)) {
-            String query = String.format("sum(rate(pg_stat_database_xact_commit%s[%s])) + sum(rate(pg_stat_database_xact_rollback%s[%s]))",
-                    selector, resolution, selector, resolution);
-            baseQuery = String.format("avg_over_time((%s)[%s:%s])", query, step, resolution);
+        if ("DB_TRANSACTIONS".equalsIgnoreCase(metricType)) {
+            return String.format("sum(rate(pg_stat_database_xact_commit%s[%s])) + sum(rate(pg_stat_database_xact_rollback%s[%s]))",
+                    selector, RAW_RESOLUTION, selector, RAW_RESOLUTION);
         }
         // Case 7: ES JVM Heap (동일한 로직 적용)
-        else if ("ES_JVM_HEAP".equalsIgnoreCase(metricType)) {
+        if ("ES_JVM_HEAP".equalsIgnoreCase(metricType)) {
             String esSelector = selector.isEmpty()
                     ? "{area=\"heap\"}"
                     : selector.replace("}", ", area=\"heap\"}");
@@ -95,35 +123,44 @@ public class PrometheusQueryBuilder {
                     esSelector, esSelector, esSelector
             );
 
-            String esHeapRatio = String.format(
+            return String.format(
                     "(%s / clamp_min(%s, 1))",
                     esHeapUsed,
                     esHeapMax
             );
-
-            baseQuery = String.format("%s((%s)[%s:%s]) * 100",
-                    timeAggFunc, esHeapRatio, step, resolution);
         }
         // Case 8: ES Data Size
-        else if ("ES_DATA_SIZE".equalsIgnoreCase(metricType)) {
-            baseQuery = String.format("%s((sum(elasticsearch_indices_store_size_bytes%s))[%s:%s])", timeAggFunc, selector, step, resolution);
+        if ("ES_DATA_SIZE".equalsIgnoreCase(metricType)) {
+            return String.format("sum(elasticsearch_indices_store_size_bytes%s)", selector);
         }
         // Case 9: ES CPU
-        else if ("ES_CPU".equalsIgnoreCase(metricType)) {
-            baseQuery = String.format("%s((avg(elasticsearch_process_cpu_percent%s))[%s:%s])", timeAggFunc, selector, step, resolution);
+        if ("ES_CPU".equalsIgnoreCase(metricType)) {
+            return String.format("avg(elasticsearch_process_cpu_percent%s)", selector);
         }
         // Default case
-        else {
-            String metricName = metricType.toLowerCase();
-            baseQuery = String.format("%s((%s(%s%s))[%s:%s])", timeAggFunc, spaceAggFunc, metricName, selector, step, resolution);
-        }
+        return String.format("%s(%s%s)", spaceAggFunc, metricType.toLowerCase(), selector);
+    }
+
+    private static String buildSelector(String application) {
+        return (application != null && !application.isBlank())
+                ? String.format("{application=\"%s\"}", application)
+                : "";
+    }
 
-        // UP 상태 체크
+    // UP 상태 체크 (애플리케이션이 내려가 있으면 0)
+    private static String withUpCheck(String query, String application, String selector) {
         if (application != null && !application.isBlank()) {
-            return String.format("(%s) * %s", baseQuery, upCheck);
+            String upCheck = String.format("(max(up%s) or vector(0))", selector);
+            return String.format("(%s) * %s", query, upCheck);
         }
+        return query;
+    }
 
-        return baseQuery;
+    // 0~1 비율을 퍼센트로 변환하는 지표
+    private static boolean isPercentMetric(String metricType) {
+        return "CPU_USAGE".equalsIgnoreCase(metricType)
+                || "HEAP_USAGE".equalsIgnoreCase(metricType)
+                || "ES_JVM_HEAP".equalsIgnoreCase(metricType);
     }
 
     private static boolean isCounterMetric(String metricType) {
@@ -157,7 +194,7 @@ public class PrometheusQueryBuilder {
         return "";
     }
 
-    private static String convertToSpatialFunction(String aggregationType) {
+    static String convertToSpatialFunction(String aggregationType) {
         return switch (aggregationType.toUpperCase()) {
             case "MAX" -> "max";
             case "MIN" -> "min";
@@ -166,15 +203,4 @@ public class PrometheusQueryBuilder {
             default -> "avg";
         };
     }
-
-    private static String convertToPrometheusFunction(String aggregationType) {
-        return switch (aggregationType.toUpperCase()) {
-            case "AVG" -> "avg_over_time";
-            case "MAX" -> "max_over_time";
-            case "MIN" -> "min_over_time";
-            case "SUM" -> "sum_over_time";
-            case "COUNT" -> "count_over_time";
-            default -> "avg_over_time";
-        };
-    }
-}
\ No newline at end of file
+}
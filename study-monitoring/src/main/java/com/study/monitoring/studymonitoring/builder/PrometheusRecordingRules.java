@@ -0,0 +1,138 @@
+package com.study.monitoring.studymonitoring.builder;
+
+import com.study.monitoring.studymonitoring.service.PrometheusService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PrometheusQueryBuilder 용 recording rule 생성 + 적용 여부 확인
+ * 특징:
+ * - RecordingRule 목록을 Prometheus rule 파일(YAML)로 생성 (GET /api/metrics/recording-rules)
+ * - 기동 직후 + 주기적으로 recorded series 가 실제로 기록되고 있는지, 언제부터 있는지 확인 (probe)
+ * - 확인된 rule 은 select 로 조회 (StatisticsServiceImpl 이 buildRawQuery 에 넘김) → 그 시각 이후 구간 조회는 recorded series 사용
+ *
+ * 주의:
+ * - recorded series 는 rule 을 적용한 시점부터만 생기므로, 그 이전 구간이 포함된 조회는 원래 식으로 계산
+ * - rule 을 제거하면 다음 probe 부터 원래 식으로 돌아감
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PrometheusRecordingRules {
+
+    private static final String GROUP_NAME = "study-monitoring";
+
+    // recorded series 시작 시각 탐색 해상도 (probe 결과는 이만큼 뒤로 미뤄서 사용)
+    private static final long PROBE_RESOLUTION_SECONDS = 3600;
+
+    private final PrometheusService prometheusService;
+
+    @Value("${monitoring.prometheus.recording-rules.enabled:true}")
+    private boolean enabled;
+
+    @Value("${monitoring.retention.prometheus-days:30}")
+    private int prometheusDays;
+
+    // recording rule → recorded series 가 있는 시작 시각 (epoch second), probe 때마다 통째로 교체
+    private volatile Map<RecordingRule, Long> recordedSince = Map.of();
+
+    /**
+     * Prometheus rule 파일 (rule_files 에 추가해서 사용)
+     * - 평가 주기는 원본 해상도(1m)와 같게 지정
+     */
+    public String toYaml() {
+        StringBuilder yaml = new StringBuilder();
+        yaml.append("groups:\n");
+        yaml.append("  - name: ").append(GROUP_NAME).append('\n');
+        yaml.append("    interval: ").append(PrometheusQueryBuilder.RAW_RESOLUTION).append('\n');
+        yaml.append("    rules:\n");
+        for (RecordingRule rule : RecordingRule.values()) {
+            yaml.append("      - record: ").append(rule.record()).append('\n');
+            yaml.append("        expr: ").append(quote(rule.expr())).append('\n');
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * 조회에 사용할 recording rule
+     * - 애플리케이션이 지정되어 있고, 해당 rule 의 recorded series 가 start 이전부터 있을 때만
+     *
+     * @param metricType CPU_USAGE, HEAP_USAGE ...
+     * @param aggregationType AVG, MAX, MIN, SUM, COUNT
+     * @param application 애플리케이션 (없으면 사용하지 않음)
+     * @param start 조회 시작 (epoch second)
+     * @return rule (없으면 null → 원래 내부 식으로 계산)
+     */
+    public RecordingRule select(String metricType, String aggregationType, String application, long start) {
+        if (application == null || application.isBlank()) {
+            return null;
+        }
+        return RecordingRule.find(metricType, PrometheusQueryBuilder.convertToSpatialFunction(aggregationType))
+                .filter(rule -> {
+                    Long since = recordedSince.get(rule);
+                    return since != null && since <= start;
+                })
+                .orElse(null);
+    }
+
+    /**
+     * recorded series 확인 (기동 직후 + 주기적)
+     * - 지금도 기록되고 있는 rule 만, 보관 기간 안에서 처음 기록된 시각과 함께 보관
+     * - rule 선택이 바뀌면 쿼리 문자열도 바뀌므로 PrometheusRangeCache 의 기존 chunk 는 그대로 둠 (LRU 로 밀려남)
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${monitoring.prometheus.recording-rules.probe-ms:600000}")
+    public void probe() {
+        if (!enabled) {
+            recordedSince = Map.of();
+            return;
+        }
+
+        Map<RecordingRule, Long> probed = new EnumMap<>(RecordingRule.class);
+        for (RecordingRule rule : RecordingRule.values()) {
+            try {
+                Double since = firstRecordedAt(rule);
+                if (since != null) {
+                    probed.put(rule, since.longValue() + PROBE_RESOLUTION_SECONDS);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to probe recording rule {}: reason={}", rule.record(), e.getMessage());
+            }
+        }
+
+        recordedSince = Map.copyOf(probed);
+        log.info("Recording rules available: {}/{}", probed.size(), RecordingRule.values().length);
+    }
+
+    /**
+     * recorded series 가 처음 기록된 시각 (지금 기록되고 있지 않으면 null)
+     */
+    private Double firstRecordedAt(RecordingRule rule) {
+        String query = String.format(
+                "min_over_time(timestamp(count(%s))[%dd:%ds]) and count(%s)",
+                rule.record(), prometheusDays, PROBE_RESOLUTION_SECONDS, rule.record());
+        Map<String, Object> response = prometheusService.queryInstance(query);
+
+        if (!(response.get("data") instanceof Map<?, ?> data)
+                || !(data.get("result") instanceof List<?> result)
+                || result.isEmpty()
+                || !(result.get(0) instanceof Map<?, ?> first)
+                || !(first.get("value") instanceof List<?> value)
+                || value.size() < 2) {
+            return null;
+        }
+        double since = Double.parseDouble(String.valueOf(value.get(1)));
+        return Double.isFinite(since) ? since : null;
+    }
+
+    // YAML 작은따옴표 문자열 (PromQL 의 큰따옴표를 그대로 둘 수 있음)
+    private static String quote(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
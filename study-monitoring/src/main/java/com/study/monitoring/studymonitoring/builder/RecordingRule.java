@@ -0,0 +1,108 @@
+package com.study.monitoring.studymonitoring.builder;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * PrometheusQueryBuilder 내부 식(1분 해상도)에 대응하는 Prometheus recording rule 목록
+ * - record 이름은 Prometheus 권장 형식 level:metric:operations
+ * - expr 은 애플리케이션 selector 없이 by (application) 으로 미리 계산 → 조회 시 {application="..."} 로 선택
+ * - rate 윈도우는 RAW_RESOLUTION(1m), rule 평가 주기도 1m (PrometheusRecordingRules.toYaml)
+ *
+ * 내부 식과 결과 라벨 맞추기:
+ * - 내부 식이 sum(...), avg(...) 처럼 라벨이 없으면 sum(record{application="..."}) 로 감싸서 라벨 제거
+ *   (애플리케이션당 series 1개라 sum 은 값을 바꾸지 않음)
+ * - 내부 식이 sum by (application) 이면 record{application="..."} 그대로
+ */
+public enum RecordingRule {
+
+    CPU_USAGE_AVG("CPU_USAGE", "avg", "application:process_cpu_usage:avg",
+            "avg by (application) (process_cpu_usage)", false),
+    CPU_USAGE_MAX("CPU_USAGE", "max", "application:process_cpu_usage:max",
+            "max by (application) (process_cpu_usage)", false),
+    CPU_USAGE_MIN("CPU_USAGE", "min", "application:process_cpu_usage:min",
+            "min by (application) (process_cpu_usage)", false),
+    CPU_USAGE_SUM("CPU_USAGE", "sum", "application:process_cpu_usage:sum",
+            "sum by (application) (process_cpu_usage)", false),
+    CPU_USAGE_COUNT("CPU_USAGE", "count", "application:process_cpu_usage:count",
+            "count by (application) (process_cpu_usage)", false),
+
+    HEAP_USAGE("HEAP_USAGE", null, "application:jvm_memory_heap_used:ratio",
+            "(sum by (application) (jvm_memory_used_bytes{area=\"heap\"}) / clamp_min(" +
+                    "((sum by (application) (jvm_memory_max_bytes{area=\"heap\"}) > 0) * sum by (application) (jvm_memory_max_bytes{area=\"heap\"}) " +
+                    "or sum by (application) (jvm_memory_committed_bytes{area=\"heap\"})), 1))", true),
+
+    TPS("TPS", null, "application:http_server_requests:rate1m",
+            "sum by (application) (rate(http_server_requests_seconds_count[1m]))", false),
+
+    ERROR_RATE("ERROR_RATE", null, "application:http_server_requests_errors:ratio_rate1m",
+            "(sum by (application) (rate(http_server_requests_seconds_count{status=~\"5..\"}[1m])) / " +
+                    "clamp_min(sum by (application) (rate(http_server_requests_seconds_count[1m])), 0.001)) * 100", false),
+
+    DB_CONNECTIONS("DB_CONNECTIONS", null, "application:pg_stat_activity_count:sum",
+            "sum by (application) (pg_stat_activity_count)", false),
+
+    DB_SIZE("DB_SIZE", null, "application:pg_database_size_bytes:sum",
+            "sum by (application) (pg_database_size_bytes)", false),
+
+    DB_TRANSACTIONS("DB_TRANSACTIONS", null, "application:pg_stat_database_xact:rate1m",
+            "sum by (application) (rate(pg_stat_database_xact_commit[1m])) + " +
+                    "sum by (application) (rate(pg_stat_database_xact_rollback[1m]))", false),
+
+    ES_JVM_HEAP("ES_JVM_HEAP", null, "application:elasticsearch_jvm_memory_heap_used:ratio",
+            "(sum by (application) (elasticsearch_jvm_memory_used_bytes{area=\"heap\"}) / clamp_min(" +
+                    "((sum by (application) (elasticsearch_jvm_memory_max_bytes{area=\"heap\"}) > 0) * sum by (application) (elasticsearch_jvm_memory_max_bytes{area=\"heap\"}) " +
+                    "or sum by (application) (elasticsearch_jvm_memory_committed_bytes{area=\"heap\"})), 1))", true),
+
+    ES_DATA_SIZE("ES_DATA_SIZE", null, "application:elasticsearch_indices_store_size_bytes:sum",
+            "sum by (application) (elasticsearch_indices_store_size_bytes)", false),
+
+    ES_CPU("ES_CPU", null, "application:elasticsearch_process_cpu_percent:avg",
+            "avg by (application) (elasticsearch_process_cpu_percent)", false);
+
+    private final String metricType;
+    private final String spatialFunction;  // null 이면 집계 방식과 무관한 내부 식
+    private final String record;
+    private final String expr;
+    private final boolean keepsApplicationLabel;
+
+    RecordingRule(String metricType, String spatialFunction, String record, String expr, boolean keepsApplicationLabel) {
+        this.metricType = metricType;
+        this.spatialFunction = spatialFunction;
+        this.record = record;
+        this.expr = expr;
+        this.keepsApplicationLabel = keepsApplicationLabel;
+    }
+
+    public String record() {
+        return record;
+    }
+
+    public String expr() {
+        return expr;
+    }
+
+    /**
+     * 지표 + 공간 집계 함수에 해당하는 rule
+     *
+     * @param metricType CPU_USAGE, HEAP_USAGE ...
+     * @param spatialFunction avg, max, min, sum, count
+     */
+    public static Optional<RecordingRule> find(String metricType, String spatialFunction) {
+        return Arrays.stream(values())
+                .filter(rule -> rule.metricType.equalsIgnoreCase(metricType))
+                .filter(rule -> rule.spatialFunction == null || rule.spatialFunction.equals(spatialFunction))
+                .findFirst();
+    }
+
+    /**
+     * 내부 식 대신 사용할 recorded series 선택식 (내부 식과 같은 라벨)
+     *
+     * @param selector {application="..."}
+     */
+    public String selectExpression(String selector) {
+        return keepsApplicationLabel
+                ? record + selector
+                : String.format("sum(%s%s)", record, selector);
+    }
+}
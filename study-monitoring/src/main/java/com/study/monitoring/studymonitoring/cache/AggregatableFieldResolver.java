@@ -0,0 +1,157 @@
+package com.study.monitoring.studymonitoring.cache;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.FieldCapsResponse;
+import co.elastic.clients.elasticsearch.core.field_caps.FieldCapability;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 집계 가능한 필드 이름 결정 (_field_caps 기반)
+ * 특징:
+ * - 로그 인덱스마다 문자열 필드가 text + .keyword 로 들어오거나 keyword 로 바로 들어오는 경우가 섞여 있음
+ * - 예전에는 .keyword 로 집계해 보고 비어 있으면 한 번 더 검색했지만,
+ *   _field_caps 로 실제 매핑을 확인해 두고 처음부터 맞는 필드로 한 번만 집계
+ * - 기동 직후 알려진 인덱스 패턴을 미리 조회하고, 주기적으로 다시 조회해 새 일자 인덱스(rollover) 매핑을 반영
+ * 주의:
+ * - _field_caps 조회가 실패하면 .keyword 기본값을 캐시하고 retry-ms 가 지난 뒤에 다시 조회
+ *   (ES 장애 중에 집계 요청마다 _field_caps 를 다시 부르지 않도록)
+ * - 패턴별 필드 맵은 덮어쓰지 않고 합침 (처음 보는 필드를 동시에 조회해도 서로의 결과가 사라지지 않음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AggregatableFieldResolver {
+
+    private static final String KEYWORD_SUFFIX = ".keyword";
+
+    // 기동 시 미리 조회할 인덱스 패턴 → 기본 필드 (.keyword 없는 이름)
+    private static final Map<String, List<String>> KNOWN_FIELDS = Map.of(
+            "error-logs-*", List.of("error.type", "log_level"),
+            "security-logs-*", List.of("security.threat_level", "security.attack_type")
+    );
+
+    private final ElasticsearchClient elasticsearchClient;
+
+    @Value("${monitoring.elasticsearch.field-caps-retry-ms:30000}")
+    private long retryMs;
+
+    // 인덱스 패턴 → (기본 필드 → 집계에 사용할 필드)
+    private final Map<String, Map<String, String>> resolved = new ConcurrentHashMap<>();
+
+    // 인덱스 패턴 → 조회 실패 후 다시 조회할 시각 (epoch ms, 이 시각 전까지는 캐시된 기본값 사용)
+    private final Map<String, Long> retryAfter = new ConcurrentHashMap<>();
+
+    // 인덱스 패턴 → 마지막 조회 시점의 실제 인덱스 목록 (rollover 감지용)
+    private final Map<String, List<String>> indicesByPattern = new ConcurrentHashMap<>();
+
+    /**
+     * 집계에 사용할 필드 이름
+     *
+     * @param indexPattern 인덱스 패턴
+     * @param field 기본 필드 이름 (예: error.type)
+     * @return field.keyword 또는 field (매핑을 알 수 없으면 field.keyword)
+     */
+    public String resolve(String indexPattern, String field) {
+        Map<String, String> fields = resolved.get(indexPattern);
+        Long retryAt = retryAfter.get(indexPattern);
+        boolean cached = fields != null && fields.containsKey(field);
+        boolean retryDue = retryAt != null && System.currentTimeMillis() >= retryAt;
+
+        if (cached && !retryDue) {
+            return fields.get(field);
+        }
+        if (retryAt != null && !retryDue) {
+            // 최근 조회가 실패한 패턴 → 다시 조회하지 않고 기본값 캐시
+            return fieldsOf(indexPattern).computeIfAbsent(field, f -> f + KEYWORD_SUFFIX);
+        }
+
+        // 처음 보는 패턴/필드 또는 실패 후 재시도 시각이 지난 패턴은 한 번 조회해서 캐시
+        Set<String> baseFields = new LinkedHashSet<>(fields != null ? fields.keySet() : Set.of());
+        baseFields.add(field);
+        return load(indexPattern, baseFields).getOrDefault(field, field + KEYWORD_SUFFIX);
+    }
+
+    /**
+     * 기동 직후 + 주기적으로 매핑 다시 조회 (새 일자 인덱스 생성 대비)
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${monitoring.elasticsearch.field-caps-refresh-ms:300000}")
+    public void refresh() {
+        Map<String, Set<String>> targets = new HashMap<>();
+        KNOWN_FIELDS.forEach((pattern, fields) -> targets.put(pattern, new LinkedHashSet<>(fields)));
+        resolved.forEach((pattern, fields) ->
+                targets.computeIfAbsent(pattern, p -> new LinkedHashSet<>()).addAll(fields.keySet()));
+
+        targets.forEach(this::load);
+    }
+
+    private Map<String, String> load(String indexPattern, Set<String> baseFields) {
+        List<String> requestFields = new ArrayList<>();
+        for (String field : baseFields) {
+            requestFields.add(field);
+            requestFields.add(field + KEYWORD_SUFFIX);
+        }
+
+        try {
+            FieldCapsResponse response = elasticsearchClient.fieldCaps(f -> f
+                    .index(Arrays.stream(indexPattern.split(",")).map(String::trim).toList())
+                    .fields(requestFields)
+                    .ignoreUnavailable(true)
+                    .allowNoIndices(true));
+
+            Map<String, String> fields = new HashMap<>();
+            for (String field : baseFields) {
+                // .keyword 우선 (기존 1순위와 동일), 없으면 기본 필드가 keyword 로 매핑된 경우
+                // 둘 다 없으면(아직 인덱스가 없는 경우 등) .keyword 로 두고 다음 refresh 에서 다시 확인
+                if (!isAggregatable(response, field + KEYWORD_SUFFIX) && isAggregatable(response, field)) {
+                    fields.put(field, field);
+                } else {
+                    fields.put(field, field + KEYWORD_SUFFIX);
+                }
+            }
+
+            List<String> previousIndices = indicesByPattern.put(indexPattern, response.indices());
+            if (previousIndices != null && !previousIndices.equals(response.indices())) {
+                log.info("Index set changed for {}: {} → {} indices", indexPattern,
+                        previousIndices.size(), response.indices().size());
+            }
+
+            retryAfter.remove(indexPattern);
+            Map<String, String> cachedFields = fieldsOf(indexPattern);
+            Map<String, String> changed = new HashMap<>();
+            fields.forEach((field, aggregatable) -> {
+                if (!aggregatable.equals(cachedFields.put(field, aggregatable))) {
+                    changed.put(field, aggregatable);
+                }
+            });
+            if (!changed.isEmpty()) {
+                log.info("Resolved aggregatable fields for {}: {}", indexPattern, changed);
+            }
+            return cachedFields;
+        } catch (Exception e) {
+            log.warn("Failed to load field capabilities: indexPattern={}, retry in {}ms, reason={}",
+                    indexPattern, retryMs, e.getMessage());
+            retryAfter.put(indexPattern, System.currentTimeMillis() + retryMs);
+
+            // 이미 확인된 필드는 그대로 두고, 처음 보는 필드만 .keyword 기본값으로 캐시
+            Map<String, String> cachedFields = fieldsOf(indexPattern);
+            baseFields.forEach(field -> cachedFields.putIfAbsent(field, field + KEYWORD_SUFFIX));
+            return cachedFields;
+        }
+    }
+
+    private Map<String, String> fieldsOf(String indexPattern) {
+        return resolved.computeIfAbsent(indexPattern, p -> new ConcurrentHashMap<>());
+    }
+
+    private boolean isAggregatable(FieldCapsResponse response, String field) {
+        Map<String, FieldCapability> capabilities = response.fields().get(field);
+        return capabilities != null && capabilities.values().stream().anyMatch(FieldCapability::aggregatable);
+    }
+}
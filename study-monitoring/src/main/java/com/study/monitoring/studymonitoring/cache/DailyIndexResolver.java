@@ -0,0 +1,171 @@
+package com.study.monitoring.studymonitoring.cache;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.cat.indices.IndicesRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 일자별 인덱스 pruning
+ * 특징:
+ * - Logstash 는 access-logs-%{+YYYY.MM.dd} 처럼 @timestamp(UTC) 기준 일자 인덱스에 기록
+ * - 조회 기간과 겹치는 일자 인덱스만 골라서 search 대상으로 지정 (1시간 조회가 90일치 shard 로 퍼지지 않도록)
+ * - 실제 인덱스 목록은 주기적으로 _cat/indices 로 갱신
+ *
+ * 주의:
+ * - 범위 쿼리(ElasticsearchQueryUtil.buildDateRangeQuery)는 zone 없는 ISO 문자열이라 ES 에서 UTC 로 해석되므로
+ *   LocalDateTime 의 날짜를 그대로 인덱스 일자로 사용
+ * - 마지막 갱신 이후 새로 생긴 일자 인덱스를 놓치지 않도록, 목록에 없는 최근 일자는 wildcard 로 포함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DailyIndexResolver {
+
+    private static final DateTimeFormatter INDEX_DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+    // 기동 시 미리 조회할 인덱스 prefix
+    private static final List<String> KNOWN_PREFIXES = List.of(
+            "application-logs-", "access-logs-", "error-logs-", "performance-metrics-",
+            "database-logs-", "audit-logs-", "security-logs-"
+    );
+
+    // 인덱스 이름을 나열한 결과가 이보다 길면 wildcard 그대로 사용 (요청 라인 길이 제한 대비)
+    private static final int MAX_TARGET_LENGTH = 2000;
+
+    private final ElasticsearchClient elasticsearchClient;
+
+    // prefix → 실제 open 인덱스 이름 목록
+    private final Map<String, List<String>> indicesByPrefix = new ConcurrentHashMap<>();
+
+    // 마지막으로 목록을 갱신한 날짜 (UTC)
+    private volatile LocalDate refreshedOn;
+
+    /**
+     * 조회 기간에 해당하는 인덱스 목록
+     *
+     * @param indexPattern 인덱스 패턴 (예: access-logs-*, 콤마로 여러 개 가능)
+     * @param start 조회 시작 (null 이면 pruning 하지 않음)
+     * @param end 조회 종료 (null 이면 pruning 하지 않음)
+     * @return 콤마로 연결한 search 대상 (pruning 할 수 없으면 원래 패턴)
+     */
+    public String resolve(String indexPattern, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || start.isAfter(end)) {
+            return indexPattern;
+        }
+
+        List<String> targets = new ArrayList<>();
+        for (String part : indexPattern.split(",")) {
+            String pattern = part.trim();
+            targets.addAll(resolvePart(pattern, start.toLocalDate(), end.toLocalDate()));
+        }
+
+        String resolved = String.join(",", targets);
+        if (resolved.length() > MAX_TARGET_LENGTH) {
+            return indexPattern;
+        }
+        log.debug("Resolved indices: {} [{} ~ {}] → {}", indexPattern, start, end, resolved);
+        return resolved;
+    }
+
+    /**
+     * 실제 인덱스 목록 갱신 (기동 직후 + 주기적)
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${monitoring.elasticsearch.index-refresh-ms:60000}")
+    public void refresh() {
+        Set<String> prefixes = new LinkedHashSet<>(KNOWN_PREFIXES);
+        prefixes.addAll(indicesByPrefix.keySet());
+
+        try {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            List<IndicesRecord> records = elasticsearchClient.cat().indices(c -> c
+                    .index(prefixes.stream().map(prefix -> prefix + "*").toList())).valueBody();
+
+            Map<String, List<String>> loaded = new HashMap<>();
+            prefixes.forEach(prefix -> loaded.put(prefix, new ArrayList<>()));
+            for (IndicesRecord record : records) {
+                if (record.index() == null || "close".equals(record.status())) {
+                    continue;
+                }
+                for (String prefix : prefixes) {
+                    if (record.index().startsWith(prefix)) {
+                        loaded.get(prefix).add(record.index());
+                    }
+                }
+            }
+
+            indicesByPrefix.putAll(loaded);
+            refreshedOn = today;
+            log.debug("Refreshed index list: {} indices", records.size());
+        } catch (Exception e) {
+            log.warn("Failed to refresh index list: reason={}", e.getMessage());
+        }
+    }
+
+    private List<String> resolvePart(String pattern, LocalDate from, LocalDate to) {
+        // prefix-* 형태만 pruning 대상
+        if (!pattern.endsWith("-*") || pattern.indexOf('*') != pattern.length() - 1) {
+            return List.of(pattern);
+        }
+
+        String prefix = pattern.substring(0, pattern.length() - 1);
+        List<String> known = indicesByPrefix.get(prefix);
+        LocalDate lastRefresh = refreshedOn;
+        if (known == null || lastRefresh == null) {
+            // 아직 목록이 없으면 다음 갱신 때 함께 조회
+            indicesByPrefix.putIfAbsent(prefix, List.of());
+            return List.of(pattern);
+        }
+        if (known.isEmpty()) {
+            return List.of(pattern);
+        }
+
+        List<String> targets = new ArrayList<>();
+        Set<LocalDate> coveredDates = new HashSet<>();
+        for (String index : known) {
+            LocalDate date = parseIndexDate(index.substring(prefix.length()));
+            if (date == null) {
+                // 일자 형식이 아닌 인덱스는 기간을 알 수 없으므로 항상 포함
+                targets.add(index);
+            } else if (!date.isBefore(from) && !date.isAfter(to)) {
+                targets.add(index);
+                coveredDates.add(date);
+            }
+        }
+
+        // 마지막 갱신 이후 생겼을 수 있는 일자 인덱스 (없으면 wildcard 라 오류 없이 무시됨)
+        for (LocalDate date = lastRefresh.isAfter(from) ? lastRefresh : from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!coveredDates.contains(date)) {
+                targets.add(prefix + INDEX_DATE.format(date) + "*");
+            }
+        }
+
+        if (targets.isEmpty()) {
+            // 기간 안에 인덱스가 하나도 없으면 원래 패턴 (결과는 비어 있음)
+            return List.of(pattern);
+        }
+        if (targets.size() >= known.size() && targets.stream().allMatch(known::contains)) {
+            // 모든 인덱스가 대상이면 wildcard 그대로 사용
+            return List.of(pattern);
+        }
+        return targets;
+    }
+
+    private LocalDate parseIndexDate(String suffix) {
+        try {
+            return LocalDate.parse(suffix, INDEX_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
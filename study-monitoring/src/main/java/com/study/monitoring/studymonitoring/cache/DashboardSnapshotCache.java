@@ -0,0 +1,204 @@
+package com.study.monitoring.studymonitoring.cache;
+
+import com.study.monitoring.studymonitoring.model.dto.response.DashboardResponseDTO;
+import com.study.monitoring.studymonitoring.service.DashboardService;
+import com.study.monitoring.studymonitoring.service.MetricsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 대시보드 스냅샷 캐시
+ * 특징:
+ * - Prometheus 수집 주기(15초)마다 대시보드 개요, 프로세스 현황, 애플리케이션별 현재 메트릭을 백그라운드에서 미리 계산
+ * - 요청은 마지막 스냅샷을 그대로 반환 (보는 사람 수와 관계없이 백엔드 조회는 주기당 1회)
+ * - 갱신이 실패하거나 느리면 이전 스냅샷을 계속 반환하고, max-stale 을 넘으면 요청 시점에 비동기 재갱신 (stale-while-revalidate)
+ *   (재갱신은 spring.task.execution 설정의 applicationTaskExecutor 에서 실행)
+ * - 요청으로 추가된 애플리케이션은 idle-evict-ms 동안 요청이 없으면 스냅샷 대상에서 제외
+ * - 응답에 generatedAt(생성 시각), snapshotAgeMs(경과 시간)를 포함
+ *
+ * 주의:
+ * - 기동 직후처럼 스냅샷이 아직 없으면 요청 스레드에서 한 번 직접 계산
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardSnapshotCache {
+
+    // 대시보드 메트릭 요약에 항상 포함되는 애플리케이션
+    private static final List<String> DEFAULT_APPLICATIONS = List.of("eng-study", "monitoring");
+
+    // 요청 파라미터로 들어온 애플리케이션까지 포함한 최대 스냅샷 대상 수
+    private static final int MAX_APPLICATIONS = 100;
+
+    private final DashboardService dashboardService;
+    private final MetricsService metricsService;
+    // Spring Boot 기본 비동기 실행기 (spring.task.execution.pool.*)
+    private final TaskExecutor applicationTaskExecutor;
+
+    @Value("${monitoring.dashboard.snapshot.max-stale-ms:60000}")
+    private long maxStaleMs;
+
+    @Value("${monitoring.dashboard.snapshot.idle-evict-ms:600000}")
+    private long idleEvictMs;
+
+    private record Snapshot<T>(T value, long generatedAt) {
+
+        long ageMs() {
+            return System.currentTimeMillis() - generatedAt;
+        }
+    }
+
+    private volatile Snapshot<DashboardResponseDTO> overview;
+    private volatile Snapshot<Map<String, Object>> processes;
+    private final Map<String, Snapshot<Map<String, Object>>> currentMetrics = new ConcurrentHashMap<>();
+
+    // 요청으로 들어온 애플리케이션 → 마지막 요청 시각 (epoch ms)
+    private final Map<String, Long> lastRequestedAt = new ConcurrentHashMap<>();
+
+    // 갱신이 겹치지 않도록 (주기 갱신 + 요청 시점 재갱신)
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * 대시보드 개요 (GET /api/dashboard/overview)
+     */
+    public DashboardResponseDTO getOverview() {
+        Snapshot<DashboardResponseDTO> snapshot = overview;
+        if (snapshot == null) {
+            snapshot = loadOverview();
+        } else {
+            revalidateIfStale(snapshot);
+        }
+
+        DashboardResponseDTO value = snapshot.value();
+        return new DashboardResponseDTO(value.getProcesses(), value.getMetrics(), value.getRecentErrors(),
+                value.getLogCounts(), value.getStatistics(), snapshot.generatedAt(), snapshot.ageMs());
+    }
+
+    /**
+     * 프로세스 현황 (GET /api/dashboard/processes)
+     */
+    public Map<String, Object> getProcessStatus() {
+        Snapshot<Map<String, Object>> snapshot = processes;
+        if (snapshot == null) {
+            snapshot = loadProcessStatus();
+        } else {
+            revalidateIfStale(snapshot);
+        }
+        return withAge(snapshot);
+    }
+
+    /**
+     * 애플리케이션 현재 메트릭 (GET /api/metrics/current)
+     * - 처음 요청된 애플리케이션은 직접 조회 후 다음 주기부터 스냅샷 대상에 포함
+     * - 요청마다 마지막 요청 시각 기록 (idle-evict-ms 동안 요청이 없으면 다음 갱신 때 제외)
+     */
+    public Map<String, Object> getCurrentMetrics(String application) {
+        long now = System.currentTimeMillis();
+        boolean tracked = lastRequestedAt.containsKey(application) || lastRequestedAt.size() < MAX_APPLICATIONS;
+        if (tracked) {
+            lastRequestedAt.put(application, now);
+        }
+
+        Snapshot<Map<String, Object>> snapshot = currentMetrics.get(application);
+        if (snapshot == null) {
+            snapshot = new Snapshot<>(metricsService.getCurrentMetrics(application), now);
+            if (tracked) {
+                currentMetrics.put(application, snapshot);
+            }
+        } else {
+            revalidateIfStale(snapshot);
+        }
+        return withAge(snapshot);
+    }
+
+    /**
+     * 전체 스냅샷 갱신 (기동 직후 + 주기적)
+     * - 항목별로 따로 갱신하므로 한 백엔드가 실패해도 나머지는 갱신되고, 실패한 항목은 이전 스냅샷 유지
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${monitoring.dashboard.snapshot.refresh-ms:15000}")
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            try {
+                overview = new Snapshot<>(dashboardService.getDashboardOverview(), System.currentTimeMillis());
+            } catch (Exception e) {
+                log.warn("Failed to refresh dashboard overview snapshot: reason={}", e.getMessage());
+            }
+            try {
+                processes = new Snapshot<>(dashboardService.getProcessStatus(), System.currentTimeMillis());
+            } catch (Exception e) {
+                log.warn("Failed to refresh process status snapshot: reason={}", e.getMessage());
+            }
+            try {
+                long generatedAt = System.currentTimeMillis();
+                Set<String> applications = knownApplications();
+                currentMetrics.keySet().retainAll(applications);
+                metricsService.getCurrentMetrics(applications)
+                        .forEach((application, metrics) ->
+                                currentMetrics.put(application, new Snapshot<>(metrics, generatedAt)));
+            } catch (Exception e) {
+                log.warn("Failed to refresh current metrics snapshot: reason={}", e.getMessage());
+            }
+            log.debug("Refreshed dashboard snapshot in {}ms", System.currentTimeMillis() - startedAt);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private synchronized Snapshot<DashboardResponseDTO> loadOverview() {
+        if (overview == null) {
+            overview = new Snapshot<>(dashboardService.getDashboardOverview(), System.currentTimeMillis());
+        }
+        return overview;
+    }
+
+    private synchronized Snapshot<Map<String, Object>> loadProcessStatus() {
+        if (processes == null) {
+            processes = new Snapshot<>(dashboardService.getProcessStatus(), System.currentTimeMillis());
+        }
+        return processes;
+    }
+
+    /**
+     * 스냅샷이 max-stale 보다 오래됐으면 (주기 갱신이 실패 중이거나 밀린 경우) 비동기로 재갱신
+     */
+    private void revalidateIfStale(Snapshot<?> snapshot) {
+        if (snapshot.ageMs() > maxStaleMs && !refreshing.get()) {
+            applicationTaskExecutor.execute(this::refresh);
+        }
+    }
+
+    /**
+     * 현재 메트릭 스냅샷 대상: 기본 애플리케이션 + 등록된 프로세스 + 최근 idle-evict-ms 안에 요청된 애플리케이션
+     */
+    private Set<String> knownApplications() {
+        Set<String> applications = new LinkedHashSet<>(DEFAULT_APPLICATIONS);
+        Snapshot<DashboardResponseDTO> snapshot = overview;
+        if (snapshot != null && snapshot.value().getProcesses() != null) {
+            snapshot.value().getProcesses().forEach(process -> applications.add(process.getProcessName()));
+        }
+        long idleBefore = System.currentTimeMillis() - idleEvictMs;
+        lastRequestedAt.values().removeIf(requestedAt -> requestedAt < idleBefore);
+        applications.addAll(lastRequestedAt.keySet());
+        applications.remove(null);
+        return applications;
+    }
+
+    private Map<String, Object> withAge(Snapshot<Map<String, Object>> snapshot) {
+        Map<String, Object> response = new HashMap<>(snapshot.value());
+        response.put("generatedAt", snapshot.generatedAt());
+        response.put("snapshotAgeMs", snapshot.ageMs());
+        return response;
+    }
+}
@@ -0,0 +1,418 @@
+package com.study.monitoring.studymonitoring.cache;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.json.JsonData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 시간대별 분포(date_histogram) 버킷 캐시
+ * 특징:
+ * - 종료 시각이 지난(닫힌) 버킷은 다시 바뀌지 않으므로 버킷 단위로 보관하고 재사용
+ * - 캐시에 없는 구간(보통 아직 열려 있는 마지막 버킷)만 filter 집계로 감싸 다시 조회
+ * - 키: (인덱스 패턴, 집계 형태, 필터, interval, 버킷 시작 시각) / LRU 로 최대 개수 제한
+ * - 빈 버킷도 문서 수 0 인 항목으로 그대로 보관하고, 응답에 보일지는 요청마다 assemble 에서 결정
+ *   (ES 와 같이 첫 데이터 버킷 ~ 마지막 데이터 버킷, extended_bounds 가 있으면 그 요청의 bounds 까지)
+ *   → bounds 가 다른 요청끼리 캐시를 공유해도 uncached 조회와 같은 버킷 목록
+ *
+ * 사용 흐름:
+ * 1. plan() 으로 조회 계획 생성
+ * 2. plan.aggregations() 를 기존 search 의 aggregations 에 합쳐서 실행 (모두 캐시에 있으면 생략 가능)
+ * 3. plan.assemble(응답 aggregations) 로 캐시 버킷 + 새로 조회한 버킷을 시간 순으로 합침
+ */
+@Slf4j
+@Component
+public class HistogramBucketCache {
+
+    // run filter 집계 안의 date_histogram 이름
+    private static final String BUCKETS = "buckets";
+
+    // 한 번의 조회 계획에서 다룰 최대 버킷 수 (초과 시 캐시 없이 그대로 조회)
+    private static final int MAX_PLAN_BUCKETS = 5000;
+
+    private final Map<BucketKey, CachedBucket> buckets;
+    private final long settleMs;
+
+    public HistogramBucketCache(
+            @Value("${monitoring.cache.histogram.max-buckets:50000}") int maxBuckets,
+            @Value("${monitoring.cache.histogram.settle-seconds:60}") long settleSeconds) {
+        this.buckets = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BucketKey, CachedBucket> eldest) {
+                return size() > maxBuckets;
+            }
+        });
+        this.settleMs = settleSeconds * 1000;
+    }
+
+    /**
+     * 버킷 캐시 키
+     *
+     * @param indexPattern 인덱스 패턴
+     * @param shape 집계 형태 (집계 이름, 예: logs_over_time)
+     * @param filter 시간 범위를 제외한 필터 (예: 로그 레벨)
+     * @param intervalMs 버킷 크기
+     * @param bucketStart 버킷 시작 시각 (epoch ms)
+     */
+    public record BucketKey(String indexPattern, String shape, String filter, long intervalMs, long bucketStart) {}
+
+    /**
+     * 캐시된 버킷
+     *
+     * @param docCount 버킷 문서 수 (0 이면 요청의 데이터 범위 / bounds 에 따라 응답에 포함 여부 결정)
+     * @param entry bucketDecoder 결과
+     */
+    record CachedBucket(long docCount, Map<String, Object> entry) {}
+
+    /**
+     * 조회 계획 생성
+     *
+     * @param indexPattern 인덱스 패턴
+     * @param shape 집계 형태 (응답 aggregations 이름의 prefix 로도 사용)
+     * @param filter 시간 범위를 제외한 필터 값 (없으면 빈 문자열)
+     * @param start 조회 시작
+     * @param end 조회 종료
+     * @param interval fixed interval (1h, 1d, 7d ...)
+     * @param zone 버킷 정렬 기준 time zone (date_histogram 의 time_zone 과 동일해야 함)
+     * @param extendedBounds 원래 조회가 extended_bounds(start, end) 로 빈 버킷을 채우는지 여부
+     * @param histogramFactory (bounds 시작, bounds 종료) → extended_bounds 를 지정한 date_histogram 집계
+     *                         (둘 다 null 이면 extended_bounds 없이, 캐시 조회 구간은 항상 구간 전체를 bounds 로 지정)
+     * @param bucketDecoder 버킷 → 응답 항목
+     * @return HistogramPlan
+     */
+    public HistogramPlan plan(
+            String indexPattern,
+            String shape,
+            String filter,
+            LocalDateTime start,
+            LocalDateTime end,
+            String interval,
+            ZoneId zone,
+            boolean extendedBounds,
+            BiFunction<LocalDateTime, LocalDateTime, Aggregation> histogramFactory,
+            Function<DateHistogramBucket, Map<String, Object>> bucketDecoder)
+    {
+        Duration intervalDuration = parseInterval(interval);
+        if (start == null || end == null || intervalDuration == null) {
+            return HistogramPlan.passthrough(shape, originalHistogram(histogramFactory, extendedBounds, start, end),
+                    bucketDecoder);
+        }
+
+        long intervalMs = intervalDuration.toMillis();
+
+        // 범위 쿼리(ElasticsearchQueryUtil.buildDateRangeQuery)는 zone 없는 ISO 문자열이라 ES 에서 UTC 로 해석된다.
+        long queryStartMs = start.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long queryEndMs = end.toInstant(ZoneOffset.UTC).toEpochMilli();
+        // extended_bounds 는 histogram time zone 기준
+        long boundsStartMs = start.atZone(zone).toInstant().toEpochMilli();
+        long boundsEndMs = end.atZone(zone).toInstant().toEpochMilli();
+
+        long first = alignToBucket(extendedBounds ? Math.min(queryStartMs, boundsStartMs) : queryStartMs,
+                intervalMs, zone);
+        long last = extendedBounds ? Math.max(queryEndMs, boundsEndMs) : queryEndMs;
+        if ((last - first) / intervalMs > MAX_PLAN_BUCKETS) {
+            return HistogramPlan.passthrough(shape, originalHistogram(histogramFactory, extendedBounds, start, end),
+                    bucketDecoder);
+        }
+
+        long closedBefore = System.currentTimeMillis() - settleMs;
+        List<Slot> slots = new ArrayList<>();
+        for (long bucketStart = first; bucketStart <= last; bucketStart += intervalMs) {
+            long bucketEnd = bucketStart + intervalMs;
+            // 조회 범위에 버킷 전체가 포함되고, 이미 닫힌 버킷만 캐시 대상
+            boolean cacheable = bucketStart >= queryStartMs && bucketEnd - 1 <= queryEndMs && bucketEnd <= closedBefore;
+            BucketKey key = new BucketKey(indexPattern, shape, filter, intervalMs, bucketStart);
+            slots.add(new Slot(key, cacheable, cacheable ? buckets.get(key) : null));
+        }
+
+        // 이 요청에서 빈 버킷을 채울 범위 (extended_bounds 의 시작/종료가 속한 버킷)
+        long boundsFirst = extendedBounds ? alignToBucket(boundsStartMs, intervalMs, zone) : Long.MAX_VALUE;
+        long boundsLast = extendedBounds ? alignToBucket(boundsEndMs, intervalMs, zone) : Long.MIN_VALUE;
+
+        HistogramPlan plan = new HistogramPlan(this, shape, intervalMs, zone,
+                boundsFirst, boundsLast, slots, histogramFactory, bucketDecoder);
+        log.debug("Histogram plan: shape={}, buckets={}, cached={}, runs={}",
+                shape, slots.size(), plan.cachedCount(), plan.runs.size());
+        return plan;
+    }
+
+    /**
+     * 캐시를 쓰지 않는 조회 계획 (근사 집계처럼 버킷 값이 매번 달라질 수 있는 경우)
+     *
+     * @param shape 집계 이름
+     * @param histogram date_histogram 집계
+     * @param bucketDecoder 버킷 → 응답 항목
+     * @return HistogramPlan
+     */
+    public HistogramPlan uncached(
+            String shape,
+            Aggregation histogram,
+            Function<DateHistogramBucket, Map<String, Object>> bucketDecoder)
+    {
+        return HistogramPlan.passthrough(shape, histogram, bucketDecoder);
+    }
+
+    /**
+     * 캐시 전체 비우기 (인덱스 재색인 등으로 과거 데이터가 바뀐 경우)
+     */
+    public void clear() {
+        buckets.clear();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void store(BucketKey key, CachedBucket bucket) {
+        buckets.put(key, bucket);
+    }
+
+    private static Aggregation originalHistogram(
+            BiFunction<LocalDateTime, LocalDateTime, Aggregation> histogramFactory,
+            boolean extendedBounds, LocalDateTime start, LocalDateTime end) {
+        return extendedBounds ? histogramFactory.apply(start, end) : histogramFactory.apply(null, null);
+    }
+
+    /**
+     * ES fixed_interval + time_zone 과 같은 방식으로 버킷 시작 시각 계산
+     */
+    private static long alignToBucket(long epochMs, long intervalMs, ZoneId zone) {
+        long offsetMs = zone.getRules().getOffset(Instant.ofEpochMilli(epochMs)).getTotalSeconds() * 1000L;
+        return Math.floorDiv(epochMs + offsetMs, intervalMs) * intervalMs - offsetMs;
+    }
+
+    private static Duration parseInterval(String interval) {
+        if (interval == null || interval.length() < 2) {
+            return null;
+        }
+        try {
+            long amount = Long.parseLong(interval.substring(0, interval.length() - 1));
+            return switch (interval.charAt(interval.length() - 1)) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                case 'h' -> Duration.ofHours(amount);
+                case 'd' -> Duration.ofDays(amount);
+                default -> null;
+            };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Slot(BucketKey key, boolean cacheable, CachedBucket cached) {}
+
+    // 캐시에 없는 연속 구간 [start, end)
+    private record Run(long start, long end) {}
+
+    /**
+     * 한 번의 분포 조회 계획
+     */
+    public static final class HistogramPlan {
+
+        private final HistogramBucketCache cache;
+        private final String shape;
+        private final long intervalMs;
+        private final ZoneId zone;
+        private final long boundsFirst;
+        private final long boundsLast;
+        private final List<Slot> slots;
+        private final List<Run> runs;
+        private final BiFunction<LocalDateTime, LocalDateTime, Aggregation> histogramFactory;
+        private final Function<DateHistogramBucket, Map<String, Object>> bucketDecoder;
+
+        // 캐시를 쓰지 않는 경우의 단일 집계
+        private final Aggregation passthroughAggregation;
+
+        private HistogramPlan(HistogramBucketCache cache, String shape, long intervalMs, ZoneId zone,
+                              long boundsFirst, long boundsLast, List<Slot> slots,
+                              BiFunction<LocalDateTime, LocalDateTime, Aggregation> histogramFactory,
+                              Function<DateHistogramBucket, Map<String, Object>> bucketDecoder) {
+            this.cache = cache;
+            this.shape = shape;
+            this.intervalMs = intervalMs;
+            this.zone = zone;
+            this.boundsFirst = boundsFirst;
+            this.boundsLast = boundsLast;
+            this.slots = slots;
+            this.runs = toRuns(slots, intervalMs);
+            this.histogramFactory = histogramFactory;
+            this.bucketDecoder = bucketDecoder;
+            this.passthroughAggregation = null;
+        }
+
+        private HistogramPlan(String shape, Aggregation passthroughAggregation,
+                              Function<DateHistogramBucket, Map<String, Object>> bucketDecoder) {
+            this.cache = null;
+            this.shape = shape;
+            this.intervalMs = 0;
+            this.zone = null;
+            this.boundsFirst = Long.MAX_VALUE;
+            this.boundsLast = Long.MIN_VALUE;
+            this.slots = List.of();
+            this.runs = List.of();
+            this.histogramFactory = null;
+            this.bucketDecoder = bucketDecoder;
+            this.passthroughAggregation = passthroughAggregation;
+        }
+
+        private static HistogramPlan passthrough(String shape, Aggregation aggregation,
+                                                 Function<DateHistogramBucket, Map<String, Object>> bucketDecoder) {
+            return new HistogramPlan(shape, aggregation, bucketDecoder);
+        }
+
+        /**
+         * 모든 버킷이 캐시에 있는지 여부 (true 면 ES 조회 없이 assemble 가능)
+         */
+        public boolean isFullyCached() {
+            return passthroughAggregation == null && runs.isEmpty();
+        }
+
+        /**
+         * ES 에 보낼 집계 (캐시에 없는 연속 구간마다 filter(range) → date_histogram)
+         * - extended_bounds 를 구간 전체로 지정해 모든 버킷(빈 버킷 포함)을 받아 캐시에 저장
+         */
+        public Map<String, Aggregation> aggregations() {
+            if (passthroughAggregation != null) {
+                return Map.of(shape, passthroughAggregation);
+            }
+
+            Map<String, Aggregation> aggregations = new HashMap<>();
+            for (int i = 0; i < runs.size(); i++) {
+                Run run = runs.get(i);
+                Aggregation histogram = histogramFactory.apply(toLocal(run.start()), toLocal(run.end() - 1));
+
+                aggregations.put(runName(i), Aggregation.of(a -> a
+                        .filter(f -> f.range(r -> r
+                                .field("@timestamp")
+                                .gte(JsonData.of(run.start()))
+                                .lt(JsonData.of(run.end()))
+                                .format("epoch_millis")))
+                        .aggregations(BUCKETS, histogram)));
+            }
+            return aggregations;
+        }
+
+        /**
+         * 캐시 버킷과 응답 버킷을 시간 순으로 합치고, 새로 닫힌 버킷은 캐시에 저장
+         * - 빈 버킷은 ES 와 같은 규칙으로 포함: 첫 데이터 버킷 ~ 마지막 데이터 버킷 사이,
+         *   extended_bounds 가 있으면 이 요청의 bounds 버킷까지 확장
+         *
+         * @param aggregations search 응답의 aggregations (isFullyCached 이면 빈 Map 가능)
+         * @return 분포 목록
+         */
+        public List<Map<String, Object>> assemble(Map<String, Aggregate> aggregations) {
+            if (passthroughAggregation != null) {
+                return decodeAll(aggregations != null ? aggregations.get(shape) : null);
+            }
+
+            Map<Long, CachedBucket> fetched = new HashMap<>();
+            for (int i = 0; i < runs.size(); i++) {
+                Run run = runs.get(i);
+                Aggregate runAggregate = aggregations != null ? aggregations.get(runName(i)) : null;
+                if (runAggregate == null || !runAggregate.isFilter()) {
+                    // 응답이 없으면 이 구간은 캐시에 저장하지 않음
+                    continue;
+                }
+                Aggregate histogram = runAggregate.filter().aggregations().get(BUCKETS);
+                if (histogram == null || !histogram.isDateHistogram()) {
+                    continue;
+                }
+                for (DateHistogramBucket bucket : histogram.dateHistogram().buckets().array()) {
+                    long key = bucket.key();
+                    if (key >= run.start() && key < run.end()) {
+                        fetched.put(key, new CachedBucket(bucket.docCount(), bucketDecoder.apply(bucket)));
+                    }
+                }
+            }
+
+            // 슬롯별 버킷 (캐시 또는 이번 응답) + 새로 닫힌 버킷 저장
+            List<CachedBucket> resolved = new ArrayList<>(slots.size());
+            long firstData = Long.MAX_VALUE;
+            long lastData = Long.MIN_VALUE;
+            for (Slot slot : slots) {
+                CachedBucket bucket = slot.cached();
+                if (bucket == null) {
+                    bucket = fetched.get(slot.key().bucketStart());
+                    if (bucket != null && slot.cacheable()) {
+                        cache.store(slot.key(), bucket);
+                    }
+                }
+                resolved.add(bucket);
+                if (bucket != null && bucket.docCount() > 0) {
+                    firstData = Math.min(firstData, slot.key().bucketStart());
+                    lastData = Math.max(lastData, slot.key().bucketStart());
+                }
+            }
+
+            long visibleFirst = Math.min(firstData, boundsFirst);
+            long visibleLast = Math.max(lastData, boundsLast);
+            List<Map<String, Object>> distribution = new ArrayList<>();
+            for (int i = 0; i < slots.size(); i++) {
+                CachedBucket bucket = resolved.get(i);
+                long bucketStart = slots.get(i).key().bucketStart();
+                if (bucket == null || bucketStart < visibleFirst || bucketStart > visibleLast) {
+                    continue;
+                }
+                // 호출 측에서 수정해도 캐시 값이 바뀌지 않도록 복사
+                distribution.add(new HashMap<>(bucket.entry()));
+            }
+            return distribution;
+        }
+
+        private int cachedCount() {
+            return (int) slots.stream().filter(slot -> slot.cached() != null).count();
+        }
+
+        private List<Map<String, Object>> decodeAll(Aggregate aggregate) {
+            List<Map<String, Object>> distribution = new ArrayList<>();
+            if (aggregate != null && aggregate.isDateHistogram()) {
+                aggregate.dateHistogram().buckets().array()
+                        .forEach(bucket -> distribution.add(bucketDecoder.apply(bucket)));
+            }
+            return distribution;
+        }
+
+        private String runName(int index) {
+            return shape + "_run_" + index;
+        }
+
+        private LocalDateTime toLocal(long epochMs) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), zone);
+        }
+
+        private static List<Run> toRuns(List<Slot> slots, long intervalMs) {
+            List<Run> runs = new ArrayList<>();
+            Long runStart = null;
+            long runEnd = 0;
+            for (Slot slot : slots) {
+                if (slot.cached() != null) {
+                    if (runStart != null) {
+                        runs.add(new Run(runStart, runEnd));
+                        runStart = null;
+                    }
+                    continue;
+                }
+                if (runStart == null) {
+                    runStart = slot.key().bucketStart();
+                }
+                runEnd = slot.key().bucketStart() + intervalMs;
+            }
+            if (runStart != null) {
+                runs.add(new Run(runStart, runEnd));
+            }
+            return runs;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.study.monitoring.studymonitoring.cache;
+
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder;
+import com.study.monitoring.studymonitoring.util.PrometheusStep;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * Prometheus range query 결과 캐시 (query frontend 방식)
+ * 특징:
+ * - 요청 구간을 step 배수로 정렬한 뒤 chunk(기본 1일) 단위로 나눔
+ * - 이미 지나간(닫힌) chunk 결과는 (query, step, chunk 시작) 키로 보관하고 재사용
+ * - 캐시에 없는 연속 chunk 들만 한 번의 query_range 로 조회한 뒤 chunk 별로 나눠 저장
+ * - 현재 진행 중인 chunk(now - settle 이후)는 매번 조회하고 저장하지 않음
+ * - 응답은 chunk 결과를 series(라벨) 별로 이어 붙이고 요청 구간만 잘라서 반환
+ * - LRU 로 전체 샘플 수(Σ series.size()) 제한 (chunk 수가 아니라 크기 기준)
+ *
+ * 주의:
+ * - 시작 시각을 step 배수로 내림하므로 평가 시각이 요청 start 와 최대 step 미만만큼 다를 수 있음
+ *   (같은 step 이면 어떤 요청이든 같은 평가 시각 → chunk 재사용 가능)
+ * - 조회 실패(fetcher 예외) 구간은 저장하지 않음
+ */
+@Slf4j
+@Component
+public class PrometheusRangeCache {
+
+    // access-order LinkedHashMap (LRU), 접근은 모두 synchronized (this)
+    private final LinkedHashMap<ChunkKey, List<PrometheusMatrixDecoder.Series>> chunks =
+            new LinkedHashMap<>(256, 0.75f, true);
+    private final long maxSamples;
+    private final long chunkSeconds;
+    private final long settleSeconds;
+
+    // 캐시에 들어 있는 전체 샘플 수 (Σ series.size())
+    private long totalSamples;
+
+    public PrometheusRangeCache(
+            @Value("${monitoring.cache.prometheus-range.max-samples:2000000}") long maxSamples,
+            @Value("${monitoring.cache.prometheus-range.chunk-seconds:86400}") long chunkSeconds,
+            @Value("${monitoring.cache.prometheus-range.settle-seconds:300}") long settleSeconds) {
+        this.maxSamples = maxSamples;
+        this.chunkSeconds = chunkSeconds;
+        this.settleSeconds = settleSeconds;
+    }
+
+    /**
+     * chunk 캐시 키
+     *
+     * @param query PromQL
+     * @param stepSeconds step (초)
+     * @param chunkStart chunk 시작 (epoch second, chunk 크기 배수)
+     */
+    public record ChunkKey(String query, long stepSeconds, long chunkStart) {}
+
+    // 캐시에 없는 연속 chunk 구간 [start, end)
+    record Run(long start, long end) {}
+
+    /**
+     * 캐시를 거쳐 range query 실행
+     *
+     * @param query PromQL
+     * @param start 시작 (epoch second)
+     * @param end 종료 (epoch second)
+     * @param step Prometheus step (15s, 1m, 1h, 1d ...)
+     * @param fetcher (시작, 종료) → Prometheus 조회 결과 (실패 시 예외)
+     * @return series 목록 (timestamp 오름차순)
+     */
+    public List<PrometheusMatrixDecoder.Series> query(
+            String query,
+            long start,
+            long end,
+            String step,
+            BiFunction<Long, Long, List<PrometheusMatrixDecoder.Series>> fetcher)
+    {
+        long stepSeconds = PrometheusStep.toSeconds(step);
+        if (stepSeconds <= 0 || end < start) {
+            return fetcher.apply(start, end);
+        }
+
+        // chunk 크기는 step 배수 (chunk 경계가 항상 평가 시각이 되도록)
+        long chunkSize = Math.max(stepSeconds, chunkSeconds / stepSeconds * stepSeconds);
+        long alignedStart = Math.floorDiv(start, stepSeconds) * stepSeconds;
+        long alignedEnd = Math.floorDiv(end, stepSeconds) * stepSeconds;
+        long firstChunk = Math.floorDiv(alignedStart, chunkSize) * chunkSize;
+        long closedBefore = System.currentTimeMillis() / 1000 - settleSeconds;
+
+        // 1. chunk 별 캐시 조회
+        List<Long> chunkStarts = new ArrayList<>();
+        Map<Long, List<PrometheusMatrixDecoder.Series>> results = new HashMap<>();
+        for (long chunkStart = firstChunk; chunkStart <= alignedEnd; chunkStart += chunkSize) {
+            chunkStarts.add(chunkStart);
+            List<PrometheusMatrixDecoder.Series> cached = get(new ChunkKey(query, stepSeconds, chunkStart));
+            if (cached != null) {
+                results.put(chunkStart, cached);
+            }
+        }
+
+        // 2. 캐시에 없는 연속 구간만 조회 → chunk 별로 나눠서 저장 (닫힌 chunk 만)
+        //    - 양 끝 chunk 가 닫혀 있으면 저장할 수 있도록 chunk 전체를, 아직 열려 있으면 요청 구간만 조회
+        List<Run> runs = toRuns(chunkStarts, results.keySet(), chunkSize);
+        for (Run run : runs) {
+            long fetchStart = run.start() + chunkSize <= closedBefore
+                    ? run.start()
+                    : Math.max(run.start(), alignedStart);
+            long fetchEnd = run.end() <= closedBefore
+                    ? run.end() - stepSeconds
+                    : Math.min(run.end() - stepSeconds, alignedEnd);
+            List<PrometheusMatrixDecoder.Series> fetched = fetcher.apply(fetchStart, fetchEnd);
+
+            for (long chunkStart = run.start(); chunkStart < run.end(); chunkStart += chunkSize) {
+                long chunkEnd = chunkStart + chunkSize - stepSeconds;
+                List<PrometheusMatrixDecoder.Series> chunk = slice(fetched, chunkStart, chunkEnd);
+                results.put(chunkStart, chunk);
+                boolean complete = chunkStart >= fetchStart && chunkEnd <= fetchEnd;
+                if (complete && chunkStart + chunkSize <= closedBefore) {
+                    put(new ChunkKey(query, stepSeconds, chunkStart), chunk);
+                }
+            }
+        }
+
+        log.debug("Prometheus range cache: step={}s, chunks={}, cached={}, runs={}",
+                stepSeconds, chunkStarts.size(), chunkStarts.size() - countChunks(runs, chunkSize), runs.size());
+
+        // 3. series 별로 이어 붙이고 요청 구간만 남김
+        List<List<PrometheusMatrixDecoder.Series>> ordered = new ArrayList<>(chunkStarts.size());
+        for (Long chunkStart : chunkStarts) {
+            ordered.add(results.get(chunkStart));
+        }
+        return stitch(ordered, alignedStart, alignedEnd);
+    }
+
+    public synchronized int size() {
+        return chunks.size();
+    }
+
+    public synchronized long samples() {
+        return totalSamples;
+    }
+
+    private synchronized List<PrometheusMatrixDecoder.Series> get(ChunkKey key) {
+        return chunks.get(key);
+    }
+
+    /**
+     * chunk 저장 - 샘플 수 합계가 max-samples 를 넘으면 오래 안 쓴 chunk 부터 제거
+     * - chunk 하나가 예산의 1/10 을 넘으면 저장하지 않음 (series 가 많은 임의 PromQL 하나가 캐시 전체를 밀어내지 않도록)
+     */
+    private synchronized void put(ChunkKey key, List<PrometheusMatrixDecoder.Series> chunk) {
+        long weight = samplesOf(chunk);
+        if (weight > maxSamples / 10) {
+            return;
+        }
+
+        List<PrometheusMatrixDecoder.Series> previous = chunks.put(key, chunk);
+        if (previous != null) {
+            totalSamples -= samplesOf(previous);
+        }
+        totalSamples += weight;
+
+        Iterator<Map.Entry<ChunkKey, List<PrometheusMatrixDecoder.Series>>> eldest = chunks.entrySet().iterator();
+        while (totalSamples > maxSamples && eldest.hasNext()) {
+            totalSamples -= samplesOf(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    private static long samplesOf(List<PrometheusMatrixDecoder.Series> chunk) {
+        long samples = 0;
+        for (PrometheusMatrixDecoder.Series series : chunk) {
+            samples += series.size();
+        }
+        return samples;
+    }
+
+    static List<Run> toRuns(List<Long> chunkStarts, Set<Long> cached, long chunkSize) {
+        List<Run> runs = new ArrayList<>();
+        Long runStart = null;
+        long runEnd = 0;
+        for (Long chunkStart : chunkStarts) {
+            if (cached.contains(chunkStart)) {
+                if (runStart != null) {
+                    runs.add(new Run(runStart, runEnd));
+                    runStart = null;
+                }
+                continue;
+            }
+            if (runStart == null) {
+                runStart = chunkStart;
+            }
+            runEnd = chunkStart + chunkSize;
+        }
+        if (runStart != null) {
+            runs.add(new Run(runStart, runEnd));
+        }
+        return runs;
+    }
+
+    private static int countChunks(List<Run> runs, long chunkSize) {
+        int count = 0;
+        for (Run run : runs) {
+            count += (int) ((run.end() - run.start()) / chunkSize);
+        }
+        return count;
+    }
+
+    /**
+     * [from, to] 구간의 포인트만 잘라낸 series 목록 (포인트가 없는 series 는 제외)
+     */
+    static List<PrometheusMatrixDecoder.Series> slice(
+            List<PrometheusMatrixDecoder.Series> seriesList, long from, long to) {
+        List<PrometheusMatrixDecoder.Series> sliced = new ArrayList<>();
+        for (PrometheusMatrixDecoder.Series series : seriesList) {
+            long[] timestamps = series.timestamps();
+            int lower = lowerBound(timestamps, from);
+            int upper = lowerBound(timestamps, to + 1);
+            if (lower >= upper) {
+                continue;
+            }
+            if (lower == 0 && upper == timestamps.length) {
+                sliced.add(series);
+            } else {
+                sliced.add(new PrometheusMatrixDecoder.Series(series.labels(),
+                        Arrays.copyOfRange(timestamps, lower, upper),
+                        Arrays.copyOfRange(series.values(), lower, upper)));
+            }
+        }
+        return sliced;
+    }
+
+    /**
+     * chunk 결과들을 요청 구간으로 자른 뒤 라벨이 같은 series 끼리 시간순으로 이어 붙임
+     */
+    static List<PrometheusMatrixDecoder.Series> stitch(
+            List<List<PrometheusMatrixDecoder.Series>> orderedChunks, long from, long to) {
+        List<List<PrometheusMatrixDecoder.Series>> sliced = new ArrayList<>(orderedChunks.size());
+        for (List<PrometheusMatrixDecoder.Series> chunk : orderedChunks) {
+            sliced.add(slice(chunk, from, to));
+        }
+        return PrometheusMatrixDecoder.concat(sliced);
+    }
+
+    private static int lowerBound(long[] timestamps, long key) {
+        int low = 0;
+        int high = timestamps.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
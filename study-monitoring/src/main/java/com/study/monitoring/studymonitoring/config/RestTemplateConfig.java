@@ -1,14 +1,122 @@
 package com.study.monitoring.studymonitoring.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * 외부 HTTP 호출(Prometheus 등) 공용 RestTemplate 설정
+ *
+ * 역할:
+ * - httpclient5 connection pool 로 TCP/keep-alive 연결 재사용 (대시보드 1회 렌더링에 Prometheus 호출 약 20회)
+ * - connect / response / pool 대기 timeout 설정 (Prometheus 가 느려도 요청 스레드가 무한정 묶이지 않음)
+ * - Accept-Encoding: gzip 요청 + 응답 자동 해제 (query_range 처럼 큰 JSON 응답 전송량 감소)
+ * - 엔드포인트(host + path)별 Micrometer timer: monitoring.http.client.requests
+ *
+ * 사용처:
+ * - PrometheusServiceImpl, HealthCheckServiceImpl
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    // application.yml 의 monitoring.http-client.* 설정
+    @Value("${monitoring.http-client.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${monitoring.http-client.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${monitoring.http-client.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${monitoring.http-client.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${monitoring.http-client.pool-acquire-timeout-ms:2000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${monitoring.http-client.keep-alive-ms:60000}")
+    private long keepAliveMs;
+
+    /**
+     * 공용 connection pool 기반 HTTP client
+     * - 서버가 Keep-Alive 헤더를 보내면 그 값을, 없으면 keep-alive-ms 동안 연결 유지
+     * - keep-alive 시간이 지난 유휴 연결은 백그라운드에서 정리
+     *
+     * @return CloseableHttpClient (애플리케이션 종료 시 close)
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public CloseableHttpClient monitoringHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        // 오래 쉬던 연결은 재사용 전에 끊겼는지 확인
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAliveMs))
+                .setContentCompressionEnabled(true)
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient monitoringHttpClient, MeterRegistry meterRegistry) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(monitoringHttpClient));
+        restTemplate.getInterceptors().add(timingInterceptor(meterRegistry));
+        return restTemplate;
+    }
+
+    /**
+     * 요청 1건의 소요시간을 host + path 별 timer 로 기록
+     * - query 문자열(PromQL)은 태그에 넣지 않음 (태그 개수가 무한히 늘어나지 않도록)
+     * - 응답 본문 읽기 전까지의 시간 (헤더 수신까지)
+     */
+    private ClientHttpRequestInterceptor timingInterceptor(MeterRegistry meterRegistry) {
+        return (request, body, execution) -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String status = "ERROR";  // 연결 실패, timeout 등 응답을 받지 못한 경우
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                status = String.valueOf(response.getStatusCode().value());
+                return response;
+            } finally {
+                sample.stop(Timer.builder("monitoring.http.client.requests")
+                        .description("Outbound HTTP calls from study-monitoring")
+                        .tag("host", String.valueOf(request.getURI().getHost()))
+                        .tag("endpoint", String.valueOf(request.getURI().getPath()))
+                        .tag("method", request.getMethod().name())
+                        .tag("status", status)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+        };
     }
-}
\ No newline at end of file
+}
@@ -1,4 +1,19 @@
 package com.study.monitoring.studymonitoring.config;
 
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄러 설정
+ *
+ * 사용처:
+ * - AggregatableFieldResolver: 인덱스 매핑(_field_caps) 주기적 갱신
+ * - DailyIndexResolver: 일자별 인덱스 목록(_cat/indices) 주기적 갱신
+ * - SeverityPipelineInstaller: severity 정규화 pipeline + default_pipeline 을 지정한 index template 설치 (둘 다 성공할 때까지 재시도, 새 일자 인덱스는 template 으로 적용)
+ * - DashboardSnapshotCache: 대시보드 개요 / 프로세스 현황 / 현재 메트릭 스냅샷 주기적 갱신
+ * - PrometheusRecordingRules: recording rule 의 recorded series 존재 여부 주기적 확인
+ */
+@Configuration
+@EnableScheduling
 public class SchedulerConfig {
 }
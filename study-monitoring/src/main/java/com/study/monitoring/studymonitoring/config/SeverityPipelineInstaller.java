@@ -0,0 +1,180 @@
+package com.study.monitoring.studymonitoring.config;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.indices.GetIndexTemplateResponse;
+import co.elastic.clients.elasticsearch.ingest.GetPipelineResponse;
+import co.elastic.clients.elasticsearch.ingest.Pipeline;
+import co.elastic.clients.json.JsonData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * severity 정규화 ingest pipeline 설치
+ *
+ * 역할:
+ * - 색인 시점에 로그 레벨을 한 번만 계산해 severity(keyword 값) + severity_version 을 기록하는 pipeline 관리
+ * - 설치된 pipeline 의 version 이 PIPELINE_VERSION 보다 낮거나 없으면 다시 등록
+ * - 로그 인덱스 패턴에 index.default_pipeline 을 지정한 composable index template 을 등록해 Logstash 설정 변경 없이 적용
+ *   (새 일자 인덱스는 생성될 때 template 으로 지정되고, template 등록 전에 이미 있던 오늘/어제 인덱스만 한 번 직접 지정)
+ *
+ * 사용처:
+ * - ElasticsearchServiceImpl: 레벨 필터를 severity term 쿼리로, 레벨 판정을 severity 값으로 대체
+ *
+ * 주의:
+ * - 규칙(script)은 resources/elasticsearch/log-severity.painless, 규칙을 바꾸면 PIPELINE_VERSION 을 올린다.
+ * - 이미 색인된 문서에는 적용되지 않으므로(backfill 없음) severity_version 이 없는 문서는 legacy-fallback(기본 true)
+ *   설정에 따라 기존 방식으로 판정. 설치일 이전 인덱스가 보관 기간을 지나 모두 삭제된 뒤에 false 로 바꾼다.
+ * - composable template 은 패턴이 겹치면 priority 가 높은 하나만 적용되므로, 같은 패턴에 다른 template 이 있으면
+ *   template-priority 를 조정하거나 그 template 의 settings 에 default_pipeline 을 직접 추가한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeverityPipelineInstaller {
+
+    public static final String PIPELINE_ID = "monitoring-log-severity";
+    // 2: "Critical" / MDC CRITICAL 격상 제거 (determineLogLevel 과 일치)
+    public static final long PIPELINE_VERSION = 2L;
+    public static final String TEMPLATE_NAME = "monitoring-log-severity";
+
+    private static final String SCRIPT_LOCATION = "elasticsearch/log-severity.painless";
+    private static final DateTimeFormatter INDEX_DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+    // default_pipeline 을 지정할 로그 인덱스 prefix (index template 패턴은 prefix + "*")
+    private static final List<String> LOG_INDEX_PREFIXES = List.of(
+            "application-logs-", "access-logs-", "error-logs-", "performance-metrics-",
+            "database-logs-", "audit-logs-", "security-logs-"
+    );
+
+    private final ElasticsearchClient elasticsearchClient;
+
+    @Value("${monitoring.elasticsearch.severity-pipeline.apply-to-indices:true}")
+    private boolean applyToIndices;
+
+    @Value("${monitoring.elasticsearch.severity-pipeline.template-priority:50}")
+    private int templatePriority;
+
+    private volatile boolean pipelineInstalled;
+    private volatile boolean templateInstalled;
+
+    /**
+     * pipeline + index template 설치 (둘 다 성공할 때까지 주기적으로 재시도, 이후에는 아무것도 하지 않음)
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${monitoring.elasticsearch.index-refresh-ms:60000}")
+    public void install() {
+        try {
+            if (!pipelineInstalled) {
+                installPipelineIfOutdated();
+                pipelineInstalled = true;
+            }
+            if (applyToIndices && !templateInstalled) {
+                installTemplateIfOutdated();
+                applyDefaultPipelineToExistingIndices();
+                templateInstalled = true;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to install severity pipeline: reason={}", e.getMessage());
+        }
+    }
+
+    private void installPipelineIfOutdated() throws IOException {
+        Long currentVersion = getInstalledVersion();
+        if (currentVersion != null && currentVersion >= PIPELINE_VERSION) {
+            log.debug("Severity pipeline is up to date: version={}", currentVersion);
+            return;
+        }
+
+        String script = new ClassPathResource(SCRIPT_LOCATION).getContentAsString(StandardCharsets.UTF_8);
+        elasticsearchClient.ingest().putPipeline(p -> p
+                .id(PIPELINE_ID)
+                .version(PIPELINE_VERSION)
+                .description("Normalize log level into severity (managed by study-monitoring)")
+                .processors(pr -> pr.script(s -> s.inline(i -> i
+                        .lang("painless")
+                        .source(script)
+                        .params("version", JsonData.of(PIPELINE_VERSION))))));
+
+        log.info("Installed severity pipeline: id={}, version {} → {}", PIPELINE_ID, currentVersion, PIPELINE_VERSION);
+    }
+
+    private Long getInstalledVersion() throws IOException {
+        try {
+            GetPipelineResponse response = elasticsearchClient.ingest().getPipeline(g -> g.id(PIPELINE_ID));
+            Pipeline pipeline = response.get(PIPELINE_ID);
+            return pipeline != null ? pipeline.version() : null;
+        } catch (ElasticsearchException e) {
+            if (e.status() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 로그 인덱스 패턴에 default_pipeline 을 지정하는 index template (version 이 낮거나 없으면 다시 등록)
+     */
+    private void installTemplateIfOutdated() throws IOException {
+        Long currentVersion = getInstalledTemplateVersion();
+        if (currentVersion != null && currentVersion >= PIPELINE_VERSION) {
+            log.debug("Severity index template is up to date: version={}", currentVersion);
+            return;
+        }
+
+        List<String> patterns = LOG_INDEX_PREFIXES.stream().map(prefix -> prefix + "*").toList();
+        elasticsearchClient.indices().putIndexTemplate(p -> p
+                .name(TEMPLATE_NAME)
+                .indexPatterns(patterns)
+                .priority(templatePriority)
+                .version(PIPELINE_VERSION)
+                .meta("managed_by", JsonData.of("study-monitoring"))
+                .template(t -> t.settings(s -> s.defaultPipeline(PIPELINE_ID))));
+
+        log.info("Installed severity index template: name={}, version {} → {}, patterns={}",
+                TEMPLATE_NAME, currentVersion, PIPELINE_VERSION, patterns);
+    }
+
+    private Long getInstalledTemplateVersion() throws IOException {
+        try {
+            GetIndexTemplateResponse response = elasticsearchClient.indices().getIndexTemplate(g -> g.name(TEMPLATE_NAME));
+            return response.indexTemplates().isEmpty()
+                    ? null
+                    : response.indexTemplates().get(0).indexTemplate().version();
+        } catch (ElasticsearchException e) {
+            if (e.status() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * template 등록 전에 이미 생성된 오늘/어제(UTC) 일자 인덱스에 default_pipeline 지정 (설치 시 1회)
+     */
+    private void applyDefaultPipelineToExistingIndices() throws IOException {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<String> targets = new ArrayList<>();
+        for (String prefix : LOG_INDEX_PREFIXES) {
+            targets.add(prefix + INDEX_DATE.format(today.minusDays(1)) + "*");
+            targets.add(prefix + INDEX_DATE.format(today) + "*");
+        }
+
+        elasticsearchClient.indices().putSettings(p -> p
+                .index(targets)
+                .allowNoIndices(true)
+                .ignoreUnavailable(true)
+                .settings(s -> s.defaultPipeline(PIPELINE_ID)));
+    }
+}
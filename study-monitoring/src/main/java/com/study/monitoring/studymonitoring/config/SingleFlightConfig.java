@@ -0,0 +1,114 @@
+package com.study.monitoring.studymonitoring.config;
+
+import com.study.monitoring.studymonitoring.model.dto.response.PageResponseDTO;
+import com.study.monitoring.studymonitoring.service.ElasticsearchService;
+import com.study.monitoring.studymonitoring.service.PrometheusService;
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder;
+import com.study.monitoring.studymonitoring.util.SingleFlight;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.*;
+
+/**
+ * 동일 요청 합치기(single-flight) 설정
+ *
+ * 역할:
+ * - ElasticsearchService, PrometheusService 빈을 프록시로 감싸서
+ *   같은 메서드 + 같은 인자로 동시에 들어온 호출을 한 번의 백엔드 호출로 합친다.
+ * - 장애 시 여러 사람이 같은 대시보드를 동시에 열어도 ES/Prometheus 에는 같은 쿼리가 한 번만 나간다.
+ *
+ * 대상 메서드:
+ * - 반환값이 있고, 인자가 모두 값 타입(String, 숫자, 날짜 등)인 메서드만
+ * - 콜백을 받는 scanLogs 같은 메서드는 그대로 호출
+ *
+ * 주의:
+ * - 합쳐진 결과는 호출 측마다 깊은 복사(Map/List/Set, PageResponseDTO, Series)해서 돌려준다.
+ *   호출 측(StatisticsServiceImpl 등)이 결과 Map 에 값을 추가/수정하므로 공유하면 서로의 응답이 섞인다.
+ */
+@Configuration
+public class SingleFlightConfig {
+
+    private record CallKey(Method method, List<Object> args) {}
+
+    @Bean
+    public static BeanPostProcessor singleFlightPostProcessor(Environment environment) {
+        long maxWaitMs = environment.getProperty("monitoring.single-flight.max-wait-ms", Long.class, 10000L);
+        SingleFlight singleFlight = new SingleFlight(Duration.ofMillis(maxWaitMs), SingleFlightConfig::copyResult);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof ElasticsearchService) && !(bean instanceof PrometheusService)) {
+                    return bean;
+                }
+
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.setInterfaces(bean.getClass().getInterfaces());
+                proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                    Method method = invocation.getMethod();
+                    if (!isCoalescable(method)) {
+                        return invocation.proceed();
+                    }
+                    CallKey key = new CallKey(method, Arrays.asList(invocation.getArguments()));
+                    return singleFlight.execute(key, invocation::proceed);
+                });
+                return proxyFactory.getProxy();
+            }
+        };
+    }
+
+    private static boolean isCoalescable(Method method) {
+        if (method.getReturnType() == void.class || method.getDeclaringClass() == Object.class) {
+            return false;
+        }
+        return Arrays.stream(method.getParameterTypes()).allMatch(SingleFlightConfig::isValueType);
+    }
+
+    /**
+     * 공유 결과 깊은 복사 (String, 숫자 등 불변 값은 그대로)
+     */
+    static Object copyResult(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(Math.max(16, (int) (map.size() / 0.75f) + 1));
+            map.forEach((k, v) -> copy.put(k, copyResult(v)));
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(v -> copy.add(copyResult(v)));
+            return copy;
+        }
+        if (value instanceof Set<?> set) {
+            Set<Object> copy = new LinkedHashSet<>(Math.max(16, (int) (set.size() / 0.75f) + 1));
+            set.forEach(v -> copy.add(copyResult(v)));
+            return copy;
+        }
+        if (value instanceof PageResponseDTO<?> page) {
+            return new PageResponseDTO<>((List<?>) copyResult(page.getContent()), page.getTotalElements(),
+                    page.getTotalPages(), page.getCurrentPage(), page.getSize(), page.getNextCursor());
+        }
+        if (value instanceof PrometheusMatrixDecoder.Series series) {
+            return new PrometheusMatrixDecoder.Series(
+                    series.labels() != null ? new LinkedHashMap<>(series.labels()) : null,
+                    series.timestamps().clone(), series.values().clone());
+        }
+        return value;
+    }
+
+    private static boolean isValueType(Class<?> type) {
+        return type.isPrimitive()
+                || type == String.class
+                || Number.class.isAssignableFrom(type)
+                || type == Boolean.class
+                || type.isEnum()
+                || Temporal.class.isAssignableFrom(type);
+    }
+}
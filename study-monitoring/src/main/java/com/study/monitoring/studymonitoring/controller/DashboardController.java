@@ -1,5 +1,6 @@
 package com.study.monitoring.studymonitoring.controller;
 
+import com.study.monitoring.studymonitoring.cache.DashboardSnapshotCache;
 import com.study.monitoring.studymonitoring.model.dto.request.MetricsQueryRequestDTO;
 import com.study.monitoring.studymonitoring.model.dto.response.ApiResponseDTO;
 import com.study.monitoring.studymonitoring.model.dto.response.DashboardResponseDTO;
@@ -22,15 +23,15 @@ import java.util.Map;
 @Validated
 public class DashboardController {
 
-    private final DashboardService dashboardService; // ✅ 오직 이 서비스만 의존
+    private final DashboardService dashboardService;
+    private final DashboardSnapshotCache dashboardSnapshotCache; // 개요 / 프로세스 현황은 주기적으로 만든 스냅샷 사용
 
     /**
-     * 대시보드 전체 현황 조회
+     * 대시보드 전체 현황 조회 (마지막 스냅샷, snapshotAgeMs 포함)
      */
     @GetMapping("/overview")
     public ResponseEntity<ApiResponseDTO<DashboardResponseDTO>> getDashboardOverview() {
-        // 서비스가 이미 완성된 DTO를 반환하므로 Controller는 전달만 함
-        return ResponseEntity.ok(ApiResponseDTO.success(dashboardService.getDashboardOverview()));
+        return ResponseEntity.ok(ApiResponseDTO.success(dashboardSnapshotCache.getOverview()));
     }
 
     /**
@@ -43,11 +44,11 @@ public class DashboardController {
     }
 
     /**
-     * 프로세스 현황 조회
+     * 프로세스 현황 조회 (마지막 스냅샷, snapshotAgeMs 포함)
      */
     @GetMapping("/processes")
     public ResponseEntity<ApiResponseDTO<Map<String, Object>>> getProcesses() {
-        return ResponseEntity.ok(ApiResponseDTO.success(dashboardService.getProcessStatus()));
+        return ResponseEntity.ok(ApiResponseDTO.success(dashboardSnapshotCache.getProcessStatus()));
     }
 
     /**
@@ -58,8 +59,16 @@ public class DashboardController {
     public ResponseEntity<ApiResponseDTO<PageResponseDTO<DashboardResponseDTO.ErrorLogDTO>>> getErrorLogs(
             @RequestParam(defaultValue = "APP") String type,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "5") int size
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "false") boolean useCursor,
+            @RequestParam(required = false) String cursor
     ) {
+        // ✅ 커서 방식 (useCursor=true 또는 cursor 전달 시): page 대신 nextCursor 로 이어서 조회
+        if (useCursor || (cursor != null && !cursor.isBlank())) {
+            return ResponseEntity.ok(ApiResponseDTO.success(
+                    dashboardService.getErrorLogs(type, cursor, size)
+            ));
+        }
         return ResponseEntity.ok(ApiResponseDTO.success(
                 dashboardService.getErrorLogs(type, page, size)
         ));
@@ -1,18 +1,29 @@
 package com.study.monitoring.studymonitoring.controller;
 
 import com.study.monitoring.studymonitoring.converter.LogsConverter;
+import com.study.monitoring.studymonitoring.model.dto.request.LogExportRequestDTO;
 import com.study.monitoring.studymonitoring.model.dto.request.LogSearchRequestDTO;
 import com.study.monitoring.studymonitoring.model.dto.response.ApiResponseDTO;
 import com.study.monitoring.studymonitoring.model.dto.response.LogSearchResponseDTO;
 import com.study.monitoring.studymonitoring.service.ElasticsearchService;
+import com.study.monitoring.studymonitoring.service.LogExportService;
+import com.study.monitoring.studymonitoring.service.LogTailService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +38,8 @@ import java.util.Map;
  * - GET /api/logs/search: 로그 검색
  * - GET /api/logs/errors: 에러 로그 조회
  * - GET /api/logs/stats: 로그 통계
+ * - GET /api/logs/export: 로그 내보내기 (NDJSON/CSV 스트리밍)
+ * - GET /api/logs/tail: 실시간 로그 tail (Server-Sent Events)
  */
 @Slf4j
 @RestController
@@ -37,6 +50,10 @@ public class LogsController {
 
     private final ElasticsearchService elasticsearchService;
     private final LogsConverter logsConverter;
+    private final LogExportService logExportService;
+    private final LogTailService logTailService;
+
+    private static final DateTimeFormatter EXPORT_FILE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
 
     /**
      * 로그 검색 (날짜 필터 추가)
@@ -49,6 +66,8 @@ public class LogsController {
      * - endDate: 종료 날짜 (옵션: yyyy-MM-ddTHH:mm:ss)
      * - from: 페이지 시작 (기본: 0)
      * - size: 페이지 크기 (기본: 50)
+     * - useCursor: true 면 PIT + search_after 커서 방식으로 첫 페이지 조회 (옵션)
+     * - cursor: 이전 응답의 nextCursor, 다음 페이지 조회 (옵션, 나머지 조건은 동일하게 전달)
      *
      * @param request LogSearchRequestDTO
      * @return ApiResponseDTO<LogSearchResponseDTO>
@@ -75,6 +94,26 @@ public class LogsController {
                 endTime = LocalDateTime.parse(request.getEndDate());
             }
 
+            // ✅ 커서 방식: 깊은 페이지도 max_result_window 제한 없이 일정한 비용으로 조회
+            if (request.isCursorMode()) {
+                var esData = elasticsearchService.searchLogsWithCursor(
+                        request.getIndex(),
+                        request.getKeyword(),
+                        request.getLogLevel(),
+                        startTime,
+                        endTime,
+                        request.getCursor(),
+                        request.getSize()
+                );
+
+                if (esData.get("error") != null) {
+                    return ResponseEntity.badRequest()
+                            .body(ApiResponseDTO.fail("로그 검색 중 오류가 발생했습니다: " + esData.get("error")));
+                }
+                return ResponseEntity.ok(ApiResponseDTO.success(
+                        logsConverter.toCursorSearchDTO(esData, request.getSize())));
+            }
+
             // Elasticsearch에서 로그 검색
             var esData = elasticsearchService.searchLogs(
                     request.getIndex(),
@@ -102,6 +141,87 @@ public class LogsController {
         }
     }
 
+    /**
+     * 로그 내보내기 (스트리밍)
+     *
+     * 요청:
+     * - index, keyword, logLevel, startDate, endDate: /search 와 동일
+     * - format: ndjson(기본) | csv
+     * - batchSize: ES 에서 한 번에 가져오는 건수 (기본: 1000)
+     *
+     * PIT + search_after 로 배치 단위 조회 후 바로 응답에 기록하므로
+     * 내보내는 건수와 무관하게 힙 사용량이 일정하다.
+     * 날짜는 스트리밍 시작 전에 검증한다 (응답 헤더가 나간 뒤에는 400 을 돌려줄 수 없음).
+     *
+     * @param request LogExportRequestDTO
+     * @return 첨부 파일 스트림 (날짜 형식/범위가 잘못되면 400 ApiResponseDTO)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportLogs(@Valid @ModelAttribute LogExportRequestDTO request) {
+        log.info("Exporting logs: index={}, keyword={}, logLevel={}, startDate={}, endDate={}, format={}",
+                request.getIndex(), request.getKeyword(), request.getLogLevel(),
+                request.getStartDate(), request.getEndDate(), request.getFormat());
+
+        LocalDateTime startTime;
+        LocalDateTime endTime;
+        try {
+            startTime = parseDate(request.getStartDate());
+            endTime = parseDate(request.getEndDate());
+        } catch (DateTimeParseException e) {
+            log.warn("Invalid export date: startDate={}, endDate={}, reason={}",
+                    request.getStartDate(), request.getEndDate(), e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.fail("날짜 형식이 올바르지 않습니다 (yyyy-MM-ddTHH:mm:ss): " + e.getParsedString()));
+        }
+        if (startTime != null && endTime != null && startTime.isAfter(endTime)) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.fail("시작 날짜가 종료 날짜보다 늦습니다"));
+        }
+
+        boolean csv = "csv".equalsIgnoreCase(request.getFormat());
+        String filename = request.getIndex().replace("*", "").replace(",", "_")
+                + LocalDateTime.now().format(EXPORT_FILE_FORMATTER) + (csv ? ".csv" : ".ndjson");
+
+        StreamingResponseBody body = outputStream -> logExportService.export(request, startTime, endTime, outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString())
+                .contentType(csv
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private LocalDateTime parseDate(String value) {
+        return (value != null && !value.isEmpty()) ? LocalDateTime.parse(value) : null;
+    }
+
+    /**
+     * 실시간 로그 tail (Server-Sent Events)
+     *
+     * 요청:
+     * - index: 인덱스 패턴 (기본: application-logs-*)
+     * - logLevel: 로그 레벨 (옵션)
+     * - keyword: 검색 키워드 (옵션)
+     *
+     * 이벤트:
+     * - connected: 구독 시작 (같은 조건의 구독자 수 포함)
+     * - logs: 새로 들어온 로그 목록 (/search 의 logs 와 같은 형식, 오래된 순)
+     *
+     * 같은 조건의 구독자는 서버에서 하나의 poller 를 공유하므로
+     * 구독자가 늘어도 ES 조회는 주기마다 1번이다.
+     */
+    @GetMapping(value = "/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tailLogs(
+            @RequestParam(defaultValue = "application-logs-*") String index,
+            @RequestParam(required = false) String logLevel,
+            @RequestParam(required = false) String keyword) {
+
+        log.info("Tailing logs: index={}, logLevel={}, keyword={}", index, logLevel, keyword);
+        return logTailService.subscribe(index, logLevel, keyword);
+    }
+
     /**
      * 최근 에러 로그 조회
      *
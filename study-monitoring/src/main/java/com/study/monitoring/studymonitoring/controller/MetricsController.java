@@ -1,8 +1,9 @@
 package com.study.monitoring.studymonitoring.controller;
 
+import com.study.monitoring.studymonitoring.builder.PrometheusRecordingRules;
+import com.study.monitoring.studymonitoring.cache.DashboardSnapshotCache;
 import com.study.monitoring.studymonitoring.model.dto.request.PrometheusQueryRequestDTO;
 import com.study.monitoring.studymonitoring.model.dto.response.ApiResponseDTO;
-import com.study.monitoring.studymonitoring.service.MetricsService;
 import com.study.monitoring.studymonitoring.service.PrometheusService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -39,17 +40,21 @@ import java.util.Map;
 @Validated
 public class MetricsController {
 
-    // ✅ [변경] MetricsService 주입 (비즈니스 로직)
-    private final MetricsService metricsService;
-
     // ✅ [추가] PrometheusService 유지 (Range Query용)
     private final PrometheusService prometheusService;
 
+    // 현재 메트릭 스냅샷 (주기적으로 전체 애플리케이션 갱신)
+    private final DashboardSnapshotCache dashboardSnapshotCache;
+
+    // 통계 쿼리용 recording rule
+    private final PrometheusRecordingRules prometheusRecordingRules;
+
     /**
      * 현재 메트릭 조회
      *
      * 📌 사용처: 프론트엔드 MetricsPage
      * 📌 호출 주기: 5초마다 (실시간 모니터링)
+     * 📌 Prometheus 를 직접 조회하지 않고 마지막 스냅샷 반환 (generatedAt, snapshotAgeMs 포함)
      *
      * @param application 애플리케이션 이름 (기본값: eng-study)
      * @return 현재 시점의 메트릭 데이터
@@ -61,8 +66,8 @@ public class MetricsController {
         try {
             log.info("📊 [Metrics API] 현재 메트릭 조회 요청 - application: {}", application);
 
-            // ✅ Service 계층으로 위임 (비즈니스 로직 분리)
-            Map<String, Object> result = metricsService.getCurrentMetrics(application);
+            // ✅ 스냅샷 조회 (처음 요청된 애플리케이션은 MetricsService 로 직접 조회)
+            Map<String, Object> result = dashboardSnapshotCache.getCurrentMetrics(application);
 
             return ResponseEntity.ok(ApiResponseDTO.success(result));
 
@@ -85,7 +90,8 @@ public class MetricsController {
      *   "query": "rate(http_server_requests_seconds_count{application=\"eng-study\"}[1m])",
      *   "start": 1700000000,
      *   "end": 1700003600,
-     *   "step": "15s"
+     *   "step": "15s",
+     *   "maxDataPoints": 500   (옵션: series 당 최대 포인트 수, LTTB 다운샘플링)
      * }
      *
      * @param request PrometheusQueryRequestDTO
@@ -112,7 +118,7 @@ public class MetricsController {
 
             // ✅ PrometheusService에서 Range Query 실행
             List<Map<String, Object>> data = prometheusService.queryRange(
-                    request.getQuery(), start, end, step
+                    request.getQuery(), start, end, step, request.getMaxDataPoints()
             );
 
             Map<String, Object> response = Map.of(
@@ -164,4 +170,14 @@ public class MetricsController {
         List<String> metrics = prometheusService.getMetricNames();
         return ResponseEntity.ok(ApiResponseDTO.success(metrics));
     }
+
+    /**
+     * 통계 조회용 Prometheus recording rule 파일 (YAML)
+     *
+     * 용도: Prometheus rule_files 에 추가하면 장기간 통계 조회가 미리 계산된 series 를 사용
+     */
+    @GetMapping(value = "/recording-rules", produces = "application/yaml")
+    public ResponseEntity<String> getRecordingRules() {
+        return ResponseEntity.ok(prometheusRecordingRules.toYaml());
+    }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -77,6 +78,7 @@ public class StatisticsController {
     /**
      * 접근 로그 통계 조회
      * GET: /api/statistics/access-logs?startTime=2025-12-01 00:00:00&endTime=2025-12-18 23:59:59&timePeriod=HOUR
+     * - 응답시간 평균 + 백분위(p50/p95/p99), includeHeatmap=true 면 응답시간 heatmap 포함
      */
     @GetMapping("/access-logs")
     public ResponseEntity<ApiResponseDTO<AccessLogStatisticsResponseDTO>> getAccessLogStatistics(
@@ -92,6 +94,26 @@ public class StatisticsController {
         }
     }
 
+    /**
+     * 가장 느린 엔드포인트 Top N
+     * GET: /api/statistics/access-logs/slowest-endpoints?startTime=2025-12-18 00:00:00&endTime=2025-12-18 23:59:59&limit=20&sortBy=p95
+     * - route(숫자/UUID path 를 {id} 로 묶은 URL)별 요청 수, 평균/p95 응답시간, 에러 수
+     * - sortBy: p95(기본) | totalTime
+     */
+    @GetMapping("/access-logs/slowest-endpoints")
+    public ResponseEntity<ApiResponseDTO<SlowEndpointsResponseDTO>> getSlowestEndpoints(
+            @Valid @ModelAttribute SlowEndpointsQueryRequestDTO request) {
+        try {
+            log.info("Fetching slowest endpoints: {}", request);
+            SlowEndpointsResponseDTO response = statisticsService.getSlowestEndpoints(request);
+            return ResponseEntity.ok(ApiResponseDTO.success(response));
+        } catch (Exception e) {
+            log.error("Failed to fetch slowest endpoints", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponseDTO.fail("느린 엔드포인트 조회 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
+
     /**
      * 에러 로그 통계 조회
      * GET: /api/statistics/error-logs?startTime=2025-12-01 00:00:00&endTime=2025-12-18 23:59:59&timePeriod=DAY&errorType=NullPointerException
@@ -179,4 +201,27 @@ public class StatisticsController {
                     .body(ApiResponseDTO.fail("보안 로그 통계 조회 중 오류가 발생했습니다: " + e.getMessage()));
         }
     }
+
+    /** breakdown 카운트 페이지 조회 (composite 집계 + 커서)
+     *  GET: /api/statistics/breakdowns/table?startTime=2025-12-01 00:00:00&endTime=2025-12-18 23:59:59&size=100&cursor=...
+     *  breakdown: table, eventAction, attackType, errorType (각 통계의 상위 20개 이후 long-tail 까지 정확한 카운트) */
+    @GetMapping("/breakdowns/{breakdown}")
+    public ResponseEntity<ApiResponseDTO<BreakdownPageResponseDTO>> getBreakdownPage(
+            @PathVariable String breakdown,
+            @Valid @ModelAttribute BreakdownQueryRequestDTO request)
+    {
+        try {
+            log.info("Fetching breakdown page: breakdown={}, {}", breakdown, request);
+            BreakdownPageResponseDTO response = statisticsService.getBreakdownPage(breakdown, request);
+            return ResponseEntity.ok(ApiResponseDTO.success(response));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid breakdown request: breakdown={}, reason={}", breakdown, e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.fail("breakdown 조회 요청이 올바르지 않습니다: " + e.getMessage()));
+        } catch (Exception e) {
+            log.error("Failed to fetch breakdown page", e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponseDTO.fail("breakdown 조회 중 오류가 발생했습니다: " + e.getMessage()));
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.study.monitoring.studymonitoring.converter;
 
 import com.study.monitoring.studymonitoring.model.dto.response.AccessLogStatisticsResponseDTO;
+import com.study.monitoring.studymonitoring.model.dto.response.LatencyHeatmapDTO;
+import com.study.monitoring.studymonitoring.model.dto.response.SlowEndpointsResponseDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -32,6 +34,7 @@ public class AccessLogsConverter {
      *   "timestamp": "2025-12-19 10:00:00",
      *   "requestCount": 3,
      *   "avgResponseTime": 1721.666,
+     *   "p50": 820.0, "p95": 4100.0, "p99": 5210.0,
      *   "errorCount": 1
      * }
      */
@@ -64,24 +67,85 @@ public class AccessLogsConverter {
             // ✅ 3. avgResponseTime
             Double avgResponseTime = getDoubleValue(data, "avgResponseTime");
 
-            // ✅ 4. errorCount
+            // ✅ 4. 응답시간 백분위
+            Double p50 = getDoubleValue(data, "p50");
+            Double p95 = getDoubleValue(data, "p95");
+            Double p99 = getDoubleValue(data, "p99");
+
+            // ✅ 5. errorCount
             Long errorCount = getLongValue(data, "errorCount");
 
-            log.debug("Converted access distribution: timestamp={}, requestCount={}, avgResponseTime={}, errorCount={}",
-                    timestamp, requestCount, avgResponseTime, errorCount);
+            log.debug("Converted access distribution: timestamp={}, requestCount={}, avgResponseTime={}, p99={}, errorCount={}",
+                    timestamp, requestCount, avgResponseTime, p99, errorCount);
 
             return new AccessLogStatisticsResponseDTO.AccessDistribution(
-                    timestamp, requestCount, avgResponseTime, errorCount
+                    timestamp, requestCount, avgResponseTime, p50, p95, p99, errorCount
             );
 
         } catch (Exception e) {
             log.error("Failed to convert access log distribution data: {}", data, e);
             return new AccessLogStatisticsResponseDTO.AccessDistribution(
-                    "Unknown", 0L, 0.0, 0L
+                    "Unknown", 0L, 0.0, 0.0, 0.0, 0.0, 0L
             );
         }
     }
 
+    /**
+     * ✅ ElasticsearchServiceImpl.getAccessLogLatencyHeatmap() 결과 → LatencyHeatmapDTO 변환
+     *
+     * 입력 데이터 구조:
+     * {
+     *   "bucketBoundsMs": [10, 25, 50, ...],
+     *   "rows": [{ "timestamp": "2025-12-19 10:00:00", "total": 3, "counts": [0, 1, 2, ...] }]
+     * }
+     */
+    @SuppressWarnings("unchecked")
+    public LatencyHeatmapDTO toLatencyHeatmap(Map<String, Object> rawData) {
+        if (rawData == null || rawData.isEmpty()) {
+            log.warn("Raw data is empty for access logs latency heatmap");
+            return new LatencyHeatmapDTO(List.of(), List.of());
+        }
+
+        List<Long> bounds = (List<Long>) rawData.getOrDefault("bucketBoundsMs", List.of());
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) rawData.getOrDefault("rows", List.of());
+
+        List<LatencyHeatmapDTO.HeatmapRow> heatmapRows = rows.stream()
+                .map(row -> new LatencyHeatmapDTO.HeatmapRow(
+                        getStringValue(row, "timestamp"),
+                        getLongValue(row, "total"),
+                        (List<Long>) row.getOrDefault("counts", List.of())))
+                .collect(Collectors.toList());
+
+        return new LatencyHeatmapDTO(bounds, heatmapRows);
+    }
+
+    /**
+     * ✅ ElasticsearchServiceImpl.getSlowestEndpoints() 결과 → EndpointStatistics 변환
+     *
+     * 입력 데이터 구조:
+     * {
+     *   "route": "/api/users/{id}", "count": 120, "avgResponseTime": 85.2, "p95ResponseTime": 410.0,
+     *   "totalResponseTime": 10224.0, "errorCount": 3, "errorRate": 2.5
+     * }
+     */
+    public List<SlowEndpointsResponseDTO.EndpointStatistics> toEndpointStatistics(List<Map<String, Object>> rawData) {
+        if (rawData == null || rawData.isEmpty()) {
+            log.warn("Raw data is empty for slowest endpoints");
+            return List.of();
+        }
+
+        return rawData.stream()
+                .map(data -> new SlowEndpointsResponseDTO.EndpointStatistics(
+                        getStringValue(data, "route"),
+                        getLongValue(data, "count"),
+                        getDoubleValue(data, "avgResponseTime"),
+                        getDoubleValue(data, "p95ResponseTime"),
+                        getDoubleValue(data, "totalResponseTime"),
+                        getLongValue(data, "errorCount"),
+                        getDoubleValue(data, "errorRate")))
+                .collect(Collectors.toList());
+    }
+
     /**
      * ✅ String 값 안전하게 추출
      */
@@ -28,6 +28,21 @@ public class LogsConverter {
         return LogSearchResponseDTO.createWithPaging(total, logEntries, from, size);
     }
 
+    /**
+     * 커서 검색 결과를 LogSearchResponseDTO로 변환 (nextCursor 포함)
+     */
+    public LogSearchResponseDTO toCursorSearchDTO(Map<String, Object> elasticsearchData, int size) {
+        Long total = elasticsearchData.get("total") != null ? ((Number) elasticsearchData.get("total")).longValue() : 0L;
+        List<Map<String, Object>> logs = (List<Map<String, Object>>) elasticsearchData.get("logs");
+
+        List<LogSearchResponseDTO.LogEntry> logEntries = (logs != null)
+                ? logs.stream().map(this::toLogEntry).collect(Collectors.toList())
+                : List.of();
+
+        return LogSearchResponseDTO.createWithCursor(
+                total, logEntries, size, (String) elasticsearchData.get("nextCursor"));
+    }
+
     /**
      * Elasticsearch Hit를 LogEntry로 변환
      */
@@ -2,6 +2,7 @@ package com.study.monitoring.studymonitoring.converter;
 
 import com.study.monitoring.studymonitoring.model.dto.response.MetricsResponseDTO;
 import com.study.monitoring.studymonitoring.model.dto.response.MetricsResponseDTO.DataPoint;
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,18 +26,7 @@ public class MetricsConverter {
     /**
      * Prometheus Range Query 응답 → MetricsResponseDTO 변환
      *
-     * Prometheus 응답 구조:
-     * [
-     *   {
-     *     "metric": {...},
-     *     "values": [
-     *       [timestamp, "value"],
-     *       [timestamp, "value"]
-     *     ]
-     *   }
-     * ]
-     *
-     * @param prometheusData Prometheus 응답 데이터
+     * @param prometheusData PrometheusService.queryRangeSeries 결과 (series 별 timestamp / value 배열)
      * @param application 애플리케이션 이름
      * @param metric 메트릭 타입
      * @param start 시작 시간
@@ -44,7 +34,7 @@ public class MetricsConverter {
      * @return MetricsResponseDTO
      */
     public MetricsResponseDTO toDTO(
-            List<Map<String, Object>> prometheusData,
+            List<PrometheusMatrixDecoder.Series> prometheusData,
             String application,
             String metric,
             Long start,
@@ -61,16 +51,12 @@ public class MetricsConverter {
 
         if (prometheusData != null && !prometheusData.isEmpty()) {
             // 첫 번째 결과 사용 (일반적으로 하나만 존재)
-            Map<String, Object> firstResult = prometheusData.get(0);
-            List<List<Object>> values = (List<List<Object>>) firstResult.get("values");
-
-            if (values != null) {
-                for (List<Object> value : values) {
-                    Long timestamp = ((Number) value.get(0)).longValue();
-                    Double metricValue = Double.parseDouble(value.get(1).toString());
+            PrometheusMatrixDecoder.Series firstResult = prometheusData.get(0);
+            long[] timestamps = firstResult.timestamps();
+            double[] values = firstResult.values();
 
-                    dataPoints.add(new DataPoint(timestamp, metricValue));
-                }
+            for (int i = 0; i < timestamps.length; i++) {
+                dataPoints.add(new DataPoint(timestamps[i], values[i]));
             }
         }
 
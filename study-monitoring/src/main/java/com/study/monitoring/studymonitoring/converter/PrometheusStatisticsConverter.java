@@ -1,25 +1,23 @@
 package com.study.monitoring.studymonitoring.converter;
 
-import com.study.monitoring.studymonitoring.model.dto.response.StatisticsResponseDTO;
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder;
+import com.study.monitoring.studymonitoring.util.TimeSeriesColumns;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Prometheus 시계열 메트릭 통계 변환기
  *
  * 책임:
- *  - Prometheus range query 결과를
- *    StatisticsResponseDTO.DataPoint 형식으로 변환
+ *  - Prometheus 1분 해상도 range query 결과를
+ *    step 구간별 TimeSeriesColumns 로 변환 (응답 DataPoint 변환은 StatisticsServiceImpl 에서 마지막에 한 번)
  *
  * 역할:
- *  - timestamp 정규화 (시간 주기 기준)
- *  - 데이터 집계 (avg, sum, min, max, count)
+ *  - step 구간 계산 (Prometheus subquery 와 같은 (t - step, t] 구간)
+ *  - 데이터 집계 (avg, sum, min, max, count) - 값 / 최소 / 최대 / 샘플 수를 한 번에
  *
  * 주의:
  *  - Prometheus 조회, 기간 분기 로직은 담당하지 않는다.
@@ -29,172 +27,103 @@ import java.util.stream.Collectors;
 public class PrometheusStatisticsConverter {
 
     /**
-     * Prometheus 데이터를 시간 주기별로 집계
+     * 1분 해상도 원본 series 를 step 구간별로 집계 (avg / sum / min / max / count 를 한 번에)
+     * - 출력 시각 t = floor(start / step) × step + k × step, 구간은 (t - step, t]
+     *   (Prometheus 의 agg_over_time(expr[step:1m]) 과 같은 구간)
+     * - 여러 series 는 같은 구간에 함께 누적 (기존 Min / Max 쿼리와 같은 기준)
+     * - 샘플이 없는 구간은 포인트를 만들지 않음 (빈 구간 채우기는 호출 측에서)
      *
-     * ✅ [개선] 여러 시계열(multiple series) 데이터를 모두 처리
-     * ✅ [수정] step 문자열을 올바르게 처리
+     * @param rawData 원본 series (timestamp 오름차순)
+     * @param start 조회 시작 (epoch second)
+     * @param end 조회 종료 (epoch second)
+     * @param stepSeconds 출력 간격 (초)
+     * @param aggregationType 값 컬럼 집계 방식 (AVG, SUM, MIN, MAX, COUNT)
+     * @return epoch second 기준 컬럼 (timestamp 오름차순, min / max / sampleCount 포함)
      */
-    public List<StatisticsResponseDTO.DataPoint> convertData(
-            List<Map<String, Object>> promData,
-            String step,  // "15m", "1h", "6h" 형태의 Prometheus step
+    public TimeSeriesColumns aggregateByStep(
+            List<PrometheusMatrixDecoder.Series> rawData,
+            long start,
+            long end,
+            long stepSeconds,
             String aggregationType) {
 
-        if (promData == null || promData.isEmpty()) {
+        if (rawData == null || rawData.isEmpty() || stepSeconds <= 0 || end < start) {
             log.warn("Prometheus data is empty");
-            return Collections.emptyList();
+            return new TimeSeriesColumns(0);
         }
 
-        // ✅ [수정] step을 timePeriod로 변환
-        String timePeriod = convertStepToPeriod(step);
-        log.debug("Converting Prometheus data with step={}, timePeriod={}", step, timePeriod);
-
-        // ✅ [중요] 모든 시계열 데이터를 수집 (첫 번째 것만 사용하지 않음)
-        Map<Long, List<Double>> groupedData = new TreeMap<>();
-
-        for (Map<String, Object> result : promData) {
-            List<List<Object>> values = (List<List<Object>>) result.get("values");
+        long firstStep = Math.floorDiv(start, stepSeconds) * stepSeconds;
+        int steps = (int) ((Math.floorDiv(end, stepSeconds) * stepSeconds - firstStep) / stepSeconds + 1);
+
+        // 구간별 누적값 (객체 대신 primitive 배열)
+        int[] counts = new int[steps];
+        double[] sums = new double[steps];
+        double[] mins = new double[steps];
+        double[] maxs = new double[steps];
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+
+        int skipped = 0;
+        for (PrometheusMatrixDecoder.Series series : rawData) {
+            long[] timestamps = series.timestamps();
+            double[] values = series.values();
+            for (int i = 0; i < timestamps.length; i++) {
+                double metricValue = values[i];
+
+                // NaN, Inf 제외 (디코더가 이미 double 로 변환)
+                if (!Double.isFinite(metricValue)) {
+                    continue;
+                }
 
-            if (values == null || values.isEmpty()) {
-                log.warn("No values found in Prometheus result");
-                continue;
-            }
+                // 음수 또는 비정상적인 값 제외 (Heap, CPU는 0~100%)
+                if (metricValue < 0 || metricValue > 10000) {
+                    skipped++;
+                    continue;
+                }
 
-            // 각 시계열의 모든 값 처리
-            for (List<Object> value : values) {
-                try {
-                    Long timestamp = ((Number) value.get(0)).longValue();
-                    String valueStr = value.get(1).toString();
-
-                    // ✅ [개선] NaN, Inf 처리
-                    if ("NaN".equalsIgnoreCase(valueStr) ||
-                            "Inf".equalsIgnoreCase(valueStr) ||
-                            "+Inf".equalsIgnoreCase(valueStr) ||
-                            "-Inf".equalsIgnoreCase(valueStr)) {
-                        log.debug("Skipping invalid value: {}", valueStr);
-                        continue;
-                    }
-
-                    Double metricValue = Double.parseDouble(valueStr);
-
-                    // ✅ [개선] 음수 또는 비정상적인 값 필터링 (Heap, CPU는 0~100%)
-                    if (metricValue < 0 || metricValue > 10000) {
-                        log.warn("Suspicious metric value detected: {}. Skipping.", metricValue);
-                        continue;
-                    }
-
-                    // 시간 주기에 맞게 타임스탬프 정규화
-                    Long normalizedTimestamp = normalizeTimestamp(timestamp, timePeriod);
-
-                    groupedData.computeIfAbsent(normalizedTimestamp, k -> new ArrayList<>())
-                            .add(metricValue);
-
-                } catch (Exception e) {
-                    log.error("Failed to parse Prometheus value: {}", value, e);
+                // 샘플이 속한 구간: (t - step, t] → t = firstStep + ceil((ts - firstStep) / step) × step
+                long index = Math.ceilDiv(timestamps[i] - firstStep, stepSeconds);
+                if (index < 0 || index >= steps) {
+                    continue;
                 }
+                int k = (int) index;
+                counts[k]++;
+                sums[k] += metricValue;
+                mins[k] = Math.min(mins[k], metricValue);
+                maxs[k] = Math.max(maxs[k], metricValue);
             }
         }
 
-        if (groupedData.isEmpty()) {
-            log.warn("No data after grouping. Original data size: {}", promData.size());
-            return Collections.emptyList();
-        }
-
-        // 그룹화된 데이터를 집계
-        List<StatisticsResponseDTO.DataPoint> result = groupedData.entrySet().stream()
-                .map(entry -> {
-                    Long timestamp = entry.getKey();
-                    List<Double> dataPoints = entry.getValue();
-
-                    Double aggregatedValue = aggregateValues(dataPoints, aggregationType);
-                    Double minValue = dataPoints.stream().min(Double::compare).orElse(null);
-                    Double maxValue = dataPoints.stream().max(Double::compare).orElse(null);
-
-                    return new StatisticsResponseDTO.DataPoint(
-                            timestamp,
-                            aggregatedValue,
-                            minValue,
-                            maxValue,
-                            dataPoints.size()
-                    );
-                })
-                .collect(Collectors.toList());
-
-        log.info("Converted {} Prometheus series to {} aggregated points",
-                promData.size(), result.size());
-
-        return result;
-    }
-
-    /**
-     * ✅ [신규] Prometheus step 문자열을 timePeriod로 변환
-     *
-     * @param step Prometheus step 문자열 (예: "1m", "15m", "1h", "6h", "1d")
-     * @return timePeriod 문자열 (예: "MINUTE", "HOUR", "DAY")
-     */
-    private String convertStepToPeriod(String step) {
-        if (step == null || step.isEmpty()) {
-            return "HOUR"; // 기본값
+        if (skipped > 0) {
+            log.warn("Skipped {} suspicious metric values (negative or > 10000)", skipped);
         }
 
-        // 마지막 문자(단위)와 숫자 부분 분리
-        char unit = step.charAt(step.length() - 1);
-
-        try {
-            // 숫자 부분 추출 (선택적)
-            // int value = Integer.parseInt(step.substring(0, step.length() - 1));
-
-            return switch (unit) {
-                case 's' -> "MINUTE";  // 초 단위는 분으로 정규화
-                case 'm' -> "MINUTE";  // 분
-                case 'h' -> "HOUR";    // 시간
-                case 'd' -> "DAY";     // 일
-                case 'w' -> "WEEK";    // 주
-                default -> "HOUR";     // 알 수 없는 경우 시간 단위
-            };
-        } catch (Exception e) {
-            log.warn("Failed to parse step: {}. Using HOUR as default.", step);
-            return "HOUR";
+        TimeSeriesColumns result = new TimeSeriesColumns(steps);
+        for (int k = 0; k < steps; k++) {
+            if (counts[k] == 0) {
+                continue;
+            }
+            result.add(firstStep + k * stepSeconds,
+                    aggregate(aggregationType, counts[k], sums[k], mins[k], maxs[k]),
+                    mins[k], maxs[k], counts[k]);
         }
-    }
 
-    /**
-     * 타임스탬프 정규화 (시간 주기에 맞게)
-     */
-    private Long normalizeTimestamp(Long timestamp, String timePeriod) {
-        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(
-                timestamp,
-                0,
-                ZoneId.systemDefault().getRules().getOffset(LocalDateTime.now())
-        );
-
-        LocalDateTime normalized = switch (timePeriod.toUpperCase()) {
-            case "MINUTE" -> dateTime.truncatedTo(ChronoUnit.MINUTES);
-            case "HOUR" -> dateTime.truncatedTo(ChronoUnit.HOURS);
-            case "DAY" -> dateTime.truncatedTo(ChronoUnit.DAYS);
-            case "WEEK" -> dateTime.truncatedTo(ChronoUnit.DAYS)
-                    .minusDays(dateTime.getDayOfWeek().getValue() - 1);
-            case "MONTH" -> dateTime.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
-            default -> dateTime;
-        };
+        log.info("Aggregated {} Prometheus series into {} points (step={}s)",
+                rawData.size(), result.size(), stepSeconds);
 
-        return normalized.atZone(ZoneId.systemDefault()).toEpochSecond();
+        return result;
     }
 
     /**
-     * 데이터 집계
+     * 구간 1개의 값 집계
      */
-    private Double aggregateValues(List<Double> values, String aggregationType) {
-        if (values == null || values.isEmpty()) {
-            return 0.0;
-        }
-
+    private static double aggregate(String aggregationType, int count, double sum, double min, double max) {
         return switch (aggregationType.toUpperCase()) {
-            case "AVG" -> values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
-            case "SUM" -> values.stream().mapToDouble(Double::doubleValue).sum();
-            case "MIN" -> values.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-            case "MAX" -> values.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
-            case "COUNT" -> (double) values.size();
-            default -> values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+            case "SUM" -> sum;
+            case "MIN" -> min;
+            case "MAX" -> max;
+            case "COUNT" -> count;
+            default -> sum / count;  // AVG
         };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,152 @@
+package com.study.monitoring.studymonitoring.model.document;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 로그 인덱스 공통 _source 문서
+ * 특징:
+ * - ES 응답 JSON 을 Map 을 거치지 않고 바로 역직렬화 (JacksonJsonpMapper)
+ * - 인덱스별 source filter(projection)로 가져온 필드만 채워지고 나머지는 null
+ * - 레벨/메시지 판정에 쓰이는 하위 객체(http, error, query, event, security)는 타입 지정,
+ *   화면 상세 표시용으로만 전달되는 객체(system, jvm, user 등)는 Map 그대로 유지
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record LogDocument(
+        @JsonProperty("@timestamp") String timestamp,
+        String application,
+        String message,
+        @JsonProperty("log_level") String logLevel,
+        @JsonProperty("logLevel") String logLevelCamel,
+        String level,
+        String severity,
+        @JsonProperty("severity_version") Integer severityVersion,  // severity 정규화 pipeline 버전 (없으면 pipeline 적용 전 문서)
+        @JsonProperty("logger_name") String loggerName,
+        String logger,
+        @JsonProperty("stack_trace") String stackTrace,
+
+        // performance-metrics (메서드 실행 시간)
+        @JsonProperty("class") String className,
+        String method,
+        @JsonProperty("execution_time_ms") Number executionTimeMs,
+
+        // database-logs
+        String operation,
+        String table,
+        QueryInfo query,
+
+        // access-logs
+        HttpInfo http,
+        Map<String, Object> client,
+
+        // error-logs
+        ErrorInfo error,
+        Object source,
+
+        // performance-metrics (시스템/JVM)
+        Map<String, Object> system,
+        Map<String, Object> jvm,
+
+        // audit-logs
+        Map<String, Object> user,
+        Map<String, Object> resource,
+        EventInfo event,
+
+        // security-logs
+        SecurityInfo security,
+        Map<String, Object> attack,
+        Object blocked,
+        Object tags,
+
+        // 공통 메타데이터
+        Map<String, Object> mdc,
+        Map<String, Object> fields,
+        Map<String, Object> agent
+) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record HttpInfo(
+            String method,
+            String url,
+            @JsonProperty("status_code") Integer statusCode,
+            @JsonProperty("response_time_ms") Number responseTimeMs
+    ) {
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            putIfNotNull(map, "method", method);
+            putIfNotNull(map, "url", url);
+            putIfNotNull(map, "status_code", statusCode);
+            putIfNotNull(map, "response_time_ms", responseTimeMs);
+            return map;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ErrorInfo(
+            String type,
+            String message,
+            @JsonProperty("stack_trace") String stackTrace,
+            String severity
+    ) {
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            putIfNotNull(map, "type", type);
+            putIfNotNull(map, "message", message);
+            putIfNotNull(map, "stack_trace", stackTrace);
+            putIfNotNull(map, "severity", severity);
+            return map;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record QueryInfo(
+            String sql,
+            @JsonProperty("duration_ms") Number durationMs
+    ) {
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            putIfNotNull(map, "sql", sql);
+            putIfNotNull(map, "duration_ms", durationMs);
+            return map;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record EventInfo(
+            String action,
+            String category,
+            String result
+    ) {
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            putIfNotNull(map, "action", action);
+            putIfNotNull(map, "category", category);
+            putIfNotNull(map, "result", result);
+            return map;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record SecurityInfo(
+            @JsonProperty("threat_level") String threatLevel,
+            @JsonProperty("attack_type") String attackType,
+            @JsonProperty("event_type") String eventType
+    ) {
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            putIfNotNull(map, "threat_level", threatLevel);
+            putIfNotNull(map, "attack_type", attackType);
+            putIfNotNull(map, "event_type", eventType);
+            return map;
+        }
+    }
+
+    private static void putIfNotNull(Map<String, Object> map, String key, Object value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+}
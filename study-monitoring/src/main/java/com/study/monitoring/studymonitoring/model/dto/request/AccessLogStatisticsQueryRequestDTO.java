@@ -1,6 +1,8 @@
 package com.study.monitoring.studymonitoring.model.dto.request;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -36,6 +38,13 @@ public class AccessLogStatisticsQueryRequestDTO {
     private Integer statusCode;                 // 선택: 200, 404, 500, 등
     private String url;                         // 선택: URL 필터링
 
+    private Boolean includeHeatmap = false;     // 선택: 응답시간 heatmap 포함 여부
+
+    // 선택: 근사 집계 표본 확률 (없으면 정확 집계). 분기/연 단위 대시보드처럼 정확한 건수가 필요 없는 장기간 조회용
+    @DecimalMin(value = "0.0", inclusive = false, message = "표본 확률은 0보다 커야 합니다")
+    @DecimalMax(value = "0.5", message = "표본 확률은 최대 0.5 입니다")
+    private Double sampleProbability;
+
 
     /** String -> LocalDateTime 변환 */
     public LocalDateTime getStartTimeAsLocalDateTime() {
@@ -0,0 +1,60 @@
+package com.study.monitoring.studymonitoring.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/** breakdown 카운트 페이지 조회 요청 DTO
+ *  breakdown: table(database-logs), eventAction(audit-logs), attackType(security-logs), errorType(error-logs)
+ *  composite 집계 after_key 커서로 값 순 페이지 조회 */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BreakdownQueryRequestDTO {
+
+    private static final DateTimeFormatter FORMATTER
+            = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @NotNull(message = "시작 시간은 필수입니다")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private String startTime;
+
+    @NotNull(message = "종료 시간은 필수입니다")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private String endTime;
+
+    @Min(value = 1, message = "페이지 크기는 최소 1입니다")
+    @Max(value = 1000, message = "페이지 크기는 최대 1000입니다")
+    private Integer size = 20;                  // 페이지 크기
+
+    private String cursor;                      // 이전 응답의 nextCursor (첫 페이지면 생략)
+
+
+    /** String -> LocalDateTime 변환 */
+    public LocalDateTime getStartTimeAsLocalDateTime() {
+        return LocalDateTime.parse(startTime, FORMATTER);
+    }
+
+    /** String -> LocalDateTime 변환 */
+    public LocalDateTime getEndTimeAsLocalDateTime() {
+        return LocalDateTime.parse(endTime, FORMATTER);
+    }
+
+    /** 날짜 형식 검증 */
+    public boolean isValidDateFormat() {
+        try {
+            LocalDateTime.parse(startTime, FORMATTER);
+            LocalDateTime.parse(endTime, FORMATTER);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
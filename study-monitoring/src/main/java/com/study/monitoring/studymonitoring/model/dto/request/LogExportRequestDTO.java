@@ -0,0 +1,35 @@
+package com.study.monitoring.studymonitoring.model.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+/**
+ * 로그 내보내기(Export) 요청 DTO
+ * 특징:
+ * - 페이지 개념 없이 조건에 맞는 전체 로그를 스트리밍
+ * - batchSize 는 ES 에서 한 번에 가져오는 건수 (메모리 사용량 상한)
+ */
+@Data
+public class LogExportRequestDTO {
+
+    @NotBlank(message = "인덱스 패턴은 필수입니다")
+    private String index = "application-logs-*";
+
+    private String keyword;      // 검색 키워드 (옵션)
+
+    private String logLevel;     // INFO, WARN, ERROR (옵션)
+
+    private String startDate;    // 시작 날짜 (옵션: yyyy-MM-ddTHH:mm:ss)
+
+    private String endDate;      // 종료 날짜 (옵션: yyyy-MM-ddTHH:mm:ss)
+
+    @Pattern(regexp = "ndjson|csv", message = "형식은 ndjson 또는 csv 입니다")
+    private String format = "ndjson";
+
+    @Min(value = 100, message = "배치 크기는 최소 100입니다")
+    @Max(value = 5000, message = "배치 크기는 최대 5000입니다")
+    private Integer batchSize = 1000;
+}
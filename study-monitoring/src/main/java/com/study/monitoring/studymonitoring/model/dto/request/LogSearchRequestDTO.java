@@ -30,6 +30,18 @@ public class LogSearchRequestDTO {
     @Max(value = 100, message = "페이지 크기는 최대 100입니다")
     private Integer size = 10;   // 페이지 크기
 
+    // ✅ [추가] 커서(PIT + search_after) 페이징 - 깊은 페이지 조회용
+    private Boolean useCursor = false;  // true 면 from 대신 커서 방식으로 첫 페이지 조회
+
+    private String cursor;       // 이전 응답의 nextCursor (있으면 커서 방식으로 다음 페이지 조회)
+
+    /**
+     * 커서 방식 조회 여부
+     */
+    public boolean isCursorMode() {
+        return Boolean.TRUE.equals(useCursor) || (cursor != null && !cursor.isBlank());
+    }
+
     /**
      * 사용 가능한 인덱스 패턴 목록
      * - application-logs-*: 애플리케이션 로그
@@ -16,4 +16,8 @@ public class MetricsQueryRequestDTO {
     @Min(value = 1, message = "시간 범위는 최소 1시간입니다.")
     @Max(value = 168, message = "시간 범위는 최대 168시간(7일)입니다")
     private Integer hours = 1;  // 기본 1시간
+
+    @Min(value = 3, message = "최대 포인트 수는 3 이상이어야 합니다.")
+    @Max(value = 10000, message = "최대 포인트 수는 10000 이하여야 합니다.")
+    private Integer maxDataPoints;  // 옵션: 넘으면 LTTB 로 다운샘플링
 }
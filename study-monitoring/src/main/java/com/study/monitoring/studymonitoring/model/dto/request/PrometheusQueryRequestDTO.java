@@ -1,5 +1,7 @@
 package com.study.monitoring.studymonitoring.model.dto.request;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
@@ -20,4 +22,8 @@ public class PrometheusQueryRequestDTO {
     private Long end;            // Unix timestamp (옵션)
 
     private String step = "15s"; // 기본: 15초 간격
+
+    @Min(value = 3, message = "최대 포인트 수는 3 이상이어야 합니다.")
+    @Max(value = 10000, message = "최대 포인트 수는 10000 이하여야 합니다.")
+    private Integer maxDataPoints; // 옵션: series 당 최대 포인트 수 (/range 전용, 넘으면 LTTB 로 다운샘플링)
 }
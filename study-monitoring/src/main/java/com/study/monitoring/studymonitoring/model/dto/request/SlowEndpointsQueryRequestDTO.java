@@ -0,0 +1,64 @@
+package com.study.monitoring.studymonitoring.model.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/** 가장 느린 엔드포인트 조회 요청 DTO
+ *  인덱스: access-logs-*
+ *  route(정규화 URL)별 요청 수, 평균/p95 응답시간, 에러 수 */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowEndpointsQueryRequestDTO {
+
+    private static final DateTimeFormatter FORMATTER
+            = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @NotNull(message = "시작 시간은 필수입니다")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private String startTime;
+
+    @NotNull(message = "종료 시간은 필수입니다")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private String endTime;
+
+    @Min(value = 1, message = "조회 개수는 최소 1입니다")
+    @Max(value = 100, message = "조회 개수는 최대 100입니다")
+    private Integer limit = 20;                 // 상위 N
+
+    @Pattern(regexp = "(?i)p95|totalTime", message = "정렬 기준은 p95 또는 totalTime 입니다")
+    private String sortBy = "p95";              // p95: 느린 순, totalTime: 전체 소요시간(요청 수 × 평균) 순
+
+    private Boolean normalizeRoute = true;      // 숫자/UUID path 를 {id} 로 묶을지 여부
+
+
+    /** String -> LocalDateTime 변환 */
+    public LocalDateTime getStartTimeAsLocalDateTime() {
+        return LocalDateTime.parse(startTime, FORMATTER);
+    }
+
+    /** String -> LocalDateTime 변환 */
+    public LocalDateTime getEndTimeAsLocalDateTime() {
+        return LocalDateTime.parse(endTime, FORMATTER);
+    }
+
+    /** 날짜 형식 검증 */
+    public boolean isValidDateFormat() {
+        try {
+            LocalDateTime.parse(startTime, FORMATTER);
+            LocalDateTime.parse(endTime, FORMATTER);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.study.monitoring.studymonitoring.model.dto.request;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -51,6 +53,11 @@ public class StatisticsQueryRequestDTO {
     )
     private String application; // eng-study, monitoring, postgres, elasticsearch
 
+    // 응답 최대 포인트 수 (옵션) - 넘으면 LTTB 로 다운샘플링 (spike 유지)
+    @Min(value = 3, message = "최대 포인트 수는 3 이상이어야 합니다.")
+    @Max(value = 10000, message = "최대 포인트 수는 10000 이하여야 합니다.")
+    private Integer maxDataPoints;
+
     /** startTime을 LocalDateTime으로 변환 */
     public LocalDateTime getStartTimeAsLocalDateTime() {
         return LocalDateTime.parse(this.startTime, FORMATTER);
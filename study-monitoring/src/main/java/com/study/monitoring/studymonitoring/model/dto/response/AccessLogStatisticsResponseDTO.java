@@ -31,6 +31,11 @@ public class AccessLogStatisticsResponseDTO {
     // 평균 응답시간( ms )
     private Double avgResponseTime;
 
+    // 응답시간 백분위( ms ) - 평균에 가려지는 tail latency 확인용
+    private Double p50ResponseTime;
+    private Double p95ResponseTime;
+    private Double p99ResponseTime;
+
     // 에러율 관련 필드
     private Long totalRequests;
     private Long errorCount;
@@ -39,6 +44,12 @@ public class AccessLogStatisticsResponseDTO {
     // 시간대 별 분포
     private List<AccessDistribution> distributions;
 
+    // 응답시간 heatmap (includeHeatmap=true 일 때만)
+    private LatencyHeatmapDTO latencyHeatmap;
+
+    // 근사 집계 정보 (sampleProbability 요청 시만, 카운트는 1/확률 로 보정된 추정치)
+    private SamplingInfoDTO sampling;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -46,6 +57,9 @@ public class AccessLogStatisticsResponseDTO {
         private String timestamp;               // 시간일자
         private Long requestCount;              // 요청 수
         private Double avgResponseTime;         // 평균 응답시간
+        private Double p50ResponseTime;         // 응답시간 p50
+        private Double p95ResponseTime;         // 응답시간 p95
+        private Double p99ResponseTime;         // 응답시간 p99
         private Long errorCount;                // 에러 수
     }
 }
@@ -23,6 +23,9 @@ public class AuditLogStatisticsResponseDTO {
     // 이벤트 액션별 카운트
     private Map<String, Long> eventActionCounts;
 
+    // eventActionCounts 는 건수 상위 20개, 그 밖의 이벤트 액션 문서 수 (0 보다 크면 /api/statistics/breakdowns/eventAction 로 전체 조회)
+    private Long eventActionOtherCount;
+
     // 카테고리별 카운트
     private Map<String, Long> categoryCounts;
 
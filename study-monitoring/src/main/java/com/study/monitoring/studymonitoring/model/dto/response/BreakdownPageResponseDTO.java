@@ -0,0 +1,30 @@
+package com.study.monitoring.studymonitoring.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * breakdown 카운트 페이지 응답 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BreakdownPageResponseDTO {
+
+    private String breakdown;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Long startTime;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Long endTime;
+
+    // 값 별 카운트 (값 순, 페이지 단위)
+    private Map<String, Long> counts;
+
+    // 다음 페이지 커서 (마지막 페이지면 null)
+    private String nextCursor;
+}
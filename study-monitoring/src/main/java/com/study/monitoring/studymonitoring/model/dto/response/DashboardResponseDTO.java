@@ -23,6 +23,8 @@ public class DashboardResponseDTO {
     private List<ErrorLogDTO> recentErrors;        // 최근 에러
     private Map<String, Long> logCounts;           // 로그 레벨별 카운트
     private SystemStatisticsDTO statistics;        // 시스템 통계
+    private Long generatedAt;                      // 스냅샷 생성 시각 (epoch ms)
+    private Long snapshotAgeMs;                    // 응답 시점의 스냅샷 경과 시간 (ms)
 
     /**
      * 프로세스 상태 DTO
@@ -26,6 +26,9 @@ public class DatabaseLogStatisticsResponseDTO {
     // 테이블 별 쿼리 수
     private Map<String, Long> tableCounts;
 
+    // tableCounts 는 건수 상위 20개, 그 밖의 테이블 문서 수 (0 보다 크면 /api/statistics/breakdowns/table 로 전체 조회)
+    private Long tableOtherCount;
+
     // 쿼리 성능 지표
     private QueryPerformance queryPerformance;
 
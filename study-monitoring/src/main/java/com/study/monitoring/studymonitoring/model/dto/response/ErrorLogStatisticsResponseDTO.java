@@ -23,6 +23,9 @@ public class ErrorLogStatisticsResponseDTO {
     // 에러 타입별 카운트
     private Map<String, Long> errorTypeCounts;
 
+    // errorTypeCounts 는 건수 상위 20개, 그 밖의 에러 타입 문서 수 (0 보다 크면 /api/statistics/breakdowns/errorType 로 전체 조회)
+    private Long errorTypeOtherCount;
+
     // 심각도별 카운트
     private Map<String, Long> severityCounts;
 
@@ -0,0 +1,33 @@
+package com.study.monitoring.studymonitoring.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 응답시간 heatmap DTO
+ * - x축: 시간 버킷, y축: 응답시간 구간, 값: 요청 수
+ * - 구간은 bucketBoundsMs 의 상한 기준 ([*, 10), [10, 25), ... 마지막 구간은 상한 없음)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatencyHeatmapDTO {
+
+    // 응답시간 구간 상한 (ms) - counts 길이는 bucketBoundsMs.size() + 1
+    private List<Long> bucketBoundsMs;
+
+    // 시간 버킷별 구간 카운트
+    private List<HeatmapRow> rows;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HeatmapRow {
+        private String timestamp;               // 시간일자
+        private Long total;                     // 전체 요청 수
+        private List<Long> counts;              // 응답시간 구간별 요청 수
+    }
+}
@@ -22,6 +22,9 @@ public class LogSearchResponseDTO {
     private Boolean hasNext;            // 다음 페이지 존재 여부
     private Boolean hasPrevious;        // 이전 페이지 존재 여부
 
+    // ✅ [추가] 커서 페이징 정보
+    private String nextCursor;          // 다음 페이지 커서 (커서 조회가 아니거나 마지막 페이지면 null)
+
     /**
      * 로그 엔트리 DTO
      */
@@ -68,4 +71,24 @@ public class LogSearchResponseDTO {
 
         return dto;
     }
+
+    /**
+     * 커서 페이징 응답 생성 헬퍼 메서드
+     * - 커서 방식은 페이지 번호가 없으므로 다음 페이지 여부만 제공
+     */
+    public static LogSearchResponseDTO createWithCursor(
+            Long total,
+            List<LogEntry> logs,
+            Integer size,
+            String nextCursor) {
+
+        LogSearchResponseDTO dto = new LogSearchResponseDTO();
+        dto.setTotal(total);
+        dto.setLogs(logs);
+        dto.setSize(size);
+        dto.setTotalPages((int) Math.ceil((double) total / size));
+        dto.setHasNext(nextCursor != null);
+        dto.setNextCursor(nextCursor);
+        return dto;
+    }
 }
\ No newline at end of file
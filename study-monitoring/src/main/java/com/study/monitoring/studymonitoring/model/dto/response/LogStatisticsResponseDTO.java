@@ -21,6 +21,7 @@ public class LogStatisticsResponseDTO {
     private String timePeriod;                      // 시간 주기
     private Map<String, Long> logCounts;            // 로그 레벨별 카운트
     private List<LogDistribution> distributions;    // 시간대 별 로그 분포
+    private SamplingInfoDTO sampling;               // 근사 집계 정보 (sampleProbability 요청 시만)
 
 
     /** 시간대 별 로그 분포 */
@@ -17,4 +17,5 @@ public class PageResponseDTO<T> {
     private int totalPages;             // 전체 페이지 수
     private int currentPage;            // 현재 페이지 번호
     private int size;
+    private String nextCursor;          // 커서 조회 시 다음 페이지 커서 (마지막 페이지면 null)
 }
@@ -0,0 +1,21 @@
+package com.study.monitoring.studymonitoring.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 근사(random_sampler) 집계 정보 DTO
+ * - 응답의 카운트는 표본 수 / 확률 로 보정된 추정치
+ * - 버킷별 상대 오차는 같은 식에 버킷 표본 수(추정 건수 × 확률)를 넣어 계산
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SamplingInfoDTO {
+
+    private Double probability;                 // 표본 확률
+    private Long sampledDocCount;               // 표본으로 집계된 문서 수
+    private Long estimatedDocCount;             // 전체 문서 수 추정치
+    private Double relativeError95;             // 전체 건수 95% 상대 오차 (0.01 = ±1%)
+}
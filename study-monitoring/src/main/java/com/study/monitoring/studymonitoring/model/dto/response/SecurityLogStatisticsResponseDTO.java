@@ -26,6 +26,9 @@ public class SecurityLogStatisticsResponseDTO {
     private Map<String, Long> threatLevelCounts;
     // 공격 타입 별 카운트
     private Map<String, Long> attackTypeCounts;
+
+    // attackTypeCounts 는 건수 상위 20개, 그 밖의 공격 유형 문서 수 (0 보다 크면 /api/statistics/breakdowns/attackType 로 전체 조회)
+    private Long attackTypeOtherCount;
     // 차단 통계
     private BlockStats blockStats;
     // 시간대 별 분포
@@ -0,0 +1,39 @@
+package com.study.monitoring.studymonitoring.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 가장 느린 엔드포인트 응답 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowEndpointsResponseDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Long startTime;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Long endTime;
+    private String sortBy;
+
+    // 정렬 기준 내림차순
+    private List<EndpointStatistics> endpoints;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EndpointStatistics {
+        private String route;                   // route (또는 원본 URL)
+        private Long requestCount;              // 요청 수
+        private Double avgResponseTime;         // 평균 응답시간
+        private Double p95ResponseTime;         // 응답시간 p95
+        private Double totalResponseTime;       // 전체 소요시간 (ms)
+        private Long errorCount;                // 에러 수 (5xx)
+        private Double errorRate;               // 에러율 (%)
+    }
+}
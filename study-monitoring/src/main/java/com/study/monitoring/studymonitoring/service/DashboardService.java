@@ -37,4 +37,10 @@ public interface DashboardService {
      * [이동됨] Controller -> Service
      */
     PageResponseDTO<DashboardResponseDTO.ErrorLogDTO> getErrorLogs(String type, int page, int size);
+
+    /**
+     * 에러 로그 목록 조회 (커서 방식)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 null)
+     */
+    PageResponseDTO<DashboardResponseDTO.ErrorLogDTO> getErrorLogs(String type, String cursor, int size);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.study.monitoring.studymonitoring.service;
 
 import com.study.monitoring.studymonitoring.model.dto.response.PageResponseDTO;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,70 @@ public interface ElasticsearchService {
             int size
     );
 
+    /**
+     * 로그 검색 - 커서(PIT + search_after) 방식
+     * - cursor 가 없으면 PIT 를 새로 열어 첫 페이지를 조회
+     * - 검색 조건은 첫 페이지와 동일하게 매번 전달해야 함
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size 페이지 크기
+     * @return 검색 결과 Map (total, logs, took, nextCursor - 마지막 페이지면 null)
+     */
+    Map<String, Object> searchLogsWithCursor(
+            String indexPattern,
+            String keyword,
+            String logLevel,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String cursor,
+            int size
+    );
+
+    /**
+     * 로그 tail - 기준 시각 이후에 들어온 로그 (@timestamp 오름차순)
+     * - 기준 시각과 같은 @timestamp 의 문서도 포함하므로 호출 측에서 이미 받은 _id 를 걸러야 함
+     * - 건수(total)는 세지 않음
+     *
+     * @param afterEpochMillis 기준 시각 (epoch millis, 이 시각 이상)
+     * @param size 최대 건수
+     * @return 검색 결과 Map (logs, took, timestamps - logs 와 같은 순서의 @timestamp epoch millis,
+     *         lastTimestamp - 마지막 hit 의 @timestamp epoch millis (없으면 null))
+     */
+    Map<String, Object> searchLogsAfter(
+            String indexPattern,
+            String keyword,
+            String logLevel,
+            long afterEpochMillis,
+            int size
+    );
+
+    /**
+     * 로그 전체 스캔 (PIT + search_after, 배치 단위)
+     * - 배치마다 hit 를 handler 로 넘기고 버리므로 결과 크기와 무관하게 메모리 사용량이 일정
+     * - handler 에서 예외가 나면(클라이언트 연결 종료 등) 즉시 중단하고 PIT 를 닫음
+     *
+     * @param batchSize 한 번에 가져오는 건수
+     * @param handler hit 처리기
+     * @return 처리한 hit 수
+     */
+    long scanLogs(
+            String indexPattern,
+            String keyword,
+            String logLevel,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            int batchSize,
+            LogHitHandler handler
+    ) throws IOException;
+
+    /**
+     * scanLogs 의 hit 처리기
+     */
+    @FunctionalInterface
+    interface LogHitHandler {
+        void handle(Map<String, Object> hit) throws IOException;
+    }
+
     Map<String, Long> countByLogLevel(String indexPattern);
 
     List<Map<String, Object>> getRecentErrors(int limit);
@@ -42,6 +107,20 @@ public interface ElasticsearchService {
             String logLevel
     );
 
+    /**
+     * 애플리케이션 로그 통계 통합 조회 (_msearch 1회)
+     * @param sampleProbability null 이면 정확 집계, 값이 있으면 random_sampler 근사 집계 (0 < p <= 0.5)
+     * @return logCounts(Map), distribution(List), sampling(근사 집계일 때만)
+     */
+    Map<String, Object> getLogStatisticsBundle(
+            String indexPattern,
+            LocalDateTime start,
+            LocalDateTime end,
+            String timePeriod,
+            String logLevel,
+            Double sampleProbability
+    );
+
     Map<String, Long> countByHttpMethod(String indexPattern, LocalDateTime start, LocalDateTime end);
 
     Map<String, Long> countByStatusCode(String indexPattern, LocalDateTime start, LocalDateTime end);
@@ -55,6 +134,68 @@ public interface ElasticsearchService {
             String timePeriod
     );
 
+    /**
+     * 접근 로그 통계 통합 조회 (search 1회)
+     * @param sampleProbability null 이면 정확 집계, 값이 있으면 random_sampler 근사 집계 (0 < p <= 0.5)
+     * @return methodCounts, statusCodeCounts, avgResponseTime, responseTimePercentiles(p50/p95/p99), distribution,
+     *         sampling(근사 집계일 때만)
+     */
+    Map<String, Object> getAccessLogStatisticsBundle(
+            String indexPattern,
+            LocalDateTime start,
+            LocalDateTime end,
+            String timePeriod,
+            Double sampleProbability
+    );
+
+    /**
+     * 응답시간 heatmap (시간 버킷 × 응답시간 구간별 요청 수)
+     * @param sampleProbability null 이면 정확 집계, 값이 있으면 random_sampler 근사 집계
+     * @return bucketBoundsMs (구간 상한, 마지막 구간은 상한 없음), rows (timestamp, total, counts)
+     */
+    Map<String, Object> getAccessLogLatencyHeatmap(
+            String indexPattern,
+            LocalDateTime start,
+            LocalDateTime end,
+            String timePeriod,
+            Double sampleProbability
+    );
+
+    /**
+     * 가장 느린 엔드포인트 Top N (composite 집계로 모든 route 순회)
+     *
+     * @param limit 상위 N
+     * @param sortBy p95 (기본) | totalTime (count × 평균, 전체 소요시간)
+     * @param normalizeRoute true 면 숫자/UUID path 를 {id} 로 묶은 route 기준, false 면 원본 URL 기준
+     * @return route, count, avgResponseTime, p95ResponseTime, totalResponseTime, errorCount, errorRate (정렬 기준 내림차순)
+     */
+    List<Map<String, Object>> getSlowestEndpoints(
+            String indexPattern,
+            LocalDateTime start,
+            LocalDateTime end,
+            int limit,
+            String sortBy,
+            boolean normalizeRoute
+    );
+
+    /**
+     * breakdown 카운트 페이지 조회 (composite 집계, 값 순)
+     * - countByTable / countByEventAction / countByAttackType / countByErrorType 은 상위 20개만 반환하므로
+     *   나머지까지 정확한 카운트가 필요하면 이 메서드로 페이지를 넘기며 조회
+     *
+     * @param breakdown table | eventAction | attackType | errorType
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size 페이지 크기
+     * @return counts (값 → 건수, 값 순), nextCursor (마지막 페이지면 null)
+     */
+    Map<String, Object> pageBreakdownCounts(
+            String breakdown,
+            LocalDateTime start,
+            LocalDateTime end,
+            String cursor,
+            int size
+    );
+
     /**
      * 에러 로그를 검색하고 페이지네이션된 결과를 반환합니다.
      * @param type 에러 타입 (예: "NullPointerException" 등, 없으면 전체)
@@ -64,9 +205,21 @@ public interface ElasticsearchService {
      */
     PageResponseDTO<Map<String, Object>> searchErrorLogs(String type, int page, int size);
 
+    /**
+     * 에러 로그 검색 - 커서(PIT + search_after) 방식
+     * @param type 에러 타입 (SYSTEM 이면 error-logs-*, 그 외 application-logs-*)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size 페이지 크기
+     * @return 에러 로그 목록과 nextCursor
+     */
+    PageResponseDTO<Map<String, Object>> searchErrorLogs(String type, String cursor, int size);
+
     // ============================================
     // error-logs 통계용 메서드
     // ============================================
+    /**
+     * 에러 타입별 건수 (건수 상위 20개, 전체는 pageBreakdownCounts("errorType"))
+     */
     Map<String, Long> countByErrorType(String indexPattern, LocalDateTime start, LocalDateTime end);
 
     Map<String, Long> countBySeverity(String indexPattern, LocalDateTime start, LocalDateTime end);
@@ -78,6 +231,17 @@ public interface ElasticsearchService {
             String timePeriod
     );
 
+    /**
+     * 에러 로그 통계 통합 조회 (search 1회)
+     * @return errorTypeCounts(상위 20개), errorTypeCountsOther(그 밖의 문서 수), severityCounts, distribution
+     */
+    Map<String, Object> getErrorLogStatisticsBundle(
+            String indexPattern,
+            LocalDateTime start,
+            LocalDateTime end,
+            String timePeriod
+    );
+
     // ============================================
     // performance-metrics 통계용 메서드
     // ============================================
@@ -100,11 +264,25 @@ public interface ElasticsearchService {
             String timePeriod
     );
 
+    /**
+     * 성능 메트릭 통계 통합 조회 (search 1회)
+     * @return systemMetrics, jvmMetrics, distribution
+     */
+    Map<String, Object> getPerformanceMetricsStatisticsBundle(
+            String indexPattern,
+            LocalDateTime start,
+            LocalDateTime end,
+            String timePeriod
+    );
+
     // ============================================
     // database-logs 통계용 메서드
     // ============================================
     Map<String, Long> countByOperation(String indexPattern, LocalDateTime start, LocalDateTime end);
 
+    /**
+     * 테이블별 건수 (건수 상위 20개, 전체는 pageBreakdownCounts("table"))
+     */
     Map<String, Long> countByTable(String indexPattern, LocalDateTime start, LocalDateTime end);
 
     Map<String, Object> getQueryPerformanceStats(
@@ -120,9 +298,23 @@ public interface ElasticsearchService {
             String timePeriod
     );
 
+    /**
+     * 데이터베이스 로그 통계 통합 조회 (search 1회)
+     * @return operationCounts, tableCounts(상위 20개), tableCountsOther(그 밖의 문서 수), queryPerformance, distribution
+     */
+    Map<String, Object> getDatabaseLogStatisticsBundle(
+            String indexPattern,
+            LocalDateTime start,
+            LocalDateTime end,
+            String timePeriod
+    );
+
     // ============================================
     // audit-logs 통계용 메서드
     // ============================================
+    /**
+     * 이벤트 액션별 건수 (건수 상위 20개, 전체는 pageBreakdownCounts("eventAction"))
+     */
     Map<String, Long> countByEventAction(String indexPattern, LocalDateTime start, LocalDateTime end);
 
     Map<String, Long> countByCategory(String indexPattern, LocalDateTime start, LocalDateTime end);
@@ -136,8 +328,23 @@ public interface ElasticsearchService {
             String timePeriod
     );
 
+    /**
+     * 감사 로그 통계 통합 조회 (search 1회)
+     * @return eventActionCounts(상위 20개), eventActionCountsOther(그 밖의 문서 수), categoryCounts, eventResultCounts,
+     *         distribution
+     */
+    Map<String, Object> getAuditLogStatisticsBundle(
+            String indexPattern,
+            LocalDateTime start,
+            LocalDateTime end,
+            String timePeriod
+    );
+
     Map<String, Long> countByThreatLevel(String indexPattern, LocalDateTime start, LocalDateTime end);
 
+    /**
+     * 공격 유형별 건수 (건수 상위 20개, 전체는 pageBreakdownCounts("attackType"))
+     */
     Map<String, Long> countByAttackType(String indexPattern, LocalDateTime start, LocalDateTime end);
 
     Map<String, Long> getBlockStatistics(String indexPattern, LocalDateTime start, LocalDateTime end);
@@ -148,4 +355,16 @@ public interface ElasticsearchService {
             LocalDateTime end,
             String timePeriod
     );
+
+    /**
+     * 보안 로그 통계 통합 조회 (search 1회)
+     * @return threatLevelCounts, attackTypeCounts(상위 20개), attackTypeCountsOther(그 밖의 문서 수), blockStatistics,
+     *         distribution
+     */
+    Map<String, Object> getSecurityLogStatisticsBundle(
+            String indexPattern,
+            LocalDateTime start,
+            LocalDateTime end,
+            String timePeriod
+    );
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.study.monitoring.studymonitoring.service;
+
+import com.study.monitoring.studymonitoring.model.dto.request.LogExportRequestDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface LogExportService {
+
+    /**
+     * 조건에 맞는 로그를 NDJSON/CSV 로 스트리밍
+     * - 배치 단위로 읽어 바로 쓰므로 전체 결과를 메모리에 올리지 않음
+     *
+     * @param request 내보내기 조건
+     * @param startTime 조회 시작 (null 이면 제한 없음, 호출 측에서 request.startDate 를 파싱해 전달)
+     * @param endTime 조회 종료 (null 이면 제한 없음)
+     * @param outputStream 응답 스트림
+     * @return 내보낸 로그 건수
+     */
+    long export(LogExportRequestDTO request, LocalDateTime startTime, LocalDateTime endTime,
+                OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,18 @@
+package com.study.monitoring.studymonitoring.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LogTailService {
+
+    /**
+     * 실시간 로그 tail 구독 (Server-Sent Events)
+     * - 같은 조건(인덱스, 레벨, 키워드)의 구독자는 하나의 poller 를 공유
+     * - 구독 시점 이후에 들어온 로그만 "logs" 이벤트로 전달
+     *
+     * @param indexPattern 인덱스 패턴
+     * @param logLevel 로그 레벨 (옵션)
+     * @param keyword 검색 키워드 (옵션)
+     * @return SseEmitter
+     */
+    SseEmitter subscribe(String indexPattern, String logLevel, String keyword);
+}
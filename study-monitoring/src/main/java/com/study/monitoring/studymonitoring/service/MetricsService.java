@@ -1,5 +1,6 @@
 package com.study.monitoring.studymonitoring.service;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -34,4 +35,18 @@ public interface MetricsService {
      * @return 현재 메트릭 데이터 (TPS, Heap, CPU, Error Rate)
      */
     Map<String, Object> getCurrentMetrics(String application);
+
+    /**
+     * 여러 애플리케이션의 현재 메트릭 일괄 조회
+     *
+     * 📌 사용처: DashboardSnapshotCache (주기적 스냅샷 갱신)
+     *
+     * 처리 흐름:
+     * 1. 메트릭별로 애플리케이션 전체를 한 번에 조회 (애플리케이션 수와 관계없이 Prometheus 쿼리 4회)
+     * 2. 애플리케이션마다 getCurrentMetrics() 와 같은 구조로 변환
+     *
+     * @param applications 애플리케이션 이름 목록
+     * @return 애플리케이션 이름 → getCurrentMetrics() 와 같은 구조의 응답
+     */
+    Map<String, Map<String, Object>> getCurrentMetrics(Collection<String> applications);
 }
\ No newline at end of file
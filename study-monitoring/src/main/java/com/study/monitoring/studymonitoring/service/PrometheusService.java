@@ -1,6 +1,8 @@
 // /Monitering/study-monitoring/src/main/java/com/study/monitoring/studymonitoring/service/PrometheusService.java
 package com.study.monitoring.studymonitoring.service;
 
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder;
+
 import java.util.List;
 import java.util.Map;
 
@@ -29,9 +31,22 @@ public interface PrometheusService {
      * @param start 시작 시간(Unix timestamp)
      * @param end   종료 시간(Unix timestamp)
      * @param step  데이터 간격(예: "15s")
+     * @param maxDataPoints series 당 최대 포인트 수 (null 이면 전체, 넘으면 LTTB 로 다운샘플링)
      * @return 시계열 데이터 리스트
      **/
-    List<Map<String, Object>> queryRange(String query, long start, long end, String step);
+    List<Map<String, Object>> queryRange(String query, long start, long end, String step, Integer maxDataPoints);
+
+    /**
+     * 시간 범위의 메트릭 조회( Range Query ) - series 별 long[] / double[] 배열
+     * - 응답을 Map 으로 만들지 않고 스트리밍으로 디코딩 (긴 기간, 작은 step 조회용)
+     *
+     * @param query PromQL 쿼리
+     * @param start 시작 시간(Unix timestamp)
+     * @param end   종료 시간(Unix timestamp)
+     * @param step  데이터 간격(예: "15s")
+     * @return 시계열 목록 (값에 NaN / ±Infinity 포함 가능)
+     **/
+    List<PrometheusMatrixDecoder.Series> queryRangeSeries(String query, long start, long end, String step);
 
     /**
      * JVM Heap 메모리 사용률 조회
@@ -69,4 +84,25 @@ public interface PrometheusService {
     Map<String, String> getRealTimeStatusMap();
 
     Double getUptime(String application);
+
+    // =========================================================================
+    // 애플리케이션 전체 일괄 조회 (메트릭당 by (application) 쿼리 1회)
+    // - Key: application 라벨, Value: 메트릭 값 (값이 없는 애플리케이션은 Map 에 없음)
+    // - elasticsearch / postgres 는 단건 조회와 같은 대체 지표를 label_replace 로 application 라벨을 붙여 함께 조회
+    // =========================================================================
+
+    /** CPU 사용률(%) - elasticsearch: 활성 작업 수, postgres: 활성 연결 수 */
+    Map<String, Double> getCpuUsageByApplication();
+
+    /** Heap 사용률(%) - elasticsearch / postgres: 디스크 사용량(MB) */
+    Map<String, Double> getHeapMemoryUsageByApplication();
+
+    /** Uptime(초) */
+    Map<String, Double> getUptimeByApplication();
+
+    /** TPS - elasticsearch: 인덱싱 rate, postgres: 커밋 rate */
+    Map<String, Double> getTpsByApplication();
+
+    /** HTTP 에러율(%) - elasticsearch: 0, postgres: 롤백 rate */
+    Map<String, Double> getErrorRateByApplication();
 }
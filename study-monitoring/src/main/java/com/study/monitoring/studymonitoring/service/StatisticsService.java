@@ -34,6 +34,12 @@ public interface StatisticsService {
      */
     AccessLogStatisticsResponseDTO getAccessLogStatistics(AccessLogStatisticsQueryRequestDTO request);
 
+    /**
+     * 가장 느린 엔드포인트 Top N (Elasticsearch)
+     * 인덱스: access-logs-*
+     */
+    SlowEndpointsResponseDTO getSlowestEndpoints(SlowEndpointsQueryRequestDTO request);
+
     /**
      * 에러 로그 통계 조회 (Elasticsearch)
      * 인덱스: error-logs-*
@@ -64,4 +70,10 @@ public interface StatisticsService {
      * 인덱스: security-logs-*
      */
     SecurityLogStatisticsResponseDTO getSecurityLogStatistics(SecurityLogStatisticsQueryRequestDTO request);
+
+    /**
+     * breakdown 카운트 페이지 조회 (Elasticsearch composite 집계)
+     * breakdown: table, eventAction, attackType, errorType
+     */
+    BreakdownPageResponseDTO getBreakdownPage(String breakdown, BreakdownQueryRequestDTO request);
 }
\ No newline at end of file
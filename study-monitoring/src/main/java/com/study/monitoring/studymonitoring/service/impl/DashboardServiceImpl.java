@@ -12,6 +12,8 @@ import com.study.monitoring.studymonitoring.service.DashboardService;
 import com.study.monitoring.studymonitoring.service.ElasticsearchService;
 import com.study.monitoring.studymonitoring.service.MonitoringService;
 import com.study.monitoring.studymonitoring.service.PrometheusService;
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder;
+import com.study.monitoring.studymonitoring.util.TimeSeriesDownsampler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -45,13 +47,15 @@ public class DashboardServiceImpl implements DashboardService {
         log.info("Fetching dashboard overview");
 
         // 1. 프로세스 목록 (DB + Prometheus)
+        // - 프로세스 수와 관계없이 메트릭당 Prometheus 쿼리 1회 (by application)
+        ApplicationMetrics metrics = fetchApplicationMetrics();
         List<ProcessVO> processMetadata = processMapper.getAllProcesses();
         List<DashboardResponseDTO.ProcessStatusDTO> processes = processMetadata.stream()
-                .map(this::enrichProcessWithMetrics)
+                .map(metadata -> enrichProcessWithMetrics(metadata, metrics))
                 .collect(Collectors.toList());
 
         // 2. 메트릭 요약
-        DashboardResponseDTO.MetricsSummaryDTO metricsSummary = buildMetricsSummary();
+        DashboardResponseDTO.MetricsSummaryDTO metricsSummary = buildMetricsSummary(metrics);
 
         // 3. 최근 에러 (Elasticsearch) - ✅ 공통 매핑 로직 사용
         List<DashboardResponseDTO.ErrorLogDTO> recentErrors = elasticsearchService.getRecentErrors(10).stream()
@@ -62,9 +66,10 @@ public class DashboardServiceImpl implements DashboardService {
         Map<String, Long> logCounts = elasticsearchService.countByLogLevel("application-logs-*");
 
         // 5. 시스템 통계
-        DashboardResponseDTO.SystemStatisticsDTO statistics = calculateSystemStatistics(processes);
+        DashboardResponseDTO.SystemStatisticsDTO statistics = calculateSystemStatistics(processes, metrics);
 
-        return new DashboardResponseDTO(processes, metricsSummary, recentErrors, logCounts, statistics);
+        return new DashboardResponseDTO(processes, metricsSummary, recentErrors, logCounts, statistics,
+                System.currentTimeMillis(), 0L);
     }
 
     /**
@@ -78,7 +83,14 @@ public class DashboardServiceImpl implements DashboardService {
         // Query 생성 로직을 Service 내부 private 메서드로 처리
         String query = buildPrometheusQuery(request.getApplication(), request.getMetric());
 
-        List<Map<String, Object>> data = prometheusService.queryRange(query, start, end, "15s");
+        List<PrometheusMatrixDecoder.Series> data = prometheusService.queryRangeSeries(query, start, end, "15s");
+
+        // 15초 해상도로 조회한 뒤 최대 포인트 수를 넘으면 LTTB 로 줄임 (7일 = 40,320 포인트)
+        if (request.getMaxDataPoints() != null) {
+            data = data.stream()
+                    .map(series -> TimeSeriesDownsampler.downsample(series, request.getMaxDataPoints()))
+                    .toList();
+        }
         return metricsConverter.toDTO(data, request.getApplication(), request.getMetric(), start, end);
     }
 
@@ -116,6 +128,23 @@ public class DashboardServiceImpl implements DashboardService {
                 .build();
     }
 
+    @Override
+    public PageResponseDTO<DashboardResponseDTO.ErrorLogDTO> getErrorLogs(String type, String cursor, int size) {
+        PageResponseDTO<Map<String, Object>> result = elasticsearchService.searchErrorLogs(type, cursor, size);
+
+        List<DashboardResponseDTO.ErrorLogDTO> dtos = result.getContent().stream()
+                .map(logMap -> mapToErrorLogDTO(logMap, type))
+                .collect(Collectors.toList());
+
+        return PageResponseDTO.<DashboardResponseDTO.ErrorLogDTO>builder()
+                .content(dtos)
+                .totalElements(result.getTotalElements())
+                .totalPages(result.getTotalPages())
+                .size(result.getSize())
+                .nextCursor(result.getNextCursor())
+                .build();
+    }
+
     // =================================================================================
     // ✅ Private Helper Methods (비즈니스 로직 집중화)
     // =================================================================================
@@ -156,12 +185,32 @@ public class DashboardServiceImpl implements DashboardService {
         return new DashboardResponseDTO.ErrorLogDTO(id, timestamp, level, message, applicationName);
     }
 
-    private DashboardResponseDTO.ProcessStatusDTO enrichProcessWithMetrics(ProcessVO metadata) {
+    /**
+     * 대시보드 1회 렌더링에 필요한 애플리케이션별 메트릭 (application 라벨 → 값)
+     */
+    private record ApplicationMetrics(
+            Map<String, Double> cpuUsage,
+            Map<String, Double> heapUsage,
+            Map<String, Double> uptime,
+            Map<String, Double> tps,
+            Map<String, Double> errorRate) {}
+
+    private ApplicationMetrics fetchApplicationMetrics() {
+        return new ApplicationMetrics(
+                prometheusService.getCpuUsageByApplication(),
+                prometheusService.getHeapMemoryUsageByApplication(),
+                prometheusService.getUptimeByApplication(),
+                prometheusService.getTpsByApplication(),
+                prometheusService.getErrorRateByApplication()
+        );
+    }
+
+    private DashboardResponseDTO.ProcessStatusDTO enrichProcessWithMetrics(ProcessVO metadata, ApplicationMetrics metrics) {
         try {
             String appName = metadata.getProcessName();
-            Double cpuUsage = prometheusService.getCpuUsage(appName);
-            Double memoryUsage = prometheusService.getHeapMemoryUsage(appName);
-            Double uptimeSeconds = prometheusService.getUptime(appName);
+            Double cpuUsage = metrics.cpuUsage().get(appName);
+            Double memoryUsage = metrics.heapUsage().get(appName);
+            Double uptimeSeconds = metrics.uptime().get(appName);
             String uptime = formatUptime(uptimeSeconds != null ? uptimeSeconds : 0.0);
 
             String status = determineStatus(cpuUsage, memoryUsage, metadata.getStatus());
@@ -203,29 +252,26 @@ public class DashboardServiceImpl implements DashboardService {
         return baseStatus != null ? baseStatus : "UNKNOWN";
     }
 
-    private DashboardResponseDTO.MetricsSummaryDTO buildMetricsSummary() {
+    private DashboardResponseDTO.MetricsSummaryDTO buildMetricsSummary(ApplicationMetrics metrics) {
         return new DashboardResponseDTO.MetricsSummaryDTO(
-                buildApplicationMetrics("eng-study"),
-                buildApplicationMetrics("monitoring")
+                buildApplicationMetrics("eng-study", metrics),
+                buildApplicationMetrics("monitoring", metrics)
         );
     }
 
-    private DashboardResponseDTO.ApplicationMetricsDTO buildApplicationMetrics(String appName) {
-        try {
-            return new DashboardResponseDTO.ApplicationMetricsDTO(
-                    prometheusService.getTps(appName),
-                    prometheusService.getHeapMemoryUsage(appName),
-                    prometheusService.getErrorRate(appName),
-                    null
-            );
-        } catch (Exception e) {
-            return new DashboardResponseDTO.ApplicationMetricsDTO(0.0, 0.0, 0.0, null);
-        }
+    private DashboardResponseDTO.ApplicationMetricsDTO buildApplicationMetrics(String appName, ApplicationMetrics metrics) {
+        return new DashboardResponseDTO.ApplicationMetricsDTO(
+                metrics.tps().getOrDefault(appName, 0.0),
+                metrics.heapUsage().getOrDefault(appName, 0.0),
+                metrics.errorRate().getOrDefault(appName, 0.0),
+                null
+        );
     }
 
-    private DashboardResponseDTO.SystemStatisticsDTO calculateSystemStatistics(List<DashboardResponseDTO.ProcessStatusDTO> processes) {
+    private DashboardResponseDTO.SystemStatisticsDTO calculateSystemStatistics(
+            List<DashboardResponseDTO.ProcessStatusDTO> processes, ApplicationMetrics metrics) {
         try {
-            Double sysUptime = prometheusService.getUptime("monitoring");
+            Double sysUptime = metrics.uptime().get("monitoring");
             return new DashboardResponseDTO.SystemStatisticsDTO(
                     0L, 0.0, formatUptime(sysUptime != null ? sysUptime : 0.0)
             );
@@ -5,23 +5,54 @@ import co.elastic.clients.elasticsearch._types.FieldValue;
 import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
 import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.AggregationRange;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregationSource;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
 import co.elastic.clients.elasticsearch._types.aggregations.FieldDateMath;
-import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.RangeBucket;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.SourceConfig;
+import com.study.monitoring.studymonitoring.config.SeverityPipelineInstaller;
+import co.elastic.clients.elasticsearch._types.mapping.RuntimeField;
+import co.elastic.clients.elasticsearch._types.mapping.RuntimeFieldType;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.JsonpMapper;
+import com.study.monitoring.studymonitoring.cache.AggregatableFieldResolver;
+import com.study.monitoring.studymonitoring.cache.DailyIndexResolver;
+import com.study.monitoring.studymonitoring.cache.HistogramBucketCache;
+import com.study.monitoring.studymonitoring.model.document.LogDocument;
 import com.study.monitoring.studymonitoring.model.dto.response.PageResponseDTO;
 import com.study.monitoring.studymonitoring.service.ElasticsearchService;
 import com.study.monitoring.studymonitoring.util.ElasticsearchQueryUtil;
+import com.study.monitoring.studymonitoring.util.LogLevelClassifier;
+import com.study.monitoring.studymonitoring.util.SearchCursorUtil;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -38,7 +69,54 @@ import java.util.stream.Collectors;
 public class ElasticsearchServiceImpl implements ElasticsearchService {
 
     private final ElasticsearchClient elasticsearchClient;
+    private final HistogramBucketCache histogramBucketCache;
+    private final AggregatableFieldResolver aggregatableFieldResolver;
+    private final DailyIndexResolver dailyIndexResolver;
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final ZoneId HISTOGRAM_ZONE = ZoneId.of("Asia/Seoul");
+    private static final String SEVERITY_VERSION_FIELD = "severity_version";
+    private static final String[] LEVEL_FIELDS = {"log_level", "logLevel", "level", "severity"};
+
+    // 응답시간 백분위 (p50/p95/p99)
+    private static final List<Double> LATENCY_PERCENTS = List.of(50.0, 95.0, 99.0);
+    // 응답시간 heatmap 버킷 상한 (ms, 마지막 버킷은 상한 없음)
+    private static final List<Long> LATENCY_BUCKET_BOUNDS_MS = List.of(10L, 25L, 50L, 100L, 250L, 500L, 1000L, 2500L, 5000L, 10000L);
+
+    // composite 집계 페이지 크기 / 최대 페이지 수 (terms size 제한 없이 전체 버킷 순회)
+    private static final int COMPOSITE_PAGE_SIZE = 1000;
+    private static final int COMPOSITE_MAX_PAGES = 100;
+
+    // 대시보드 breakdown(table / event.action / attack_type / error.type) terms 크기 (건수 상위 N, 전체 목록은 pageBreakdownCounts)
+    private static final int TOP_BREAKDOWN_SIZE = 20;
+
+    // 페이지 조회용 breakdown: 이름 → (인덱스, 집계 필드, 값 없는 문서의 표시 이름)
+    private record Breakdown(String indexPattern, String field, String missingLabel) {}
+
+    private static final Map<String, Breakdown> BREAKDOWNS = Map.of(
+            "table", new Breakdown("database-logs-*", "table", "UNKNOWN"),
+            "eventAction", new Breakdown("audit-logs-*", "event.action", "UNKNOWN"),
+            "attackType", new Breakdown("security-logs-*", "security.attack_type", "unknown"),
+            "errorType", new Breakdown("error-logs-*", "error.type", "UNKNOWN")
+    );
+
+    // URL → route 정규화 runtime field 스크립트
+    private static final String ROUTE_SCRIPT_LOCATION = "elasticsearch/route-normalize.painless";
+    private volatile String routeScript;
+
+    // severity 정규화 pipeline 적용 전 문서도 기존 방식으로 레벨 필터/집계
+    // - 기존 문서는 backfill 하지 않으므로 pipeline 설치일 이전 인덱스가 보관 기간 안에 남아 있는 동안은 true 로 둔다
+    @Value("${monitoring.elasticsearch.severity-pipeline.legacy-fallback:true}")
+    private boolean severityLegacyFallback;
+
+    // 근사(random_sampler) 집계 이름 / 표본 seed (고정 seed 라 같은 요청은 같은 표본 → shard request cache 적중)
+    private static final String SAMPLED = "sampled";
+
+    @Value("${monitoring.elasticsearch.sampling.seed:20240101}")
+    private int samplingSeed;
+
+    // 근사 집계는 노드당 동시 shard 요청 수를 제한해 장애 대응용 조회와 search thread 를 덜 다투게 함
+    @Value("${monitoring.elasticsearch.sampling.max-concurrent-shard-requests:2}")
+    private long samplingMaxConcurrentShardRequests;
 
     @Override
     public Map<String, Object> searchLogs(
@@ -55,37 +133,19 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
                     indexPattern, keyword, logLevel, startDate, endDate, from, size);
 
             // 1. Bool 쿼리 빌드
-            BoolQuery.Builder boolQuery = new BoolQuery.Builder();
-
-            // 키워드 검색 (Full-text Search)
-            if (keyword != null && !keyword.isEmpty()) {
-                boolQuery.must(ElasticsearchQueryUtil.buildMultiFieldSearchQuery(keyword));
-            }
-
-            // 로그 레벨 필터
-            if (logLevel != null && !logLevel.isEmpty()) {
-               boolQuery.must(ElasticsearchQueryUtil.buildLogLevelQuery(logLevel));
-            }
-
-            // 날짜 범위 필터
-            if (startDate != null && endDate != null) {
-                boolQuery.must(ElasticsearchQueryUtil.buildDateRangeQuery(startDate, endDate));
-            } else if (startDate != null) {
-                // 시작 날짜만 있는 경우 (이후 모든 로그)
-                boolQuery.must(ElasticsearchQueryUtil.buildDateRangeQueryFrom(startDate));
-            } else if (endDate != null) {
-                // 종료 날짜만 있는 경우 (이전 모든 로그)
-                boolQuery.must(ElasticsearchQueryUtil.buildDateRangeQueryTo(endDate));
-            }
+            Query query = buildSearchLogsQuery(indexPattern, keyword, logLevel, startDate, endDate);
 
             // 2. Elasticsearch 검색 실행
-            SearchResponse<Map> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern)
+            SearchResponse<LogDocument> response = elasticsearchClient.search(
+                    s -> s.index(dailyIndexResolver.resolve(indexPattern, startDate, endDate))
+                            .ignoreUnavailable(true)
+                            .allowNoIndices(true)
                             .from(from)
                             .size(size)
-                            .query(boolQuery.build()._toQuery())
+                            .query(query)
+                            .source(sourceProjection(indexPattern))
                             .sort(so -> so.field(f -> f.field("@timestamp").order(SortOrder.Desc))),
-                    Map.class
+                    LogDocument.class
             );
 
             // 3. 결과 변환
@@ -108,23 +168,131 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         }
     }
 
+    @Override
+    public Map<String, Object> searchLogsWithCursor(
+            String indexPattern,
+            String keyword,
+            String logLevel,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String cursor,
+            int size)
+    {
+        try {
+            log.debug("Searching logs with cursor: index={}, keyword={}, logLevel={}, startDate={}, endDate={}, cursor={}, size={}",
+                    indexPattern, keyword, logLevel, startDate, endDate, cursor != null, size);
+
+            Query query = buildSearchLogsQuery(indexPattern, keyword, logLevel, startDate, endDate);
+            CursorPage page = searchWithCursor(
+                    dailyIndexResolver.resolve(indexPattern, startDate, endDate), query, cursor, size);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("total", page.total());
+            result.put("logs", page.hits());
+            result.put("took", page.took());
+            result.put("nextCursor", page.nextCursor());
+
+            log.debug("Found {} logs (hasNext={})", page.total(), page.nextCursor() != null);
+            return result;
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid search cursor: indexPattern={}, reason={}", indexPattern, e.getMessage());
+            return createErrorResponse("로그 검색 실패: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Failed to search logs with cursor: indexPattern={}", indexPattern, e);
+            return createErrorResponse("로그 검색 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Object> searchLogsAfter(
+            String indexPattern,
+            String keyword,
+            String logLevel,
+            long afterEpochMillis,
+            int size)
+    {
+        try {
+            Query query = Query.of(q -> q.bool(b -> b
+                    .filter(buildSearchLogsQuery(indexPattern, keyword, logLevel, null, null))
+                    .filter(f -> f.range(r -> r
+                            .field("@timestamp")
+                            .gte(JsonData.of(afterEpochMillis))
+                            .format("epoch_millis")))));
+
+            LocalDateTime after = LocalDateTime.ofInstant(Instant.ofEpochMilli(afterEpochMillis), ZoneOffset.UTC);
+            SearchResponse<LogDocument> response = elasticsearchClient.search(s -> s
+                            .index(dailyIndexResolver.resolve(indexPattern, after, LocalDateTime.now(ZoneOffset.UTC)))
+                            .ignoreUnavailable(true)
+                            .allowNoIndices(true)
+                            .size(size)
+                            .trackTotalHits(t -> t.enabled(false))
+                            .query(query)
+                            .source(sourceProjection(indexPattern))
+                            .sort(so -> so.field(f -> f.field("@timestamp").order(SortOrder.Asc))),
+                    LogDocument.class
+            );
+
+            List<Hit<LogDocument>> hits = response.hits().hits();
+
+            // hit 별 @timestamp (epoch millis, 정렬 값) - 호출 측의 중복 제거 / 다음 기준 시각 계산용
+            List<Long> timestamps = hits.stream()
+                    .map(hit -> hit.sort().isEmpty() ? afterEpochMillis : hit.sort().get(0).longValue())
+                    .collect(Collectors.toList());
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("logs", hits.stream().map(this::convertHitToMap).collect(Collectors.toList()));
+            result.put("took", response.took());
+            result.put("timestamps", timestamps);
+            result.put("lastTimestamp", timestamps.isEmpty() ? null : timestamps.get(timestamps.size() - 1));
+            return result;
+
+        } catch (Exception e) {
+            log.error("Failed to tail logs: indexPattern={}", indexPattern, e);
+            return createErrorResponse("로그 tail 조회 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 로그 검색 조건 (키워드 + 레벨 + 날짜 범위)
+     * - from/size 검색과 커서 검색이 같은 조건을 사용
+     */
+    private Query buildSearchLogsQuery(
+            String indexPattern, String keyword, String logLevel, LocalDateTime startDate, LocalDateTime endDate) {
+        BoolQuery.Builder boolQuery = new BoolQuery.Builder();
+
+        // 키워드 검색 (Full-text Search)
+        if (keyword != null && !keyword.isEmpty()) {
+            boolQuery.must(ElasticsearchQueryUtil.buildMultiFieldSearchQuery(keyword));
+        }
+
+        // 로그 레벨 필터
+        if (logLevel != null && !logLevel.isEmpty()) {
+           boolQuery.must(buildLevelQuery(indexPattern, List.of(logLevel)));
+        }
+
+        // 날짜 범위 필터
+        if (startDate != null && endDate != null) {
+            boolQuery.must(ElasticsearchQueryUtil.buildDateRangeQuery(startDate, endDate));
+        } else if (startDate != null) {
+            // 시작 날짜만 있는 경우 (이후 모든 로그)
+            boolQuery.must(ElasticsearchQueryUtil.buildDateRangeQueryFrom(startDate));
+        } else if (endDate != null) {
+            // 종료 날짜만 있는 경우 (이전 모든 로그)
+            boolQuery.must(ElasticsearchQueryUtil.buildDateRangeQueryTo(endDate));
+        }
+
+        return boolQuery.build()._toQuery();
+    }
+
     @Override
     public Map<String, Long> countByLogLevel(String indexPattern) {
         try {
             log.debug("Counting logs by level: index={}", indexPattern);
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0)
-                            .aggregations("by_log_level", Aggregation.of(a -> a
-                                    .terms(t -> t
-                                            .field("log_level.keyword").size(10)))), Void.class
-            );
-            Map<String, Long> counts = new HashMap<>();
-            if (response.aggregations() != null && response.aggregations().get("by_log_level") != null) {
-                response.aggregations().get("by_log_level").sterms().buckets().array()
-                        .forEach(bucket -> counts.put(
-                                bucket.key().stringValue(),
-                                bucket.docCount()));
-            }
+            SearchResponse<Void> response = searchAggregations(indexPattern, null,
+                    logLevelAggregations(indexPattern));
+
+            Map<String, Long> counts = toLevelCounts(response.aggregations());
             log.debug("Log level counts: {}", counts);
             return counts;
         } catch (Exception e) {
@@ -136,25 +304,22 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
     @Override
     public List<Map<String, Object>> getRecentErrors(int limit) {
         try {
-            SearchResponse<Map> response = elasticsearchClient.search(s -> s
+            SearchResponse<LogDocument> response = elasticsearchClient.search(s -> s
                             .index("application-logs-*,error-logs-*") // 전체 로그 대상
                             .size(limit)
-                            .query(q -> q.terms(t -> t
-                                    .field("log_level.keyword")
-                                    .terms(v -> v.value(List.of(
-                                            FieldValue.of("ERROR"),
-                                            FieldValue.of("CRITICAL"),
-                                            FieldValue.of("FATAL")
-                                    )))
-                            ))
+                            .source(sourceProjection("application-logs-*,error-logs-*"))
+                            .query(buildLevelQuery("application-logs-*,error-logs-*", List.of("ERROR", "CRITICAL", "FATAL")))
                             .sort(so -> so.field(f -> f.field("@timestamp").order(SortOrder.Desc))),
-                    Map.class
+                    LogDocument.class
             );
 
             return response.hits().hits().stream()
                     .map(hit -> {
                         Map<String, Object> map = this.convertHitToMap(hit);
-                        String realLevel = resolveLogLevel(map); // ✅ 여기도 적용!
+                        // severity pipeline 이 적용된 문서는 convertHitToMap 에서 이미 정규화된 레벨
+                        String realLevel = hasNormalizedSeverity(hit.source())
+                                ? (String) map.get("log_level")
+                                : resolveLogLevel(map); // ✅ 여기도 적용!
 
                         map.put("level", realLevel);
                         map.put("logLevel", realLevel);
@@ -183,53 +348,9 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             log.info("Querying log distribution: {} ~ {}, period={}, logLevel={}",
                     startTime, endTime, timePeriod, logLevel);
 
-            String interval = calculateInterval(timePeriod);
-            BoolQuery.Builder boolQuery = new BoolQuery.Builder();
-            Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(startTime, endTime);
-            boolQuery.must(timeRangeQuery);
-
-            if (logLevel != null && !logLevel.isEmpty() && !"undefined".equals(logLevel)) {
-                boolQuery.must(ElasticsearchQueryUtil.buildLogLevelQuery(logLevel));
-            }
-
-            // ✅ epoch milliseconds로 변환
-            long startEpochMs = startTime.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-            long endEpochMs = endTime.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern)
-                            .size(0)
-                            .query(boolQuery.build()._toQuery())
-                            .aggregations("logs_over_time",
-                                    Aggregation.of(a -> a
-                                            .dateHistogram(dh -> dh
-                                                    .field("@timestamp")
-                                                    .fixedInterval(fi -> fi.time(interval))
-                                                    .timeZone("Asia/Seoul")
-                                                    .format("yyyy-MM-dd HH:mm:ss")
-                                                    .minDocCount(0)
-                                                    .extendedBounds(b -> b
-                                                            // ✅ 수정: epoch milliseconds 사용
-                                                            .min(FieldDateMath.of(f -> f.value((double) startEpochMs)))
-                                                            .max(FieldDateMath.of(f -> f.value((double) endEpochMs)))
-                                                    )
-                                            )
-                                    )
-                            ),
-                    Void.class
-            );
-
-            List<Map<String, Object>> distribution = new ArrayList<>();
-            if (response.aggregations() != null && response.aggregations().get("logs_over_time") != null) {
-                response.aggregations().get("logs_over_time")
-                        .dateHistogram().buckets().array()
-                        .forEach(bucket -> {
-                            Map<String, Object> entry = new HashMap<>();
-                            entry.put("timestamp", bucket.keyAsString());
-                            entry.put("count", bucket.docCount());
-                            distribution.add(entry);
-                        });
-            }
+            List<Map<String, Object>> distribution = searchDistribution(indexPattern, startTime, endTime,
+                    buildLogDistributionQuery(indexPattern, startTime, endTime, logLevel),
+                    logsOverTimePlan(indexPattern, startTime, endTime, timePeriod, logLevel));
             log.info("Distribution result: {} time buckets", distribution.size());
             return distribution;
         } catch (Exception e) {
@@ -238,27 +359,65 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         }
     }
 
+    /**
+     * 애플리케이션 로그 통계 통합 조회
+     * - 레벨별 카운트(전체 기간)와 시간대별 분포(기간 + 레벨 필터)는 쿼리가 다르므로 _msearch 1회로 묶는다.
+     */
+    @Override
+    public Map<String, Object> getLogStatisticsBundle(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod, String logLevel,
+            Double sampleProbability) {
+        try {
+            log.info("Querying log statistics bundle: {} ~ {}, period={}, logLevel={}, sampleProbability={}",
+                    start, end, timePeriod, logLevel, sampleProbability);
+
+            // 근사 집계 버킷은 캐시에 저장하지 않음
+            HistogramBucketCache.HistogramPlan distributionPlan = sampleProbability == null
+                    ? logsOverTimePlan(indexPattern, start, end, timePeriod, logLevel)
+                    : histogramBucketCache.uncached("logs_over_time",
+                            logsOverTimeAggregation(start, end, timePeriod), this::toLogBucket);
+
+            // 분포가 모두 캐시에 있으면 레벨별 카운트만 조회
+            List<AggregationSearch> searches = new ArrayList<>();
+            searches.add(new AggregationSearch(null, null,
+                    sampled(logLevelAggregations(indexPattern), sampleProbability)));
+            if (!distributionPlan.isFullyCached()) {
+                // 분포는 기간이 정해져 있으므로 해당 일자 인덱스만 대상으로 지정
+                searches.add(new AggregationSearch(dailyIndexResolver.resolve(indexPattern, start, end),
+                        buildLogDistributionQuery(indexPattern, start, end, logLevel),
+                        sampled(distributionPlan.aggregations(), sampleProbability)));
+            }
+            List<Map<String, Aggregate>> results = multiSearchAggregations(indexPattern, searches,
+                    sampleProbability != null);
+
+            Map<String, Object> bundle = new HashMap<>();
+            Map<String, Aggregate> levelAggs = results.get(0);
+            Map<String, Aggregate> distributionAggs = results.size() > 1 ? results.get(1) : Map.of();
+            if (sampleProbability != null) {
+                SampledAggregates sampledLevels = unwrapSampled(levelAggs.get(SAMPLED));
+                levelAggs = sampledLevels.aggregations();
+                distributionAggs = unwrapSampled(distributionAggs.get(SAMPLED)).aggregations();
+                bundle.put("sampling", samplingInfo(sampleProbability, sampledLevels.docCount()));
+            }
+            bundle.put("logCounts", toLevelCounts(levelAggs));
+            bundle.put("distribution", distributionPlan.assemble(distributionAggs));
+            return bundle;
+        } catch (Exception e) {
+            log.error("Failed to get log statistics bundle: indexPattern={}", indexPattern, e);
+            return Collections.emptyMap();
+        }
+    }
+
     @Override
     public Map<String, Long> countByHttpMethod(String indexPattern, LocalDateTime start, LocalDateTime end) {
         try {
             log.debug("Counting by HTTP method: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            SearchResponse<Void> response = elasticsearchClient.search(s ->
-                            s.index(indexPattern).size(0)
-                                    .query(timeRangeQuery)
-                                    .aggregations("by_method", Aggregation.of(a ->
-                                            // ✅ 수정: http.method -> http.method.keyword (nested object 내 keyword 필드)
-                                            a.terms(t -> t.field("http.method.keyword").size(10))
-                                    )),
-                    Void.class
-            );
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_method", httpMethodAggregation()));
 
-            Map<String, Long> counts = new HashMap<>();
-            if (response.aggregations() != null && response.aggregations().get("by_method") != null) {
-                response.aggregations().get("by_method").sterms().buckets().array()
-                        .forEach(bucket -> counts.put(bucket.key().stringValue(), bucket.docCount()));
-            }
+            Map<String, Long> counts = toStringTermCounts(response.aggregations().get("by_method"));
             log.debug("HTTP method counts: {}", counts);
             return counts;
         } catch (Exception e) {
@@ -272,21 +431,11 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         try {
             log.debug("Counting by status code: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
-            SearchResponse<Void> response = elasticsearchClient.search(s ->
-                            s.index(indexPattern).size(0)   // 통계 결과(집계)만 필요할 때 사용
-                            .query(timeRangeQuery).aggregations("by_status", Aggregation.of(a ->
-                                    a.terms(t ->
-                                    t.field("http.status_code").size(20))   // 상위 20개의 상태 코드만 가져오겠다.
-                            )),
-                    Void.class
-            );
-            Map<String, Long> counts = new HashMap<>();
-            if (response.aggregations() != null && response.aggregations().get("by_status") != null) {
-                response.aggregations().get("by_status").lterms().buckets().array()
-                        .forEach(bucket -> counts.put(
-                                String.valueOf(bucket.key()),   // 상태 코드 값(예: 200)
-                                bucket.docCount()));            // 상태 코드가 나타난 횟수
-            }
+
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_status", statusCodeAggregation()));
+
+            Map<String, Long> counts = toLongTermCounts(response.aggregations().get("by_status"));
             log.debug("Status code counts: {}", counts);
             return counts;
         } catch (Exception e) {
@@ -299,21 +448,14 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
     public Double getAverageResponseTime(String indexPattern, LocalDateTime start, LocalDateTime end) {
         try {
             log.debug("Getting average response time: index={}, start={}, end={}", indexPattern, start, end);
-            Query timeResponseQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end); // 특정 시간 범위에 해당하는 데이터만 필터링
-            SearchResponse<Void> response = elasticsearchClient.search(s ->
-                            s.index(indexPattern).size(0).query(timeResponseQuery)
-                                    .aggregations("avg_response_time", Aggregation.of(a ->
-                                            a.avg(avg -> avg.field("http.response_time_ms")))),
-                    Void.class
-            );
+            Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end); // 특정 시간 범위에 해당하는 데이터만 필터링
 
-            if (response.aggregations() != null && response.aggregations().get("avg_response_time") != null) {
-                Double avgValue = response.aggregations().get("avg_response_time").avg().value();
-                log.debug("Average response time: {} ms", avgValue);
-                return avgValue != null ? avgValue : 0.0;
-            }
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("avg_response_time", avgResponseTimeAggregation()));
 
-            return 0.0;
+            Double avgValue = getAggregationValue(response.aggregations(), "avg_response_time");
+            log.debug("Average response time: {} ms", avgValue);
+            return avgValue;
         } catch (Exception e) {
             log.error("Failed to get average response time indexPattern={}", indexPattern, e);
             return 0.0;
@@ -326,55 +468,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
         try {
             log.info("Querying access log distribution: {} ~ {}, period={}", start, end, timePeriod);
-
-            String interval = calculateInterval(timePeriod);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            // ✅ epoch milliseconds로 변환
-            long startEpochMs = start.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-            long endEpochMs = end.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("access_over_time", Aggregation.of(
-                                    a -> a.dateHistogram(
-                                            dh -> dh.field("@timestamp")
-                                                    .fixedInterval(fi -> fi.time(interval))
-                                                    .timeZone("Asia/Seoul")
-                                                    .format("yyyy-MM-dd HH:mm:ss")
-                                                    .minDocCount(0)
-                                                    .extendedBounds(b -> b
-                                                            .min(FieldDateMath.of(f -> f.value((double) startEpochMs)))
-                                                            .max(FieldDateMath.of(f -> f.value((double) endEpochMs)))
-                                                    )
-                                    ).aggregations("avg_response_time", Aggregation.of(
-                                            sub -> sub.avg(avg -> avg.field("http.response_time_ms")))
-                                    ).aggregations("error_count", Aggregation.of(sub ->
-                                            sub.filter(f -> f.range(
-                                                    r -> r.field("http.status_code")
-                                                            .gte(co.elastic.clients.json.JsonData.of(500)))
-                                            )
-                                    ))
-                            )),
-                    Void.class
-            );
-
-            List<Map<String, Object>> distribution = new ArrayList<>();
-            if (response.aggregations() != null && response.aggregations().get("access_over_time") != null) {
-                response.aggregations().get("access_over_time").dateHistogram().buckets().array()
-                        .forEach(bucket -> {
-                            Map<String, Object> entry = new HashMap<>();
-                            entry.put("timestamp", bucket.keyAsString());
-                            entry.put("requestCount", bucket.docCount());
-
-                            Double avgResponseTime = bucket.aggregations().get("avg_response_time").avg().value();
-                            entry.put("avgResponseTime", avgResponseTime != null ? avgResponseTime : 0.0);
-
-                            Long errorCount = bucket.aggregations().get("error_count").filter().docCount();
-                            entry.put("errorCount", errorCount);
-                            distribution.add(entry);
-                        });
-            }
+            List<Map<String, Object>> distribution = searchDistribution(indexPattern, start, end, timeRangeQuery,
+                    accessOverTimePlan(indexPattern, start, end, timePeriod));
             log.info("Access log distribution result: {} time buckets", distribution.size());
             return distribution;
         } catch (Exception e) {
@@ -383,61 +480,243 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         }
     }
 
-    // ============================================
-    // 🔄 error-logs 통계용 메서드
-    // ============================================
+    /**
+     * 접근 로그 통계 통합 조회
+     * - 메서드별/상태코드별 카운트, 평균 응답시간, 시간대별 분포를 한 번의 search로 집계
+     */
     @Override
-    public Map<String, Long> countByErrorType(String indexPattern, LocalDateTime start, LocalDateTime end) {
+    public Map<String, Object> getAccessLogStatisticsBundle(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod, Double sampleProbability) {
         try {
-            log.debug("Counting by error type: index={}, start={}, end={}", indexPattern, start, end);
+            log.info("Querying access log statistics bundle: {} ~ {}, period={}, sampleProbability={}",
+                    start, end, timePeriod, sampleProbability);
+            Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
+
+            Map<String, Aggregation> aggregations = new HashMap<>();
+            aggregations.put("by_method", httpMethodAggregation());
+            aggregations.put("by_status", statusCodeAggregation());
+            aggregations.put("avg_response_time", avgResponseTimeAggregation());
+            aggregations.put("response_time_percentiles", responseTimePercentilesAggregation());
+            // 근사 집계 버킷은 캐시에 저장하지 않음
+            HistogramBucketCache.HistogramPlan distributionPlan = sampleProbability == null
+                    ? accessOverTimePlan(indexPattern, start, end, timePeriod)
+                    : histogramBucketCache.uncached("access_over_time",
+                            accessOverTimeAggregation(start, end, timePeriod), this::toAccessLogBucket);
+            aggregations.putAll(distributionPlan.aggregations());
+
+            Map<String, Object> bundle = new HashMap<>();
+            Map<String, Aggregate> aggs;
+            String indices = dailyIndexResolver.resolve(indexPattern, start, end);
+            if (sampleProbability == null) {
+                aggs = searchAggregations(indices, timeRangeQuery, aggregations).aggregations();
+            } else {
+                SampledAggregates sampled = searchSampledAggregations(indices, timeRangeQuery, aggregations, sampleProbability);
+                aggs = sampled.aggregations();
+                bundle.put("sampling", samplingInfo(sampleProbability, sampled.docCount()));
+            }
+
+            bundle.put("methodCounts", toStringTermCounts(aggs.get("by_method")));
+            bundle.put("statusCodeCounts", toLongTermCounts(aggs.get("by_status")));
+            bundle.put("avgResponseTime", getAggregationValue(aggs, "avg_response_time"));
+            bundle.put("responseTimePercentiles", toPercentiles(aggs.get("response_time_percentiles")));
+            bundle.put("distribution", distributionPlan.assemble(aggs));
+            return bundle;
+        } catch (Exception e) {
+            log.error("Failed to get access log statistics bundle: indexPattern={}", indexPattern, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * 응답시간 heatmap
+     * - 시간 버킷마다 응답시간 구간(LATENCY_BUCKET_BOUNDS_MS)별 요청 수를 서버에서 집계
+     */
+    @Override
+    public Map<String, Object> getAccessLogLatencyHeatmap(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod, Double sampleProbability) {
+        try {
+            log.info("Querying access log latency heatmap: {} ~ {}, period={}, sampleProbability={}",
+                    start, end, timePeriod, sampleProbability);
+            Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
+
+            Aggregation heatmap = boundedTimeHistogram(start, end, timePeriod,
+                    Map.of("latency_buckets", latencyBucketsAggregation()));
+            String indices = dailyIndexResolver.resolve(indexPattern, start, end);
+            Map<String, Aggregate> aggs = sampleProbability == null
+                    ? searchAggregations(indices, timeRangeQuery, Map.of("latency_heatmap", heatmap)).aggregations()
+                    : searchSampledAggregations(indices, timeRangeQuery, Map.of("latency_heatmap", heatmap),
+                            sampleProbability).aggregations();
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            Aggregate histogram = aggs.get("latency_heatmap");
+            if (histogram != null && histogram.isDateHistogram()) {
+                for (DateHistogramBucket bucket : histogram.dateHistogram().buckets().array()) {
+                    List<Long> counts = bucket.aggregations().get("latency_buckets").range().buckets().array().stream()
+                            .map(RangeBucket::docCount)
+                            .collect(Collectors.toList());
+
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("timestamp", bucket.keyAsString());
+                    row.put("total", bucket.docCount());
+                    row.put("counts", counts);
+                    rows.add(row);
+                }
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("bucketBoundsMs", LATENCY_BUCKET_BOUNDS_MS);
+            result.put("rows", rows);
+            return result;
+        } catch (Exception e) {
+            log.error("Failed to get access log latency heatmap: indexPattern={}", indexPattern, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * 가장 느린 엔드포인트 Top N
+     * - route(또는 원본 URL) 단위 composite 집계를 after_key 로 끝까지 순회하며 상위 N개만 유지
+     * - route 는 숫자/UUID path 를 {id} 로 바꾼 runtime field (요청 시점 계산, 매핑 변경 없음)
+     */
+    @Override
+    public List<Map<String, Object>> getSlowestEndpoints(
+            String indexPattern, LocalDateTime start, LocalDateTime end, int limit, String sortBy, boolean normalizeRoute) {
+        try {
+            log.info("Querying slowest endpoints: {} ~ {}, limit={}, sortBy={}, normalize={}",
+                    start, end, limit, sortBy, normalizeRoute);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("by_error_type", Aggregation.of(
-                                    // ✅ 수정: .keyword 제거 또는 둘 다 시도
-                                    a -> a.terms(t -> t
-                                            .field("error.type.keyword")  // 1순위: keyword 필드
-                                            .size(20)
-                                            .missing("UNKNOWN")           // null 처리
-                                    )
-                            )), Void.class
+
+            String urlField = aggregatableFieldResolver.resolve(indexPattern, "http.url");
+            String routeField = normalizeRoute ? "http.route" : urlField;
+            Map<String, RuntimeField> runtimeMappings = new HashMap<>();
+            if (normalizeRoute) {
+                String script = routeScript();
+                runtimeMappings.put(routeField, RuntimeField.of(r -> r
+                        .type(RuntimeFieldType.Keyword)
+                        .script(sc -> sc.inline(i -> i
+                                .source(script)
+                                .params("field", JsonData.of(urlField))))));
+            }
+
+            Map<String, Aggregation> subAggregations = Map.of(
+                    "avg_response_time", avgResponseTimeAggregation(),
+                    "total_response_time", Aggregation.of(a -> a.sum(sum -> sum.field("http.response_time_ms"))),
+                    "response_time_percentiles", responseTimePercentilesAggregation(),
+                    "error_count", Aggregation.of(a -> a.filter(f -> f.range(
+                            r -> r.field("http.status_code").gte(JsonData.of(500)))))
             );
 
-            Map<String, Long> counts = new HashMap<>();
+            // 정렬 기준 값이 큰 순으로 N개 유지 (min-heap)
+            boolean byTotalTime = "totalTime".equalsIgnoreCase(sortBy);
+            String sortKey = byTotalTime ? "totalResponseTime" : "p95ResponseTime";
+            Comparator<Map<String, Object>> order = Comparator.comparingDouble(e -> (Double) e.get(sortKey));
+            PriorityQueue<Map<String, Object>> top = new PriorityQueue<>(order);
+
+            scanCompositeBuckets(dailyIndexResolver.resolve(indexPattern, start, end), timeRangeQuery, runtimeMappings,
+                    "route", CompositeAggregationSource.of(c -> c.terms(t -> t.field(routeField))), subAggregations,
+                    bucket -> {
+                        top.add(toEndpointStat(bucket));
+                        if (top.size() > limit) {
+                            top.poll();
+                        }
+                    });
+
+            List<Map<String, Object>> result = new ArrayList<>(top);
+            result.sort(order.reversed());
+            log.info("Slowest endpoints result: {} routes", result.size());
+            return result;
+        } catch (Exception e) {
+            log.error("Failed to get slowest endpoints: indexPattern={}", indexPattern, e);
+            return Collections.emptyList();
+        }
+    }
 
-            // ✅ 응답이 비어있으면 .keyword 없이 재시도
-            if (response.aggregations() != null &&
-                    response.aggregations().get("by_error_type") != null &&
-                    !response.aggregations().get("by_error_type").sterms().buckets().array().isEmpty()) {
+    private Map<String, Object> toEndpointStat(CompositeBucket bucket) {
+        FieldValue key = bucket.key().get("route");
+        long count = bucket.docCount();
+        long errorCount = getDocCount(bucket.aggregations().get("error_count"));
+        Double avg = bucket.aggregations().get("avg_response_time").avg().value();
+        double total = bucket.aggregations().get("total_response_time").sum().value();
+
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("route", key != null && key.isString() ? key.stringValue() : String.valueOf(key != null ? key._get() : null));
+        entry.put("count", count);
+        entry.put("avgResponseTime", avg != null ? avg : 0.0);
+        entry.put("p95ResponseTime", toPercentiles(bucket.aggregations().get("response_time_percentiles")).get("p95"));
+        entry.put("totalResponseTime", total);
+        entry.put("errorCount", errorCount);
+        entry.put("errorRate", count > 0 ? Math.round(errorCount * 10000.0 / count) / 100.0 : 0.0);
+        return entry;
+    }
 
-                response.aggregations().get("by_error_type").sterms().buckets().array()
-                        .forEach(bucket -> {
-                            String key = bucket.key().stringValue();
-                            long count = bucket.docCount();
-                            log.info("✅ Error type: {}, count: {}", key, count);
-                            counts.put(key, count);
-                        });
-            } else {
-                // ✅ Fallback: .keyword 없이 재시도
-                log.warn("⚠️ error.type.keyword not found, trying error.type");
-                response = elasticsearchClient.search(
-                        s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                                .aggregations("by_error_type", Aggregation.of(
-                                        a -> a.terms(t -> t
-                                                .field("error.type")  // keyword 없이
-                                                .size(20)
-                                                .missing("UNKNOWN")
-                                        )
-                                )), Void.class
-                );
+    /**
+     * breakdown 카운트 페이지 조회 (composite 집계 + after_key 커서)
+     * - 값 순으로 size 개씩 정확한 카운트를 반환 (terms 처럼 shard 별 상위 N 으로 잘리지 않음)
+     * - 한 페이지 비용은 기존 top-20 terms 집계와 비슷
+     */
+    @Override
+    public Map<String, Object> pageBreakdownCounts(
+            String breakdown, LocalDateTime start, LocalDateTime end, String cursor, int size) {
+        Breakdown definition = BREAKDOWNS.get(breakdown);
+        if (definition == null) {
+            return createErrorResponse("지원하지 않는 breakdown 입니다: " + breakdown + " (" + BREAKDOWNS.keySet() + ")");
+        }
 
-                if (response.aggregations() != null &&
-                        response.aggregations().get("by_error_type") != null) {
-                    response.aggregations().get("by_error_type").sterms().buckets().array()
-                            .forEach(bucket -> counts.put(bucket.key().stringValue(), bucket.docCount()));
+        try {
+            log.debug("Paging breakdown counts: breakdown={}, start={}, end={}, cursor={}, size={}",
+                    breakdown, start, end, cursor != null, size);
+            Map<String, FieldValue> afterKey = (cursor != null && !cursor.isBlank())
+                    ? SearchCursorUtil.decodeAfterKey(cursor)
+                    : null;
+
+            String field = aggregatableFieldResolver.resolve(definition.indexPattern(), definition.field());
+            CompositeAggregate composite = searchCompositePage(
+                    dailyIndexResolver.resolve(definition.indexPattern(), start, end),
+                    ElasticsearchQueryUtil.buildDateRangeQuery(start, end),
+                    Map.of(), "key", CompositeAggregationSource.of(c -> c.terms(t -> t.field(field).missingBucket(true))),
+                    Map.of(), afterKey, size);
+
+            Map<String, Long> counts = new LinkedHashMap<>();
+            String nextCursor = null;
+            if (composite != null) {
+                for (CompositeBucket bucket : composite.buckets().array()) {
+                    FieldValue key = bucket.key().get("key");
+                    String name = key == null || key.isNull() ? definition.missingLabel() : String.valueOf(key._get());
+                    counts.merge(name, bucket.docCount(), Long::sum);
+                }
+                Map<String, FieldValue> nextAfterKey = composite.afterKey();
+                if (composite.buckets().array().size() == size && nextAfterKey != null && !nextAfterKey.isEmpty()) {
+                    nextCursor = SearchCursorUtil.encodeAfterKey(nextAfterKey);
                 }
             }
 
+            Map<String, Object> result = new HashMap<>();
+            result.put("counts", counts);
+            result.put("nextCursor", nextCursor);
+            return result;
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid breakdown cursor: breakdown={}, reason={}", breakdown, e.getMessage());
+            return createErrorResponse("breakdown 조회 실패: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Failed to page breakdown counts: breakdown={}", breakdown, e);
+            return createErrorResponse("breakdown 조회 실패: " + e.getMessage());
+        }
+    }
+
+    // ============================================
+    // 🔄 error-logs 통계용 메서드
+    // ============================================
+    @Override
+    public Map<String, Long> countByErrorType(String indexPattern, LocalDateTime start, LocalDateTime end) {
+        try {
+            log.debug("Counting by error type: index={}, start={}, end={}", indexPattern, start, end);
+            Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
+
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_error_type", errorTypeAggregation(aggregatableFieldResolver.resolve(indexPattern, "error.type"))));
+
+            Map<String, Long> counts = toStringTermCounts(response.aggregations().get("by_error_type"));
+
             log.info("📊 Final error type counts: {}", counts);
             return counts;
 
@@ -454,47 +733,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
             // ✅ 수정: severity 대신 log_level 사용 (Logstash가 표준화한 필드)
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern)
-                            .size(0).query(timeRangeQuery)
-                            .aggregations("by_severity", Aggregation.of(
-                                    a -> a.terms(t -> t
-                                            .field("log_level.keyword")  // ← 변경!
-                                            .size(10)
-                                            .missing("UNKNOWN")
-                                    )
-                            )), Void.class
-            );
-
-            Map<String, Long> counts = new HashMap<>();
-
-            if (response.aggregations() != null &&
-                    response.aggregations().get("by_severity") != null &&
-                    !response.aggregations().get("by_severity").sterms().buckets().array().isEmpty()) {
-
-                response.aggregations().get("by_severity").sterms().buckets().array()
-                        .forEach(bucket -> {
-                            String key = bucket.key().stringValue();
-                            long count = bucket.docCount();
-                            log.info("✅ Severity: {}, count: {}", key, count);
-                            counts.put(key, count);
-                        });
-            } else {
-                // ✅ Fallback: .keyword 없이 재시도
-                log.warn("⚠️ log_level.keyword not found, trying log_level");
-                response = elasticsearchClient.search(
-                        s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                                .aggregations("by_severity", Aggregation.of(
-                                        a -> a.terms(t -> t.field("log_level").size(10))
-                                )), Void.class
-                );
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_severity", severityAggregation(aggregatableFieldResolver.resolve(indexPattern, "log_level"))));
 
-                if (response.aggregations() != null &&
-                        response.aggregations().get("by_severity") != null) {
-                    response.aggregations().get("by_severity").sterms().buckets().array()
-                            .forEach(bucket -> counts.put(bucket.key().stringValue(), bucket.docCount()));
-                }
-            }
+            Map<String, Long> counts = toStringTermCounts(response.aggregations().get("by_severity"));
 
             log.info("📊 Final severity counts: {}", counts);
             return counts;
@@ -510,42 +752,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
     public List<Map<String, Object>> getErrorLogDistributionByTime(String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
         try {
             log.info("Querying error log distribution: {} ~ {}, period={}", start, end, timePeriod);
-            String interval = calculateInterval(timePeriod);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("errors_over_time", Aggregation.of(
-                                    a -> a.dateHistogram(
-                                            dh -> dh.field("@timestamp")
-                                                    .fixedInterval(fi -> fi.time(interval))
-                                                    .format("yyyy-MM-dd HH:mm:ss")
-                                    ).aggregations("error_type_breakdown", Aggregation.of(
-                                            // ✅ 수정: error.type -> error.type.keyword
-                                            sub -> sub.terms(t -> t.field("error.type.keyword").size(5))
-                                    ))
-                            )),
-                    Void.class
-            );
-            List<Map<String, Object>> distribution = new ArrayList<>();
-            if (response.aggregations() != null && response.aggregations().get("errors_over_time") != null) {
-                response.aggregations().get("errors_over_time")
-                        .dateHistogram().buckets().array()
-                        .forEach(bucket -> {
-                            Map<String, Object> entry = new HashMap<>();
-                            entry.put("timestamp", bucket.keyAsString());
-                            entry.put("errorCount", bucket.docCount());
-
-                            // 에러 타입별 분포
-                            Map<String, Long> errorTypeBreakdown = new HashMap<>();
-                            bucket.aggregations().get("error_type_breakdown")
-                                    .sterms().buckets().array()
-                                    .forEach(typeBucket -> errorTypeBreakdown.put(
-                                            typeBucket.key().stringValue(),
-                                            typeBucket.docCount()));
-                            entry.put("errorTypeBreakdown", errorTypeBreakdown);
-                            distribution.add(entry);
-                        });
-            }
+
+            List<Map<String, Object>> distribution = searchDistribution(indexPattern, start, end, timeRangeQuery,
+                    errorsOverTimePlan(indexPattern, start, end, timePeriod));
             log.info("Error log distribution result: {} time buckets", distribution.size());
             return distribution;
         } catch (Exception e) {
@@ -554,6 +764,37 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         }
     }
 
+    /**
+     * 에러 로그 통계 통합 조회
+     * - 에러 타입별/심각도별 카운트와 시간대별 분포를 한 번의 search로 집계
+     * - 집계 필드(.keyword 여부)는 AggregatableFieldResolver 가 _field_caps 로 미리 결정
+     */
+    @Override
+    public Map<String, Object> getErrorLogStatisticsBundle(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
+        try {
+            log.info("Querying error log statistics bundle: {} ~ {}, period={}", start, end, timePeriod);
+            Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
+
+            Map<String, Aggregation> aggregations = new HashMap<>();
+            aggregations.put("by_error_type", errorTypeAggregation(aggregatableFieldResolver.resolve(indexPattern, "error.type")));
+            aggregations.put("by_severity", severityAggregation(aggregatableFieldResolver.resolve(indexPattern, "log_level")));
+            HistogramBucketCache.HistogramPlan distributionPlan = errorsOverTimePlan(indexPattern, start, end, timePeriod);
+            aggregations.putAll(distributionPlan.aggregations());
+
+            Map<String, Aggregate> aggs = searchAggregations(indexPattern, start, end, timeRangeQuery, aggregations).aggregations();
+
+            Map<String, Object> bundle = new HashMap<>();
+            putTopBreakdown(bundle, "errorTypeCounts", aggs.get("by_error_type"));
+            bundle.put("severityCounts", toStringTermCounts(aggs.get("by_severity")));
+            bundle.put("distribution", distributionPlan.assemble(aggs));
+            return bundle;
+        } catch (Exception e) {
+            log.error("Failed to get error log statistics bundle: indexPattern={}", indexPattern, e);
+            return Collections.emptyMap();
+        }
+    }
+
     // ============================================
     // 🔄 performance-metrics 통계용 메서드
     // ============================================
@@ -562,32 +803,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         try {
             log.debug("Getting system metrics aggregation: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("avg_cpu", Aggregation.of(
-                                    a -> a.avg(avg -> avg.field("system.cpu_usage"))
-                            ))
-                            .aggregations("max_cpu", Aggregation.of(
-                                    a -> a.max(max -> max.field("system.cpu_usage"))
-                            ))
-                            .aggregations("avg_memory", Aggregation.of(
-                                    a -> a.avg(avg -> avg.field("system.memory_usage"))
-                            ))
-                            .aggregations("max_memory", Aggregation.of(
-                                    a -> a.max(max -> max.field("system.memory_usage"))
-                            ))
-                            .aggregations("avg_disk", Aggregation.of(
-                                    a -> a.avg(avg -> avg.field("system.disk_usage"))
-                            )), Void.class
-            );
-            Map<String, Double> metrics = new HashMap<>();
-            if (response.aggregations() != null) {
-                metrics.put("avg_cpu", getAggregationValue(response, "avg_cpu"));
-                metrics.put("max_cpu", getAggregationValue(response, "max_cpu"));
-                metrics.put("avg_memory", getAggregationValue(response, "avg_memory"));
-                metrics.put("max_memory", getAggregationValue(response, "max_memory"));
-                metrics.put("avg_disk", getAggregationValue(response, "avg_disk"));
-            }
+
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery, systemMetricsAggregations());
+
+            Map<String, Double> metrics = toMetricValues(response.aggregations(), SYSTEM_METRIC_AGGREGATIONS);
             log.debug("System metrics: {}", metrics);
             return metrics;
         } catch (Exception e) {
@@ -601,23 +820,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         try {
             log.debug("Getting JVM metrics aggregation: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
-            SearchResponse<Void> response = elasticsearchClient.search(
-        s -> s.index(indexPattern).size(0).query(timeRangeQuery).aggregations("avg_heap", Aggregation.of(
-                a -> a.avg(avg -> avg.field("jvm.heap_used")))).aggregations("max_heap", Aggregation.of(
-                    a -> a.max(max -> max.field("jvm.heap_used")))).aggregations("total_gc_count", Aggregation.of(
-                        a -> a.sum(sum -> sum.field("jvm.gc_count")))).aggregations("total_gc_time", Aggregation.of(
-                            a -> a.sum(sum -> sum.field("jvm.gc_time")))).aggregations("avg_thread_count", Aggregation.of(
-                                a -> a.avg(avg -> avg.field("jvm.thread_count")))),
-                    Void.class
-            );
-            Map<String, Double> metrics = new HashMap<>();
-            if (response.aggregations() != null) {
-                metrics.put("avg_heap", getAggregationValue(response, "avg_heap"));
-                metrics.put("max_heap", getAggregationValue(response, "max_heap"));
-                metrics.put("total_gc_count", getAggregationValue(response, "total_gc_count"));
-                metrics.put("total_gc_time", getAggregationValue(response, "total_gc_time"));
-                metrics.put("avg_thread_count", getAggregationValue(response, "avg_thread_count"));
-            }
+
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery, jvmMetricsAggregations());
+
+            Map<String, Double> metrics = toMetricValues(response.aggregations(), JVM_METRIC_AGGREGATIONS);
             log.debug("JVM metrics: {}", metrics);
             return metrics;
         } catch (Exception e) {
@@ -632,49 +838,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
         try {
             log.info("Querying performance metrics distribution: {} ~ {}, period={}", start, end, timePeriod);
-
-            String interval = calculateInterval(timePeriod);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            // ✅ epoch milliseconds로 변환
-            long startEpochMs = start.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-            long endEpochMs = end.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("metrics_over_time", Aggregation.of(
-                                    a -> a.dateHistogram(
-                                            dh -> dh.field("@timestamp")
-                                                    .fixedInterval(fi -> fi.time(interval))
-                                                    .timeZone("Asia/Seoul")
-                                                    .format("yyyy-MM-dd HH:mm:ss")
-                                                    .minDocCount(0)
-                                                    .extendedBounds(b -> b
-                                                            .min(FieldDateMath.of(f -> f.value((double) startEpochMs)))
-                                                            .max(FieldDateMath.of(f -> f.value((double) endEpochMs)))
-                                                    )
-                                    ).aggregations("avg_cpu_usage", Aggregation.of(
-                                            sub -> sub.avg(avg -> avg.field("system.cpu_usage")))
-                                    ).aggregations("avg_memory_usage", Aggregation.of(
-                                            sub -> sub.avg(avg -> avg.field("system.memory_usage")))
-                                    ).aggregations("avg_heap_usage", Aggregation.of(
-                                            sub -> sub.avg(avg -> avg.field("jvm.heap_used"))))
-                            )),
-                    Void.class
-            );
-
-            List<Map<String, Object>> distribution = new ArrayList<>();
-            if (response.aggregations() != null && response.aggregations().get("metrics_over_time") != null) {
-                response.aggregations().get("metrics_over_time").dateHistogram().buckets().array()
-                        .forEach(bucket -> {
-                            Map<String, Object> entry = new HashMap<>();
-                            entry.put("timestamp", bucket.keyAsString());
-                            entry.put("cpuUsage", getBucketAggregationValue(bucket, "avg_cpu_usage"));
-                            entry.put("memoryUsage", getBucketAggregationValue(bucket, "avg_memory_usage"));
-                            entry.put("heapUsage", getBucketAggregationValue(bucket, "avg_heap_usage"));
-                            distribution.add(entry);
-                        });
-            }
+            List<Map<String, Object>> distribution = searchDistribution(indexPattern, start, end, timeRangeQuery,
+                    metricsOverTimePlan(indexPattern, start, end, timePeriod));
             log.info("Performance metrics distribution result: {} time buckets", distribution.size());
             return distribution;
         } catch (Exception e) {
@@ -683,29 +850,46 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         }
     }
 
+    /**
+     * 성능 메트릭 통계 통합 조회
+     * - 시스템/JVM 집계와 시간대별 분포를 한 번의 search로 집계
+     */
+    @Override
+    public Map<String, Object> getPerformanceMetricsStatisticsBundle(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
+        try {
+            log.info("Querying performance metrics statistics bundle: {} ~ {}, period={}", start, end, timePeriod);
+            Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
+
+            Map<String, Aggregation> aggregations = new HashMap<>();
+            aggregations.putAll(systemMetricsAggregations());
+            aggregations.putAll(jvmMetricsAggregations());
+            HistogramBucketCache.HistogramPlan distributionPlan = metricsOverTimePlan(indexPattern, start, end, timePeriod);
+            aggregations.putAll(distributionPlan.aggregations());
+
+            Map<String, Aggregate> aggs = searchAggregations(indexPattern, start, end, timeRangeQuery, aggregations).aggregations();
+
+            Map<String, Object> bundle = new HashMap<>();
+            bundle.put("systemMetrics", toMetricValues(aggs, SYSTEM_METRIC_AGGREGATIONS));
+            bundle.put("jvmMetrics", toMetricValues(aggs, JVM_METRIC_AGGREGATIONS));
+            bundle.put("distribution", distributionPlan.assemble(aggs));
+            return bundle;
+        } catch (Exception e) {
+            log.error("Failed to get performance metrics statistics bundle: indexPattern={}", indexPattern, e);
+            return Collections.emptyMap();
+        }
+    }
+
     @Override
     public Map<String, Long> countByOperation(String indexPattern, LocalDateTime start, LocalDateTime end) {
         try {
             log.debug("Counting by operation: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("by_operation", Aggregation.of(
-                                    // ✅ 수정: operation -> operation.keyword
-                                    a -> a.terms(t -> t.field("operation.keyword").size(10))
-                            )),
-                    Void.class
-            );
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_operation", operationAggregation()));
 
-            Map<String, Long> counts = new HashMap<>();
-            if (response.aggregations() != null && response.aggregations().get("by_operation") != null) {
-                response.aggregations().get("by_operation").sterms().buckets().array()
-                        .forEach(bucket -> counts.put(
-                                bucket.key().stringValue(),
-                                bucket.docCount()
-                        ));
-            }
+            Map<String, Long> counts = toStringTermCounts(response.aggregations().get("by_operation"));
             log.debug("Operation counts: {}", counts);
             return counts;
         } catch (Exception e) {
@@ -720,23 +904,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             log.debug("Counting by table: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("by_table", Aggregation.of(
-                                    // ✅ 수정: table -> table.keyword
-                                    a -> a.terms(t -> t.field("table.keyword").size(20))
-                            )),
-                    Void.class
-            );
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_table", tableAggregation()));
 
-            Map<String, Long> counts = new HashMap<>();
-            if (response.aggregations() != null && response.aggregations().get("by_table") != null) {
-                response.aggregations().get("by_table").sterms().buckets().array()
-                        .forEach(bucket -> counts.put(
-                                bucket.key().stringValue(),
-                                bucket.docCount())
-                        );
-            }
+            Map<String, Long> counts = toStringTermCounts(response.aggregations().get("by_table"));
             log.debug("Table counts: {}", counts);
             return counts;
         } catch (Exception e) {
@@ -750,57 +921,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         try {
             log.debug("Getting query performance stats: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("avg_duration", Aggregation.of(
-                                    a -> a.avg(avg -> avg.field("query.duration_ms")) // 필드명 확인 필요 (아래 설명 참조)
-                            ))
-                            .aggregations("max_duration", Aggregation.of(a -> a
-                                    .max(max -> max.field("query.duration_ms"))
-                            ))
-                            .aggregations("slow_queries", Aggregation.of(a -> a
-                                    .filter(f -> f
-                                            .range(r -> r
-                                                    .field("query.duration_ms")
-                                                    .gte(co.elastic.clients.json.JsonData.of(1000))
-                                            )))), Void.class
-            );
-            Map<String, Object> stats = new HashMap<>();
-            if (response.aggregations() != null) {
-                // 1. 평균값 가져오기
-                Aggregate avgAggr = response.aggregations().get("avg_duration");
-                double avg = (avgAggr != null && avgAggr.isAvg()) ? avgAggr.avg().value() : 0.0;
-
-                // 2. 최대값 가져오기
-                Aggregate maxAggr = response.aggregations().get("max_duration");
-                double max = (maxAggr != null && maxAggr.isMax()) ? maxAggr.max().value() : 0.0;
-
-                // 만약 값이 무한대(Infinity)나 NaN이면 0으로 보정 (안전장치)
-                if (!Double.isFinite(avg)) avg = 0.0;
-                if (!Double.isFinite(max)) max = 0.0;
-
-                stats.put("avgDuration", avg);
-                stats.put("maxDuration", max);
-
-                // 3. 슬로우 쿼리 개수 (여기가 에러 발생 지점)
-                Aggregate slowAggr = response.aggregations().get("slow_queries");
-                long slowCount = 0;
-                if (slowAggr != null && slowAggr.isFilter()) {
-                    slowCount = slowAggr.filter().docCount();
-                }
-                stats.put("slowQueryCount", slowCount);
 
-                // 4. 전체 쿼리 수
-                long totalCount = response.hits().total() != null ? response.hits().total().value() : 0;
-                stats.put("totalQueryCount", totalCount);
-            } else {
-                // 응답이 비어있을 경우 기본값
-                stats.put("avgDuration", 0.0);
-                stats.put("maxDuration", 0.0);
-                stats.put("slowQueryCount", 0L);
-                stats.put("totalQueryCount", 0L);
-            }
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery, queryPerformanceAggregations());
 
+            Map<String, Object> stats = toQueryPerformanceStats(response);
             log.debug("Query performance stats: {}", stats);
             return stats;
         } catch (Exception e) {
@@ -815,50 +939,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
         try {
             log.info("Querying database log distribution: {} ~ {}, period={}", start, end, timePeriod);
-
-            String interval = calculateInterval(timePeriod);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            // ✅ epoch milliseconds로 변환
-            long startEpochMs = start.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-            long endEpochMs = end.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("db_logs_over_time", Aggregation.of(
-                                    a -> a.dateHistogram(
-                                            dh -> dh.field("@timestamp")
-                                                    .fixedInterval(fi -> fi.time(interval))
-                                                    .timeZone("Asia/Seoul")
-                                                    .format("yyyy-MM-dd HH:mm:ss")
-                                                    .minDocCount(0)
-                                                    .extendedBounds(b -> b
-                                                            .min(FieldDateMath.of(f -> f.value((double) startEpochMs)))
-                                                            .max(FieldDateMath.of(f -> f.value((double) endEpochMs)))
-                                                    )
-                                    ).aggregations("avg_duration", Aggregation.of(
-                                            sub -> sub.avg(avg -> avg.field("query.duration_ms")))
-                                    ).aggregations("slow_query_count", Aggregation.of(
-                                            sub -> sub.filter(f -> f.range(
-                                                    r -> r.field("query.duration_ms")
-                                                            .gte(co.elastic.clients.json.JsonData.of(1000))))))
-                            )),
-                    Void.class
-            );
-
-            List<Map<String, Object>> distribution = new ArrayList<>();
-            if (response.aggregations() != null && response.aggregations().get("db_logs_over_time") != null) {
-                response.aggregations().get("db_logs_over_time")
-                        .dateHistogram().buckets().array()
-                        .forEach(bucket -> {
-                            Map<String, Object> entry = new HashMap<>();
-                            entry.put("timestamp", bucket.keyAsString());
-                            entry.put("queryCount", bucket.docCount());
-                            entry.put("avgDuration", getBucketAggregationValue(bucket, "avg_duration"));
-                            entry.put("slowQueryCount", bucket.aggregations().get("slow_query_count").filter().docCount());
-                            distribution.add(entry);
-                        });
-            }
+            List<Map<String, Object>> distribution = searchDistribution(indexPattern, start, end, timeRangeQuery,
+                    dbLogsOverTimePlan(indexPattern, start, end, timePeriod));
             log.info("Database log distribution result: {} time buckets", distribution.size());
             return distribution;
         } catch (Exception e) {
@@ -867,29 +951,49 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         }
     }
 
+    /**
+     * 데이터베이스 로그 통계 통합 조회
+     * - 작업별/테이블별 카운트, 쿼리 성능, 시간대별 분포를 한 번의 search로 집계
+     */
+    @Override
+    public Map<String, Object> getDatabaseLogStatisticsBundle(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
+        try {
+            log.info("Querying database log statistics bundle: {} ~ {}, period={}", start, end, timePeriod);
+            Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
+
+            Map<String, Aggregation> aggregations = new HashMap<>();
+            aggregations.put("by_operation", operationAggregation());
+            aggregations.put("by_table", tableAggregation());
+            aggregations.putAll(queryPerformanceAggregations());
+            HistogramBucketCache.HistogramPlan distributionPlan = dbLogsOverTimePlan(indexPattern, start, end, timePeriod);
+            aggregations.putAll(distributionPlan.aggregations());
+
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery, aggregations);
+            Map<String, Aggregate> aggs = response.aggregations();
+
+            Map<String, Object> bundle = new HashMap<>();
+            bundle.put("operationCounts", toStringTermCounts(aggs.get("by_operation")));
+            putTopBreakdown(bundle, "tableCounts", aggs.get("by_table"));
+            bundle.put("queryPerformance", toQueryPerformanceStats(response));
+            bundle.put("distribution", distributionPlan.assemble(aggs));
+            return bundle;
+        } catch (Exception e) {
+            log.error("Failed to get database log statistics bundle: indexPattern={}", indexPattern, e);
+            return Collections.emptyMap();
+        }
+    }
+
     @Override
     public Map<String, Long> countByEventAction(String indexPattern, LocalDateTime start, LocalDateTime end) {
         try {
             log.debug("Counting by event action: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("by_action", Aggregation.of(
-                                    // ✅ 수정: event.action.keyword (nested 구조)
-                                    a -> a.terms(t -> t.field("event.action.keyword").size(20))
-                            )),
-                    Void.class
-            );
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_action", eventActionAggregation()));
 
-            Map<String, Long> counts = new HashMap<>();
-            if (response.aggregations() != null && response.aggregations().get("by_action") != null) {
-                response.aggregations().get("by_action").sterms().buckets().array()
-                        .forEach(bucket -> counts.put(
-                                bucket.key().stringValue(),
-                                bucket.docCount()
-                        ));
-            }
+            Map<String, Long> counts = toStringTermCounts(response.aggregations().get("by_action"));
             log.debug("Event action counts: {}", counts);
             return counts;
         } catch (Exception e) {
@@ -904,22 +1008,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             log.debug("Counting by category: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("by_category", a -> a.terms(
-                                    // ✅ 수정: event.category.keyword
-                                    t -> t.field("event.category.keyword").size(10)
-                            )),
-                    Void.class
-            );
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_category", categoryAggregation()));
 
-            Map<String, Long> counts = new HashMap<>();
-            if (response.aggregations() != null && response.aggregations().get("by_category") != null) {
-                List<StringTermsBucket> buckets = response.aggregations().get("by_category").sterms().buckets().array();
-                for (StringTermsBucket bucket : buckets) {
-                    counts.put(bucket.key().stringValue(), bucket.docCount());
-                }
-            }
+            Map<String, Long> counts = toStringTermCounts(response.aggregations().get("by_category"));
             log.debug("Category counts: {}", counts);
             return counts;
         } catch (Exception e) {
@@ -934,23 +1026,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             log.debug("Counting by event result: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("by_result", Aggregation.of(
-                                    // ✅ 수정: event.result.keyword
-                                    a -> a.terms(t -> t.field("event.result.keyword").size(5))
-                            )),
-                    Void.class
-            );
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_result", eventResultAggregation()));
 
-            Map<String, Long> counts = new HashMap<>();
-            if (response.aggregations() != null && response.aggregations().get("by_result") != null) {
-                response.aggregations().get("by_result").sterms().buckets().array()
-                        .forEach(bucket -> counts.put(
-                                bucket.key().stringValue(),
-                                bucket.docCount()
-                        ));
-            }
+            Map<String, Long> counts = toStringTermCounts(response.aggregations().get("by_result"));
             log.debug("Event result counts: {}", counts);
             return counts;
         } catch (Exception e) {
@@ -965,51 +1044,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
         try {
             log.info("Querying audit log distribution: {} ~ {}, period={}", start, end, timePeriod);
-
-            String interval = calculateInterval(timePeriod);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            // ✅ epoch milliseconds로 변환
-            long startEpochMs = start.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-            long endEpochMs = end.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("audit_over_time", Aggregation.of(
-                                    a -> a.dateHistogram(
-                                            dh -> dh.field("@timestamp")
-                                                    .fixedInterval(fi -> fi.time(interval))
-                                                    .timeZone("Asia/Seoul")
-                                                    .format("yyyy-MM-dd HH:mm:ss")
-                                                    .minDocCount(0)
-                                                    .extendedBounds(b -> b
-                                                            .min(FieldDateMath.of(f -> f.value((double) startEpochMs)))
-                                                            .max(FieldDateMath.of(f -> f.value((double) endEpochMs)))
-                                                    )
-                                    ).aggregations("success_count", Aggregation.of(
-                                            sub -> sub.filter(f -> f.term(t -> t.field("event.result.keyword").value("success"))))
-                                    ).aggregations("failure_count", Aggregation.of(
-                                            sub -> sub.filter(f -> f.term(t -> t.field("event.result.keyword").value("failure")))))
-                            )),
-                    Void.class
-            );
-
-            List<Map<String, Object>> distribution = new ArrayList<>();
-            if (response.aggregations() != null && response.aggregations().get("audit_over_time") != null) {
-                response.aggregations().get("audit_over_time")
-                        .dateHistogram().buckets().array()
-                        .forEach(bucket -> {
-                            Map<String, Object> entry = new HashMap<>();
-                            entry.put("timestamp", bucket.keyAsString());
-                            entry.put("totalEvents", bucket.docCount());
-
-                            Long successCount = bucket.aggregations().get("success_count").filter().docCount();
-                            Long failureCount = bucket.aggregations().get("failure_count").filter().docCount();
-                            entry.put("successEvents", successCount);
-                            entry.put("failureEvents", failureCount);
-                            distribution.add(entry);
-                        });
-            }
+            List<Map<String, Object>> distribution = searchDistribution(indexPattern, start, end, timeRangeQuery,
+                    auditOverTimePlan(indexPattern, start, end, timePeriod));
             log.info("Audit log distribution result: {} time buckets", distribution.size());
             return distribution;
         } catch (Exception e) {
@@ -1018,57 +1056,48 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         }
     }
 
+    /**
+     * 감사 로그 통계 통합 조회
+     * - 액션별/카테고리별/결과별 카운트와 시간대별 분포를 한 번의 search로 집계
+     */
     @Override
-    public Map<String, Long> countByThreatLevel(String indexPattern, LocalDateTime start, LocalDateTime end) {
+    public Map<String, Object> getAuditLogStatisticsBundle(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
         try {
-            log.debug("Counting by threat level: index={}, start={}, end={}", indexPattern, start, end);
+            log.info("Querying audit log statistics bundle: {} ~ {}, period={}", start, end, timePeriod);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("by_threat_level", Aggregation.of(
-                                    // ✅ 수정: security.threat_level.keyword
-                                    a -> a.terms(t -> t
-                                            .field("security.threat_level.keyword")
-                                            .size(10)
-                                            .missing("unknown")
-                                    )
-                            )), Void.class
-            );
-
-            Map<String, Long> counts = new HashMap<>();
+            Map<String, Aggregation> aggregations = new HashMap<>();
+            aggregations.put("by_action", eventActionAggregation());
+            aggregations.put("by_category", categoryAggregation());
+            aggregations.put("by_result", eventResultAggregation());
+            HistogramBucketCache.HistogramPlan distributionPlan = auditOverTimePlan(indexPattern, start, end, timePeriod);
+            aggregations.putAll(distributionPlan.aggregations());
+
+            Map<String, Aggregate> aggs = searchAggregations(indexPattern, start, end, timeRangeQuery, aggregations).aggregations();
+
+            Map<String, Object> bundle = new HashMap<>();
+            putTopBreakdown(bundle, "eventActionCounts", aggs.get("by_action"));
+            bundle.put("categoryCounts", toStringTermCounts(aggs.get("by_category")));
+            bundle.put("eventResultCounts", toStringTermCounts(aggs.get("by_result")));
+            bundle.put("distribution", distributionPlan.assemble(aggs));
+            return bundle;
+        } catch (Exception e) {
+            log.error("Failed to get audit log statistics bundle: indexPattern={}", indexPattern, e);
+            return Collections.emptyMap();
+        }
+    }
 
-            if (response.aggregations() != null &&
-                    response.aggregations().get("by_threat_level") != null &&
-                    !response.aggregations().get("by_threat_level").sterms().buckets().array().isEmpty()) {
+    @Override
+    public Map<String, Long> countByThreatLevel(String indexPattern, LocalDateTime start, LocalDateTime end) {
+        try {
+            log.debug("Counting by threat level: index={}, start={}, end={}", indexPattern, start, end);
+            Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-                response.aggregations().get("by_threat_level").sterms().buckets().array()
-                        .forEach(bucket -> {
-                            String key = bucket.key().stringValue();
-                            long count = bucket.docCount();
-                            log.info("✅ Threat level: {}, count: {}", key, count);
-                            counts.put(key, count);
-                        });
-            } else {
-                // ✅ Fallback: .keyword 없이 재시도
-                log.warn("⚠️ security.threat_level.keyword not found, trying without .keyword");
-                response = elasticsearchClient.search(
-                        s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                                .aggregations("by_threat_level", Aggregation.of(
-                                        a -> a.terms(t -> t
-                                                .field("security.threat_level")
-                                                .size(10)
-                                                .missing("unknown")
-                                        )
-                                )), Void.class
-                );
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_threat_level", threatLevelAggregation(aggregatableFieldResolver.resolve(indexPattern, "security.threat_level"))));
 
-                if (response.aggregations() != null &&
-                        response.aggregations().get("by_threat_level") != null) {
-                    response.aggregations().get("by_threat_level").sterms().buckets().array()
-                            .forEach(bucket -> counts.put(bucket.key().stringValue(), bucket.docCount()));
-                }
-            }
+            Map<String, Long> counts = toStringTermCounts(response.aggregations().get("by_threat_level"));
 
             log.info("📊 Final threat level counts: {}", counts);
             return counts;
@@ -1085,51 +1114,11 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             log.debug("Counting by attack type: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("by_attack_type", Aggregation.of(
-                                    // ✅ 수정: attack.type.keyword → security.attack_type.keyword
-                                    a -> a.terms(t -> t
-                                            .field("security.attack_type.keyword")  // ← 변경!
-                                            .size(20)
-                                            .missing("unknown")
-                                    )
-                            )), Void.class
-            );
-
-            Map<String, Long> counts = new HashMap<>();
+            // ✅ 수정: attack.type → security.attack_type (.keyword 여부는 _field_caps 기준)
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery,
+                    Map.of("by_attack_type", attackTypeAggregation(aggregatableFieldResolver.resolve(indexPattern, "security.attack_type"))));
 
-            if (response.aggregations() != null &&
-                    response.aggregations().get("by_attack_type") != null &&
-                    !response.aggregations().get("by_attack_type").sterms().buckets().array().isEmpty()) {
-
-                response.aggregations().get("by_attack_type").sterms().buckets().array()
-                        .forEach(bucket -> {
-                            String key = bucket.key().stringValue();
-                            long count = bucket.docCount();
-                            log.info("✅ Attack type: {}, count: {}", key, count);
-                            counts.put(key, count);
-                        });
-            } else {
-                // ✅ Fallback: .keyword 없이 재시도
-                log.warn("⚠️ security.attack_type.keyword not found, trying without .keyword");
-                response = elasticsearchClient.search(
-                        s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                                .aggregations("by_attack_type", Aggregation.of(
-                                        a -> a.terms(t -> t
-                                                .field("security.attack_type")
-                                                .size(20)
-                                                .missing("unknown")
-                                        )
-                                )), Void.class
-                );
-
-                if (response.aggregations() != null &&
-                        response.aggregations().get("by_attack_type") != null) {
-                    response.aggregations().get("by_attack_type").sterms().buckets().array()
-                            .forEach(bucket -> counts.put(bucket.key().stringValue(), bucket.docCount()));
-                }
-            }
+            Map<String, Long> counts = toStringTermCounts(response.aggregations().get("by_attack_type"));
 
             log.info("📊 Final attack type counts: {}", counts);
             return counts;
@@ -1146,54 +1135,8 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             log.debug("Getting block statistics: index={}, start={}, end={}", indexPattern, start, end);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            // ✅ 방법 1: boolean true로 검색 (데이터가 boolean일 때)
-                            .aggregations("blocked_attacks_bool", Aggregation.of(
-                                    a -> a.filter(f -> f.term(t -> t.field("blocked").value(true)))
-                            ))
-                            // ✅ 방법 2: String "true"로 검색 (데이터가 문자열일 때)
-                            .aggregations("blocked_attacks_string", Aggregation.of(
-                                    a -> a.filter(f -> f.term(t -> t.field("blocked.keyword").value("true")))
-                            ))
-                            // ✅ 방법 3: String "false"로 검색
-                            .aggregations("allowed_attacks_string", Aggregation.of(
-                                    a -> a.filter(f -> f.term(t -> t.field("blocked.keyword").value("false")))
-                            ))
-                            // ✅ 방법 4: boolean false로 검색
-                            .aggregations("allowed_attacks_bool", Aggregation.of(
-                                    a -> a.filter(f -> f.term(t -> t.field("blocked").value(false)))
-                            )),
-                    Void.class
-            );
-
-            Map<String, Long> stats = new HashMap<>();
-
-            // 🛡️ [수정] NPE 방지: aggregations() 자체가 null이거나, 각 항목이 null인지 체크
-            if (response.aggregations() != null) {
-                long totalAttacks = response.hits().total() != null ? response.hits().total().value() : 0;
-
-                // Helper 메서드나 삼항 연산자로 안전하게 추출
-                long blockedBool = getDocCount(response.aggregations().get("blocked_attacks_bool"));
-                long blockedString = getDocCount(response.aggregations().get("blocked_attacks_string"));
-                long allowedBool = getDocCount(response.aggregations().get("allowed_attacks_bool"));
-                long allowedString = getDocCount(response.aggregations().get("allowed_attacks_string"));
-
-                long blockedAttacks = Math.max(blockedBool, blockedString);
-                long allowedAttacks = Math.max(allowedBool, allowedString);
-
-                log.info("📊 Block stats - Total: {}, Blocked: {}, Allowed: {}", totalAttacks, blockedAttacks, allowedAttacks);
-
-                stats.put("totalAttacks", totalAttacks);
-                stats.put("blockedAttacks", blockedAttacks);
-                stats.put("allowedAttacks", allowedAttacks);
-            } else {
-                stats.put("totalAttacks", 0L);
-                stats.put("blockedAttacks", 0L);
-                stats.put("allowedAttacks", 0L);
-            }
-
-            return stats;
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery, blockAggregations());
+            return toBlockStatistics(response);
 
         } catch (Exception e) {
             log.error("❌ Failed to get block statistics: indexPattern={}", indexPattern, e);
@@ -1215,101 +1158,10 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
         try {
             log.info("Querying security log distribution: {} ~ {}, period={}", start, end, timePeriod);
-
-            String interval = calculateInterval(timePeriod);
             Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-            long startEpochMs = start.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-            long endEpochMs = end.atZone(ZoneId.of("Asia/Seoul")).toInstant().toEpochMilli();
-
-            SearchResponse<Void> response = elasticsearchClient.search(
-                    s -> s.index(indexPattern).size(0).query(timeRangeQuery)
-                            .aggregations("security_over_time", Aggregation.of(
-                                    a -> a.dateHistogram(
-                                            dh -> dh.field("@timestamp")
-                                                    .fixedInterval(fi -> fi.time(interval))
-                                                    .timeZone("Asia/Seoul")
-                                                    .format("yyyy-MM-dd HH:mm:ss")
-                                                    .minDocCount(0)
-                                                    .extendedBounds(b -> b
-                                                            .min(FieldDateMath.of(f -> f.value((double) startEpochMs)))
-                                                            .max(FieldDateMath.of(f -> f.value((double) endEpochMs)))
-                                                    )
-                                    ).aggregations("blocked_count_bool", Aggregation.of(
-                                            sub -> sub.filter(f -> f.term(t -> t.field("blocked").value(true)))
-                                    )).aggregations("blocked_count_string", Aggregation.of(
-                                            sub -> sub.filter(f -> f.term(t -> t.field("blocked.keyword").value("true")))
-                                    )).aggregations("threat_level_breakdown", Aggregation.of(
-                                            sub -> sub.terms(t -> t.field("security.threat_level.keyword").size(5))
-                                    ))
-                            )),
-                    Void.class
-            );
-
-            List<Map<String, Object>> distribution = new ArrayList<>();
-
-            // ✅ null 체크 개선
-            if (response.aggregations() == null || response.aggregations().get("security_over_time") == null) {
-                log.warn("No aggregations found in response");
-                return distribution;
-            }
-
-            // ✅ 타입을 명시적으로 처리
-            var securityOverTimeAgg = response.aggregations().get("security_over_time");
-            if (securityOverTimeAgg == null || !securityOverTimeAgg.isDateHistogram()) {
-                log.warn("security_over_time aggregation is not a date histogram");
-                return distribution;
-            }
-
-            securityOverTimeAgg.dateHistogram().buckets().array()
-                    .forEach(bucket -> {
-                        Map<String, Object> entry = new HashMap<>();
-                        entry.put("timestamp", bucket.keyAsString());
-                        entry.put("attackCount", bucket.docCount());
-
-                        // ✅ aggregations null 체크 추가
-                        if (bucket.aggregations() != null) {
-                            // boolean과 String 중 큰 값 사용
-                            Long blockedBool = 0L;
-                            Long blockedString = 0L;
-
-                            var blockedBoolAgg = bucket.aggregations().get("blocked_count_bool");
-                            if (blockedBoolAgg != null && blockedBoolAgg.isFilter()) {
-                                blockedBool = blockedBoolAgg.filter().docCount();
-                            }
-
-                            var blockedStringAgg = bucket.aggregations().get("blocked_count_string");
-                            if (blockedStringAgg != null && blockedStringAgg.isFilter()) {
-                                blockedString = blockedStringAgg.filter().docCount();
-                            }
-
-                            Long blockedCount = Math.max(blockedBool, blockedString);
-                            entry.put("blockedCount", blockedCount);
-
-                            // threat_level_breakdown 처리
-                            Map<String, Long> threatLevelBreakdown = new HashMap<>();
-                            var threatLevelAgg = bucket.aggregations().get("threat_level_breakdown");
-
-                            if (threatLevelAgg != null && threatLevelAgg.isSterms()) {
-                                threatLevelAgg.sterms().buckets().array()
-                                        .forEach(threatBucket ->
-                                                threatLevelBreakdown.put(
-                                                        threatBucket.key().stringValue(),
-                                                        threatBucket.docCount()
-                                                )
-                                        );
-                            }
-
-                            entry.put("threatLevelBreakdown", threatLevelBreakdown);
-                        } else {
-                            // aggregations가 없는 경우 기본값
-                            entry.put("blockedCount", 0L);
-                            entry.put("threatLevelBreakdown", new HashMap<String, Long>());
-                        }
-
-                        distribution.add(entry);
-                    });
-
+            List<Map<String, Object>> distribution = searchDistribution(indexPattern, start, end, timeRangeQuery,
+                    securityOverTimePlan(indexPattern, start, end, timePeriod));
             log.info("Security log distribution result: {} time buckets", distribution.size());
             return distribution;
 
@@ -1319,41 +1171,56 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         }
     }
 
+    /**
+     * 보안 로그 통계 통합 조회
+     * - 위협 수준/공격 유형 카운트, 차단 통계, 시간대별 분포를 한 번의 search로 집계
+     * - 집계 필드(.keyword 여부)는 AggregatableFieldResolver 가 _field_caps 로 미리 결정
+     */
     @Override
-    public PageResponseDTO<Map<String, Object>> searchErrorLogs(String type, int page, int size) {
-        String indexName;
+    public Map<String, Object> getSecurityLogStatisticsBundle(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
+        try {
+            log.info("Querying security log statistics bundle: {} ~ {}, period={}", start, end, timePeriod);
+            Query timeRangeQuery = ElasticsearchQueryUtil.buildDateRangeQuery(start, end);
 
-        if ("SYSTEM".equalsIgnoreCase(type)) {
-            indexName = "error-logs-*";
-        } else {
-            indexName = "application-logs-*";
+            Map<String, Aggregation> aggregations = new HashMap<>();
+            aggregations.put("by_threat_level", threatLevelAggregation(aggregatableFieldResolver.resolve(indexPattern, "security.threat_level")));
+            aggregations.put("by_attack_type", attackTypeAggregation(aggregatableFieldResolver.resolve(indexPattern, "security.attack_type")));
+            aggregations.putAll(blockAggregations());
+            HistogramBucketCache.HistogramPlan distributionPlan = securityOverTimePlan(indexPattern, start, end, timePeriod);
+            aggregations.putAll(distributionPlan.aggregations());
+
+            SearchResponse<Void> response = searchAggregations(indexPattern, start, end, timeRangeQuery, aggregations);
+            Map<String, Aggregate> aggs = response.aggregations();
+
+            Map<String, Object> bundle = new HashMap<>();
+            bundle.put("threatLevelCounts", toStringTermCounts(aggs.get("by_threat_level")));
+            putTopBreakdown(bundle, "attackTypeCounts", aggs.get("by_attack_type"));
+            bundle.put("blockStatistics", toBlockStatistics(response));
+            bundle.put("distribution", distributionPlan.assemble(aggs));
+            return bundle;
+        } catch (Exception e) {
+            log.error("Failed to get security log statistics bundle: indexPattern={}", indexPattern, e);
+            return Collections.emptyMap();
         }
+    }
+
+    @Override
+    public PageResponseDTO<Map<String, Object>> searchErrorLogs(String type, int page, int size) {
+        String indexName = resolveErrorLogIndex(type);
 
         int currentPage = Math.max(1, page);
         int from = (currentPage - 1) * size;
 
         try {
-            SearchResponse<Map> response = elasticsearchClient.search(s -> s
+            SearchResponse<LogDocument> response = elasticsearchClient.search(s -> s
                             .index(indexName)
                             .from(from)
                             .size(size)
-                            .query(q -> {
-                                if ("SYSTEM".equalsIgnoreCase(type)) {
-                                    return q.matchAll(m -> m);
-                                } else {
-                                    // ERROR, CRITICAL, FATAL 모두 조회
-                                    return q.terms(t -> t
-                                            .field("log_level.keyword")
-                                            .terms(v -> v.value(List.of(
-                                                    FieldValue.of("ERROR"),
-                                                    FieldValue.of("CRITICAL"),
-                                                    FieldValue.of("FATAL")
-                                            )))
-                                    );
-                                }
-                            })
+                            .query(buildErrorLogsQuery(type))
+                            .source(sourceProjection(indexName))
                             .sort(so -> so.field(f -> f.field("@timestamp").order(SortOrder.Desc))),
-                    Map.class
+                    LogDocument.class
             );
 
             // ✅ [수정됨] 로직 간소화
@@ -1382,6 +1249,168 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         }
     }
 
+    @Override
+    public PageResponseDTO<Map<String, Object>> searchErrorLogs(String type, String cursor, int size) {
+        try {
+            CursorPage page = searchWithCursor(resolveErrorLogIndex(type), buildErrorLogsQuery(type), cursor, size);
+
+            return PageResponseDTO.<Map<String, Object>>builder()
+                    .content(page.hits())
+                    .totalElements(page.total())
+                    .totalPages((int) Math.ceil((double) page.total() / size))
+                    .size(size)
+                    .nextCursor(page.nextCursor())
+                    .build();
+
+        } catch (Exception e) {
+            log.error("Error searching logs with cursor type={}", type, e);
+            return PageResponseDTO.<Map<String, Object>>builder()
+                    .content(Collections.emptyList())
+                    .build();
+        }
+    }
+
+    private String resolveErrorLogIndex(String type) {
+        return "SYSTEM".equalsIgnoreCase(type) ? "error-logs-*" : "application-logs-*";
+    }
+
+    private Query buildErrorLogsQuery(String type) {
+        if ("SYSTEM".equalsIgnoreCase(type)) {
+            return Query.of(q -> q.matchAll(m -> m));
+        }
+
+        // ERROR, CRITICAL, FATAL 모두 조회 (최근 에러 패널과 같은 severity 기준)
+        return buildLevelQuery(resolveErrorLogIndex(type), List.of("ERROR", "CRITICAL", "FATAL"));
+    }
+
+    // ============================================
+    // 🔄 PIT + search_after 커서 검색
+    // - from/size 는 페이지가 깊어질수록 앞선 hit 를 모두 다시 정렬하고 max_result_window(10,000)를 넘지 못한다.
+    // - 첫 페이지에서 PIT 를 열고, 이후에는 커서(PIT id + 마지막 sort 값)로 이어서 조회한다.
+    // ============================================
+
+    private static final String PIT_KEEP_ALIVE = "1m";
+
+    /**
+     * 커서 검색 한 페이지 결과
+     * @param nextCursor 다음 페이지 커서 (마지막 페이지면 null)
+     */
+    private record CursorPage(List<Map<String, Object>> hits, long total, long took, String nextCursor) {}
+
+    private CursorPage searchWithCursor(String indexPattern, Query query, String cursor, int size) throws IOException {
+        SearchCursorUtil.Cursor decoded = (cursor != null && !cursor.isBlank()) ? SearchCursorUtil.decode(cursor) : null;
+        String pitId = decoded != null ? decoded.pitId() : openPointInTime(indexPattern);
+
+        // PIT 검색은 index 를 지정하지 않는다 (PIT 가 대상 인덱스를 고정)
+        SearchResponse<LogDocument> response = elasticsearchClient.search(s -> {
+            s.size(size)
+                    .query(query)
+                    .source(sourceProjection(indexPattern))
+                    .pit(p -> p.id(pitId).keepAlive(k -> k.time(PIT_KEEP_ALIVE)))
+                    .sort(so -> so.field(f -> f.field("@timestamp").order(SortOrder.Desc)))
+                    .sort(so -> so.field(f -> f.field("_shard_doc").order(SortOrder.Desc)));  // tiebreaker
+            if (decoded != null) {
+                s.searchAfter(decoded.searchAfter());
+            }
+            return s;
+        }, LogDocument.class);
+
+        List<Hit<LogDocument>> hits = response.hits().hits();
+        List<Map<String, Object>> content = hits.stream()
+                .map(this::convertHitToMap)
+                .collect(Collectors.toList());
+
+        // PIT id 는 검색마다 갱신될 수 있으므로 응답 값을 우선 사용
+        String latestPitId = response.pitId() != null ? response.pitId() : pitId;
+        String nextCursor = null;
+        if (hits.size() == size && !hits.isEmpty()) {
+            nextCursor = SearchCursorUtil.encode(latestPitId, hits.get(hits.size() - 1).sort());
+        } else {
+            closePointInTime(latestPitId);
+        }
+
+        long total = response.hits().total() != null ? response.hits().total().value() : 0;
+        return new CursorPage(content, total, response.took(), nextCursor);
+    }
+
+    @Override
+    public long scanLogs(
+            String indexPattern,
+            String keyword,
+            String logLevel,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            int batchSize,
+            LogHitHandler handler) throws IOException
+    {
+        log.info("Scanning logs: index={}, keyword={}, logLevel={}, startDate={}, endDate={}, batchSize={}",
+                indexPattern, keyword, logLevel, startDate, endDate, batchSize);
+
+        Query query = buildSearchLogsQuery(indexPattern, keyword, logLevel, startDate, endDate);
+        String pitId = openPointInTime(dailyIndexResolver.resolve(indexPattern, startDate, endDate));
+        List<FieldValue> searchAfter = null;
+        long scanned = 0;
+
+        try {
+            while (true) {
+                String currentPitId = pitId;
+                List<FieldValue> currentSearchAfter = searchAfter;
+
+                // 전체 건수는 필요 없으므로 trackTotalHits 비활성화
+                SearchResponse<LogDocument> response = elasticsearchClient.search(s -> {
+                    s.size(batchSize)
+                            .query(query)
+                            .trackTotalHits(t -> t.enabled(false))
+                            .source(sourceProjection(indexPattern))
+                            .pit(p -> p.id(currentPitId).keepAlive(k -> k.time(PIT_KEEP_ALIVE)))
+                            .sort(so -> so.field(f -> f.field("@timestamp").order(SortOrder.Desc)))
+                            .sort(so -> so.field(f -> f.field("_shard_doc").order(SortOrder.Desc)));
+                    if (currentSearchAfter != null) {
+                        s.searchAfter(currentSearchAfter);
+                    }
+                    return s;
+                }, LogDocument.class);
+
+                List<Hit<LogDocument>> hits = response.hits().hits();
+                for (Hit<LogDocument> hit : hits) {
+                    handler.handle(convertHitToMap(hit));
+                }
+                scanned += hits.size();
+
+                if (response.pitId() != null) {
+                    pitId = response.pitId();
+                }
+                if (hits.size() < batchSize) {
+                    break;
+                }
+                searchAfter = hits.get(hits.size() - 1).sort();
+            }
+        } finally {
+            closePointInTime(pitId);
+        }
+
+        log.info("Scanned {} logs: index={}", scanned, indexPattern);
+        return scanned;
+    }
+
+    private String openPointInTime(String indexPattern) throws IOException {
+        // 8.11 클라이언트의 open PIT 요청에는 allow_no_indices 가 없음 (pruning 결과는 wildcard 또는 실제 인덱스 이름)
+        return elasticsearchClient.openPointInTime(o -> o
+                .index(List.of(indexPattern.split(",")))
+                .ignoreUnavailable(true)
+                .keepAlive(k -> k.time(PIT_KEEP_ALIVE))
+        ).id();
+    }
+
+    // 마지막 페이지에서 바로 닫아 keep-alive 동안 세그먼트가 붙잡히지 않게 한다
+    private void closePointInTime(String pitId) {
+        try {
+            elasticsearchClient.closePointInTime(c -> c.id(pitId));
+        } catch (Exception e) {
+            log.warn("Failed to close point in time: {}", e.getMessage());
+        }
+    }
+
     // [신규 추가] DashboardService에서 가져온 레벨 판단 로직
     private String resolveLogLevel(Map<String, Object> logMap) {
         // 1. MDC 확인 (가장 확실한 방법)
@@ -1399,7 +1428,7 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
 
         // 2. 메시지 텍스트 분석 (임시 방편이자 강력한 강제 수단)
         String message = (String) logMap.getOrDefault("message", "");
-        if (message != null && (message.contains("Critical") || message.contains("🚨"))) {
+        if (LogLevelClassifier.hasManualCritical(message)) {
             return "CRITICAL";
         }
 
@@ -1422,13 +1451,56 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         };
     }
 
+    // ============================================
+    // 🔄 인덱스별 _source projection
+    // - 화면(LogEntry, ErrorLogDTO)과 레벨/메시지 판정에 쓰는 필드만 가져온다.
+    // - 인덱스 패턴이 아래 어느 것에도 해당하지 않으면 전체 _source 를 가져온다.
+    // ============================================
+    private static final Map<String, List<String>> SOURCE_PROJECTIONS = Map.of(
+            "application-logs", List.of("@timestamp", "severity", "severity_version", "application", "message", "log_level", "logLevel", "level",
+                    "logger_name", "logger", "stack_trace", "error", "mdc", "fields.application", "agent.name"),
+            "access-logs", List.of("@timestamp", "severity", "severity_version", "application", "mdc", "client",
+                    "http.method", "http.url", "http.status_code", "http.response_time_ms"),
+            "error-logs", List.of("@timestamp", "severity", "severity_version", "application", "mdc", "error", "source",
+                    "fields.application", "agent.name"),
+            "performance-metrics", List.of("@timestamp", "severity", "severity_version", "application", "mdc", "message",
+                    "class", "method", "execution_time_ms", "system", "jvm"),
+            "database-logs", List.of("@timestamp", "severity", "severity_version", "application", "mdc", "message", "log_level", "logger_name",
+                    "stack_trace", "operation", "table", "query.sql", "query.duration_ms"),
+            "audit-logs", List.of("@timestamp", "severity", "severity_version", "application", "mdc", "message",
+                    "user.login_id", "resource.name", "event.action", "event.category", "event.result"),
+            "security-logs", List.of("@timestamp", "severity", "severity_version", "application", "mdc", "message", "level", "logger", "tags",
+                    "blocked", "security.threat_level", "security.attack_type", "security.event_type", "attack")
+    );
+
+    /**
+     * 인덱스 패턴에 맞는 source filter (콤마로 여러 패턴이면 합집합)
+     */
+    private SourceConfig sourceProjection(String indexPattern) {
+        Set<String> includes = new LinkedHashSet<>();
+        for (String pattern : indexPattern.split(",")) {
+            String trimmed = pattern.trim();
+            List<String> projection = SOURCE_PROJECTIONS.entrySet().stream()
+                    .filter(entry -> trimmed.startsWith(entry.getKey()))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElse(null);
+            if (projection == null) {
+                return SourceConfig.of(s -> s.fetch(true));
+            }
+            includes.addAll(projection);
+        }
+        return SourceConfig.of(s -> s.filter(f -> f.includes(new ArrayList<>(includes))));
+    }
+
     /**
      * Elasticsearch Hit을 Map으로 변환
+     * - _source 는 LogDocument 로 바로 역직렬화되어 들어오므로 필드를 꺼내 응답 Map 만 구성
      *
      * @param hit Hit 객체
      * @return Map
      */
-    private Map<String, Object> convertHitToMap(Hit<Map> hit) {
+    private Map<String, Object> convertHitToMap(Hit<LogDocument> hit) {
         Map<String, Object> result = new HashMap<>();
 
         // 문서 ID 및 인덱스 추가
@@ -1436,80 +1508,82 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         result.put("_index", hit.index());
 
         // 소스 데이터
-        Map<String, Object> source = hit.source();
+        LogDocument source = hit.source();
         if (source == null) {
             return result;
         }
 
         // 공통 필드: @timestamp, application
-        result.put("@timestamp", source.get("@timestamp"));
-        result.put("application", source.get("application"));
+        result.put("@timestamp", source.timestamp());
+        result.put("application", source.application());
 
         // 원본의 MDC가 있다면 복사 (Keyword 체크 등을 위해)
-        if (source.containsKey("mdc")) {
-            result.put("mdc", source.get("mdc"));
+        if (source.mdc() != null) {
+            result.put("mdc", source.mdc());
         }
 
         // ✅ 인덱스 타입별 필드 매핑
         String indexName = hit.index();
 
         // -------------------------------------------------------
-        // 인덱스별 매핑 로직 (기존 코드와 동일하되 필요한 부분만 정리)
+        // 인덱스별 매핑 로직
         // -------------------------------------------------------
         if (indexName.startsWith("application-logs")) {
-            result.putAll(source);
+            putPresentFields(result, source);
 
         } else if (indexName.startsWith("access-logs")) {
-            Map<String, Object> http = (Map<String, Object>) source.get("http");
+            LogDocument.HttpInfo http = source.http();
             if (http != null) {
-                result.put("http", http);
+                result.put("http", http.toMap());
                 // 메시지 필드가 없으면 생성
                 String msg = String.format("%s %s - Status: %s",
-                        http.get("method"), http.get("url"), http.get("status_code"));
+                        http.method(), http.url(), http.statusCode());
                 result.put("message", msg);
             }
-            if (source.containsKey("client")) result.put("client", source.get("client"));
+            if (source.client() != null) result.put("client", source.client());
 
         } else if (indexName.startsWith("error-logs")) {
-            Map<String, Object> error = (Map<String, Object>) source.get("error");
+            LogDocument.ErrorInfo error = source.error();
             if (error != null) {
                 // severity를 log_level 후보로 저장
-                result.put("log_level", error.get("severity"));
+                result.put("log_level", error.severity());
                 result.put("logger_name", "ErrorLog");
-                result.put("message", error.get("type") + ": " + error.get("message"));
-                result.put("stack_trace", error.get("stack_trace"));
-                result.put("error", error);
+                result.put("message", error.type() + ": " + error.message());
+                result.put("stack_trace", error.stackTrace());
+                result.put("error", error.toMap());
             }
-            if (source.containsKey("source")) result.put("source", source.get("source"));
+            if (source.source() != null) result.put("source", source.source());
+            if (source.fields() != null) result.put("fields", source.fields());
+            if (source.agent() != null) result.put("agent", source.agent());
 
         } else if (indexName.startsWith("performance-metrics")) {
-            // performance-metrics: 성능 메트릭 (수정됨)
+            // performance-metrics: 성능 메트릭
             result.put("log_level", "INFO");
 
             // 1. 메서드 실행 시간 로그인지 확인 (class, method, execution_time_ms 필드 존재 여부)
-            if (source.containsKey("method") && source.containsKey("execution_time_ms")) {
+            if (source.method() != null && source.executionTimeMs() != null) {
                 // Logger Name: 클래스 이름 사용 (없으면 기본값)
-                Object className = source.get("class");
+                String className = source.className();
                 result.put("logger_name", className != null ? className : "PerformanceLog");
 
                 // Message: "Method Execution: checkLoginId - 4208ms" 형태로 가공
                 String message = String.format("Method Execution: %s - %sms",
-                        source.get("method"),
-                        source.get("execution_time_ms")
+                        source.method(),
+                        source.executionTimeMs()
                 );
                 result.put("message", message);
 
                 // 상세 데이터 원본도 포함 (프론트엔드 정렬/필터링용)
                 result.put("class", className);
-                result.put("method", source.get("method"));
-                result.put("execution_time_ms", source.get("execution_time_ms"));
+                result.put("method", source.method());
+                result.put("execution_time_ms", source.executionTimeMs());
 
             } else {
-                // 2. 시스템/JVM 메트릭 (기존 로직 - 혹시 시스템 로그가 들어올 경우를 대비해 유지)
+                // 2. 시스템/JVM 메트릭 (혹시 시스템 로그가 들어올 경우를 대비해 유지)
                 result.put("logger_name", "SystemMetrics");
 
-                Map<String, Object> system = (Map<String, Object>) source.get("system");
-                Map<String, Object> jvm = (Map<String, Object>) source.get("jvm");
+                Map<String, Object> system = source.system();
+                Map<String, Object> jvm = source.jvm();
 
                 StringBuilder sb = new StringBuilder("System Metrics");
                 if (system != null) {
@@ -1521,7 +1595,7 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
                 }
 
                 // 원본 메시지가 "Performance Data" 처럼 단순하면 상세 정보를, 아니면 원본 메시지를 사용
-                String originalMsg = (String) source.get("message");
+                String originalMsg = source.message();
                 if (originalMsg != null && !originalMsg.equals("Performance Data")) {
                     result.put("message", originalMsg);
                 } else {
@@ -1532,57 +1606,55 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         } else if (indexName.startsWith("database-logs")) {
             // database-logs: 데이터베이스 로그
 
-            // 1. 기존처럼 구조화된 쿼리 객체가 있는지 확인
-            Map<String, Object> query = (Map<String, Object>) source.get("query");
+            // 1. 구조화된 쿼리 객체가 있는지 확인
+            LogDocument.QueryInfo query = source.query();
 
             if (query != null) {
-                // [Case A] 구조화된 로그가 들어온 경우 (기존 로직 유지)
+                // [Case A] 구조화된 로그가 들어온 경우
                 result.put("log_level", "INFO");
                 result.put("logger_name", "DatabaseLog");
 
                 String message = String.format("%s - %s (Duration: %sms)",
-                        source.get("operation"),
-                        source.get("table"),
-                        query.get("duration_ms")
+                        source.operation(),
+                        source.table(),
+                        query.durationMs()
                 );
                 result.put("message", message);
-                result.put("query", query);
-                result.put("stack_trace", query.get("sql"));
-                result.put("operation", source.get("operation"));
-                result.put("table", source.get("table"));
+                result.put("query", query.toMap());
+                result.put("stack_trace", query.sql());
+                result.put("operation", source.operation());
+                result.put("table", source.table());
 
             } else {
-                // ✅ [Case B] 우리가 만든 Interceptor 로그 (일반 텍스트 메시지) 처리
+                // ✅ [Case B] Interceptor 로그 (일반 텍스트 메시지) 처리
                 // 구조화된 'query' 객체가 없다면, 원본 'message' 필드를 그대로 가져옵니다.
 
                 // 로그 레벨 가져오기 (없으면 INFO)
-                Object logLevel = source.get("log_level");
-                result.put("log_level", logLevel != null ? logLevel : "INFO");
+                result.put("log_level", source.logLevel() != null ? source.logLevel() : "INFO");
 
                 // 로거 이름 가져오기 (없으면 DatabaseLog)
-                Object loggerName = source.get("logger_name");
-                result.put("logger_name", loggerName != null ? loggerName : "DatabaseLog");
+                result.put("logger_name", source.loggerName() != null ? source.loggerName() : "DatabaseLog");
 
                 // ★ 핵심: Interceptor가 만든 "SQL: [...]" 문자열을 그대로 전달
-                result.put("message", source.get("message"));
+                result.put("message", source.message());
 
                 // 스택 트레이스 정보가 있다면 추가
-                if (source.containsKey("stack_trace")) {
-                    result.put("stack_trace", source.get("stack_trace"));
+                if (source.stackTrace() != null) {
+                    result.put("stack_trace", source.stackTrace());
                 }
             }
 
         } else if (indexName.startsWith("audit-logs")) {
-            // audit-logs: 감사 로그 (수정됨)
+            // audit-logs: 감사 로그
 
             // 1. 기본 설정 (데이터에 레벨이 없으므로 INFO로 고정)
             result.put("log_level", "INFO");
             result.put("logger_name", "AuditLog");
 
             // 2. 데이터 추출
-            Map<String, Object> user = (Map<String, Object>) source.get("user");
-            Map<String, Object> resource = (Map<String, Object>) source.get("resource");
-            String originalMessage = (String) source.get("message");
+            Map<String, Object> user = source.user();
+            Map<String, Object> resource = source.resource();
+            String originalMessage = source.message();
 
             // 3. 메시지 재구성 (누가, 무엇을 했는지 명확하게 표시)
             // 예: "User registration completed by test001 (Resource: 테스터)"
@@ -1608,8 +1680,8 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             }
 
             // 기존 'event' 객체가 있다면 같이 넣어줌 (하위 호환성)
-            if (source.containsKey("event")) {
-                result.put("event", source.get("event"));
+            if (source.event() != null) {
+                result.put("event", source.event().toMap());
             }
 
         } else if (indexName.startsWith("security-logs")) {
@@ -1618,40 +1690,38 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
             // =================================================
 
             // 1. 구조화된 보안 이벤트 객체(security, attack)가 있는지 확인 (WAF 등 연동 시)
-            Map<String, Object> security = (Map<String, Object>) source.get("security");
-            Map<String, Object> attack = (Map<String, Object>) source.get("attack");
+            LogDocument.SecurityInfo security = source.security();
+            Map<String, Object> attack = source.attack();
 
             if (security != null && attack != null) {
                 // [Case A] 구조화된 위협 로그 처리
-                String threatLevel = (String) security.get("threat_level");
+                String threatLevel = security.threatLevel();
 
                 // Threat Level -> Log Level 매핑
-                String logLevel;
-                switch (threatLevel != null ? threatLevel.toLowerCase() : "low") {
-                    case "critical": logLevel = "FATAL"; break;
-                    case "high":     logLevel = "ERROR"; break;
-                    case "medium":   logLevel = "WARN";  break;
-                    default:         logLevel = "INFO";  break;
-                }
+                String logLevel = switch (threatLevel != null ? threatLevel.toLowerCase() : "low") {
+                    case "critical" -> "FATAL";
+                    case "high" -> "ERROR";
+                    case "medium" -> "WARN";
+                    default -> "INFO";
+                };
 
                 result.put("log_level", logLevel);
                 result.put("logger_name", "SecurityEvent");
                 result.put("message", String.format("[%s] Security Alert: %s (Blocked: %s)",
-                        threatLevel, attack.get("type"), source.get("blocked")));
+                        threatLevel, attack.get("type"), source.blocked()));
 
-                result.put("security", security);
+                result.put("security", security.toMap());
                 result.put("attack", attack);
 
             } else {
                 // [Case B] 일반 Spring Security 텍스트 로그 분석
-                String rawMessage = (String) source.get("message");
-                Object originalLevelObj = source.get("level");
-                String level = originalLevelObj != null ? originalLevelObj.toString() : "INFO";
+                String rawMessage = source.message();
+                String level = source.level() != null ? source.level() : "INFO";
 
                 // 로거 이름 정리 (패키지명 단축)
                 String loggerName = "SecurityLog";
-                if (source.get("logger") != null) {
-                    String fullLogger = source.get("logger").toString();
+                if (source.logger() != null) {
+                    String fullLogger = source.logger();
                     loggerName = fullLogger.contains(".")
                             ? fullLogger.substring(fullLogger.lastIndexOf(".") + 1)
                             : fullLogger;
@@ -1660,37 +1730,11 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
                 // --- 🔍 메시지 분석 및 레벨/유형 재정의 ---
                 String securityType = "General Event";
 
-                if (rawMessage != null) {
-                    // 1. 로그인 실패
-                    if (rawMessage.contains("Bad credentials") ||
-                            rawMessage.contains("password does not match") ||
-                            rawMessage.contains("User not found") ||
-                            rawMessage.contains("Authentication failed")) {
-
-                        securityType = "Login Failure";
-                        level = "WARN"; // 격상
-
-                        // 2. 권한 없음 (해킹 시도 의심)
-                    } else if (rawMessage.contains("Access is denied") ||
-                            rawMessage.contains("AccessDeniedException") ||
-                            rawMessage.contains("AnonymouseAuthenticationToken")) {
-
-                        securityType = "Access Denied";
-                        level = "ERROR"; // 격상
-
-                        // 3. CSRF 공격
-                    } else if (rawMessage.contains("Invalid CSRF") ||
-                            rawMessage.contains("Missing CSRF")) {
-
-                        securityType = "CSRF Warning";
-                        level = "ERROR"; // 격상
-
-                        // 4. 세션 만료
-                    } else if (rawMessage.contains("Session") && rawMessage.contains("expired")) {
-
-                        securityType = "Session Expired";
-                        level = "WARN";
-                    }
+                // 로그인 실패(WARN) → 권한 없음(ERROR) → CSRF(ERROR) → 세션 만료(WARN) 순으로 판정 (메시지 1회 스캔)
+                LogLevelClassifier.SecurityCategory category = LogLevelClassifier.classifySecurity(rawMessage);
+                if (category != null) {
+                    securityType = category.getLabel();
+                    level = category.getLevel(); // 격상
                 }
                 // ---------------------------------------
 
@@ -1699,17 +1743,18 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
                 result.put("message", rawMessage);
                 result.put("security_type", securityType); // 프론트엔드 표시용 유형
 
-                if (source.containsKey("tags")) {
-                    result.put("tags", source.get("tags"));
+                if (source.tags() != null) {
+                    result.put("tags", source.tags());
                 }
             }
 
         } else {
-            result.putAll(source);
+            putPresentFields(result, source);
         }
 
         // 모든 매핑이 끝난 후, 최종적으로 레벨을 '판결'합니다.
-        String realLevel = determineLogLevel(result);
+        // (severity pipeline 이 적용된 문서는 색인 시점에 계산된 severity 를 그대로 사용)
+        String realLevel = hasNormalizedSeverity(source) ? source.severity() : determineLogLevel(result);
 
         // 판결된 레벨을 모든 관련 필드에 덮어씁니다.
         result.put("log_level", realLevel);
@@ -1726,6 +1771,62 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         return result;
     }
 
+    private boolean hasNormalizedSeverity(LogDocument source) {
+        return source != null && source.severity() != null && source.severityVersion() != null
+                && source.severityVersion() >= SeverityPipelineInstaller.PIPELINE_VERSION;
+    }
+
+    /**
+     * 현재 규칙(PIPELINE_VERSION)으로 severity 가 계산된 문서
+     * - 이전 버전 pipeline 으로 색인된 문서는 legacy-fallback 에서 기존 방식으로 판정
+     */
+    private Query currentSeverityQuery() {
+        return Query.of(q -> q.range(r -> r
+                .field(SEVERITY_VERSION_FIELD)
+                .gte(JsonData.of(SeverityPipelineInstaller.PIPELINE_VERSION))));
+    }
+
+    /**
+     * 문서에 값이 있는 필드를 원본 키 이름 그대로 복사 (application-logs 및 기타 인덱스)
+     */
+    private void putPresentFields(Map<String, Object> result, LogDocument source) {
+        putIfPresent(result, "message", source.message());
+        putIfPresent(result, "log_level", source.logLevel());
+        putIfPresent(result, "logLevel", source.logLevelCamel());
+        putIfPresent(result, "level", source.level());
+        putIfPresent(result, "severity", source.severity());
+        putIfPresent(result, "logger_name", source.loggerName());
+        putIfPresent(result, "logger", source.logger());
+        putIfPresent(result, "stack_trace", source.stackTrace());
+        putIfPresent(result, "class", source.className());
+        putIfPresent(result, "method", source.method());
+        putIfPresent(result, "execution_time_ms", source.executionTimeMs());
+        putIfPresent(result, "operation", source.operation());
+        putIfPresent(result, "table", source.table());
+        putIfPresent(result, "query", source.query() != null ? source.query().toMap() : null);
+        putIfPresent(result, "http", source.http() != null ? source.http().toMap() : null);
+        putIfPresent(result, "client", source.client());
+        putIfPresent(result, "error", source.error() != null ? source.error().toMap() : null);
+        putIfPresent(result, "source", source.source());
+        putIfPresent(result, "system", source.system());
+        putIfPresent(result, "jvm", source.jvm());
+        putIfPresent(result, "user", source.user());
+        putIfPresent(result, "resource", source.resource());
+        putIfPresent(result, "event", source.event() != null ? source.event().toMap() : null);
+        putIfPresent(result, "security", source.security() != null ? source.security().toMap() : null);
+        putIfPresent(result, "attack", source.attack());
+        putIfPresent(result, "blocked", source.blocked());
+        putIfPresent(result, "tags", source.tags());
+        putIfPresent(result, "fields", source.fields());
+        putIfPresent(result, "agent", source.agent());
+    }
+
+    private void putIfPresent(Map<String, Object> result, String key, Object value) {
+        if (value != null) {
+            result.put(key, value);
+        }
+    }
+
     /**
      * 로그 레벨 최종 판정 (Smart Logic 적용)
      * - 500(코드에러) vs 503/504(서버장애) 구분
@@ -1770,13 +1871,8 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         // 2. [All Logs] 치명적인 키워드 검사 (강제 승격)
         // ==========================================
         // 로그 레벨이 뭐든 간에, 이 단어들이 보이면 무조건 CRITICAL로 간주합니다.
-        if (message.contains("OutOfMemory") ||
-                message.contains("StackOverflow") ||
-                message.contains("Deadlock") ||
-                message.contains("Connection refused") ||
-                message.contains("Fatal") ||
-                message.contains("CRITICAL") ||  // 대소문자 구분 없이 체크하려면 toUpperCase() 사용 권장
-                message.contains("🚨")) {
+        // (OutOfMemory, StackOverflow, Deadlock, Connection refused, Fatal, CRITICAL, 🚨 - 메시지 1회 스캔)
+        if (LogLevelClassifier.hasFatalKeyword(message)) {
             return "CRITICAL";
         }
 
@@ -1807,15 +1903,11 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         // ==========================================
         // 5. 기본 반환 (원본 데이터의 레벨 존중)
         // ==========================================
-        String[] levelFields = {"log_level", "logLevel", "level", "severity"};
-        for (String field : levelFields) {
-            Object value = doc.get(field);
-            if (value != null && !value.toString().isEmpty() && !"null".equals(value.toString())) {
-                String level = value.toString().toUpperCase();
-                // 표준 레벨 패턴이면 그대로 반환
-                if (level.matches("CRITICAL|FATAL|ERROR|WARN|INFO|DEBUG|TRACE")) {
-                    return level;
-                }
+        for (String field : LEVEL_FIELDS) {
+            // 표준 레벨 패턴이면 그대로 반환
+            String level = LogLevelClassifier.normalizeLevel(doc.get(field));
+            if (level != null) {
+                return level;
             }
         }
 
@@ -1874,11 +1966,807 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         return errorResponse;
     }
 
-    private Double getAggregationValue(SearchResponse<Void> response, String aggName) {
+    // ============================================
+    // 🔄 통계 집계 공통 헬퍼
+    // - 집계 정의(builder)와 결과 해석(decoder)을 분리해 단건 조회와 통합 조회(bundle)가 같은 정의를 공유
+    // ============================================
+
+    private static final List<String> SYSTEM_METRIC_AGGREGATIONS =
+            List.of("avg_cpu", "max_cpu", "avg_memory", "max_memory", "avg_disk");
+    private static final List<String> JVM_METRIC_AGGREGATIONS =
+            List.of("avg_heap", "max_heap", "total_gc_count", "total_gc_time", "avg_thread_count");
+
+    /**
+     * _msearch 로 묶어 보낼 개별 집계 검색
+     * @param index 이 검색만의 대상 인덱스 (기간으로 pruning 한 목록, null이면 요청 공통 인덱스)
+     * @param query 검색 조건 (null이면 전체)
+     * @param aggregations 집계 정의
+     */
+    private record AggregationSearch(String index, Query query, Map<String, Aggregation> aggregations) {}
+
+    /**
+     * 조회 기간에 해당하는 일자 인덱스만 대상으로 size(0) 집계 검색 1회 실행
+     */
+    private SearchResponse<Void> searchAggregations(
+            String indexPattern, LocalDateTime start, LocalDateTime end,
+            Query query, Map<String, Aggregation> aggregations) throws IOException {
+        return searchAggregations(dailyIndexResolver.resolve(indexPattern, start, end), query, aggregations);
+    }
+
+    /**
+     * size(0) 집계 전용 검색 1회 실행
+     * - pruning 결과의 일자 인덱스가 그 사이 삭제(보관 기간 만료)됐거나 하나도 없어도 빈 결과로 처리
+     */
+    private SearchResponse<Void> searchAggregations(
+            String indexPattern, Query query, Map<String, Aggregation> aggregations) throws IOException {
+        return elasticsearchClient.search(s -> {
+            s.index(indexPattern).ignoreUnavailable(true).allowNoIndices(true).size(0).aggregations(aggregations);
+            if (query != null) {
+                s.query(query);
+            }
+            return s;
+        }, Void.class);
+    }
+
+    // ============================================
+    // 🔄 근사 집계 (random_sampler)
+    // ============================================
+
+    /**
+     * random_sampler 결과
+     * @param docCount 표본으로 뽑힌 문서 수 (확률로 나누기 전)
+     * @param aggregations 원래 이름의 하위 집계 (버킷 doc_count, sum, value_count 는 ES 가 이미 1/확률 로 보정)
+     */
+    private record SampledAggregates(long docCount, Map<String, Aggregate> aggregations) {}
+
+    /**
+     * 집계들을 random_sampler 하나로 감쌈 (probability 가 null 이면 그대로)
+     * - 8.11 클라이언트에는 random_sampler 타입이 없어 _custom 으로 전달
+     */
+    private Map<String, Aggregation> sampled(Map<String, Aggregation> aggregations, Double probability) {
+        if (probability == null) {
+            return aggregations;
+        }
+        return Map.of(SAMPLED, Aggregation.of(a -> a
+                ._custom("random_sampler", Map.of("probability", probability, "seed", samplingSeed))
+                .aggregations(aggregations)));
+    }
+
+    /**
+     * random_sampler 로 감싼 size(0) 집계 검색 1회 실행
+     */
+    private SampledAggregates searchSampledAggregations(
+            String indexPattern, Query query, Map<String, Aggregation> aggregations, double probability) throws IOException {
+        SearchResponse<Void> response = elasticsearchClient.search(s -> {
+            s.index(indexPattern).ignoreUnavailable(true).allowNoIndices(true).size(0)
+                    .aggregations(sampled(aggregations, probability))
+                    .requestCache(true)
+                    .maxConcurrentShardRequests(samplingMaxConcurrentShardRequests);
+            if (query != null) {
+                s.query(query);
+            }
+            return s;
+        }, Void.class);
+        return unwrapSampled(response.aggregations().get(SAMPLED));
+    }
+
+    /**
+     * random_sampler 응답(JsonData)에서 하위 집계를 Aggregate 로 복원
+     * - typed_keys 형식("sterms#by_method")의 항목만 골라 기본 집계 deserializer 로 변환
+     */
+    private SampledAggregates unwrapSampled(Aggregate aggregate) {
+        if (aggregate == null || !aggregate._isCustom()) {
+            return new SampledAggregates(0, Map.of());
+        }
+        JsonpMapper mapper = elasticsearchClient._jsonpMapper();
+        JsonObject body = aggregate._custom().toJson(mapper).asJsonObject();
+
+        JsonObjectBuilder typed = mapper.jsonProvider().createObjectBuilder();
+        body.forEach((key, value) -> {
+            if (key.indexOf('#') > 0) {
+                typed.add(key, value);
+            }
+        });
+        Map<String, Aggregate> aggregations =
+                JsonData.of(typed.build()).deserialize(Aggregate._TYPED_KEYS_DESERIALIZER, mapper);
+
+        JsonNumber docCount = body.getJsonNumber("doc_count");
+        return new SampledAggregates(docCount != null ? docCount.longValue() : 0, aggregations);
+    }
+
+    /**
+     * 표본 정보와 오차 추정
+     * - 전체 건수 추정치 = 표본 수 / 확률
+     * - 95% 상대 오차 ≈ 1.96 × √((1 - p) / 표본 수) (이항 표본 기준, 버킷별 오차는 버킷 표본 수로 같은 식)
+     */
+    private Map<String, Object> samplingInfo(double probability, long sampledDocCount) {
+        Map<String, Object> info = new HashMap<>();
+        info.put("probability", probability);
+        info.put("sampledDocCount", sampledDocCount);
+        info.put("estimatedDocCount", Math.round(sampledDocCount / probability));
+        info.put("relativeError95", sampledDocCount > 0
+                ? 1.96 * Math.sqrt((1 - probability) / sampledDocCount) : null);
+        return info;
+    }
+
+    /**
+     * composite 집계를 after_key 로 끝까지 순회 (terms size 상한 없이 모든 버킷 처리)
+     * - 페이지마다 버킷을 consumer 로 넘기고 버리므로 버킷 수와 무관하게 메모리 사용량이 일정
+     */
+    private void scanCompositeBuckets(
+            String indexPattern, Query query, Map<String, RuntimeField> runtimeMappings,
+            String sourceName, CompositeAggregationSource source, Map<String, Aggregation> subAggregations,
+            Consumer<CompositeBucket> consumer) throws IOException {
+        Map<String, FieldValue> afterKey = null;
+        for (int page = 0; page < COMPOSITE_MAX_PAGES; page++) {
+            CompositeAggregate composite = searchCompositePage(indexPattern, query, runtimeMappings,
+                    sourceName, source, subAggregations, afterKey, COMPOSITE_PAGE_SIZE);
+            if (composite == null) {
+                return;
+            }
+            List<CompositeBucket> buckets = composite.buckets().array();
+            buckets.forEach(consumer);
+
+            afterKey = composite.afterKey();
+            if (buckets.size() < COMPOSITE_PAGE_SIZE || afterKey == null || afterKey.isEmpty()) {
+                return;
+            }
+        }
+        log.warn("Composite aggregation stopped after {} pages: index={}, source={}",
+                COMPOSITE_MAX_PAGES, indexPattern, sourceName);
+    }
+
+    /**
+     * composite 집계 한 페이지 (afterKey 가 null 이면 첫 페이지)
+     */
+    private CompositeAggregate searchCompositePage(
+            String indexPattern, Query query, Map<String, RuntimeField> runtimeMappings,
+            String sourceName, CompositeAggregationSource source, Map<String, Aggregation> subAggregations,
+            Map<String, FieldValue> afterKey, int size) throws IOException {
+        Aggregation composite = Aggregation.of(a -> a
+                .composite(c -> {
+                    c.size(size).sources(Map.of(sourceName, source));
+                    if (afterKey != null) {
+                        c.after(afterKey);
+                    }
+                    return c;
+                })
+                .aggregations(subAggregations));
+
+        SearchResponse<Void> response = elasticsearchClient.search(s -> {
+            s.index(indexPattern).ignoreUnavailable(true).allowNoIndices(true).size(0).aggregations("composite", composite);
+            if (query != null) {
+                s.query(query);
+            }
+            if (!runtimeMappings.isEmpty()) {
+                s.runtimeMappings(runtimeMappings);
+            }
+            return s;
+        }, Void.class);
+
+        Aggregate aggregate = response.aggregations().get("composite");
+        return aggregate != null && aggregate.isComposite() ? aggregate.composite() : null;
+    }
+
+    private String routeScript() throws IOException {
+        if (routeScript == null) {
+            routeScript = new ClassPathResource(ROUTE_SCRIPT_LOCATION).getContentAsString(StandardCharsets.UTF_8);
+        }
+        return routeScript;
+    }
+
+    /**
+     * 조건이 서로 다른 집계 검색들을 _msearch 1회로 실행
+     * @return 요청 순서와 동일한 집계 결과 목록
+     */
+    private List<Map<String, Aggregate>> multiSearchAggregations(
+            String indexPattern, List<AggregationSearch> searches) throws IOException {
+        return multiSearchAggregations(indexPattern, searches, false);
+    }
+
+    /**
+     * @param sampled 근사(random_sampler) 집계 여부 (동시 shard 요청 제한 + request cache 사용)
+     */
+    private List<Map<String, Aggregate>> multiSearchAggregations(
+            String indexPattern, List<AggregationSearch> searches, boolean sampled) throws IOException {
+        MsearchResponse<Void> response = elasticsearchClient.msearch(m -> {
+            m.index(indexPattern).ignoreUnavailable(true).allowNoIndices(true);
+            if (sampled) {
+                m.maxConcurrentShardRequests(samplingMaxConcurrentShardRequests);
+            }
+            for (AggregationSearch search : searches) {
+                m.searches(item -> item
+                        .header(h -> {
+                            if (search.index() != null) {
+                                h.index(search.index()).ignoreUnavailable(true).allowNoIndices(true);
+                            }
+                            return sampled ? h.requestCache(true) : h;
+                        })
+                        .body(b -> {
+                            b.size(0).aggregations(search.aggregations());
+                            if (search.query() != null) {
+                                b.query(search.query());
+                            }
+                            return b;
+                        }));
+            }
+            return m;
+        }, Void.class);
+
+        List<Map<String, Aggregate>> results = new ArrayList<>();
+        for (MultiSearchResponseItem<Void> item : response.responses()) {
+            if (item.isFailure()) {
+                log.warn("⚠️ msearch item failed: {}", item.failure().error().reason());
+                results.add(Collections.emptyMap());
+            } else {
+                results.add(item.result().aggregations());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 조회 구간 전체를 빈 버킷까지 채우는 date_histogram
+     */
+    private Aggregation boundedTimeHistogram(
+            LocalDateTime start, LocalDateTime end, String timePeriod, Map<String, Aggregation> subAggregations) {
+        String interval = calculateInterval(timePeriod);
+
+        // ✅ epoch milliseconds로 변환
+        long startEpochMs = start.atZone(HISTOGRAM_ZONE).toInstant().toEpochMilli();
+        long endEpochMs = end.atZone(HISTOGRAM_ZONE).toInstant().toEpochMilli();
+
+        return Aggregation.of(a -> a
+                .dateHistogram(dh -> dh
+                        .field("@timestamp")
+                        .fixedInterval(fi -> fi.time(interval))
+                        .timeZone("Asia/Seoul")
+                        .format("yyyy-MM-dd HH:mm:ss")
+                        .minDocCount(0)
+                        .extendedBounds(b -> b
+                                .min(FieldDateMath.of(f -> f.value((double) startEpochMs)))
+                                .max(FieldDateMath.of(f -> f.value((double) endEpochMs)))
+                        )
+                )
+                .aggregations(subAggregations)
+        );
+    }
+
+    // ============================================
+    // 🔄 시간대별 분포 조회 계획 (닫힌 버킷은 HistogramBucketCache 재사용)
+    // ============================================
+
+    /**
+     * 분포 조회: 캐시에 없는 구간만 조회 기간의 일자 인덱스에서 search 하고 캐시 버킷과 합침
+     */
+    private List<Map<String, Object>> searchDistribution(
+            String indexPattern, LocalDateTime start, LocalDateTime end,
+            Query query, HistogramBucketCache.HistogramPlan plan) throws IOException {
+        if (plan.isFullyCached()) {
+            return plan.assemble(Map.of());
+        }
+        return plan.assemble(searchAggregations(indexPattern, start, end, query, plan.aggregations()).aggregations());
+    }
+
+    /**
+     * boundedTimeHistogram 기반 분포 (Asia/Seoul 정렬, extended_bounds 사용)
+     */
+    private HistogramBucketCache.HistogramPlan boundedDistributionPlan(
+            String indexPattern, String shape, String filter,
+            LocalDateTime start, LocalDateTime end, String timePeriod,
+            BiFunction<LocalDateTime, LocalDateTime, Aggregation> histogramFactory,
+            Function<DateHistogramBucket, Map<String, Object>> bucketDecoder) {
+        return histogramBucketCache.plan(indexPattern, shape, filter, start, end, calculateInterval(timePeriod),
+                HISTOGRAM_ZONE, true, histogramFactory, bucketDecoder);
+    }
+
+    private HistogramBucketCache.HistogramPlan logsOverTimePlan(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod, String logLevel) {
+        // buildLogDistributionQuery 와 같은 기준으로 레벨 필터를 캐시 키에 포함
+        String filter = (logLevel != null && !logLevel.isEmpty() && !"undefined".equals(logLevel)) ? logLevel : "";
+        return boundedDistributionPlan(indexPattern, "logs_over_time", filter, start, end, timePeriod,
+                (from, to) -> logsOverTimeAggregation(from, to, timePeriod), this::toLogBucket);
+    }
+
+    private HistogramBucketCache.HistogramPlan accessOverTimePlan(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
+        return boundedDistributionPlan(indexPattern, "access_over_time", "", start, end, timePeriod,
+                (from, to) -> accessOverTimeAggregation(from, to, timePeriod), this::toAccessLogBucket);
+    }
+
+    private HistogramBucketCache.HistogramPlan errorsOverTimePlan(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
+        // errors_over_time 은 time_zone/extended_bounds 없이 UTC 기준 버킷 (bounds 는 캐시 조회 구간에만 지정)
+        // breakdown 필드는 매핑에 따라 달라지므로 캐시 키에 포함
+        String errorTypeField = aggregatableFieldResolver.resolve(indexPattern, "error.type");
+        return histogramBucketCache.plan(indexPattern, "errors_over_time", errorTypeField, start, end,
+                calculateInterval(timePeriod), ZoneOffset.UTC, false,
+                (from, to) -> errorsOverTimeAggregation(timePeriod, errorTypeField, from, to), this::toErrorLogBucket);
+    }
+
+    private HistogramBucketCache.HistogramPlan metricsOverTimePlan(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
+        return boundedDistributionPlan(indexPattern, "metrics_over_time", "", start, end, timePeriod,
+                (from, to) -> metricsOverTimeAggregation(from, to, timePeriod), this::toPerformanceMetricsBucket);
+    }
+
+    private HistogramBucketCache.HistogramPlan dbLogsOverTimePlan(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
+        return boundedDistributionPlan(indexPattern, "db_logs_over_time", "", start, end, timePeriod,
+                (from, to) -> dbLogsOverTimeAggregation(from, to, timePeriod), this::toDatabaseLogBucket);
+    }
+
+    private HistogramBucketCache.HistogramPlan auditOverTimePlan(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
+        return boundedDistributionPlan(indexPattern, "audit_over_time", "", start, end, timePeriod,
+                (from, to) -> auditOverTimeAggregation(from, to, timePeriod), this::toAuditLogBucket);
+    }
+
+    private HistogramBucketCache.HistogramPlan securityOverTimePlan(
+            String indexPattern, LocalDateTime start, LocalDateTime end, String timePeriod) {
+        // breakdown 필드는 매핑에 따라 달라지므로 캐시 키에 포함
+        String threatLevelField = aggregatableFieldResolver.resolve(indexPattern, "security.threat_level");
+        return boundedDistributionPlan(indexPattern, "security_over_time", threatLevelField, start, end, timePeriod,
+                (from, to) -> securityOverTimeAggregation(from, to, timePeriod, threatLevelField), this::toSecurityLogBucket);
+    }
+
+    /**
+     * 레벨 필터
+     * - severity 정규화 pipeline 이 기록한 severity 값에 대한 term(s) 쿼리
+     * - legacy-fallback 이 켜져 있으면 pipeline 적용 전 문서(severity_version 없음 또는 이전 버전)는 기존 방식(log_level, 상태코드 등)으로 판정
+     */
+    private Query buildLevelQuery(String indexPattern, List<String> levels) {
+        String severityField = aggregatableFieldResolver.resolve(indexPattern, "severity");
+        List<FieldValue> values = levels.stream()
+                .map(level -> FieldValue.of(level.toUpperCase()))
+                .toList();
+        Query normalized = Query.of(q -> q.terms(t -> t.field(severityField).terms(v -> v.value(values))));
+
+        if (!severityLegacyFallback) {
+            return normalized;
+        }
+
+        BoolQuery.Builder legacy = new BoolQuery.Builder()
+                .mustNot(currentSeverityQuery())
+                .minimumShouldMatch("1");
+        levels.forEach(level -> legacy.should(ElasticsearchQueryUtil.buildLogLevelQuery(level)));
+
+        return Query.of(q -> q.bool(b -> b
+                .should(s -> s.bool(nb -> nb
+                        .filter(normalized)
+                        .filter(currentSeverityQuery())))
+                .should(legacy.build()._toQuery())
+                .minimumShouldMatch("1")));
+    }
+
+    private Query buildLogDistributionQuery(String indexPattern, LocalDateTime start, LocalDateTime end, String logLevel) {
+        BoolQuery.Builder boolQuery = new BoolQuery.Builder();
+        boolQuery.must(ElasticsearchQueryUtil.buildDateRangeQuery(start, end));
+
+        if (logLevel != null && !logLevel.isEmpty() && !"undefined".equals(logLevel)) {
+            boolQuery.must(buildLevelQuery(indexPattern, List.of(logLevel)));
+        }
+        return boolQuery.build()._toQuery();
+    }
+
+    /**
+     * 레벨별 건수 집계 (결과는 toLevelCounts 로 변환)
+     * - severity 정규화 pipeline 이 기록한 severity 값 기준 terms
+     * - legacy-fallback 이 켜져 있으면 현재 버전 severity 문서 / 그 외 문서를 filter 로 나눠
+     *   그 외 문서만 기존 방식(log_level.keyword)으로 집계
+     */
+    private Map<String, Aggregation> logLevelAggregations(String indexPattern) {
+        String severityField = aggregatableFieldResolver.resolve(indexPattern, "severity");
+        if (!severityLegacyFallback) {
+            return Map.of("by_log_level", Aggregation.of(a -> a.terms(t -> t.field(severityField).size(10))));
+        }
+        return Map.of(
+                "by_log_level", Aggregation.of(a -> a
+                        .filter(currentSeverityQuery())
+                        .aggregations("levels", sub -> sub.terms(t -> t.field(severityField).size(10)))),
+                "by_log_level_legacy", Aggregation.of(a -> a
+                        .filter(f -> f.bool(b -> b.mustNot(currentSeverityQuery())))
+                        .aggregations("levels", sub -> sub.terms(t -> t.field("log_level.keyword").size(10)))));
+    }
+
+    /**
+     * logLevelAggregations 결과 → 레벨별 건수 (legacy 집계가 있으면 합산)
+     */
+    private Map<String, Long> toLevelCounts(Map<String, Aggregate> aggregations) {
+        Map<String, Long> counts = new HashMap<>();
+        for (String name : List.of("by_log_level", "by_log_level_legacy")) {
+            Aggregate aggregate = aggregations != null ? aggregations.get(name) : null;
+            if (aggregate != null && aggregate.isFilter()) {
+                aggregate = aggregate.filter().aggregations().get("levels");
+            }
+            toStringTermCounts(aggregate).forEach((level, count) -> counts.merge(level, count, Long::sum));
+        }
+        return counts;
+    }
+
+    private Aggregation logsOverTimeAggregation(LocalDateTime start, LocalDateTime end, String timePeriod) {
+        return boundedTimeHistogram(start, end, timePeriod, Map.of());
+    }
+
+    // ✅ 수정: http.method -> http.method.keyword (nested object 내 keyword 필드)
+    private Aggregation httpMethodAggregation() {
+        return Aggregation.of(a -> a.terms(t -> t.field("http.method.keyword").size(10)));
+    }
+
+    // 상위 20개의 상태 코드만 가져오겠다.
+    private Aggregation statusCodeAggregation() {
+        return Aggregation.of(a -> a.terms(t -> t.field("http.status_code").size(20)));
+    }
+
+    private Aggregation avgResponseTimeAggregation() {
+        return Aggregation.of(a -> a.avg(avg -> avg.field("http.response_time_ms")));
+    }
+
+    /**
+     * 응답시간 백분위 (TDigest)
+     */
+    private Aggregation responseTimePercentilesAggregation() {
+        return Aggregation.of(a -> a.percentiles(p -> p
+                .field("http.response_time_ms")
+                .percents(LATENCY_PERCENTS)
+                .tdigest(t -> t.compression(100))));
+    }
+
+    /**
+     * 응답시간 구간별 요청 수 (heatmap 한 줄)
+     * - [*, 10), [10, 25), ... [10000, *) 순서로 버킷 생성
+     */
+    private Aggregation latencyBucketsAggregation() {
+        List<AggregationRange> ranges = new ArrayList<>();
+        Long lower = null;
+        for (Long upper : LATENCY_BUCKET_BOUNDS_MS) {
+            Long from = lower;
+            ranges.add(AggregationRange.of(r -> {
+                if (from != null) {
+                    r.from(String.valueOf(from));
+                }
+                return r.to(String.valueOf(upper));
+            }));
+            lower = upper;
+        }
+        Long last = lower;
+        ranges.add(AggregationRange.of(r -> r.from(String.valueOf(last))));
+
+        return Aggregation.of(a -> a.range(r -> r.field("http.response_time_ms").ranges(ranges)));
+    }
+
+    private Aggregation accessOverTimeAggregation(LocalDateTime start, LocalDateTime end, String timePeriod) {
+        return boundedTimeHistogram(start, end, timePeriod, Map.of(
+                "avg_response_time", avgResponseTimeAggregation(),
+                "response_time_percentiles", responseTimePercentilesAggregation(),
+                "error_count", Aggregation.of(sub -> sub.filter(f -> f.range(
+                        r -> r.field("http.status_code").gte(JsonData.of(500)))))
+        ));
+    }
+
+    private Aggregation errorTypeAggregation(String field) {
+        return Aggregation.of(a -> a.terms(t -> t.field(field).size(TOP_BREAKDOWN_SIZE).missing("UNKNOWN")));
+    }
+
+    private Aggregation severityAggregation(String field) {
+        return Aggregation.of(a -> a.terms(t -> t.field(field).size(10).missing("UNKNOWN")));
+    }
+
+    /**
+     * @param errorTypeField error.type 집계 필드 (AggregatableFieldResolver 로 확인한 값)
+     * @param from extended_bounds 시작 (UTC, null 이면 bounds 없음)
+     * @param to extended_bounds 종료 (UTC, null 이면 bounds 없음)
+     */
+    private Aggregation errorsOverTimeAggregation(
+            String timePeriod, String errorTypeField, LocalDateTime from, LocalDateTime to) {
+        String interval = calculateInterval(timePeriod);
+        return Aggregation.of(a -> a
+                .dateHistogram(dh -> {
+                    dh.field("@timestamp")
+                            .fixedInterval(fi -> fi.time(interval))
+                            .format("yyyy-MM-dd HH:mm:ss");
+                    if (from != null && to != null) {
+                        long fromMs = from.toInstant(ZoneOffset.UTC).toEpochMilli();
+                        long toMs = to.toInstant(ZoneOffset.UTC).toEpochMilli();
+                        dh.minDocCount(0).extendedBounds(b -> b
+                                .min(FieldDateMath.of(f -> f.value((double) fromMs)))
+                                .max(FieldDateMath.of(f -> f.value((double) toMs))));
+                    }
+                    return dh;
+                })
+                .aggregations("error_type_breakdown", sub -> sub.terms(t -> t.field(errorTypeField).size(5)))
+        );
+    }
+
+    private Map<String, Aggregation> systemMetricsAggregations() {
+        Map<String, Aggregation> aggregations = new HashMap<>();
+        aggregations.put("avg_cpu", Aggregation.of(a -> a.avg(avg -> avg.field("system.cpu_usage"))));
+        aggregations.put("max_cpu", Aggregation.of(a -> a.max(max -> max.field("system.cpu_usage"))));
+        aggregations.put("avg_memory", Aggregation.of(a -> a.avg(avg -> avg.field("system.memory_usage"))));
+        aggregations.put("max_memory", Aggregation.of(a -> a.max(max -> max.field("system.memory_usage"))));
+        aggregations.put("avg_disk", Aggregation.of(a -> a.avg(avg -> avg.field("system.disk_usage"))));
+        return aggregations;
+    }
+
+    private Map<String, Aggregation> jvmMetricsAggregations() {
+        Map<String, Aggregation> aggregations = new HashMap<>();
+        aggregations.put("avg_heap", Aggregation.of(a -> a.avg(avg -> avg.field("jvm.heap_used"))));
+        aggregations.put("max_heap", Aggregation.of(a -> a.max(max -> max.field("jvm.heap_used"))));
+        aggregations.put("total_gc_count", Aggregation.of(a -> a.sum(sum -> sum.field("jvm.gc_count"))));
+        aggregations.put("total_gc_time", Aggregation.of(a -> a.sum(sum -> sum.field("jvm.gc_time"))));
+        aggregations.put("avg_thread_count", Aggregation.of(a -> a.avg(avg -> avg.field("jvm.thread_count"))));
+        return aggregations;
+    }
+
+    private Aggregation metricsOverTimeAggregation(LocalDateTime start, LocalDateTime end, String timePeriod) {
+        return boundedTimeHistogram(start, end, timePeriod, Map.of(
+                "avg_cpu_usage", Aggregation.of(sub -> sub.avg(avg -> avg.field("system.cpu_usage"))),
+                "avg_memory_usage", Aggregation.of(sub -> sub.avg(avg -> avg.field("system.memory_usage"))),
+                "avg_heap_usage", Aggregation.of(sub -> sub.avg(avg -> avg.field("jvm.heap_used")))
+        ));
+    }
+
+    // ✅ 수정: operation -> operation.keyword
+    private Aggregation operationAggregation() {
+        return Aggregation.of(a -> a.terms(t -> t.field("operation.keyword").size(10)));
+    }
+
+    // ✅ 수정: table -> table.keyword
+    private Aggregation tableAggregation() {
+        return Aggregation.of(a -> a.terms(t -> t.field("table.keyword").size(TOP_BREAKDOWN_SIZE)));
+    }
+
+    private Aggregation slowQueryFilterAggregation() {
+        return Aggregation.of(a -> a.filter(f -> f.range(
+                r -> r.field("query.duration_ms").gte(JsonData.of(1000)))));
+    }
+
+    private Map<String, Aggregation> queryPerformanceAggregations() {
+        Map<String, Aggregation> aggregations = new HashMap<>();
+        aggregations.put("avg_duration", Aggregation.of(a -> a.avg(avg -> avg.field("query.duration_ms"))));
+        aggregations.put("max_duration", Aggregation.of(a -> a.max(max -> max.field("query.duration_ms"))));
+        aggregations.put("slow_queries", slowQueryFilterAggregation());
+        return aggregations;
+    }
+
+    private Aggregation dbLogsOverTimeAggregation(LocalDateTime start, LocalDateTime end, String timePeriod) {
+        return boundedTimeHistogram(start, end, timePeriod, Map.of(
+                "avg_duration", Aggregation.of(sub -> sub.avg(avg -> avg.field("query.duration_ms"))),
+                "slow_query_count", slowQueryFilterAggregation()
+        ));
+    }
+
+    // ✅ 수정: event.action.keyword (nested 구조)
+    private Aggregation eventActionAggregation() {
+        return Aggregation.of(a -> a.terms(t -> t.field("event.action.keyword").size(TOP_BREAKDOWN_SIZE)));
+    }
+
+    private Aggregation categoryAggregation() {
+        return Aggregation.of(a -> a.terms(t -> t.field("event.category.keyword").size(10)));
+    }
+
+    private Aggregation eventResultAggregation() {
+        return Aggregation.of(a -> a.terms(t -> t.field("event.result.keyword").size(5)));
+    }
+
+    private Aggregation auditOverTimeAggregation(LocalDateTime start, LocalDateTime end, String timePeriod) {
+        return boundedTimeHistogram(start, end, timePeriod, Map.of(
+                "success_count", Aggregation.of(sub -> sub.filter(f -> f.term(t -> t.field("event.result.keyword").value("success")))),
+                "failure_count", Aggregation.of(sub -> sub.filter(f -> f.term(t -> t.field("event.result.keyword").value("failure"))))
+        ));
+    }
+
+    private Aggregation threatLevelAggregation(String field) {
+        return Aggregation.of(a -> a.terms(t -> t.field(field).size(10).missing("unknown")));
+    }
+
+    private Aggregation attackTypeAggregation(String field) {
+        return Aggregation.of(a -> a.terms(t -> t.field(field).size(TOP_BREAKDOWN_SIZE).missing("unknown")));
+    }
+
+    /**
+     * blocked 필드가 boolean/문자열 어느 쪽으로 색인되었는지 알 수 없어 두 방식 모두 집계
+     */
+    private Map<String, Aggregation> blockAggregations() {
+        Map<String, Aggregation> aggregations = new HashMap<>();
+        aggregations.put("blocked_attacks_bool", Aggregation.of(a -> a.filter(f -> f.term(t -> t.field("blocked").value(true)))));
+        aggregations.put("blocked_attacks_string", Aggregation.of(a -> a.filter(f -> f.term(t -> t.field("blocked.keyword").value("true")))));
+        aggregations.put("allowed_attacks_string", Aggregation.of(a -> a.filter(f -> f.term(t -> t.field("blocked.keyword").value("false")))));
+        aggregations.put("allowed_attacks_bool", Aggregation.of(a -> a.filter(f -> f.term(t -> t.field("blocked").value(false)))));
+        return aggregations;
+    }
+
+    private Aggregation securityOverTimeAggregation(
+            LocalDateTime start, LocalDateTime end, String timePeriod, String threatLevelField) {
+        return boundedTimeHistogram(start, end, timePeriod, Map.of(
+                "blocked_count_bool", Aggregation.of(sub -> sub.filter(f -> f.term(t -> t.field("blocked").value(true)))),
+                "blocked_count_string", Aggregation.of(sub -> sub.filter(f -> f.term(t -> t.field("blocked.keyword").value("true")))),
+                "threat_level_breakdown", Aggregation.of(sub -> sub.terms(t -> t.field(threatLevelField).size(5)))
+        ));
+    }
+
+    private Map<String, Long> toStringTermCounts(Aggregate aggregate) {
+        Map<String, Long> counts = new HashMap<>();
+        if (aggregate != null && aggregate.isSterms()) {
+            aggregate.sterms().buckets().array()
+                    .forEach(bucket -> counts.put(bucket.key().stringValue(), bucket.docCount()));
+        }
+        return counts;
+    }
+
+    /**
+     * 상위 TOP_BREAKDOWN_SIZE 개 카운트(key) + 그 밖의 문서 수(key + "Other")
+     * - Other 가 0 보다 크면 잘린 목록이므로 전체는 pageBreakdownCounts 로 조회
+     */
+    private void putTopBreakdown(Map<String, Object> bundle, String key, Aggregate aggregate) {
+        bundle.put(key, toStringTermCounts(aggregate));
+        Long otherDocCount = aggregate != null && aggregate.isSterms() ? aggregate.sterms().sumOtherDocCount() : null;
+        bundle.put(key + "Other", otherDocCount != null ? otherDocCount : 0L);
+    }
+
+    private Map<String, Long> toLongTermCounts(Aggregate aggregate) {
+        Map<String, Long> counts = new HashMap<>();
+        if (aggregate != null && aggregate.isLterms()) {
+            aggregate.lterms().buckets().array()
+                    .forEach(bucket -> counts.put(
+                            String.valueOf(bucket.key()),   // 상태 코드 값(예: 200)
+                            bucket.docCount()));            // 상태 코드가 나타난 횟수
+        }
+        return counts;
+    }
+
+    private Map<String, Double> toMetricValues(Map<String, Aggregate> aggregations, List<String> names) {
+        Map<String, Double> metrics = new HashMap<>();
+        if (aggregations != null) {
+            names.forEach(name -> metrics.put(name, getAggregationValue(aggregations, name)));
+        }
+        return metrics;
+    }
+
+    private Map<String, Object> toQueryPerformanceStats(SearchResponse<Void> response) {
+        Map<String, Object> stats = new HashMap<>();
+        if (response.aggregations() != null) {
+            // 1. 평균값 가져오기
+            Aggregate avgAggr = response.aggregations().get("avg_duration");
+            double avg = (avgAggr != null && avgAggr.isAvg()) ? avgAggr.avg().value() : 0.0;
+
+            // 2. 최대값 가져오기
+            Aggregate maxAggr = response.aggregations().get("max_duration");
+            double max = (maxAggr != null && maxAggr.isMax()) ? maxAggr.max().value() : 0.0;
+
+            // 만약 값이 무한대(Infinity)나 NaN이면 0으로 보정 (안전장치)
+            if (!Double.isFinite(avg)) avg = 0.0;
+            if (!Double.isFinite(max)) max = 0.0;
+
+            stats.put("avgDuration", avg);
+            stats.put("maxDuration", max);
+
+            // 3. 슬로우 쿼리 개수
+            stats.put("slowQueryCount", getDocCount(response.aggregations().get("slow_queries")));
+
+            // 4. 전체 쿼리 수
+            long totalCount = response.hits().total() != null ? response.hits().total().value() : 0;
+            stats.put("totalQueryCount", totalCount);
+        } else {
+            // 응답이 비어있을 경우 기본값
+            stats.put("avgDuration", 0.0);
+            stats.put("maxDuration", 0.0);
+            stats.put("slowQueryCount", 0L);
+            stats.put("totalQueryCount", 0L);
+        }
+        return stats;
+    }
+
+    private Map<String, Long> toBlockStatistics(SearchResponse<Void> response) {
+        Map<String, Long> stats = new HashMap<>();
+
+        // 🛡️ NPE 방지: aggregations() 자체가 null이거나, 각 항목이 null인지 체크
+        if (response.aggregations() != null) {
+            long totalAttacks = response.hits().total() != null ? response.hits().total().value() : 0;
+
+            long blockedBool = getDocCount(response.aggregations().get("blocked_attacks_bool"));
+            long blockedString = getDocCount(response.aggregations().get("blocked_attacks_string"));
+            long allowedBool = getDocCount(response.aggregations().get("allowed_attacks_bool"));
+            long allowedString = getDocCount(response.aggregations().get("allowed_attacks_string"));
+
+            long blockedAttacks = Math.max(blockedBool, blockedString);
+            long allowedAttacks = Math.max(allowedBool, allowedString);
+
+            log.info("📊 Block stats - Total: {}, Blocked: {}, Allowed: {}", totalAttacks, blockedAttacks, allowedAttacks);
+
+            stats.put("totalAttacks", totalAttacks);
+            stats.put("blockedAttacks", blockedAttacks);
+            stats.put("allowedAttacks", allowedAttacks);
+        } else {
+            stats.put("totalAttacks", 0L);
+            stats.put("blockedAttacks", 0L);
+            stats.put("allowedAttacks", 0L);
+        }
+        return stats;
+    }
+
+    // ============================================
+    // 🔄 시간대별 분포 버킷 디코더 (HistogramBucketCache 에 버킷 단위로 저장됨)
+    // ============================================
+    private Map<String, Object> toLogBucket(DateHistogramBucket bucket) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("timestamp", bucket.keyAsString());
+        entry.put("count", bucket.docCount());
+        return entry;
+    }
+
+    private Map<String, Object> toAccessLogBucket(DateHistogramBucket bucket) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("timestamp", bucket.keyAsString());
+        entry.put("requestCount", bucket.docCount());
+
+        Double avgResponseTime = bucket.aggregations().get("avg_response_time").avg().value();
+        entry.put("avgResponseTime", avgResponseTime != null ? avgResponseTime : 0.0);
+        entry.putAll(toPercentiles(bucket.aggregations().get("response_time_percentiles")));
+        entry.put("errorCount", getDocCount(bucket.aggregations().get("error_count")));
+        return entry;
+    }
+
+    private Map<String, Object> toErrorLogBucket(DateHistogramBucket bucket) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("timestamp", bucket.keyAsString());
+        entry.put("errorCount", bucket.docCount());
+
+        // 에러 타입별 분포
+        entry.put("errorTypeBreakdown", toStringTermCounts(bucket.aggregations().get("error_type_breakdown")));
+        return entry;
+    }
+
+    private Map<String, Object> toPerformanceMetricsBucket(DateHistogramBucket bucket) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("timestamp", bucket.keyAsString());
+        entry.put("cpuUsage", getBucketAggregationValue(bucket, "avg_cpu_usage"));
+        entry.put("memoryUsage", getBucketAggregationValue(bucket, "avg_memory_usage"));
+        entry.put("heapUsage", getBucketAggregationValue(bucket, "avg_heap_usage"));
+        return entry;
+    }
+
+    private Map<String, Object> toDatabaseLogBucket(DateHistogramBucket bucket) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("timestamp", bucket.keyAsString());
+        entry.put("queryCount", bucket.docCount());
+        entry.put("avgDuration", getBucketAggregationValue(bucket, "avg_duration"));
+        entry.put("slowQueryCount", getDocCount(bucket.aggregations().get("slow_query_count")));
+        return entry;
+    }
+
+    private Map<String, Object> toAuditLogBucket(DateHistogramBucket bucket) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("timestamp", bucket.keyAsString());
+        entry.put("totalEvents", bucket.docCount());
+        entry.put("successEvents", getDocCount(bucket.aggregations().get("success_count")));
+        entry.put("failureEvents", getDocCount(bucket.aggregations().get("failure_count")));
+        return entry;
+    }
+
+    private Map<String, Object> toSecurityLogBucket(DateHistogramBucket bucket) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("timestamp", bucket.keyAsString());
+        entry.put("attackCount", bucket.docCount());
+
+        if (bucket.aggregations() != null) {
+            // boolean과 String 중 큰 값 사용
+            long blockedBool = getDocCount(bucket.aggregations().get("blocked_count_bool"));
+            long blockedString = getDocCount(bucket.aggregations().get("blocked_count_string"));
+            entry.put("blockedCount", Math.max(blockedBool, blockedString));
+            entry.put("threatLevelBreakdown", toStringTermCounts(bucket.aggregations().get("threat_level_breakdown")));
+        } else {
+            // aggregations가 없는 경우 기본값
+            entry.put("blockedCount", 0L);
+            entry.put("threatLevelBreakdown", new HashMap<String, Long>());
+        }
+        return entry;
+    }
+
+    private Double getAggregationValue(Map<String, Aggregate> aggregations, String aggName) {
         try {
-            if (response.aggregations() != null && response.aggregations().get(aggName) != null) {
-                co.elastic.clients.elasticsearch._types.aggregations.Aggregate agg =
-                        response.aggregations().get(aggName);
+            if (aggregations != null && aggregations.get(aggName) != null) {
+                Aggregate agg = aggregations.get(aggName);
 
                 if (agg.isAvg()) {
                     return agg.avg().value();
@@ -1894,13 +2782,33 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         return 0.0;
     }
 
-    private Double getBucketAggregationValue(
-            co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket bucket,
-            String aggName) {
+    /**
+     * 백분위 집계 → {p50, p95, p99} (문서가 없으면 0.0)
+     */
+    private Map<String, Double> toPercentiles(Aggregate aggregate) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        Map<String, String> values = aggregate != null && aggregate.isTdigestPercentiles()
+                && aggregate.tdigestPercentiles().values().isKeyed()
+                ? aggregate.tdigestPercentiles().values().keyed()
+                : Map.of();
+
+        for (Double percent : LATENCY_PERCENTS) {
+            String value = values.get(String.valueOf(percent));
+            double parsed = 0.0;
+            try {
+                parsed = value != null ? Double.parseDouble(value) : 0.0;
+            } catch (NumberFormatException e) {
+                log.debug("Invalid percentile value: {}={}", percent, value);
+            }
+            result.put("p" + percent.intValue(), Double.isNaN(parsed) ? 0.0 : parsed);
+        }
+        return result;
+    }
+
+    private Double getBucketAggregationValue(DateHistogramBucket bucket, String aggName) {
         try {
             if (bucket.aggregations() != null && bucket.aggregations().get(aggName) != null) {
-                co.elastic.clients.elasticsearch._types.aggregations.Aggregate agg =
-                        bucket.aggregations().get(aggName);
+                Aggregate agg = bucket.aggregations().get(aggName);
 
                 if (agg.isAvg()) {
                     return agg.avg().value();
@@ -1911,4 +2819,4 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
         }
         return 0.0;
     }
-}
\ No newline at end of file
+}
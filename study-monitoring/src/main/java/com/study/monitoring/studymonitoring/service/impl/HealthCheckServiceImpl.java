@@ -20,7 +20,7 @@ public class HealthCheckServiceImpl implements HealthCheckService {
 
     private final ElasticsearchClient elasticsearchClient;
     private final JdbcTemplate jdbcTemplate;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;  // RestTemplateConfig 공용 connection pool
 
     @Value("${prometheus.url}")
     private String prometheusUrl;
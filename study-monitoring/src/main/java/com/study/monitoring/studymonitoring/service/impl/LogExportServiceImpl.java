@@ -0,0 +1,123 @@
+package com.study.monitoring.studymonitoring.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.monitoring.studymonitoring.model.dto.request.LogExportRequestDTO;
+import com.study.monitoring.studymonitoring.service.ElasticsearchService;
+import com.study.monitoring.studymonitoring.service.LogExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로그 내보내기 서비스 구현
+ * - ElasticsearchService.scanLogs 로 PIT 를 배치 단위로 순회하며 hit 를 바로 응답 스트림에 기록
+ * - 배치마다 flush 하여 버퍼가 결과 크기만큼 커지지 않도록 함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogExportServiceImpl implements LogExportService {
+
+    private final ElasticsearchService elasticsearchService;
+    private final ObjectMapper objectMapper;
+
+    // CSV 컬럼: 헤더명 → convertHitToMap 결과 키
+    private static final List<String> CSV_HEADERS =
+            List.of("timestamp", "index", "id", "logLevel", "application", "loggerName", "message");
+    private static final List<String> CSV_FIELDS =
+            List.of("@timestamp", "_index", "_id", "log_level", "application", "logger_name", "message");
+
+    @Override
+    public long export(LogExportRequestDTO request, LocalDateTime startTime, LocalDateTime endTime,
+                       OutputStream outputStream) throws IOException {
+        long exported = "csv".equalsIgnoreCase(request.getFormat())
+                ? exportCsv(request, startTime, endTime, outputStream)
+                : exportNdjson(request, startTime, endTime, outputStream);
+
+        log.info("Exported {} logs: index={}, format={}", exported, request.getIndex(), request.getFormat());
+        return exported;
+    }
+
+    /**
+     * NDJSON: 한 줄에 문서 하나 (Jackson generator 로 바로 기록)
+     */
+    private long exportNdjson(LogExportRequestDTO request, LocalDateTime startTime, LocalDateTime endTime,
+                              OutputStream outputStream) throws IOException {
+        int batchSize = request.getBatchSize();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            long[] written = {0};
+
+            elasticsearchService.scanLogs(request.getIndex(), request.getKeyword(), request.getLogLevel(),
+                    startTime, endTime, batchSize, hit -> {
+                        generator.writeObject(hit);
+                        generator.writeRaw('\n');
+                        if (++written[0] % batchSize == 0) {
+                            generator.flush();
+                        }
+                    });
+
+            generator.flush();
+            return written[0];
+        }
+    }
+
+    /**
+     * CSV: 고정 컬럼 (엑셀 한글 깨짐 방지를 위해 UTF-8 BOM 포함)
+     */
+    private long exportCsv(LogExportRequestDTO request, LocalDateTime startTime, LocalDateTime endTime,
+                           OutputStream outputStream) throws IOException {
+        int batchSize = request.getBatchSize();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        writer.write('\uFEFF');
+        writer.write(String.join(",", CSV_HEADERS));
+        writer.write('\n');
+        long[] written = {0};
+
+        elasticsearchService.scanLogs(request.getIndex(), request.getKeyword(), request.getLogLevel(),
+                startTime, endTime, batchSize, hit -> {
+                    writeCsvRow(writer, hit);
+                    if (++written[0] % batchSize == 0) {
+                        writer.flush();
+                    }
+                });
+
+        writer.flush();
+        return written[0];
+    }
+
+    private void writeCsvRow(Writer writer, Map<String, Object> hit) throws IOException {
+        for (int i = 0; i < CSV_FIELDS.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = hit.get(CSV_FIELDS.get(i));
+            if (value != null) {
+                writer.write(escapeCsv(String.valueOf(value)));
+            }
+        }
+        writer.write('\n');
+    }
+
+    // RFC 4180: 구분자/따옴표/개행이 있으면 따옴표로 감싸고 내부 따옴표는 두 번
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,314 @@
+package com.study.monitoring.studymonitoring.service.impl;
+
+import com.study.monitoring.studymonitoring.service.ElasticsearchService;
+import com.study.monitoring.studymonitoring.service.LogTailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실시간 로그 tail 서비스 구현
+ *
+ * 특징:
+ * - 조건(인덱스, 레벨, 키워드)별로 poller 하나만 동작하고, 가져온 로그를 모든 구독자에게 전달
+ *   (장애 중 20명이 같은 에러 로그를 tail 해도 ES 에는 주기마다 작은 쿼리 1번)
+ * - 매 주기 (마지막으로 받은 @timestamp - overlap) 이후를 다시 조회하고, overlap 구간 안에서 이미 보낸 _id 는 제외
+ *   (refresh 주기 / bulk 지연으로 늦게 검색되는 문서도 놓치지 않도록)
+ * - 조회와 SSE 전송은 전용 스레드 풀(pool-size)에서 실행 (공용 @Scheduled 스레드를 점유하지 않음)
+ * - 구독자가 모두 떠나면 poller 를 멈추고 제거
+ *
+ * 주의:
+ * - 서로 다른 조건의 poller 는 max-pollers 개까지만 (넘으면 "error" 이벤트 후 연결 종료)
+ * - 보낸 _id 는 overlap 구간만큼, 최대 max-recent-ids 개까지만 기억 (넘치면 오래된 것부터 잊으므로 중복 전송 가능)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogTailServiceImpl implements LogTailService {
+
+    private final ElasticsearchService elasticsearchService;
+
+    @Value("${monitoring.logs.tail.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${monitoring.logs.tail.batch-size:500}")
+    private int batchSize;
+
+    @Value("${monitoring.logs.tail.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${monitoring.logs.tail.overlap-ms:5000}")
+    private long overlapMs;
+
+    @Value("${monitoring.logs.tail.max-recent-ids:20000}")
+    private int maxRecentIds;
+
+    @Value("${monitoring.logs.tail.max-pollers:50}")
+    private int maxPollers;
+
+    @Value("${monitoring.logs.tail.pool-size:4}")
+    private int poolSize;
+
+    // 새 로그가 없을 때 연결 확인용 comment 를 보내는 간격
+    private static final long HEARTBEAT_INTERVAL_MS = 15_000;
+
+    // 한 주기에 이어서 조회하는 최대 페이지 수 (overlap 구간에 batch 보다 많은 로그가 있을 때)
+    private static final int MAX_PAGES_PER_POLL = 10;
+
+    private record TailKey(String indexPattern, String logLevel, String keyword) {}
+
+    private final Map<TailKey, TailPoller> pollers = new ConcurrentHashMap<>();
+
+    // poller 조회 + SSE 전송 전용 스레드 풀
+    private ScheduledExecutorService tailExecutor;
+
+    @PostConstruct
+    public void initTailExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        tailExecutor = Executors.newScheduledThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "log-tail-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public SseEmitter subscribe(String indexPattern, String logLevel, String keyword) {
+        TailKey key = new TailKey(indexPattern, normalizeLevel(logLevel), normalizeKeyword(keyword));
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+
+        // 멈추는 중인 poller 에 붙지 않도록 등록에 성공할 때까지 재시도 (poller 수가 max-pollers 면 null)
+        TailPoller poller;
+        do {
+            poller = pollers.computeIfAbsent(key, k -> pollers.size() < maxPollers ? startPoller(k) : null);
+            if (poller == null) {
+                return reject(emitter, key);
+            }
+        } while (!poller.add(emitter));
+
+        TailPoller subscribed = poller;
+        emitter.onCompletion(() -> subscribed.remove(emitter));
+        emitter.onTimeout(() -> subscribed.remove(emitter));
+        emitter.onError(e -> subscribed.remove(emitter));
+
+        try {
+            emitter.send(SseEmitter.event().name("connected").data(Map.of(
+                    "index", key.indexPattern(),
+                    "logLevel", key.logLevel() != null ? key.logLevel() : "",
+                    "keyword", key.keyword() != null ? key.keyword() : "",
+                    "subscribers", poller.subscriberCount())));
+        } catch (Exception e) {
+            poller.remove(emitter);
+            emitter.completeWithError(e);
+        }
+
+        log.info("Log tail subscribed: {} (subscribers={})", key, poller.subscriberCount());
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pollers.values().forEach(TailPoller::stop);
+        pollers.clear();
+        tailExecutor.shutdownNow();
+    }
+
+    private TailPoller startPoller(TailKey key) {
+        TailPoller poller = new TailPoller(key, System.currentTimeMillis());
+        poller.schedule(tailExecutor.scheduleWithFixedDelay(
+                poller::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS));
+        log.debug("Log tail poller started: {}", key);
+        return poller;
+    }
+
+    /**
+     * poller 수 상한 초과 - "error" 이벤트를 보내고 연결 종료
+     */
+    private SseEmitter reject(SseEmitter emitter, TailKey key) {
+        log.warn("Log tail rejected, too many pollers: {} (max-pollers={})", key, maxPollers);
+        try {
+            emitter.send(SseEmitter.event().name("error").data(Map.of(
+                    "message", "동시에 tail 할 수 있는 조건 수를 초과했습니다.",
+                    "maxPollers", maxPollers)));
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    private String normalizeLevel(String logLevel) {
+        return logLevel == null || logLevel.isBlank() ? null : logLevel.trim().toUpperCase();
+    }
+
+    private String normalizeKeyword(String keyword) {
+        return keyword == null || keyword.isBlank() ? null : keyword.trim();
+    }
+
+    /**
+     * 조건 하나에 대한 poller
+     */
+    private class TailPoller {
+
+        private final TailKey key;
+        private final Set<SseEmitter> subscribers = new CopyOnWriteArraySet<>();
+
+        // 구독 시작 시각 (이전 로그는 보내지 않음)
+        private final long startTimestamp;
+
+        // 지금까지 받은 가장 최근 @timestamp
+        private long lastTimestamp;
+
+        // overlap 구간 안에서 이미 보낸 문서 (_index/_id → @timestamp), 추가 순서 유지
+        private final LinkedHashMap<String, Long> recentIds = new LinkedHashMap<>();
+
+        private long lastSentAt = System.currentTimeMillis();
+        private ScheduledFuture<?> future;
+        private boolean stopped;
+
+        TailPoller(TailKey key, long startTimestamp) {
+            this.key = key;
+            this.startTimestamp = startTimestamp;
+            this.lastTimestamp = startTimestamp;
+        }
+
+        synchronized void schedule(ScheduledFuture<?> future) {
+            this.future = future;
+            if (stopped) {
+                future.cancel(false);
+            }
+        }
+
+        synchronized boolean add(SseEmitter emitter) {
+            if (stopped) {
+                return false;
+            }
+            subscribers.add(emitter);
+            return true;
+        }
+
+        void remove(SseEmitter emitter) {
+            subscribers.remove(emitter);
+        }
+
+        int subscriberCount() {
+            return subscribers.size();
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            if (future != null) {
+                future.cancel(false);
+            }
+            pollers.remove(key, this);
+        }
+
+        void poll() {
+            synchronized (this) {
+                if (subscribers.isEmpty()) {
+                    stop();
+                    log.debug("Log tail poller stopped: {}", key);
+                    return;
+                }
+            }
+
+            try {
+                List<Map<String, Object>> logs = fetchNewLogs();
+                if (!logs.isEmpty()) {
+                    broadcast(SseEmitter.event().name("logs").data(logs));
+                } else if (System.currentTimeMillis() - lastSentAt >= HEARTBEAT_INTERVAL_MS) {
+                    // 끊어진 구독자를 찾아내기 위한 keep-alive
+                    broadcast(SseEmitter.event().comment("keep-alive"));
+                }
+            } catch (Exception e) {
+                log.warn("Log tail poll failed: {}, reason={}", key, e.getMessage());
+            }
+        }
+
+        /**
+         * (lastTimestamp - overlap) 이후 로그 중 아직 보내지 않은 것
+         * - batch 가 가득 차면 마지막 hit 시각부터 이어서 조회 (최대 MAX_PAGES_PER_POLL 페이지)
+         */
+        @SuppressWarnings("unchecked")
+        private List<Map<String, Object>> fetchNewLogs() {
+            List<Map<String, Object>> fresh = new ArrayList<>();
+            long from = lastTimestamp - overlapMs;
+
+            for (int page = 0; page < MAX_PAGES_PER_POLL; page++) {
+                Map<String, Object> result = elasticsearchService.searchLogsAfter(
+                        key.indexPattern(), key.keyword(), key.logLevel(), from, batchSize);
+                if (result.get("error") != null) {
+                    log.warn("Log tail search failed: {}, reason={}", key, result.get("error"));
+                    break;
+                }
+
+                List<Map<String, Object>> logs = (List<Map<String, Object>>) result.getOrDefault("logs", List.of());
+                List<Long> timestamps = (List<Long>) result.getOrDefault("timestamps", List.of());
+                for (int i = 0; i < logs.size() && i < timestamps.size(); i++) {
+                    Map<String, Object> hit = logs.get(i);
+                    long timestamp = timestamps.get(i);
+                    String id = hit.get("_index") + "/" + hit.get("_id");
+                    if (recentIds.putIfAbsent(id, timestamp) == null && timestamp >= startTimestamp) {
+                        fresh.add(hit);
+                    }
+                    lastTimestamp = Math.max(lastTimestamp, timestamp);
+                }
+
+                if (logs.size() < batchSize || timestamps.isEmpty()) {
+                    break;
+                }
+                long newest = timestamps.get(timestamps.size() - 1);
+                if (newest <= from) {
+                    // 같은 시각의 문서가 batch 보다 많으면 더 진행할 수 없으므로 다음 시각으로 넘어감
+                    log.warn("Too many logs at the same timestamp, skipping ahead: {}", key);
+                    newest = from + 1;
+                    lastTimestamp = Math.max(lastTimestamp, newest);
+                }
+                from = newest;
+            }
+
+            forgetOldIds();
+            return fresh;
+        }
+
+        /**
+         * overlap 구간을 벗어난 _id 제거 + 최대 max-recent-ids 개 유지
+         */
+        private void forgetOldIds() {
+            long cutoff = lastTimestamp - overlapMs;
+            recentIds.values().removeIf(timestamp -> timestamp < cutoff);
+
+            Iterator<String> eldest = recentIds.keySet().iterator();
+            while (recentIds.size() > maxRecentIds && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+
+        private void broadcast(SseEmitter.SseEventBuilder event) {
+            lastSentAt = System.currentTimeMillis();
+            for (SseEmitter emitter : subscribers) {
+                try {
+                    emitter.send(event);
+                } catch (Exception e) {
+                    // 연결이 끊긴 구독자 정리
+                    subscribers.remove(emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+    }
+}
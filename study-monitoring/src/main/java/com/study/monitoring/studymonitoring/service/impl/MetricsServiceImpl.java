@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -40,23 +42,9 @@ public class MetricsServiceImpl implements MetricsService {
             Double errorRate = prometheusService.getErrorRate(application);
             Double cpuUsage = prometheusService.getCpuUsage(application);
 
-            // ✅ 메트릭 데이터 구조화
-            Map<String, Object> metrics = Map.of(
-                    "tps", safeValue(tps),
-                    "heapUsage", safeValue(heapUsage),
-                    "errorRate", safeValue(errorRate),
-                    "cpuUsage", safeValue(cpuUsage),
-                    "timestamp", Instant.now().toEpochMilli()
-            );
-
-            // ✅ 최종 응답 구조 생성
-            Map<String, Object> response = Map.of(
-                    "application", application,
-                    "metrics", metrics
-            );
+            Map<String, Object> response = toResponse(application, tps, heapUsage, errorRate, cpuUsage);
 
-            log.debug("✅ [MetricsService] 메트릭 조회 완료 - TPS: {}, Heap: {}%",
-                    metrics.get("tps"), metrics.get("heapUsage"));
+            log.debug("✅ [MetricsService] 메트릭 조회 완료 - TPS: {}, Heap: {}%", tps, heapUsage);
 
             return response;
 
@@ -77,6 +65,42 @@ public class MetricsServiceImpl implements MetricsService {
         }
     }
 
+    @Override
+    public Map<String, Map<String, Object>> getCurrentMetrics(Collection<String> applications) {
+        // ✅ 메트릭당 by (application) 쿼리 1회
+        Map<String, Double> tps = prometheusService.getTpsByApplication();
+        Map<String, Double> heapUsage = prometheusService.getHeapMemoryUsageByApplication();
+        Map<String, Double> errorRate = prometheusService.getErrorRateByApplication();
+        Map<String, Double> cpuUsage = prometheusService.getCpuUsageByApplication();
+
+        Map<String, Map<String, Object>> responses = new HashMap<>();
+        for (String application : applications) {
+            responses.put(application, toResponse(application,
+                    tps.get(application), heapUsage.get(application),
+                    errorRate.get(application), cpuUsage.get(application)));
+        }
+        return responses;
+    }
+
+    /**
+     * ✅ 메트릭 데이터 구조화 + 최종 응답 구조 생성
+     */
+    private Map<String, Object> toResponse(
+            String application, Double tps, Double heapUsage, Double errorRate, Double cpuUsage) {
+        Map<String, Object> metrics = Map.of(
+                "tps", safeValue(tps),
+                "heapUsage", safeValue(heapUsage),
+                "errorRate", safeValue(errorRate),
+                "cpuUsage", safeValue(cpuUsage),
+                "timestamp", Instant.now().toEpochMilli()
+        );
+
+        return Map.of(
+                "application", application,
+                "metrics", metrics
+        );
+    }
+
     /**
      * Null 안전 값 변환
      *
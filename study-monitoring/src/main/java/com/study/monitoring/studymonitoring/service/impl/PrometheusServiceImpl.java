@@ -1,11 +1,18 @@
 // /Monitering/study-monitoring/src/main/java/com/study/monitoring/studymonitoring/service/impl/PrometheusServiceImpl.java
 package com.study.monitoring.studymonitoring.service.impl;
 
+import com.study.monitoring.studymonitoring.cache.PrometheusRangeCache;
 import com.study.monitoring.studymonitoring.converter.MetricsConverter;
 import com.study.monitoring.studymonitoring.service.PrometheusService;
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder;
+import com.study.monitoring.studymonitoring.util.PrometheusStep;
+import com.study.monitoring.studymonitoring.util.TimeSeriesDownsampler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -13,10 +20,16 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
@@ -28,6 +41,80 @@ public class PrometheusServiceImpl implements PrometheusService {
 
     private final RestTemplate restTemplate;
     private final MetricsConverter metricsConverter;
+    private final PrometheusRangeCache prometheusRangeCache;
+
+    // Prometheus 는 series 당 최대 11,000 포인트까지만 반환
+    private static final int MAX_POINTS_PER_SERIES = 11_000;
+
+    // 분할 크기 추정용 쿼리별 series 수 (이 개수를 넘으면 비우고 다시 채움)
+    private static final int MAX_SERIES_COUNT_ESTIMATES = 1_000;
+
+    // 요청 1개의 예상 샘플 수(포인트 × series) 상한 - 넘으면 구간을 나눠 동시에 조회
+    @Value("${monitoring.prometheus.range-split.max-samples-per-request:50000}")
+    private long maxSamplesPerRequest;
+
+    @Value("${monitoring.prometheus.range-split.max-splits:16}")
+    private int maxSplits;
+
+    @Value("${monitoring.prometheus.range-split.max-concurrency:4}")
+    private int maxConcurrency;
+
+    private final Map<String, Integer> seriesCountEstimates = new ConcurrentHashMap<>();
+
+    // 나눈 구간 조회용 (동시에 Prometheus 로 나가는 분할 요청 수 제한)
+    private ExecutorService rangeQueryExecutor;
+
+    @PostConstruct
+    public void initRangeQueryExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        rangeQueryExecutor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "prometheus-range-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdownRangeQueryExecutor() {
+        rangeQueryExecutor.shutdownNow();
+    }
+
+    // =========================================================================
+    // 애플리케이션 전체 일괄 조회용 PromQL (단건 조회 메서드와 같은 지표)
+    // - 앞쪽 label_replace 결과가 같은 application 라벨의 뒤쪽 결과보다 우선 (or 연산)
+    // =========================================================================
+
+    private static final String CPU_BY_APPLICATION =
+            "label_replace(sum(elasticsearch_indices_indexing_index_current) + sum(elasticsearch_indices_search_query_current), " +
+                    "\"application\", \"elasticsearch\", \"\", \"\") " +
+            "or label_replace(sum(pg_stat_activity_count{state='active'}), \"application\", \"postgres\", \"\", \"\") " +
+            "or max by (application) (process_cpu_usage{application!=\"\"}) * 100";
+
+    private static final String HEAP_BY_APPLICATION =
+            "label_replace(sum(elasticsearch_indices_store_size_bytes) / 1024 / 1024, \"application\", \"elasticsearch\", \"\", \"\") " +
+            "or label_replace(sum(pg_database_size_bytes) / 1024 / 1024, \"application\", \"postgres\", \"\", \"\") " +
+            "or sum by (application) (jvm_memory_used_bytes{application!=\"\",area=\"heap\"}) / " +
+                    "sum by (application) (jvm_memory_max_bytes{application!=\"\",area=\"heap\"} > 0) * 100";
+
+    private static final String UPTIME_BY_APPLICATION =
+            "label_replace(time() - (" +
+                    "sum(pg_postmaster_start_time_seconds) " +
+                    "or sum(pg_start_time_seconds) " +
+                    "or sum(process_start_time_seconds{application=\"postgres\"}) " +
+                    "or sum(process_start_time_seconds{job=\"postgres\"})" +
+                    "), \"application\", \"postgres\", \"\", \"\") " +
+            "or time() - max by (application) (process_start_time_seconds{application!=\"\"})";
+
+    private static final String TPS_BY_APPLICATION =
+            "label_replace(sum(rate(elasticsearch_indices_indexing_index_total[1m])), \"application\", \"elasticsearch\", \"\", \"\") " +
+            "or label_replace(sum(rate(pg_stat_database_xact_commit{application=\"postgres\"}[1m])), \"application\", \"postgres\", \"\", \"\") " +
+            "or sum by (application) (rate(http_server_requests_seconds_count{application!=\"\"}[1m]))";
+
+    private static final String ERROR_RATE_BY_APPLICATION =
+            "label_replace(vector(0), \"application\", \"elasticsearch\", \"\", \"\") " +
+            "or label_replace(sum(rate(pg_stat_database_xact_rollback{application=\"postgres\"}[1m])), \"application\", \"postgres\", \"\", \"\") " +
+            "or sum by (application) (rate(http_server_requests_seconds_count{application!=\"\",status=~\"5..\"}[5m])) / " +
+                    "sum by (application) (rate(http_server_requests_seconds_count{application!=\"\"}[5m])) * 100";
 
     @Override
     public Map<String, Object> queryInstance(String query) {
@@ -73,39 +160,129 @@ public class PrometheusServiceImpl implements PrometheusService {
         return Collections.emptyList();
     }
 
+    /**
+     * Range 조회 (Prometheus query_range 응답의 result 형식)
+     * - queryRangeSeries 와 같은 chunk 캐시를 거침
+     * - 값은 Prometheus 와 같이 문자열 ("NaN", "+Inf", "-Inf" 포함)
+     * - maxDataPoints 가 있으면 series 별로 LTTB 다운샘플링
+     */
+    @Override
+    public List<Map<String, Object>> queryRange(String query, long start, long end, String step, Integer maxDataPoints) {
+        List<PrometheusMatrixDecoder.Series> seriesList = queryRangeSeries(query, start, end, step);
+        List<Map<String, Object>> result = new ArrayList<>(seriesList.size());
+        for (PrometheusMatrixDecoder.Series fetched : seriesList) {
+            PrometheusMatrixDecoder.Series series = TimeSeriesDownsampler.downsample(fetched, maxDataPoints);
+            List<List<Object>> values = new ArrayList<>(series.size());
+            for (int i = 0; i < series.size(); i++) {
+                values.add(List.<Object>of(series.timestamps()[i], formatSampleValue(series.values()[i])));
+            }
+            Map<String, Object> item = new HashMap<>();
+            item.put("metric", series.labels());
+            item.put("values", values);
+            result.add(item);
+        }
+        return result;
+    }
+
+    /**
+     * Range 조회 (series 별 primitive 배열)
+     * - 지나간 구간은 PrometheusRangeCache 의 chunk 결과를 재사용하고, 없는 구간만 Prometheus 에 조회
+     */
     @Override
-    public List<Map<String, Object>> queryRange(String query, long start, long end, String step) {
+    public List<PrometheusMatrixDecoder.Series> queryRangeSeries(String query, long start, long end, String step) {
         try {
-            // 1. 각 파라미터 인코딩
-            String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
+            return prometheusRangeCache.query(query, start, end, step,
+                    (from, to) -> fetchRangeSeries(query, from, to, step));
+        } catch (Exception e) {
+            log.error("Failed to query Prometheus (Range series): {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
 
-            // 2. 전체 URL 조립
-            String urlString = String.format(
-                    "%s/api/v1/query_range?query=%s&start=%d&end=%d&step=%s",
-                    prometheusUrl, encodedQuery, start, end, step
-            );
+    /**
+     * query_range 실행 (실패 시 예외 → 캐시에 저장되지 않음)
+     * - 예상 샘플 수(포인트 수 × series 수)가 max-samples-per-request 를 넘거나 포인트가 11,000 을 넘으면
+     *   구간을 step 배수 경계로 나눠 동시에 조회 (Prometheus 는 쿼리 1개를 코어 1개로 평가)
+     * - 나눈 구간의 평가 시각은 start + k × step 그대로라 나누지 않은 결과와 같음
+     */
+    private List<PrometheusMatrixDecoder.Series> fetchRangeSeries(String query, long start, long end, String step) {
+        long stepSeconds = PrometheusStep.toSeconds(step);
+        if (stepSeconds <= 0 || end <= start) {
+            return fetchRangeOnce(query, start, end, step);
+        }
 
-            // 3. URI 객체 생성
-            URI uri = URI.create(urlString);
+        long points = (end - start) / stepSeconds + 1;
+        long estimatedSamples = points * seriesCountEstimates.getOrDefault(query, 1);
+        int parts = (int) Math.min(maxSplits, Math.max(
+                Math.ceilDiv(estimatedSamples, maxSamplesPerRequest),
+                Math.ceilDiv(points, MAX_POINTS_PER_SERIES)));
+        if (parts <= 1) {
+            return remember(query, fetchRangeOnce(query, start, end, step));
+        }
 
-            Map<String, Object> response = restTemplate.getForObject(uri, Map.class);
+        long pointsPerPart = Math.ceilDiv(points, parts);
+        List<CompletableFuture<List<PrometheusMatrixDecoder.Series>>> futures = new ArrayList<>(parts);
+        for (long from = start; from <= end; from += pointsPerPart * stepSeconds) {
+            long partStart = from;
+            long partEnd = Math.min(from + (pointsPerPart - 1) * stepSeconds, end);
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> fetchRangeOnce(query, partStart, partEnd, step), rangeQueryExecutor));
+        }
+        log.debug("Split Prometheus range query: points={}, estimatedSamples={}, parts={}",
+                points, estimatedSamples, futures.size());
 
-            if (response != null && "success".equals(response.get("status"))) {
-                // 안전한 형변환 및 Null 체크
-                Object dataObj = response.get("data");
-                if (dataObj instanceof Map) {
-                    Map<String, Object> data = (Map<String, Object>) dataObj;
-                    Object resultObj = data.get("result");
-                    if (resultObj instanceof List) {
-                        return (List<Map<String, Object>>) resultObj;
-                    }
-                }
-            }
-            return Collections.emptyList();
-        } catch (Exception e) {
-            log.error("Failed to query Prometheus (Range): {}", e.getMessage());
-            return Collections.emptyList();
+        List<List<PrometheusMatrixDecoder.Series>> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<List<PrometheusMatrixDecoder.Series>> future : futures) {
+            results.add(future.join());
+        }
+        return remember(query, PrometheusMatrixDecoder.concat(results));
+    }
+
+    private List<PrometheusMatrixDecoder.Series> fetchRangeOnce(String query, long start, long end, String step) {
+        String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
+        URI uri = URI.create(String.format(
+                "%s/api/v1/query_range?query=%s&start=%d&end=%d&step=%s",
+                prometheusUrl, encodedQuery, start, end, step
+        ));
+
+        int expectedPoints = expectedPoints(start, end, step);
+        List<PrometheusMatrixDecoder.Series> series = restTemplate.execute(uri, HttpMethod.GET, null,
+                response -> PrometheusMatrixDecoder.decode(response.getBody(), expectedPoints));
+        return series != null ? series : Collections.emptyList();
+    }
+
+    /**
+     * 쿼리별 마지막 series 수 기억 (다음 분할 크기 추정용)
+     */
+    private List<PrometheusMatrixDecoder.Series> remember(String query, List<PrometheusMatrixDecoder.Series> series) {
+        if (seriesCountEstimates.size() >= MAX_SERIES_COUNT_ESTIMATES) {
+            seriesCountEstimates.clear();
+        }
+        seriesCountEstimates.put(query, Math.max(series.size(), 1));
+        return series;
+    }
+
+    private static String formatSampleValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? String.valueOf((long) value)
+                : String.valueOf(value);
+    }
+
+    /**
+     * series 당 예상 포인트 수 (배열 초기 크기) - step 형식을 모르면 0
+     */
+    private int expectedPoints(long start, long end, String step) {
+        long stepSeconds = PrometheusStep.toSeconds(step);
+        if (stepSeconds <= 0 || end < start) {
+            return 0;
         }
+        return (int) Math.min((end - start) / stepSeconds + 1, MAX_POINTS_PER_SERIES);
     }
 
     // =========================================================================
@@ -196,6 +373,63 @@ public class PrometheusServiceImpl implements PrometheusService {
         return metricsConverter.extractValue(queryInstance(query));
     }
 
+    // --- 애플리케이션 전체 일괄 조회 ---
+
+    @Override
+    public Map<String, Double> getCpuUsageByApplication() {
+        return queryByApplication(CPU_BY_APPLICATION);
+    }
+
+    @Override
+    public Map<String, Double> getHeapMemoryUsageByApplication() {
+        return queryByApplication(HEAP_BY_APPLICATION);
+    }
+
+    @Override
+    public Map<String, Double> getUptimeByApplication() {
+        return queryByApplication(UPTIME_BY_APPLICATION);
+    }
+
+    @Override
+    public Map<String, Double> getTpsByApplication() {
+        return queryByApplication(TPS_BY_APPLICATION);
+    }
+
+    @Override
+    public Map<String, Double> getErrorRateByApplication() {
+        return queryByApplication(ERROR_RATE_BY_APPLICATION);
+    }
+
+    /**
+     * instant 쿼리 결과(vector)를 application 라벨 → 값 Map 으로 변환
+     * - NaN / Inf (예: 요청이 없어 0 으로 나눈 에러율) 은 제외
+     */
+    private Map<String, Double> queryByApplication(String query) {
+        Map<String, Double> values = new HashMap<>();
+        Map<String, Object> response = queryInstance(query);
+        if (!(response.get("data") instanceof Map<?, ?> data) || !(data.get("result") instanceof List<?> results)) {
+            return values;
+        }
+
+        for (Object item : results) {
+            Map<String, Object> result = (Map<String, Object>) item;
+            Map<String, String> metric = (Map<String, String>) result.get("metric");
+            List<Object> value = (List<Object>) result.get("value");
+            if (metric == null || metric.get("application") == null || value == null || value.size() < 2) {
+                continue;
+            }
+            try {
+                double parsed = Double.parseDouble(String.valueOf(value.get(1)));
+                if (Double.isFinite(parsed)) {
+                    values.put(metric.get("application"), parsed);
+                }
+            } catch (NumberFormatException e) {
+                log.debug("Skipping non-numeric Prometheus value: {}", value.get(1));
+            }
+        }
+        return values;
+    }
+
     // --- [신규 추가] 실시간 상태 조회 구현 ---
     @Override
     public Map<String, String> getRealTimeStatusMap() {
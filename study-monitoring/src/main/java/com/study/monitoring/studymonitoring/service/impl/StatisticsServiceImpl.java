@@ -1,6 +1,7 @@
 package com.study.monitoring.studymonitoring.service.impl;
 
 import com.study.monitoring.studymonitoring.builder.PrometheusQueryBuilder;
+import com.study.monitoring.studymonitoring.builder.PrometheusRecordingRules;
 import com.study.monitoring.studymonitoring.converter.*;
 import com.study.monitoring.studymonitoring.mapper.StatisticsMapper;
 import com.study.monitoring.studymonitoring.model.dto.request.*;
@@ -10,6 +11,9 @@ import com.study.monitoring.studymonitoring.service.ElasticsearchService;
 import com.study.monitoring.studymonitoring.service.PrometheusService;
 import com.study.monitoring.studymonitoring.service.StatisticsService;
 import com.study.monitoring.studymonitoring.util.MetricUtil;
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder;
+import com.study.monitoring.studymonitoring.util.PrometheusStep;
+import com.study.monitoring.studymonitoring.util.TimeSeriesColumns;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,11 +21,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -34,12 +34,11 @@ public class StatisticsServiceImpl implements StatisticsService {
     private final PrometheusStatisticsConverter prometheusStatisticsConverter;
     private final LogsConverter logsConverter;
     private final AccessLogsConverter accessLogsConverter;
+    private final PrometheusRecordingRules prometheusRecordingRules;
 
     @Value("${monitoring.retention.prometheus-days}")
     private int prometheusDays;  // default: 30
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
     /**
      * 시계열 데이터 통계 조회 (PostgreSQL + Prometheus 하이브리드 조회)
      * - 오래된 데이터(30일 이전)는 DB에서, 최신 데이터는 Prometheus에서 조회하여 병합합니다.
@@ -59,7 +58,8 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDateTime requestEnd = request.getEndTimeAsLocalDateTime();
         LocalDateTime prometheusThreshold = now.minusDays(prometheusDays);
 
-        List<StatisticsResponseDTO.DataPoint> allData = new ArrayList<>();
+        // 내부 처리는 epoch second 컬럼으로, 문자열 timestamp 는 응답 생성 시 한 번만
+        TimeSeriesColumns allData = new TimeSeriesColumns(0);
 
         // 1. PostgreSQL 조회 (Retention 기간 이전 데이터)
         if (requestStart.isBefore(prometheusThreshold)) {
@@ -69,15 +69,16 @@ public class StatisticsServiceImpl implements StatisticsService {
                     request.getMetricType(), request.getTimePeriod(), request.getAggregationType(), requestStart, dbEnd
             );
 
-            List<StatisticsResponseDTO.DataPoint> dbPoints = dbData.stream()
-                    .map(vo -> new StatisticsResponseDTO.DataPoint(
-                            vo.getStartTime().atZone(ZoneId.systemDefault()).toEpochSecond(),
-                            vo.getMetricValue().doubleValue(),
-                            vo.getMinValue() != null ? vo.getMinValue().doubleValue() : null,
-                            vo.getMaxValue() != null ? vo.getMaxValue().doubleValue() : null,
-                            vo.getSampleCount()
-                    ))
-                    .collect(Collectors.toList());
+            TimeSeriesColumns dbPoints = new TimeSeriesColumns(dbData.size());
+            for (StatisticsVO vo : dbData) {
+                dbPoints.add(
+                        vo.getStartTime().atZone(ZoneId.systemDefault()).toEpochSecond(),
+                        vo.getMetricValue().doubleValue(),
+                        vo.getMinValue() != null ? vo.getMinValue().doubleValue() : Double.NaN,
+                        vo.getMaxValue() != null ? vo.getMaxValue().doubleValue() : Double.NaN,
+                        vo.getSampleCount() != null ? vo.getSampleCount() : 0
+                );
+            }
             allData.addAll(dbPoints);
         }
 
@@ -88,11 +89,14 @@ public class StatisticsServiceImpl implements StatisticsService {
             long end = requestEnd.atZone(ZoneId.systemDefault()).toEpochSecond();
 
             // 기간에 따른 적절한 Step(간격) 계산
-            String step = calculateStep(request.getTimePeriod(), promStart, requestEnd);
+            // maxDataPoints 가 있으면 더 촘촘하게 집계한 뒤 LTTB 로 줄임 (spike 유지)
+            String step = request.getMaxDataPoints() != null
+                    ? calculateStep(promStart, requestEnd, request.getMaxDataPoints())
+                    : calculateStep(request.getTimePeriod(), promStart, requestEnd);
 
             log.info("Fetching Prometheus Data. Step: {}", step);
 
-            List<StatisticsResponseDTO.DataPoint> promPoints = fetchRichPrometheusData(
+            TimeSeriesColumns promPoints = fetchRichPrometheusData(
                     request.getMetricType(),
                     request.getAggregationType(),
                     start,
@@ -104,10 +108,15 @@ public class StatisticsServiceImpl implements StatisticsService {
             allData.addAll(promPoints);
         }
 
-        // 3. 데이터 병합 및 시간순 정렬
-        allData.sort(Comparator.comparing(a -> LocalDateTime.parse(a.getTimestamp(), DATE_FORMATTER)));
+        // 3. 데이터 병합 및 시간순 정렬 (epoch second 비교)
+        allData.sortByTimestamp();
 
-        // 4. 응답 생성
+        // 4. 최대 포인트 수 제한 (LTTB, 버려진 포인트의 min / max 는 남긴 포인트 밴드에 합침)
+        if (request.getMaxDataPoints() != null) {
+            allData = allData.downsample(request.getMaxDataPoints());
+        }
+
+        // 5. 응답 생성
         StatisticsResponseDTO response = new StatisticsResponseDTO();
         response.setMetricType(request.getMetricType());
         response.setTimePeriod(request.getTimePeriod());
@@ -115,108 +124,79 @@ public class StatisticsServiceImpl implements StatisticsService {
         response.setStartTime(requestStart.atZone(ZoneId.systemDefault()).toEpochSecond());
         response.setEndTime(requestEnd.atZone(ZoneId.systemDefault()).toEpochSecond());
         response.setDataSource(determineDataSource(requestStart, requestEnd, prometheusThreshold));
-        response.setData(allData);
+        response.setData(allData.toDataPoints());
 
         return response;
     }
 
     /**
-     * Prometheus 데이터 조회 (병렬 처리)
-     * - Main(선택한 집계), Min, Max 쿼리를 동시에 실행하여 Rich Data를 구성합니다.
+     * Prometheus 데이터 조회 (1회 조회 + 로컬 집계)
+     * - 1분 해상도 원본 series 를 한 번만 조회하고 선택한 집계값, Min, Max, 샘플 수를 구간별로 함께 계산합니다.
+     *   (기존: 같은 [step:1m] subquery 를 Main / Min / Max 쿼리 3개로 각각 평가)
      */
-    private List<StatisticsResponseDTO.DataPoint> fetchRichPrometheusData(
+    private TimeSeriesColumns fetchRichPrometheusData(
             String metricType, String mainAggregationType, long start, long end, String step, String application) {
 
-        // 1. 쿼리 생성 (메인 차트용, 최소값 밴드용, 최대값 밴드용)
-        String mainQuery = PrometheusQueryBuilder.buildPrometheusQuery(metricType, mainAggregationType, step, application);
-        String minQuery = PrometheusQueryBuilder.buildPrometheusQuery(metricType, "MIN", step, application);
-        String maxQuery = PrometheusQueryBuilder.buildPrometheusQuery(metricType, "MAX", step, application);
-
-        // 2. 비동기 병렬 실행 (Network I/O 대기 시간 최소화)
-        CompletableFuture<List<Map<String, Object>>> mainFuture = CompletableFuture.supplyAsync(() ->
-                prometheusService.queryRange(mainQuery, start, end, step));
-        CompletableFuture<List<Map<String, Object>>> minFuture = CompletableFuture.supplyAsync(() ->
-                prometheusService.queryRange(minQuery, start, end, step));
-        CompletableFuture<List<Map<String, Object>>> maxFuture = CompletableFuture.supplyAsync(() ->
-                prometheusService.queryRange(maxQuery, start, end, step));
-
-        try {
-            List<Map<String, Object>> mainData = mainFuture.get();
-            List<Map<String, Object>> minData = minFuture.get();
-            List<Map<String, Object>> maxData = maxFuture.get();
-
-            if(mainData == null) mainData = new ArrayList<>();
-
-            // 3. 메인 데이터 변환
-            List<StatisticsResponseDTO.DataPoint> basePoints = prometheusStatisticsConverter.convertData(
-                    mainData, step, mainAggregationType
-            );
-
-            // 4. Min, Max 데이터를 Map으로 변환하여 O(1)로 조회 가능하게 처리
-            Map<String, Double> minMap = extractValueMapAsString(minData);
-            Map<String, Double> maxMap = extractValueMapAsString(maxData);
+        long stepSeconds = parseStepToSeconds(step);
 
-            // 5. DataPoint에 Min/Max 값 병합
-            for (StatisticsResponseDTO.DataPoint point : basePoints) {
-                String key = point.getTimestamp();
-                double currentVal = point.getValue();
+        // 1. 첫 구간 (t - step, t] 전체가 포함되도록 한 step 앞부터 조회
+        long rawStart = normalizeTime(start, stepSeconds) - stepSeconds + PrometheusQueryBuilder.RAW_RESOLUTION_SECONDS;
 
-                point.setMinValue(minMap.getOrDefault(key, currentVal));
-                point.setMaxValue(maxMap.getOrDefault(key, currentVal));
+        // 2. 원본 쿼리 생성 (step 과 무관 → 조회 기간이 달라도 같은 chunk 캐시 재사용, recording rule 이 있으면 사용)
+        String rawQuery = PrometheusQueryBuilder.buildRawQuery(metricType, mainAggregationType, application,
+                prometheusRecordingRules.select(metricType, mainAggregationType, application, rawStart));
+        List<PrometheusMatrixDecoder.Series> rawData = prometheusService.queryRangeSeries(
+                rawQuery, rawStart, end, PrometheusQueryBuilder.RAW_RESOLUTION);
 
-                if (point.getSampleCount() == null) point.setSampleCount(1);
-            }
+        // 3. 구간별 집계 (값 + Min / Max 밴드 + 샘플 수)
+        TimeSeriesColumns basePoints = prometheusStatisticsConverter.aggregateByStep(
+                rawData, start, end, stepSeconds,
+                PrometheusQueryBuilder.localAggregationType(metricType, mainAggregationType)
+        );
 
-            // 빈 구간 0으로 채우기
-            return fillMissingDataWithZero(basePoints, start, end, step);
-        } catch (InterruptedException | ExecutionException e) {
-            log.error("Failed to fetch rich prometheus data", e);
-            Thread.currentThread().interrupt(); // 인터럽트 상태 복구
-            return Collections.emptyList();
-        }
+        // 빈 구간 0으로 채우기
+        return fillMissingDataWithZero(basePoints, start, end, step);
     }
 
     /**
      * [수정됨] 빈 시간 구간을 0으로 채우는 메서드
      * 핵심: Prometheus에서 가져온 데이터의 timestamp도 정규화해야 함
      */
-    private List<StatisticsResponseDTO.DataPoint> fillMissingDataWithZero(
-            List<StatisticsResponseDTO.DataPoint> fetchedPoints, long start, long end, String step) {
+    private TimeSeriesColumns fillMissingDataWithZero(
+            TimeSeriesColumns fetchedPoints, long start, long end, String step) {
 
         long stepSeconds = parseStepToSeconds(step);
 
-        Map<Long, StatisticsResponseDTO.DataPoint> pointMap = new HashMap<>();
-
-        // 1. 가져온 데이터 매핑 (수정: 가져온 데이터의 시간도 normalizeTime 적용)
-        for (StatisticsResponseDTO.DataPoint p : fetchedPoints) {
-            long originalTime = LocalDateTime.parse(p.getTimestamp(), DATE_FORMATTER)
-                    .atZone(ZoneId.systemDefault()).toEpochSecond();
-
-            // [중요] 오차(초 단위)를 제거하기 위해 가져온 데이터도 정규화
-            long normalizedTime = normalizeTime(originalTime, stepSeconds);
-
-            // 이미 해당 시간에 데이터가 있으면(중복), 덮어쓰거나 무시 (Prometheus 특성상 시간순 정렬이므로 덮어써도 무방)
-            pointMap.put(normalizedTime, p);
-        }
-
-        List<StatisticsResponseDTO.DataPoint> resultPoints = new ArrayList<>();
-
-        // 2. 시작/종료 시간 정규화
+        // 1. 시작/종료 시간 정규화
         long currentLoopTime = normalizeTime(start, stepSeconds);
         long endLoopTime = normalizeTime(end, stepSeconds);
 
-        // 3. 루프 실행
-        while (currentLoopTime <= endLoopTime) {
-            if (pointMap.containsKey(currentLoopTime)) {
-                StatisticsResponseDTO.DataPoint original = pointMap.get(currentLoopTime);
+        TimeSeriesColumns resultPoints = new TimeSeriesColumns(fetchedPoints.size());
 
-                // (선택) 그래프 X축 통일을 위해 Timestamp를 정규화된 시간으로 재설정하여 리턴
-                // LocalDateTime normalizedDt = LocalDateTime.ofInstant(Instant.ofEpochSecond(currentLoopTime), ZoneId.systemDefault());
-                // original.setTimestamp(normalizedDt.format(DATE_FORMATTER));
+        // 2. 루프 실행 (원래 포인트는 timestamp 그대로, 빈 구간은 0 포인트)
+        //    - 가져온 데이터는 시간순이므로 한 번만 훑으면서 매칭 (같은 구간에 여러 개면 마지막 포인트)
+        int next = 0;
+        while (currentLoopTime <= endLoopTime) {
+            int index = -1;
+            while (next < fetchedPoints.size()) {
+                // [중요] 오차(초 단위)를 제거하기 위해 가져온 데이터도 정규화
+                long normalizedTime = normalizeTime(fetchedPoints.timestamp(next), stepSeconds);
+                if (normalizedTime > currentLoopTime) {
+                    break;
+                }
+                if (normalizedTime == currentLoopTime) {
+                    index = next;
+                }
+                next++;
+            }
 
-                resultPoints.add(original);
+            if (index >= 0) {
+                resultPoints.add(fetchedPoints.timestamp(index), fetchedPoints.value(index),
+                        fetchedPoints.minValue(index), fetchedPoints.maxValue(index),
+                        fetchedPoints.sampleCount(index));
             } else {
-                resultPoints.add(createZeroDataPoint(currentLoopTime));
+                // 0 값 포인트 (샘플 수 0)
+                resultPoints.add(currentLoopTime, 0.0, 0.0, 0.0, 0);
             }
             currentLoopTime += stepSeconds;
         }
@@ -234,63 +214,11 @@ public class StatisticsServiceImpl implements StatisticsService {
     }
 
     /**
-     * 0 값을 가진 DataPoint 생성
-     */
-    private StatisticsResponseDTO.DataPoint createZeroDataPoint(long timestampSeconds) {
-        // 생성자 파라미터 순서: (timestamp(long), value, min, max, count)
-        // DTO 구조에 맞춰서 0.0으로 초기화
-        return new StatisticsResponseDTO.DataPoint(
-                timestampSeconds,
-                0.0, // value
-                0.0, // min
-                0.0, // max
-                0 // count (샘플 수 0)
-        );
-    }
-
-    /**
-     * Prometheus Step 문자열(예: "15m", "1h")을 초(Seconds) 단위로 변환
+     * Prometheus Step 문자열(예: "15m", "1h")을 초(Seconds) 단위로 변환 (형식을 모르면 기본값 1분)
      */
     private long parseStepToSeconds(String step) {
-        if (step == null || step.isEmpty()) return 60; // 기본값 1분
-
-        char unit = step.charAt(step.length() - 1);
-        long value = Long.parseLong(step.substring(0, step.length() - 1));
-
-        switch (unit) {
-            case 's': return value;
-            case 'm': return value * 60;
-            case 'h': return value * 3600;
-            case 'd': return value * 86400;
-            case 'w': return value * 604800;
-            default: return 60;
-        }
-    }
-
-    /**
-     * Prometheus 응답 데이터를 { "yyyy-MM-dd HH:mm:ss": Value } 형태의 맵으로 변환
-     */
-    private Map<String, Double> extractValueMapAsString(List<Map<String, Object>> dataList) {
-        Map<String, Double> map = new HashMap<>();
-        if (dataList == null) return map;
-
-        for (Map<String, Object> series : dataList) {
-            List<List<Object>> values = (List<List<Object>>) series.get("values");
-            if (values != null) {
-                for (List<Object> valuePair : values) {
-                    long timestampSeconds = ((Number) valuePair.get(0)).longValue();
-
-                    String key = LocalDateTime.ofInstant(
-                            java.time.Instant.ofEpochSecond(timestampSeconds),
-                            ZoneId.systemDefault()
-                    ).format(DATE_FORMATTER);
-
-                    double value = Double.parseDouble(valuePair.get(1).toString());
-                    map.put(key, value);
-                }
-            }
-        }
-        return map;
+        long stepSeconds = PrometheusStep.toSeconds(step);
+        return stepSeconds > 0 ? stepSeconds : 60;
     }
 
     // --- Elasticsearch Log Statistics Methods ---
@@ -301,10 +229,12 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDateTime startTime = request.getStartTimeAsLocalDateTime();
         LocalDateTime endTime = request.getEndTimeAsLocalDateTime();
 
-        Map<String, Long> logCounts = elasticsearchService.countByLogLevel("application-logs-*");
-        List<Map<String, Object>> distribution = elasticsearchService.getLogDistributionByTime(
-                "application-logs-*", startTime, endTime, request.getTimePeriod(), request.getLogLevel()
+        Map<String, Object> bundle = elasticsearchService.getLogStatisticsBundle(
+                "application-logs-*", startTime, endTime, request.getTimePeriod(), request.getLogLevel(),
+                request.getSampleProbability()
         );
+        Map<String, Long> logCounts = bundleValue(bundle, "logCounts", Collections.emptyMap());
+        List<Map<String, Object>> distribution = bundleValue(bundle, "distribution", Collections.emptyList());
 
         LogStatisticsResponseDTO response = new LogStatisticsResponseDTO();
         response.setStartTime(startTime.atZone(ZoneId.systemDefault()).toEpochSecond());
@@ -312,6 +242,7 @@ public class StatisticsServiceImpl implements StatisticsService {
         response.setTimePeriod(request.getTimePeriod());
         response.setLogCounts(logCounts);
         response.setDistributions(logsConverter.toStatisticsDistribution(distribution));
+        response.setSampling(toSamplingInfo(bundleValue(bundle, "sampling", null)));
         return response;
     }
 
@@ -324,12 +255,14 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDateTime startTime = request.getStartTimeAsLocalDateTime();
         LocalDateTime endTime = request.getEndTimeAsLocalDateTime();
 
-        Map<String, Long> methodCounts = elasticsearchService.countByHttpMethod("access-logs-*", startTime, endTime);
-        Map<String, Long> statusCodeCounts = elasticsearchService.countByStatusCode("access-logs-*", startTime, endTime);
-        Double avgResponseTime = elasticsearchService.getAverageResponseTime("access-logs-*", startTime, endTime);
-        List<Map<String, Object>> distribution = elasticsearchService.getAccessLogDistributionByTime(
-                "access-logs-*", startTime, endTime, request.getTimePeriod()
+        Map<String, Object> bundle = elasticsearchService.getAccessLogStatisticsBundle(
+                "access-logs-*", startTime, endTime, request.getTimePeriod(), request.getSampleProbability()
         );
+        Map<String, Long> methodCounts = bundleValue(bundle, "methodCounts", Collections.emptyMap());
+        Map<String, Long> statusCodeCounts = bundleValue(bundle, "statusCodeCounts", Collections.emptyMap());
+        Double avgResponseTime = bundleValue(bundle, "avgResponseTime", 0.0);
+        Map<String, Double> percentiles = bundleValue(bundle, "responseTimePercentiles", Collections.emptyMap());
+        List<Map<String, Object>> distribution = bundleValue(bundle, "distribution", Collections.emptyList());
 
         // 에러율 계산
         long totalRequests = statusCodeCounts.values().stream().mapToLong(Long::longValue).sum();
@@ -354,6 +287,9 @@ public class StatisticsServiceImpl implements StatisticsService {
         response.setMethodCounts(methodCounts);
         response.setStatusCodeCounts(statusCodeCounts);
         response.setAvgResponseTime(avgResponseTime);
+        response.setP50ResponseTime(percentiles.getOrDefault("p50", 0.0));
+        response.setP95ResponseTime(percentiles.getOrDefault("p95", 0.0));
+        response.setP99ResponseTime(percentiles.getOrDefault("p99", 0.0));
 
         response.setTotalRequests(totalRequests);
         response.setErrorCount(errorCount);
@@ -361,6 +297,37 @@ public class StatisticsServiceImpl implements StatisticsService {
 
         response.setDistributions(accessLogsConverter.toStatisticsDistribution(distribution));
 
+        // 응답시간 heatmap (요청한 경우만 추가 집계)
+        if (Boolean.TRUE.equals(request.getIncludeHeatmap())) {
+            response.setLatencyHeatmap(accessLogsConverter.toLatencyHeatmap(
+                    elasticsearchService.getAccessLogLatencyHeatmap(
+                            "access-logs-*", startTime, endTime, request.getTimePeriod(),
+                            request.getSampleProbability())));
+        }
+        response.setSampling(toSamplingInfo(bundleValue(bundle, "sampling", null)));
+
+        return response;
+    }
+
+    @Override
+    public SlowEndpointsResponseDTO getSlowestEndpoints(SlowEndpointsQueryRequestDTO request) {
+        log.info("Fetching slowest endpoints: start={}, end={}, limit={}, sortBy={}",
+                request.getStartTime(), request.getEndTime(), request.getLimit(), request.getSortBy());
+        if (!request.isValidDateFormat()) throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다.");
+
+        LocalDateTime startTime = request.getStartTimeAsLocalDateTime();
+        LocalDateTime endTime = request.getEndTimeAsLocalDateTime();
+
+        List<Map<String, Object>> endpoints = elasticsearchService.getSlowestEndpoints(
+                "access-logs-*", startTime, endTime, request.getLimit(), request.getSortBy(),
+                !Boolean.FALSE.equals(request.getNormalizeRoute())
+        );
+
+        SlowEndpointsResponseDTO response = new SlowEndpointsResponseDTO();
+        response.setStartTime(startTime.atZone(ZoneId.systemDefault()).toEpochSecond());
+        response.setEndTime(endTime.atZone(ZoneId.systemDefault()).toEpochSecond());
+        response.setSortBy(request.getSortBy());
+        response.setEndpoints(accessLogsConverter.toEndpointStatistics(endpoints));
         return response;
     }
 
@@ -373,17 +340,20 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDateTime startTime = request.getStartTimeAsLocalDateTime();
         LocalDateTime endTime = request.getEndTimeAsLocalDateTime();
 
-        Map<String, Long> errorTypeCounts = elasticsearchService.countByErrorType("error-logs-*", startTime, endTime);
-        Map<String, Long> severityCounts = elasticsearchService.countBySeverity("error-logs-*", startTime, endTime);
-        List<Map<String, Object>> distribution = elasticsearchService.getErrorLogDistributionByTime(
+        Map<String, Object> bundle = elasticsearchService.getErrorLogStatisticsBundle(
                 "error-logs-*", startTime, endTime, request.getTimePeriod()
         );
+        Map<String, Long> errorTypeCounts = bundleValue(bundle, "errorTypeCounts", Collections.emptyMap());
+        Long errorTypeOtherCount = bundleValue(bundle, "errorTypeCountsOther", 0L);
+        Map<String, Long> severityCounts = bundleValue(bundle, "severityCounts", Collections.emptyMap());
+        List<Map<String, Object>> distribution = bundleValue(bundle, "distribution", Collections.emptyList());
 
         ErrorLogStatisticsResponseDTO response = new ErrorLogStatisticsResponseDTO();
         response.setStartTime(startTime.atZone(ZoneId.systemDefault()).toEpochSecond());
         response.setEndTime(endTime.atZone(ZoneId.systemDefault()).toEpochSecond());
         response.setTimePeriod(request.getTimePeriod());
         response.setErrorTypeCounts(errorTypeCounts);
+        response.setErrorTypeOtherCount(errorTypeOtherCount);
         response.setSeverityCounts(severityCounts);
         response.setDistributions(new ErrorLogsConverter().toStatisticsDistribution(distribution));
         return response;
@@ -398,11 +368,12 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDateTime startTime = request.getStartTimeAsLocalDateTime();
         LocalDateTime endTime = request.getEndTimeAsLocalDateTime();
 
-        Map<String, Double> systemMetrics = elasticsearchService.getSystemMetricsAggregation("performance-metrics-*", startTime, endTime);
-        Map<String, Double> jvmMetrics = elasticsearchService.getJvmMetricsAggregation("performance-metrics-*", startTime, endTime);
-        List<Map<String, Object>> distribution = elasticsearchService.getPerformanceMetricsDistributionByTime(
+        Map<String, Object> bundle = elasticsearchService.getPerformanceMetricsStatisticsBundle(
                 "performance-metrics-*", startTime, endTime, request.getTimePeriod()
         );
+        Map<String, Double> systemMetrics = bundleValue(bundle, "systemMetrics", Collections.emptyMap());
+        Map<String, Double> jvmMetrics = bundleValue(bundle, "jvmMetrics", Collections.emptyMap());
+        List<Map<String, Object>> distribution = bundleValue(bundle, "distribution", Collections.emptyList());
 
         PerformanceMetricsStatisticsResponseDTO response = new PerformanceMetricsStatisticsResponseDTO();
         response.setStartTime(startTime.atZone(ZoneId.systemDefault()).toEpochSecond());
@@ -435,12 +406,14 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDateTime startTime = request.getStartTimeAsLocalDateTime();
         LocalDateTime endTime = request.getEndTimeAsLocalDateTime();
 
-        Map<String, Long> operationCounts = elasticsearchService.countByOperation("database-logs-*", startTime, endTime);
-        Map<String, Long> tableCounts = elasticsearchService.countByTable("database-logs-*", startTime, endTime);
-        Map<String, Object> queryPerformanceStats = elasticsearchService.getQueryPerformanceStats("database-logs-*", startTime, endTime);
-        List<Map<String, Object>> distribution = elasticsearchService.getDatabaseLogDistributionByTime(
+        Map<String, Object> bundle = elasticsearchService.getDatabaseLogStatisticsBundle(
                 "database-logs-*", startTime, endTime, request.getTimePeriod()
         );
+        Map<String, Long> operationCounts = bundleValue(bundle, "operationCounts", Collections.emptyMap());
+        Map<String, Long> tableCounts = bundleValue(bundle, "tableCounts", Collections.emptyMap());
+        Long tableOtherCount = bundleValue(bundle, "tableCountsOther", 0L);
+        Map<String, Object> queryPerformanceStats = bundleValue(bundle, "queryPerformance", Collections.emptyMap());
+        List<Map<String, Object>> distribution = bundleValue(bundle, "distribution", Collections.emptyList());
 
         DatabaseLogStatisticsResponseDTO response = new DatabaseLogStatisticsResponseDTO();
         response.setStartTime(startTime.atZone(ZoneId.systemDefault()).toEpochSecond());
@@ -448,6 +421,7 @@ public class StatisticsServiceImpl implements StatisticsService {
         response.setTimePeriod(request.getTimePeriod());
         response.setOperationCounts(operationCounts);
         response.setTableCounts(tableCounts);
+        response.setTableOtherCount(tableOtherCount);
 
         response.setQueryPerformance(new DatabaseLogStatisticsResponseDTO.QueryPerformance(
                 (Double) queryPerformanceStats.get("avgDuration"), (Double) queryPerformanceStats.get("maxDuration"),
@@ -467,18 +441,21 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDateTime startTime = request.getStartTimeAsLocalDateTime();
         LocalDateTime endTime = request.getEndTimeAsLocalDateTime();
 
-        Map<String, Long> eventActionCounts = elasticsearchService.countByEventAction("audit-logs-*", startTime, endTime);
-        Map<String, Long> categoryCounts = elasticsearchService.countByCategory("audit-logs-*", startTime, endTime);
-        Map<String, Long> eventResultCounts = elasticsearchService.countByEventResult("audit-logs-*", startTime, endTime);
-        List<Map<String, Object>> distribution = elasticsearchService.getAuditLogDistributionByTime(
+        Map<String, Object> bundle = elasticsearchService.getAuditLogStatisticsBundle(
                 "audit-logs-*", startTime, endTime, request.getTimePeriod()
         );
+        Map<String, Long> eventActionCounts = bundleValue(bundle, "eventActionCounts", Collections.emptyMap());
+        Long eventActionOtherCount = bundleValue(bundle, "eventActionCountsOther", 0L);
+        Map<String, Long> categoryCounts = bundleValue(bundle, "categoryCounts", Collections.emptyMap());
+        Map<String, Long> eventResultCounts = bundleValue(bundle, "eventResultCounts", Collections.emptyMap());
+        List<Map<String, Object>> distribution = bundleValue(bundle, "distribution", Collections.emptyList());
 
         AuditLogStatisticsResponseDTO response = new AuditLogStatisticsResponseDTO();
         response.setStartTime(startTime.atZone(ZoneId.systemDefault()).toEpochSecond());
         response.setEndTime(endTime.atZone(ZoneId.systemDefault()).toEpochSecond());
         response.setTimePeriod(request.getTimePeriod());
         response.setEventActionCounts(eventActionCounts);
+        response.setEventActionOtherCount(eventActionOtherCount);
         response.setCategoryCounts(categoryCounts);
 
         Long successCount = eventResultCounts.getOrDefault("success", 0L);
@@ -500,12 +477,14 @@ public class StatisticsServiceImpl implements StatisticsService {
         LocalDateTime startTime = request.getStartTimeAsLocalDateTime();
         LocalDateTime endTime = request.getEndTimeAsLocalDateTime();
 
-        Map<String, Long> threatLevelCounts = elasticsearchService.countByThreatLevel("security-logs-*", startTime, endTime);
-        Map<String, Long> attackTypeCounts = elasticsearchService.countByAttackType("security-logs-*", startTime, endTime);
-        Map<String, Long> blockStatistics = elasticsearchService.getBlockStatistics("security-logs-*", startTime, endTime);
-        List<Map<String, Object>> distribution = elasticsearchService.getSecurityLogDistributionByTime(
+        Map<String, Object> bundle = elasticsearchService.getSecurityLogStatisticsBundle(
                 "security-logs-*", startTime, endTime, request.getTimePeriod()
         );
+        Map<String, Long> threatLevelCounts = bundleValue(bundle, "threatLevelCounts", Collections.emptyMap());
+        Map<String, Long> attackTypeCounts = bundleValue(bundle, "attackTypeCounts", Collections.emptyMap());
+        Long attackTypeOtherCount = bundleValue(bundle, "attackTypeCountsOther", 0L);
+        Map<String, Long> blockStatistics = bundleValue(bundle, "blockStatistics", Collections.emptyMap());
+        List<Map<String, Object>> distribution = bundleValue(bundle, "distribution", Collections.emptyList());
 
         SecurityLogStatisticsResponseDTO response = new SecurityLogStatisticsResponseDTO();
         response.setStartTime(startTime.atZone(ZoneId.systemDefault()).toEpochSecond());
@@ -513,6 +492,7 @@ public class StatisticsServiceImpl implements StatisticsService {
         response.setTimePeriod(request.getTimePeriod());
         response.setThreatLevelCounts(threatLevelCounts);
         response.setAttackTypeCounts(attackTypeCounts);
+        response.setAttackTypeOtherCount(attackTypeOtherCount);
 
         Long totalAttacks = blockStatistics.getOrDefault("totalAttacks", 0L);
         Long blockedAttacks = blockStatistics.getOrDefault("blockedAttacks", 0L);
@@ -524,6 +504,53 @@ public class StatisticsServiceImpl implements StatisticsService {
         return response;
     }
 
+    @Override
+    public BreakdownPageResponseDTO getBreakdownPage(String breakdown, BreakdownQueryRequestDTO request) {
+        log.info("Fetching breakdown page: breakdown={}, start={}, end={}, size={}",
+                breakdown, request.getStartTime(), request.getEndTime(), request.getSize());
+        if (!request.isValidDateFormat()) throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다.");
+
+        LocalDateTime startTime = request.getStartTimeAsLocalDateTime();
+        LocalDateTime endTime = request.getEndTimeAsLocalDateTime();
+
+        Map<String, Object> page = elasticsearchService.pageBreakdownCounts(
+                breakdown, startTime, endTime, request.getCursor(), request.getSize());
+        if (page.get("error") != null) {
+            throw new IllegalArgumentException(String.valueOf(page.get("error")));
+        }
+
+        BreakdownPageResponseDTO response = new BreakdownPageResponseDTO();
+        response.setBreakdown(breakdown);
+        response.setStartTime(startTime.atZone(ZoneId.systemDefault()).toEpochSecond());
+        response.setEndTime(endTime.atZone(ZoneId.systemDefault()).toEpochSecond());
+        response.setCounts(bundleValue(page, "counts", Collections.emptyMap()));
+        response.setNextCursor((String) page.get("nextCursor"));
+        return response;
+    }
+
+    /**
+     * 통계 통합 조회(bundle) 결과에서 항목 꺼내기 (조회 실패로 비어 있으면 기본값)
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T bundleValue(Map<String, Object> bundle, String key, T defaultValue) {
+        Object value = bundle.get(key);
+        return value != null ? (T) value : defaultValue;
+    }
+
+    /**
+     * ElasticsearchService 번들의 sampling 정보 → SamplingInfoDTO (정확 집계면 null)
+     */
+    private SamplingInfoDTO toSamplingInfo(Map<String, Object> sampling) {
+        if (sampling == null) {
+            return null;
+        }
+        return new SamplingInfoDTO(
+                (Double) sampling.get("probability"),
+                (Long) sampling.get("sampledDocCount"),
+                (Long) sampling.get("estimatedDocCount"),
+                (Double) sampling.get("relativeError95"));
+    }
+
     /**
      * 조회 기간(Duration)에 따른 적절한 Prometheus Step(간격) 계산
      * - 짧은 기간은 촘촘하게(15m), 긴 기간은 널널하게(1d) 조회하여 성능 최적화
@@ -546,6 +573,30 @@ public class StatisticsServiceImpl implements StatisticsService {
         return "6h";
     }
 
+    // maxDataPoints 기준 step 후보 (초, 오름차순) - 1분 원본을 로컬 집계하므로 1분 미만은 없음
+    private static final long[] FINE_STEP_SECONDS = {60, 120, 300, 600, 900, 1800, 3600, 7200, 10800, 21600};
+
+    // LTTB 가 고를 수 있도록 maxDataPoints 의 몇 배 포인트로 집계할지
+    private static final int DOWNSAMPLE_OVERSAMPLING = 4;
+
+    /**
+     * maxDataPoints 기준 집계 Step 계산
+     * - 약 maxDataPoints × 4 개 포인트가 되는 가장 큰 후보 step (기간 기반 step 보다 거칠게 하지 않음)
+     */
+    private String calculateStep(LocalDateTime start, LocalDateTime end, int maxDataPoints) {
+        long durationSeconds = java.time.Duration.between(start, end).getSeconds();
+        long defaultStepSeconds = parseStepToSeconds(calculateStep(null, start, end));
+        long targetSeconds = durationSeconds / ((long) maxDataPoints * DOWNSAMPLE_OVERSAMPLING);
+
+        long stepSeconds = FINE_STEP_SECONDS[0];
+        for (long candidate : FINE_STEP_SECONDS) {
+            if (candidate <= targetSeconds && candidate <= defaultStepSeconds) {
+                stepSeconds = candidate;
+            }
+        }
+        return stepSeconds % 3600 == 0 ? (stepSeconds / 3600) + "h" : (stepSeconds / 60) + "m";
+    }
+
     private String determineDataSource(LocalDateTime start, LocalDateTime end, LocalDateTime threshold) {
         boolean hasPrometheus = end.isAfter(threshold);
         boolean hasPostgres = start.isBefore(threshold);
@@ -0,0 +1,143 @@
+package com.study.monitoring.studymonitoring.util;
+
+import java.util.List;
+
+/**
+ * 로그 레벨 판정용 분류기
+ * - 메시지 키워드 규칙을 한 곳에 모으고, 레벨 문자열 정규화는 정규식(matches) 대신 미리 만든 상수 비교로 처리
+ * - 키워드 검사는 String.contains 그대로 사용
+ *   (JDK 21 의 indexOf 는 SIMD intrinsic 이라 키워드 10개 안팎에서는 Aho-Corasick 1회 스캔보다 2~3배 빠름,
+ *    LogLevelClassifierBenchmark 참고)
+ * - 규칙은 resources/elasticsearch/log-severity.painless (색인 시점 판정) 와 같게 유지
+ */
+public final class LogLevelClassifier {
+
+    // 장애 키워드 (determineLogLevel)
+    private static final String[] FATAL_KEYWORDS = {
+            "OutOfMemory", "StackOverflow", "Deadlock", "Connection refused", "Fatal", "CRITICAL", "🚨"
+    };
+
+    // 수동 CRITICAL 표시 (resolveLogLevel)
+    private static final String[] MANUAL_CRITICAL_KEYWORDS = {"Critical", "🚨"};
+
+    // Spring Security 텍스트 로그 분류 키워드
+    private static final String[] LOGIN_FAILURE_KEYWORDS = {
+            "Bad credentials", "password does not match", "User not found", "Authentication failed"
+    };
+    private static final String[] ACCESS_DENIED_KEYWORDS = {
+            "Access is denied", "AccessDeniedException", "AnonymouseAuthenticationToken"
+    };
+    private static final String[] CSRF_KEYWORDS = {"Invalid CSRF", "Missing CSRF"};
+
+    // 표준 레벨 (정규화 결과로 이 상수 인스턴스를 그대로 돌려준다)
+    private static final String[] STANDARD_LEVELS = {"CRITICAL", "FATAL", "ERROR", "WARN", "INFO", "DEBUG", "TRACE"};
+
+    /**
+     * Spring Security 텍스트 로그 분류 결과
+     */
+    public enum SecurityCategory {
+        LOGIN_FAILURE("Login Failure", "WARN"),
+        ACCESS_DENIED("Access Denied", "ERROR"),
+        CSRF_WARNING("CSRF Warning", "ERROR"),
+        SESSION_EXPIRED("Session Expired", "WARN");
+
+        private final String label;
+        private final String level;
+
+        SecurityCategory(String label, String level) {
+            this.label = label;
+            this.level = level;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+    }
+
+    private LogLevelClassifier() {
+    }
+
+    /**
+     * 장애 키워드(OutOfMemory, Deadlock, 🚨 등)가 있으면 true
+     */
+    public static boolean hasFatalKeyword(String message) {
+        return containsAny(message, FATAL_KEYWORDS);
+    }
+
+    /**
+     * 수동 CRITICAL 표시("Critical", 🚨)가 있으면 true
+     */
+    public static boolean hasManualCritical(String message) {
+        return containsAny(message, MANUAL_CRITICAL_KEYWORDS);
+    }
+
+    /**
+     * Spring Security 텍스트 로그 분류 (해당 없으면 null)
+     * - 로그인 실패 → 권한 없음 → CSRF → 세션 만료 순으로 우선
+     */
+    public static SecurityCategory classifySecurity(String message) {
+        if (message == null) {
+            return null;
+        }
+        if (containsAny(message, LOGIN_FAILURE_KEYWORDS)) {
+            return SecurityCategory.LOGIN_FAILURE;
+        }
+        if (containsAny(message, ACCESS_DENIED_KEYWORDS)) {
+            return SecurityCategory.ACCESS_DENIED;
+        }
+        if (containsAny(message, CSRF_KEYWORDS)) {
+            return SecurityCategory.CSRF_WARNING;
+        }
+        if (message.contains("Session") && message.contains("expired")) {
+            return SecurityCategory.SESSION_EXPIRED;
+        }
+        return null;
+    }
+
+    /**
+     * 표준 레벨이면 대문자 상수로, 아니면 null
+     * - 대소문자 무시, 새 문자열/정규식 없이 비교
+     */
+    public static String normalizeLevel(Object value) {
+        if (!(value instanceof CharSequence text)) {
+            return value == null ? null : normalizeLevel(value.toString());
+        }
+        String level = text.toString();
+        for (String standard : STANDARD_LEVELS) {
+            if (standard.length() == level.length() && standard.equalsIgnoreCase(level)) {
+                return standard;
+            }
+        }
+        return null;
+    }
+
+    // log-severity.painless 와 키워드 목록 비교용
+    static List<String> fatalKeywords() {
+        return List.of(FATAL_KEYWORDS);
+    }
+
+    static List<String> securityKeywords(SecurityCategory category) {
+        return switch (category) {
+            case LOGIN_FAILURE -> List.of(LOGIN_FAILURE_KEYWORDS);
+            case ACCESS_DENIED -> List.of(ACCESS_DENIED_KEYWORDS);
+            case CSRF_WARNING -> List.of(CSRF_KEYWORDS);
+            case SESSION_EXPIRED -> List.of("Session", "expired");
+        };
+    }
+
+    private static boolean containsAny(String message, String[] keywords) {
+        if (message == null) {
+            return false;
+        }
+        for (String keyword : keywords) {
+            if (message.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
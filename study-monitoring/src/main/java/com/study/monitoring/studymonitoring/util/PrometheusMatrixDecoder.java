@@ -0,0 +1,240 @@
+package com.study.monitoring.studymonitoring.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prometheus /api/v1/query_range (resultType=matrix) 응답 스트리밍 디코더
+ * - 응답을 Map / List 로 만들지 않고 Jackson 토큰을 읽으면서 바로 series 별 long[] / double[] 에 채운다.
+ *   (기존 방식은 포인트 1개당 List + Number + String 등 객체 약 5개)
+ * - 값 "NaN", "+Inf", "-Inf" 는 문자열 비교 없이 첫 글자로 판별해 Double.NaN / ±Infinity 로 저장
+ * - 라벨 Map 은 같은 라벨 조합이면 같은 불변 인스턴스를 재사용 (대시보드가 같은 series 를 반복 조회)
+ *
+ * 사용 예:
+ *   List<Series> series = PrometheusMatrixDecoder.decode(inputStream, expectedPoints);
+ *   for (Series s : series) { for (int i = 0; i < s.size(); i++) { s.timestamps()[i]; s.values()[i]; } }
+ */
+public final class PrometheusMatrixDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 라벨 Map 재사용 (라벨 조합 수가 이 값을 넘으면 비우고 다시 채움)
+    private static final int MAX_INTERNED_LABEL_SETS = 10_000;
+    private static final Map<Map<String, String>, Map<String, String>> LABEL_SETS = new ConcurrentHashMap<>();
+
+    // 포인트 수를 모를 때의 초기 배열 크기
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private PrometheusMatrixDecoder() {
+    }
+
+    /**
+     * 시계열 1개
+     *
+     * @param labels 라벨 (불변, 재사용 인스턴스)
+     * @param timestamps Unix timestamp (초)
+     * @param values 값 (NaN / ±Infinity 포함 가능)
+     */
+    public record Series(Map<String, String> labels, long[] timestamps, double[] values) {
+
+        public int size() {
+            return timestamps.length;
+        }
+    }
+
+    /**
+     * 응답 본문 디코딩
+     *
+     * @param body 응답 본문 (닫지 않음)
+     * @param expectedPoints series 당 예상 포인트 수 ((end - start) / step + 1, 모르면 0)
+     * @return series 목록 (status 가 success 가 아니거나 result 가 없으면 빈 목록)
+     * @throws IOException JSON 형식이 올바르지 않은 경우
+     */
+    public static List<Series> decode(InputStream body, int expectedPoints) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Collections.emptyList();
+            }
+
+            boolean success = false;
+            List<Series> result = Collections.emptyList();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("status".equals(field)) {
+                    success = "success".equals(parser.getText());
+                } else if ("data".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    result = readData(parser, expectedPoints);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return success ? result : Collections.emptyList();
+        }
+    }
+
+    // "data": { "resultType": "matrix", "result": [ ... ] }
+    private static List<Series> readData(JsonParser parser, int expectedPoints) throws IOException {
+        List<Series> result = Collections.emptyList();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("result".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                result = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    result.add(readSeries(parser, expectedPoints));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    // { "metric": {...}, "values": [[ts, "v"], ...] }
+    private static Series readSeries(JsonParser parser, int expectedPoints) throws IOException {
+        Map<String, String> labels = Collections.emptyMap();
+        long[] timestamps = new long[0];
+        double[] values = new double[0];
+        int size = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("metric".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                labels = readLabels(parser);
+            } else if ("values".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                int capacity = expectedPoints > 0 ? expectedPoints : DEFAULT_CAPACITY;
+                timestamps = new long[capacity];
+                values = new double[capacity];
+
+                // 각 포인트: [ 1700000000.123, "1.5" ]
+                while (parser.nextToken() == JsonToken.START_ARRAY) {
+                    if (size == timestamps.length) {
+                        int grown = Math.max(size * 2, DEFAULT_CAPACITY);
+                        timestamps = Arrays.copyOf(timestamps, grown);
+                        values = Arrays.copyOf(values, grown);
+                    }
+                    parser.nextToken();
+                    timestamps[size] = parser.getValueAsLong();
+                    parser.nextToken();
+                    values[size] = readSampleValue(parser);
+                    size++;
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (size != timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size);
+            values = Arrays.copyOf(values, size);
+        }
+        return new Series(labels, timestamps, values);
+    }
+
+    private static Map<String, String> readLabels(JsonParser parser) throws IOException {
+        Map<String, String> labels = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            labels.put(name, parser.getText());
+        }
+        return intern(labels);
+    }
+
+    /**
+     * 시간순으로 나뉜 구간 결과들을 라벨이 같은 series 끼리 이어 붙임
+     *
+     * @param parts 구간별 series 목록 (구간 순서 = 시간 순서, 구간끼리 timestamp 가 겹치지 않아야 함)
+     * @return 구간 전체 series 목록 (처음 나타난 순서)
+     */
+    public static List<Series> concat(List<List<Series>> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        Map<Map<String, String>, List<Series>> partsByLabels = new LinkedHashMap<>();
+        for (List<Series> part : parts) {
+            for (Series series : part) {
+                partsByLabels.computeIfAbsent(series.labels(), labels -> new ArrayList<>()).add(series);
+            }
+        }
+
+        List<Series> merged = new ArrayList<>(partsByLabels.size());
+        for (List<Series> seriesParts : partsByLabels.values()) {
+            if (seriesParts.size() == 1) {
+                merged.add(seriesParts.get(0));
+                continue;
+            }
+            int total = seriesParts.stream().mapToInt(Series::size).sum();
+            long[] timestamps = new long[total];
+            double[] values = new double[total];
+            int offset = 0;
+            for (Series part : seriesParts) {
+                System.arraycopy(part.timestamps(), 0, timestamps, offset, part.size());
+                System.arraycopy(part.values(), 0, values, offset, part.size());
+                offset += part.size();
+            }
+            merged.add(new Series(seriesParts.get(0).labels(), timestamps, values));
+        }
+        return merged;
+    }
+
+    private static Map<String, String> intern(Map<String, String> labels) {
+        Map<String, String> interned = LABEL_SETS.get(labels);
+        if (interned != null) {
+            return interned;
+        }
+        if (LABEL_SETS.size() >= MAX_INTERNED_LABEL_SETS) {
+            LABEL_SETS.clear();
+        }
+        Map<String, String> immutable = Map.copyOf(labels);
+        interned = LABEL_SETS.putIfAbsent(immutable, immutable);
+        return interned != null ? interned : immutable;
+    }
+
+    /**
+     * 샘플 값 파싱 (Prometheus 는 값을 문자열로 보냄)
+     * - "NaN" → NaN, "+Inf" / "Inf" → +Infinity, "-Inf" → -Infinity
+     * - 숫자는 '-' 다음이 숫자이므로 두 번째 글자로 -Inf 와 구분
+     */
+    private static double readSampleValue(JsonParser parser) throws IOException {
+        if (parser.currentToken().isNumeric()) {
+            return parser.getDoubleValue();
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if (length == 0) {
+            return Double.NaN;
+        }
+
+        char first = chars[offset];
+        if (first == 'N' || first == 'n') {
+            return Double.NaN;
+        }
+        if (first == 'I' || first == 'i') {
+            return Double.POSITIVE_INFINITY;
+        }
+        if ((first == '+' || first == '-') && length > 1) {
+            char second = chars[offset + 1];
+            if (second == 'I' || second == 'i') {
+                return first == '-' ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            }
+        }
+        try {
+            return Double.parseDouble(new String(chars, offset, length));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.study.monitoring.studymonitoring.util;
+
+/**
+ * Prometheus step(duration) 문자열 변환
+ * - "15s", "1m", "1h", "1d", "1w" 처럼 정수 + 단위 1개
+ * - 단위 없는 정수("60")는 Prometheus query_range 와 같이 초로 해석
+ *
+ * 사용 예:
+ *   long stepSeconds = PrometheusStep.toSeconds("5m");   // 300
+ *   if (stepSeconds <= 0) { 형식을 모르는 step → 분할 / 캐시 없이 그대로 조회 }
+ */
+public final class PrometheusStep {
+
+    private PrometheusStep() {
+    }
+
+    /**
+     * step 문자열 → 초
+     *
+     * @param step Prometheus step (null, 빈 문자열, 복합 단위 "1h30m", 소수 등은 지원하지 않음)
+     * @return 초 (형식을 모르거나 0 이하이면 0)
+     */
+    public static long toSeconds(String step) {
+        if (step == null || step.isEmpty()) {
+            return 0;
+        }
+        try {
+            char unit = step.charAt(step.length() - 1);
+            if (Character.isDigit(unit)) {
+                return Math.max(Long.parseLong(step), 0);
+            }
+            long amount = Long.parseLong(step.substring(0, step.length() - 1));
+            long seconds = switch (unit) {
+                case 's' -> amount;
+                case 'm' -> amount * 60;
+                case 'h' -> amount * 3600;
+                case 'd' -> amount * 86400;
+                case 'w' -> amount * 604800;
+                default -> 0;
+            };
+            return Math.max(seconds, 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.study.monitoring.studymonitoring.util;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색 커서 유틸리티 클래스
+ * - PIT(Point In Time) id 와 마지막 hit 의 sort 값을 불투명한 문자열 하나로 묶는다.
+ * - 클라이언트는 받은 커서를 그대로 다시 보내기만 하면 다음 페이지를 조회할 수 있다.
+ * - composite 집계의 after_key 도 같은 방식으로 커서 문자열로 만든다.
+ */
+public class SearchCursorUtil {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * 디코딩된 커서
+     *
+     * @param pitId PIT id
+     * @param searchAfter 다음 페이지 시작점 (마지막 hit 의 sort 값)
+     */
+    public record Cursor(String pitId, List<FieldValue> searchAfter) {}
+
+    /**
+     * 커서 인코딩
+     *
+     * @param pitId PIT id
+     * @param sortValues 마지막 hit 의 sort 값 (@timestamp, tiebreaker)
+     * @return Base64(URL-safe) 커서 문자열
+     */
+    public static String encode(String pitId, List<FieldValue> sortValues) {
+        List<Object> values = new ArrayList<>();
+        for (FieldValue value : sortValues) {
+            values.add(value.isNull() ? null : value._get());
+        }
+
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(Map.of("pit", pitId, "after", values));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("커서 생성에 실패했습니다", e);
+        }
+    }
+
+    /**
+     * 커서 디코딩
+     *
+     * @param cursor encode()로 만든 커서 문자열
+     * @return Cursor
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    public static Cursor decode(String cursor) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            Map<String, Object> raw = MAPPER.readValue(
+                    new String(json, StandardCharsets.UTF_8), new TypeReference<>() {});
+
+            String pitId = (String) raw.get("pit");
+            List<?> after = (List<?>) raw.get("after");
+            if (pitId == null || after == null || after.isEmpty()) {
+                throw new IllegalArgumentException("커서 형식이 올바르지 않습니다");
+            }
+
+            List<FieldValue> searchAfter = new ArrayList<>();
+            for (Object value : after) {
+                searchAfter.add(toFieldValue(value));
+            }
+            return new Cursor(pitId, searchAfter);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("커서 형식이 올바르지 않습니다", e);
+        }
+    }
+
+    /**
+     * composite 집계 after_key 인코딩
+     *
+     * @param afterKey 응답의 after_key (source 이름 → 값)
+     * @return Base64(URL-safe) 커서 문자열
+     */
+    public static String encodeAfterKey(Map<String, FieldValue> afterKey) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        afterKey.forEach((name, value) -> values.put(name, value.isNull() ? null : value._get()));
+
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(Map.of("after_key", values));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("커서 생성에 실패했습니다", e);
+        }
+    }
+
+    /**
+     * composite 집계 after_key 디코딩
+     *
+     * @param cursor encodeAfterKey()로 만든 커서 문자열
+     * @return after_key
+     * @throws IllegalArgumentException 형식이 올바르지 않은 경우
+     */
+    public static Map<String, FieldValue> decodeAfterKey(String cursor) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            Map<String, Object> raw = MAPPER.readValue(
+                    new String(json, StandardCharsets.UTF_8), new TypeReference<>() {});
+
+            if (!(raw.get("after_key") instanceof Map<?, ?> after) || after.isEmpty()) {
+                throw new IllegalArgumentException("커서 형식이 올바르지 않습니다");
+            }
+
+            Map<String, FieldValue> afterKey = new LinkedHashMap<>();
+            after.forEach((name, value) -> afterKey.put(String.valueOf(name), toFieldValue(value)));
+            return afterKey;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("커서 형식이 올바르지 않습니다", e);
+        }
+    }
+
+    private static FieldValue toFieldValue(Object value) {
+        return switch (value) {
+            case null -> FieldValue.NULL;
+            case Integer i -> FieldValue.of(i.longValue());
+            case Long l -> FieldValue.of(l);
+            case Number n -> FieldValue.of(n.doubleValue());
+            case Boolean b -> FieldValue.of(b);
+            default -> FieldValue.of(value.toString());
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.study.monitoring.studymonitoring.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * 동일 요청 합치기 (single-flight)
+ * - 같은 키의 요청이 이미 실행 중이면 새로 호출하지 않고 그 결과를 같이 받는다.
+ * - 먼저 들어온 요청(leader)만 실제로 호출하고, 나머지는 최대 maxWait 까지 leader 의 future 를 기다린다.
+ * - 기다리다 시간이 초과되면 직접 호출한다 (느린 leader 하나 때문에 모두 멈추지 않도록).
+ * - 결과는 호출마다 resultCopier 로 복사해서 돌려준다 (leader 포함).
+ *   원본은 future 에만 남으므로 한 호출 측이 결과(Map/List)를 수정해도 다른 호출 측에 보이지 않는다.
+ */
+@Slf4j
+public class SingleFlight {
+
+    /**
+     * 실제 호출 (예외를 그대로 던질 수 있는 Supplier)
+     */
+    @FunctionalInterface
+    public interface Call {
+        Object call() throws Throwable;
+    }
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final long maxWaitMs;
+    private final UnaryOperator<Object> resultCopier;
+
+    public SingleFlight(Duration maxWait) {
+        this(maxWait, UnaryOperator.identity());
+    }
+
+    /**
+     * @param maxWait leader 결과를 기다리는 최대 시간
+     * @param resultCopier 공유 결과를 호출 측마다 복사하는 함수 (결과가 불변이면 identity)
+     */
+    public SingleFlight(Duration maxWait, UnaryOperator<Object> resultCopier) {
+        this.maxWaitMs = maxWait.toMillis();
+        this.resultCopier = resultCopier;
+    }
+
+    /**
+     * 키 단위로 합쳐서 실행
+     *
+     * @param key 요청 식별 키 (equals/hashCode 로 비교)
+     * @param call 실제 호출
+     * @return 호출 결과 (호출 측마다 복사본)
+     */
+    public Object execute(Object key, Call call) throws Throwable {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            return await(key, existing, call);
+        }
+
+        // leader: 직접 호출하고 결과를 기다리던 요청들에 전달
+        try {
+            Object result = call.call();
+            future.complete(result);
+            return resultCopier.apply(result);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * leader 의 future 를 받아 결과를 기다리는 중인 호출 수 (테스트에서 합쳐진 시점 확인용)
+     */
+    int waitingCount() {
+        return waiting.get();
+    }
+
+    private Object await(Object key, CompletableFuture<Object> leader, Call call) throws Throwable {
+        waiting.incrementAndGet();
+        try {
+            return resultCopier.apply(leader.get(maxWaitMs, TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            log.warn("Single-flight wait timed out after {}ms, calling directly: {}", maxWaitMs, key);
+            return call.call();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.study.monitoring.studymonitoring.util;
+
+import com.study.monitoring.studymonitoring.model.dto.response.StatisticsResponseDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 시계열 통계 컬럼 저장소 (epoch second 기준)
+ * - 포인트를 DataPoint 객체 대신 timestamp / value / min / max / sampleCount 배열로 보관
+ * - 정렬, 빈 구간 채우기, min/max 결합을 모두 long 비교로 처리하고
+ *   "yyyy-MM-dd HH:mm:ss" 문자열 변환은 응답 생성(toDataPoints) 때 한 번만 수행
+ * - 값이 없는 min / max 는 NaN 으로 저장 (응답에서는 null)
+ *
+ * 사용 예:
+ *   TimeSeriesColumns columns = new TimeSeriesColumns(expectedSize);
+ *   columns.add(epochSecond, value, min, max, count);
+ *   columns.sortByTimestamp();
+ *   List<DataPoint> data = columns.toDataPoints();
+ */
+public final class TimeSeriesColumns {
+
+    private long[] timestamps;
+    private double[] values;
+    private double[] minValues;
+    private double[] maxValues;
+    private int[] sampleCounts;
+    private int size;
+
+    public TimeSeriesColumns(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        this.timestamps = new long[capacity];
+        this.values = new double[capacity];
+        this.minValues = new double[capacity];
+        this.maxValues = new double[capacity];
+        this.sampleCounts = new int[capacity];
+    }
+
+    /**
+     * 포인트 추가
+     *
+     * @param timestamp epoch second
+     * @param value 값
+     * @param minValue 최소값 (없으면 NaN)
+     * @param maxValue 최대값 (없으면 NaN)
+     * @param sampleCount 샘플 수
+     */
+    public void add(long timestamp, double value, double minValue, double maxValue, int sampleCount) {
+        if (size == timestamps.length) {
+            grow(size * 2);
+        }
+        timestamps[size] = timestamp;
+        values[size] = value;
+        minValues[size] = minValue;
+        maxValues[size] = maxValue;
+        sampleCounts[size] = sampleCount;
+        size++;
+    }
+
+    /**
+     * 다른 컬럼의 포인트를 모두 뒤에 추가
+     */
+    public void addAll(TimeSeriesColumns other) {
+        if (size + other.size > timestamps.length) {
+            grow(Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.timestamps, 0, timestamps, size, other.size);
+        System.arraycopy(other.values, 0, values, size, other.size);
+        System.arraycopy(other.minValues, 0, minValues, size, other.size);
+        System.arraycopy(other.maxValues, 0, maxValues, size, other.size);
+        System.arraycopy(other.sampleCounts, 0, sampleCounts, size, other.size);
+        size += other.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long timestamp(int index) {
+        return timestamps[index];
+    }
+
+    public double value(int index) {
+        return values[index];
+    }
+
+    public double minValue(int index) {
+        return minValues[index];
+    }
+
+    public double maxValue(int index) {
+        return maxValues[index];
+    }
+
+    public int sampleCount(int index) {
+        return sampleCounts[index];
+    }
+
+    public void setMinValue(int index, double minValue) {
+        minValues[index] = minValue;
+    }
+
+    public void setMaxValue(int index, double maxValue) {
+        maxValues[index] = maxValue;
+    }
+
+    /**
+     * timestamp 오름차순 정렬 (같은 timestamp 는 추가 순서 유지)
+     * - 이미 정렬되어 있으면(DB 구간 뒤에 Prometheus 구간이 붙는 일반적인 경우) 배열을 건드리지 않음
+     */
+    public void sortByTimestamp() {
+        if (isSorted()) {
+            return;
+        }
+
+        // 위치 배열을 timestamp 로 정렬 (객체 배열 정렬은 stable)
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(timestamps[a], timestamps[b]));
+
+        long[] sortedTimestamps = new long[timestamps.length];
+        double[] sortedValues = new double[values.length];
+        double[] sortedMin = new double[minValues.length];
+        double[] sortedMax = new double[maxValues.length];
+        int[] sortedCounts = new int[sampleCounts.length];
+        for (int i = 0; i < size; i++) {
+            int from = order[i];
+            sortedTimestamps[i] = timestamps[from];
+            sortedValues[i] = values[from];
+            sortedMin[i] = minValues[from];
+            sortedMax[i] = maxValues[from];
+            sortedCounts[i] = sampleCounts[from];
+        }
+        timestamps = sortedTimestamps;
+        values = sortedValues;
+        minValues = sortedMin;
+        maxValues = sortedMax;
+        sampleCounts = sortedCounts;
+    }
+
+    /**
+     * 정렬된 상태에서 timestamp 위치 찾기
+     *
+     * @return 위치 (같은 timestamp 가 여러 개면 마지막으로 추가된 위치, 없으면 -1)
+     */
+    public int indexOf(long timestamp) {
+        int index = Arrays.binarySearch(timestamps, 0, size, timestamp);
+        if (index < 0) {
+            return -1;
+        }
+        while (index + 1 < size && timestamps[index + 1] == timestamp) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 정렬된 상태에서 LTTB 로 최대 maxPoints 개만 남김
+     * - 값 컬럼은 LTTB 가 고른 포인트 그대로
+     * - 버려진 포인트의 min / max / sampleCount 는 직전에 남긴 포인트에 합침 (밴드에서 spike 가 사라지지 않도록)
+     *
+     * @return 다운샘플링 결과 (포인트 수가 maxPoints 이하이면 this)
+     */
+    public TimeSeriesColumns downsample(int maxPoints) {
+        int[] kept = TimeSeriesDownsampler.lttb(timestamps, values, size, maxPoints);
+        if (kept.length == size) {
+            return this;
+        }
+
+        TimeSeriesColumns result = new TimeSeriesColumns(kept.length);
+        for (int k = 0; k < kept.length; k++) {
+            int from = kept[k];
+            int to = k + 1 < kept.length ? kept[k + 1] : size;
+
+            // [from, to) 구간의 min / max / sampleCount 를 합침 (NaN 은 값 없음)
+            double minValue = Double.NaN;
+            double maxValue = Double.NaN;
+            int sampleCount = 0;
+            for (int i = from; i < to; i++) {
+                if (!Double.isNaN(minValues[i])) {
+                    minValue = Double.isNaN(minValue) ? minValues[i] : Math.min(minValue, minValues[i]);
+                }
+                if (!Double.isNaN(maxValues[i])) {
+                    maxValue = Double.isNaN(maxValue) ? maxValues[i] : Math.max(maxValue, maxValues[i]);
+                }
+                sampleCount += sampleCounts[i];
+            }
+            result.add(timestamps[from], values[from], minValue, maxValue, sampleCount);
+        }
+        return result;
+    }
+
+    /**
+     * 응답 DTO 로 변환 (timestamp 문자열 변환은 여기서만)
+     */
+    public List<StatisticsResponseDTO.DataPoint> toDataPoints() {
+        List<StatisticsResponseDTO.DataPoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new StatisticsResponseDTO.DataPoint(
+                    timestamps[i],
+                    values[i],
+                    Double.isNaN(minValues[i]) ? null : minValues[i],
+                    Double.isNaN(maxValues[i]) ? null : maxValues[i],
+                    sampleCounts[i]
+            ));
+        }
+        return points;
+    }
+
+    private boolean isSorted() {
+        for (int i = 1; i < size; i++) {
+            if (timestamps[i - 1] > timestamps[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void grow(int capacity) {
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        values = Arrays.copyOf(values, capacity);
+        minValues = Arrays.copyOf(minValues, capacity);
+        maxValues = Arrays.copyOf(maxValues, capacity);
+        sampleCounts = Arrays.copyOf(sampleCounts, capacity);
+    }
+}
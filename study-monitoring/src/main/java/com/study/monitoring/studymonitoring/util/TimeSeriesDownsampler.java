@@ -0,0 +1,119 @@
+package com.study.monitoring.studymonitoring.util;
+
+/**
+ * 시계열 다운샘플링 (Largest-Triangle-Three-Buckets)
+ * - 첫 / 마지막 포인트는 그대로 두고, 나머지를 (maxPoints - 2)개 버킷으로 나눠 버킷마다 1개만 남김
+ * - 남길 포인트는 "직전에 남긴 포인트 - 후보 - 다음 버킷 평균" 삼각형 넓이가 가장 큰 것
+ *   → 같은 간격 평균 / 고정 step 과 달리 튀는 값(spike)이 남아 차트 모양이 유지됨
+ * - NaN 값은 넓이 계산에서 제외 (버킷이 전부 NaN 이면 버킷의 첫 포인트)
+ *
+ * 사용 예:
+ *   int[] kept = TimeSeriesDownsampler.lttb(timestamps, values, size, maxDataPoints);
+ *   for (int index : kept) { timestamps[index]; values[index]; }
+ */
+public final class TimeSeriesDownsampler {
+
+    // LTTB 는 첫 / 마지막 + 버킷 1개 이상이 필요
+    public static final int MIN_POINTS = 3;
+
+    private TimeSeriesDownsampler() {
+    }
+
+    /**
+     * 남길 포인트 위치 계산
+     *
+     * @param timestamps epoch second (오름차순)
+     * @param values 값
+     * @param size 앞에서부터 사용할 포인트 수
+     * @param maxPoints 최대 포인트 수 (MIN_POINTS 미만이면 MIN_POINTS)
+     * @return 남길 위치 (오름차순, size 이하이면 0 ~ size-1 전체)
+     */
+    public static int[] lttb(long[] timestamps, double[] values, int size, int maxPoints) {
+        int threshold = Math.max(maxPoints, MIN_POINTS);
+        if (size <= threshold) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] kept = new int[threshold];
+        int keptCount = 0;
+        kept[keptCount++] = 0;
+
+        // 첫 / 마지막 포인트를 뺀 나머지를 (threshold - 2)개 버킷으로 분할
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int previous = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int bucketStart = (int) Math.floor(bucket * bucketSize) + 1;
+            int bucketEnd = Math.min((int) Math.floor((bucket + 1) * bucketSize) + 1, size - 1);
+
+            // 다음 버킷의 평균 포인트 (마지막 버킷이면 마지막 포인트)
+            int nextStart = bucketEnd;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double averageTime = 0;
+            double averageValue = 0;
+            int averageCount = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                if (Double.isNaN(values[i])) {
+                    continue;
+                }
+                averageTime += timestamps[i];
+                averageValue += values[i];
+                averageCount++;
+            }
+            if (averageCount > 0) {
+                averageTime /= averageCount;
+                averageValue /= averageCount;
+            } else {
+                averageTime = timestamps[size - 1];
+                averageValue = Double.isNaN(values[size - 1]) ? 0 : values[size - 1];
+            }
+
+            // 직전에 남긴 포인트와 다음 버킷 평균으로 만든 삼각형 넓이가 가장 큰 후보 선택
+            double previousTime = timestamps[previous];
+            double previousValue = Double.isNaN(values[previous]) ? 0 : values[previous];
+            int selected = bucketStart;
+            double maxArea = -1;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                if (Double.isNaN(values[i])) {
+                    continue;
+                }
+                double area = Math.abs(
+                        (previousTime - averageTime) * (values[i] - previousValue)
+                                - (previousTime - timestamps[i]) * (averageValue - previousValue));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+
+            kept[keptCount++] = selected;
+            previous = selected;
+        }
+
+        kept[keptCount++] = size - 1;
+        return kept;
+    }
+
+    /**
+     * Prometheus series 다운샘플링
+     *
+     * @param maxPoints 최대 포인트 수 (null 이면 그대로)
+     */
+    public static PrometheusMatrixDecoder.Series downsample(PrometheusMatrixDecoder.Series series, Integer maxPoints) {
+        if (maxPoints == null || series.size() <= Math.max(maxPoints, MIN_POINTS)) {
+            return series;
+        }
+        int[] kept = lttb(series.timestamps(), series.values(), series.size(), maxPoints);
+        long[] timestamps = new long[kept.length];
+        double[] values = new double[kept.length];
+        for (int i = 0; i < kept.length; i++) {
+            timestamps[i] = series.timestamps()[kept[i]];
+            values[i] = series.values()[kept[i]];
+        }
+        return new PrometheusMatrixDecoder.Series(series.labels(), timestamps, values);
+    }
+}
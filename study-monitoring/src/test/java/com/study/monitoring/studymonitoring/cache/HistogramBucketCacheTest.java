@@ -0,0 +1,273 @@
+package com.study.monitoring.studymonitoring.cache;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramAggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.FieldDateMath;
+import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class HistogramBucketCacheTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    // 2024-03-01T00:00 (UTC, 과거라 모든 버킷이 닫힘)
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    /**
+     * date_histogram(min_doc_count 0) 을 흉내 내는 ES
+     * - 문서는 (timestamp → 개수), 버킷은 첫 데이터 ~ 마지막 데이터, extended_bounds 가 있으면 그 버킷까지 확장
+     * - run 집계는 filter(range) 를 적용하고 집계 안의 extended_bounds 를 그대로 사용
+     */
+    private static final class FakeElasticsearch {
+        private final TreeMap<Long, Long> docs = new TreeMap<>();
+        private final List<long[]> runs = new ArrayList<>();
+
+        FakeElasticsearch doc(LocalDateTime timestamp, long count) {
+            docs.merge(utc(timestamp), count, Long::sum);
+            return this;
+        }
+
+        /**
+         * plan 실행: 요청 범위 [start, end] 와 plan 의 run 집계로 응답을 만들어 assemble
+         */
+        List<Map<String, Object>> execute(HistogramBucketCache.HistogramPlan plan, LocalDateTime start, LocalDateTime end) {
+            Map<String, Aggregate> response = new HashMap<>();
+            plan.aggregations().forEach((name, aggregation) -> {
+                RangeQuery range = aggregation.filter().range();
+                long runStart = range.gte().to(Long.class);
+                long runEnd = range.lt().to(Long.class);
+                runs.add(new long[]{runStart, runEnd});
+
+                DateHistogramAggregation histogram = aggregation.aggregations().get("buckets").dateHistogram();
+                List<DateHistogramBucket> buckets = buckets(
+                        Math.max(utc(start), runStart), Math.min(utc(end) + 1, runEnd),
+                        histogram.extendedBounds() != null ? histogram.extendedBounds().min().value().longValue() : null,
+                        histogram.extendedBounds() != null ? histogram.extendedBounds().max().value().longValue() : null);
+                response.put(name, Aggregate.of(a -> a.filter(f -> f
+                        .docCount(buckets.stream().mapToLong(DateHistogramBucket::docCount).sum())
+                        .aggregations(Map.of("buckets",
+                                Aggregate.of(h -> h.dateHistogram(d -> d.buckets(b -> b.array(buckets)))))))));
+            });
+            return plan.assemble(response);
+        }
+
+        /**
+         * 캐시 없이 원래 조회 (extended_bounds 는 요청 범위를 zone 기준으로 해석)
+         */
+        List<Map<String, Object>> uncached(LocalDateTime start, LocalDateTime end, ZoneId zone, boolean extendedBounds) {
+            List<Map<String, Object>> result = new ArrayList<>();
+            buckets(utc(start), utc(end) + 1,
+                    extendedBounds ? start.atZone(zone).toInstant().toEpochMilli() : null,
+                    extendedBounds ? end.atZone(zone).toInstant().toEpochMilli() : null)
+                    .forEach(bucket -> result.add(decode(bucket)));
+            return result;
+        }
+
+        // 문서 [from, to) 를 1시간 버킷으로 (테스트 zone 은 모두 정시 offset)
+        private List<DateHistogramBucket> buckets(long from, long to, Long boundsMin, Long boundsMax) {
+            TreeMap<Long, Long> counts = new TreeMap<>();
+            docs.subMap(from, to).forEach((timestamp, count) -> counts.merge(align(timestamp), count, Long::sum));
+
+            long first = counts.isEmpty() ? Long.MAX_VALUE : counts.firstKey();
+            long last = counts.isEmpty() ? Long.MIN_VALUE : counts.lastKey();
+            if (boundsMin != null) {
+                first = Math.min(first, align(boundsMin));
+                last = Math.max(last, align(boundsMax));
+            }
+
+            List<DateHistogramBucket> buckets = new ArrayList<>();
+            for (long key = first; key <= last; key += HOUR) {
+                long bucketKey = key;
+                long docCount = counts.getOrDefault(key, 0L);
+                buckets.add(DateHistogramBucket.of(b -> b.key(bucketKey).docCount(docCount)));
+            }
+            return buckets;
+        }
+    }
+
+    private static long utc(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static long align(long epochMs) {
+        return Math.floorDiv(epochMs, HOUR) * HOUR;
+    }
+
+    private static Map<String, Object> decode(DateHistogramBucket bucket) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("timestamp", bucket.key());
+        entry.put("count", bucket.docCount());
+        return entry;
+    }
+
+    /**
+     * boundedTimeHistogram / errorsOverTimeAggregation 처럼 (from, to) 가 있을 때만 extended_bounds 를 지정하는 factory
+     */
+    private static BiFunction<LocalDateTime, LocalDateTime, Aggregation> histogramFactory(ZoneId zone) {
+        return (from, to) -> Aggregation.of(a -> a.dateHistogram(h -> {
+            h.field("@timestamp").fixedInterval(i -> i.time("1h")).timeZone(zone.getId()).minDocCount(0);
+            if (from != null && to != null) {
+                h.extendedBounds(b -> b
+                        .min(FieldDateMath.of(f -> f.value((double) from.atZone(zone).toInstant().toEpochMilli())))
+                        .max(FieldDateMath.of(f -> f.value((double) to.atZone(zone).toInstant().toEpochMilli()))));
+            }
+            return h;
+        }));
+    }
+
+    private static HistogramBucketCache.HistogramPlan plan(
+            HistogramBucketCache cache, LocalDateTime start, LocalDateTime end, ZoneId zone, boolean extendedBounds) {
+        return cache.plan("logs-*", "logs_over_time", "", start, end, "1h", zone, extendedBounds,
+                histogramFactory(zone), HistogramBucketCacheTest::decode);
+    }
+
+    private static List<Map<String, Object>> query(
+            HistogramBucketCache cache, FakeElasticsearch es,
+            LocalDateTime start, LocalDateTime end, ZoneId zone, boolean extendedBounds) {
+        return es.execute(plan(cache, start, end, zone, extendedBounds), start, end);
+    }
+
+    @Test
+    void closedBucketsAreServedFromCacheOnRepeat() {
+        HistogramBucketCache cache = new HistogramBucketCache(10_000, 60);
+        FakeElasticsearch es = new FakeElasticsearch()
+                .doc(DAY.plusHours(1), 3)
+                .doc(DAY.plusHours(5).plusMinutes(30), 2);
+        LocalDateTime end = DAY.plusDays(1).minusNanos(1_000_000);
+
+        List<Map<String, Object>> first = query(cache, es, DAY, end, ZoneOffset.UTC, false);
+        assertThat(es.runs).hasSize(1);
+        assertThat(cache.size()).isEqualTo(24);
+
+        es.runs.clear();
+        HistogramBucketCache.HistogramPlan repeat = plan(cache, DAY, end, ZoneOffset.UTC, false);
+        assertThat(repeat.isFullyCached()).isTrue();
+        List<Map<String, Object>> second = es.execute(repeat, DAY, end);
+
+        assertThat(es.runs).isEmpty();
+        assertThat(first).isEqualTo(es.uncached(DAY, end, ZoneOffset.UTC, false));
+        assertThat(second).isEqualTo(first);
+        assertThat(second).extracting(entry -> entry.get("count")).containsExactly(3L, 0L, 0L, 0L, 2L);
+    }
+
+    @Test
+    void partiallyCachedRangeFetchesOnlyMissingRuns() {
+        HistogramBucketCache cache = new HistogramBucketCache(10_000, 60);
+        FakeElasticsearch es = new FakeElasticsearch()
+                .doc(DAY.plusHours(2), 1)
+                .doc(DAY.plusHours(20), 4);
+
+        query(cache, es, DAY.plusHours(6), DAY.plusHours(12).minusNanos(1_000_000), ZoneOffset.UTC, false);
+        es.runs.clear();
+
+        LocalDateTime end = DAY.plusDays(1).minusNanos(1_000_000);
+        List<Map<String, Object>> result = query(cache, es, DAY, end, ZoneOffset.UTC, false);
+
+        // 06 ~ 12시는 캐시, 앞뒤 구간만 조회
+        assertThat(es.runs).hasSize(2);
+        assertThat(es.runs).anySatisfy(run -> assertThat(run).containsExactly(utc(DAY), utc(DAY.plusHours(6))));
+        assertThat(es.runs).anySatisfy(run -> assertThat(run).containsExactly(utc(DAY.plusHours(12)), utc(DAY.plusDays(1))));
+        assertThat(result).isEqualTo(es.uncached(DAY, end, ZoneOffset.UTC, false));
+    }
+
+    @Test
+    void zeroBucketsCachedOutsideDataRangeAreShownWhenLaterDataSurroundsThem() {
+        HistogramBucketCache cache = new HistogramBucketCache(10_000, 60);
+        FakeElasticsearch es = new FakeElasticsearch()
+                .doc(DAY.plusHours(2), 1)
+                .doc(DAY.plusHours(10), 1);
+
+        // 00 ~ 06시: 데이터는 02시뿐 → 03 ~ 05시는 응답에 없지만 0 건 버킷으로 캐시
+        List<Map<String, Object>> early = query(cache, es, DAY, DAY.plusHours(6).minusNanos(1_000_000), ZoneOffset.UTC, false);
+        assertThat(early).extracting(entry -> entry.get("timestamp")).containsExactly(utc(DAY.plusHours(2)));
+
+        // 00 ~ 24시: 02 ~ 10시 사이는 캐시된 0 건 버킷까지 모두 포함돼야 함
+        LocalDateTime end = DAY.plusDays(1).minusNanos(1_000_000);
+        List<Map<String, Object>> full = query(cache, es, DAY, end, ZoneOffset.UTC, false);
+
+        assertThat(full).isEqualTo(es.uncached(DAY, end, ZoneOffset.UTC, false));
+        assertThat(full).hasSize(9);
+    }
+
+    @Test
+    void boundsVisibilityIsDecidedPerRequest() {
+        HistogramBucketCache cache = new HistogramBucketCache(10_000, 60);
+        FakeElasticsearch es = new FakeElasticsearch().doc(DAY.plusHours(1), 5);
+
+        // A: 조회 [D 00:00, D 23:59:59] UTC, bounds (Seoul) = [D-1 15:00, D 14:59:59] UTC
+        // → 15 ~ 23시 0 건 버킷은 A 의 응답에는 없지만 캐시에는 저장
+        LocalDateTime endA = DAY.plusDays(1).minusNanos(1_000_000);
+        List<Map<String, Object>> a = query(cache, es, DAY, endA, SEOUL, true);
+        assertThat(a).isEqualTo(es.uncached(DAY, endA, SEOUL, true));
+        assertThat(a).extracting(entry -> entry.get("timestamp")).doesNotContain(utc(DAY.plusHours(15)));
+
+        // B: bounds = [D 00:00, D 23:59:59] UTC → A 에서 캐시된 15 ~ 23시 0 건 버킷이 보여야 함
+        LocalDateTime startB = DAY.plusHours(9);
+        LocalDateTime endB = DAY.plusDays(1).plusHours(9).minusNanos(1_000_000);
+        es.runs.clear();
+        List<Map<String, Object>> b = query(cache, es, startB, endB, SEOUL, true);
+
+        assertThat(b).isEqualTo(es.uncached(startB, endB, SEOUL, true));
+        assertThat(b).extracting(entry -> entry.get("timestamp")).contains(utc(DAY.plusHours(15)), utc(DAY.plusHours(23)));
+        // 09 ~ 23시는 A 에서 캐시됨
+        assertThat(es.runs).noneSatisfy(run -> assertThat(run[0]).isBetween(utc(startB), utc(DAY.plusHours(23))));
+
+        // A 를 다시 조회해도 B 의 bounds 영향 없이 처음과 같음
+        assertThat(query(cache, es, DAY, endA, SEOUL, true)).isEqualTo(a);
+    }
+
+    @Test
+    void openTailBucketIsFetchedEveryTimeAndNotCached() {
+        // settle 0 → 현재 시각이 속한 버킷만 열림
+        HistogramBucketCache cache = new HistogramBucketCache(10_000, 0);
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime start = now.withMinute(0).withSecond(0).withNano(0).minusHours(3);
+        long openBucket = align(utc(now));
+        FakeElasticsearch es = new FakeElasticsearch().doc(start, 1).doc(now.minusNanos(1_000_000), 1);
+
+        query(cache, es, start, now, ZoneOffset.UTC, false);
+        assertThat(cache.size()).isEqualTo(3);
+
+        es.runs.clear();
+        HistogramBucketCache.HistogramPlan repeat = plan(cache, start, now, ZoneOffset.UTC, false);
+        // 두 조회 사이에 정시를 넘기면 열린 버킷이 달라지므로 건너뜀
+        assumeTrue(align(System.currentTimeMillis()) == openBucket);
+        List<Map<String, Object>> result = es.execute(repeat, start, now);
+
+        assertThat(repeat.isFullyCached()).isFalse();
+        assertThat(es.runs).hasSize(1);
+        assertThat(es.runs.get(0)).containsExactly(openBucket, openBucket + HOUR);
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(result).isEqualTo(es.uncached(start, now, ZoneOffset.UTC, false));
+    }
+
+    @Test
+    void unknownIntervalBypassesCache() {
+        HistogramBucketCache cache = new HistogramBucketCache(10_000, 60);
+
+        HistogramBucketCache.HistogramPlan plan = cache.plan("logs-*", "logs_over_time", "",
+                DAY, DAY.plusDays(1), "1w", ZoneOffset.UTC, false, histogramFactory(ZoneOffset.UTC),
+                HistogramBucketCacheTest::decode);
+
+        assertThat(plan.aggregations()).containsOnlyKeys("logs_over_time");
+        assertThat(plan.aggregations().get("logs_over_time").dateHistogram().extendedBounds()).isNull();
+        assertThat(plan.assemble(Map.of())).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+}
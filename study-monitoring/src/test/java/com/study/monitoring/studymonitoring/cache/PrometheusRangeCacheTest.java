@@ -0,0 +1,255 @@
+package com.study.monitoring.studymonitoring.cache;
+
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder.Series;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrometheusRangeCacheTest {
+
+    private static final long DAY = 86_400;
+    private static final long STEP = 60;
+
+    // 2020-01-01T00:00:00Z (chunk 경계)
+    private static final long DAY1 = 1_577_836_800L;
+    private static final long DAY2 = DAY1 + DAY;
+    private static final long DAY3 = DAY2 + DAY;
+
+    private static final Map<String, String> A = Map.of("job", "a");
+    private static final Map<String, String> B = Map.of("job", "b");
+
+    /**
+     * 호출 구간을 기록하고, 구간 안의 step 배수 시각마다 값 = timestamp 인 series 를 돌려주는 fetcher
+     * - series B 는 [bFrom, bTo] 안에서만 존재
+     */
+    private static final class RecordingFetcher implements BiFunction<Long, Long, List<Series>> {
+        private final List<long[]> calls = new ArrayList<>();
+        private final long bFrom;
+        private final long bTo;
+
+        RecordingFetcher(long bFrom, long bTo) {
+            this.bFrom = bFrom;
+            this.bTo = bTo;
+        }
+
+        RecordingFetcher() {
+            this(1, 0);
+        }
+
+        @Override
+        public List<Series> apply(Long from, Long to) {
+            calls.add(new long[]{from, to});
+            List<Series> result = new ArrayList<>();
+            result.add(series(A, from, to));
+            long start = Math.max(from, bFrom);
+            long end = Math.min(to, bTo);
+            if (start <= end) {
+                result.add(series(B, start, end));
+            }
+            return result;
+        }
+    }
+
+    private static Series series(Map<String, String> labels, long from, long to) {
+        int size = (int) ((to - from) / STEP + 1);
+        long[] timestamps = new long[size];
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            timestamps[i] = from + i * STEP;
+            values[i] = timestamps[i];
+        }
+        return new Series(labels, timestamps, values);
+    }
+
+    private static PrometheusRangeCache newCache() {
+        return new PrometheusRangeCache(10_000_000, DAY, 300);
+    }
+
+    private static Series find(List<Series> result, Map<String, String> labels) {
+        return result.stream().filter(s -> s.labels().equals(labels)).findFirst().orElseThrow();
+    }
+
+    private static void assertContiguous(Series series, long from, long to) {
+        assertThat(series.timestamps()[0]).isEqualTo(from);
+        assertThat(series.timestamps()[series.size() - 1]).isEqualTo(to);
+        assertThat(series.size()).isEqualTo((int) ((to - from) / STEP + 1));
+        for (int i = 0; i < series.size(); i++) {
+            assertThat(series.values()[i]).isEqualTo((double) series.timestamps()[i]);
+        }
+    }
+
+    @Test
+    void toRunsGroupsConsecutiveMissingChunks() {
+        List<PrometheusRangeCache.Run> runs = PrometheusRangeCache.toRuns(
+                List.of(0L, 10L, 20L, 30L, 40L, 50L), Set.of(10L, 40L), 10);
+
+        assertThat(runs).containsExactly(
+                new PrometheusRangeCache.Run(0, 10),
+                new PrometheusRangeCache.Run(20, 40),
+                new PrometheusRangeCache.Run(50, 60));
+    }
+
+    @Test
+    void toRunsReturnsNothingWhenEverythingIsCached() {
+        assertThat(PrometheusRangeCache.toRuns(List.of(0L, 10L), Set.of(0L, 10L), 10)).isEmpty();
+    }
+
+    @Test
+    void sliceKeepsInclusiveRangeAndDropsEmptySeries() {
+        Series a = series(A, 0, 300);
+        Series b = series(B, 600, 900);
+
+        List<Series> sliced = PrometheusRangeCache.slice(List.of(a, b), 60, 180);
+
+        assertThat(sliced).hasSize(1);
+        assertThat(sliced.get(0).timestamps()).containsExactly(60, 120, 180);
+        assertThat(sliced.get(0).values()).containsExactly(60, 120, 180);
+    }
+
+    @Test
+    void sliceReturnsSameInstanceWhenFullyInside() {
+        Series a = series(A, 60, 180);
+
+        assertThat(PrometheusRangeCache.slice(List.of(a), 0, 600).get(0)).isSameAs(a);
+    }
+
+    @Test
+    void stitchConcatenatesPerLabelSetAndTrims() {
+        List<Series> chunk1 = List.of(series(A, 0, 120));
+        List<Series> chunk2 = List.of(series(A, 180, 300), series(B, 240, 300));
+
+        List<Series> stitched = PrometheusRangeCache.stitch(List.of(chunk1, chunk2), 60, 240);
+
+        assertThat(stitched).hasSize(2);
+        assertThat(find(stitched, A).timestamps()).containsExactly(60, 120, 180, 240);
+        assertThat(find(stitched, B).timestamps()).containsExactly(240);
+    }
+
+    @Test
+    void closedChunksAreServedFromCacheOnRepeat() {
+        PrometheusRangeCache cache = newCache();
+        RecordingFetcher fetcher = new RecordingFetcher();
+
+        List<Series> first = cache.query("q", DAY1, DAY3 - STEP, "1m", fetcher);
+        List<Series> second = cache.query("q", DAY1, DAY3 - STEP, "1m", fetcher);
+
+        assertThat(fetcher.calls).hasSize(1);
+        assertThat(fetcher.calls.get(0)).containsExactly(DAY1, DAY3 - STEP);
+        assertThat(cache.size()).isEqualTo(2);
+        assertContiguous(find(first, A), DAY1, DAY3 - STEP);
+        assertContiguous(find(second, A), DAY1, DAY3 - STEP);
+    }
+
+    @Test
+    void partiallyCachedRangeFetchesOnlyMissingRuns() {
+        PrometheusRangeCache cache = newCache();
+        RecordingFetcher fetcher = new RecordingFetcher();
+
+        cache.query("q", DAY2, DAY3 - STEP, "1m", fetcher);
+        fetcher.calls.clear();
+
+        List<Series> result = cache.query("q", DAY1, DAY3 + DAY - STEP, "1m", fetcher);
+
+        assertThat(fetcher.calls).hasSize(2);
+        assertThat(fetcher.calls.get(0)).containsExactly(DAY1, DAY2 - STEP);
+        assertThat(fetcher.calls.get(1)).containsExactly(DAY3, DAY3 + DAY - STEP);
+        assertContiguous(find(result, A), DAY1, DAY3 + DAY - STEP);
+    }
+
+    @Test
+    void unalignedStartIsFloorAlignedAndFullChunkIsCached() {
+        PrometheusRangeCache cache = newCache();
+        RecordingFetcher fetcher = new RecordingFetcher();
+
+        List<Series> result = cache.query("q", DAY1 + 125, DAY1 + 3_700, "1m", fetcher);
+
+        // 닫힌 chunk 는 저장할 수 있도록 chunk 전체를 조회하고, 응답은 step 배수로 내림한 요청 구간만
+        assertThat(fetcher.calls.get(0)).containsExactly(DAY1, DAY2 - STEP);
+        assertContiguous(find(result, A), DAY1 + 120, DAY1 + 3_660);
+
+        fetcher.calls.clear();
+        cache.query("q", DAY1 + 7_200, DAY1 + 9_000, "1m", fetcher);
+        assertThat(fetcher.calls).isEmpty();
+    }
+
+    @Test
+    void openTailChunkIsFetchedEveryTimeAndNotCached() {
+        // settle 0 → 어제 chunk 는 항상 닫힘 (자정 직후 실행돼도 결과가 같도록)
+        PrometheusRangeCache cache = new PrometheusRangeCache(10_000_000, DAY, 0);
+        RecordingFetcher fetcher = new RecordingFetcher();
+        long now = System.currentTimeMillis() / 1000;
+        long today = Math.floorDiv(now, DAY) * DAY;
+        long alignedNow = Math.floorDiv(now, STEP) * STEP;
+
+        cache.query("q", today - DAY, now, "1m", fetcher);
+        fetcher.calls.clear();
+
+        List<Series> result = cache.query("q", today - DAY, now, "1m", fetcher);
+
+        // 어제 chunk 는 캐시, 오늘(열린) chunk 만 요청 구간 끝까지 다시 조회
+        assertThat(fetcher.calls).hasSize(1);
+        assertThat(fetcher.calls.get(0)).containsExactly(today, alignedNow);
+        assertThat(cache.size()).isEqualTo(1);
+        assertContiguous(find(result, A), today - DAY, alignedNow);
+    }
+
+    @Test
+    void seriesPresentOnlyInSomeChunksIsStitchedFromThoseChunks() {
+        PrometheusRangeCache cache = newCache();
+        RecordingFetcher fetcher = new RecordingFetcher(DAY2 + 600, DAY2 + 1_200);
+
+        // DAY2 만 먼저 캐시해 두고 DAY1 ~ DAY3 조회 → B 는 캐시된 chunk 에서만 나옴
+        cache.query("q", DAY2, DAY3 - STEP, "1m", fetcher);
+        List<Series> result = cache.query("q", DAY1, DAY3 + DAY - STEP, "1m", fetcher);
+
+        assertThat(result).hasSize(2);
+        assertContiguous(find(result, A), DAY1, DAY3 + DAY - STEP);
+        assertContiguous(find(result, B), DAY2 + 600, DAY2 + 1_200);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedChunksBySampleBudget() {
+        // chunk 1개 = 1,440 샘플, 예산 = 10 chunk 분량
+        PrometheusRangeCache cache = new PrometheusRangeCache(14_400, DAY, 300);
+        RecordingFetcher fetcher = new RecordingFetcher();
+
+        for (int day = 0; day < 12; day++) {
+            long start = DAY1 + day * DAY;
+            cache.query("q", start, start + DAY - STEP, "1m", fetcher);
+        }
+
+        assertThat(cache.samples()).isEqualTo(14_400);
+        assertThat(cache.size()).isEqualTo(10);
+
+        // 가장 오래 안 쓴 첫 두 chunk 가 빠짐
+        fetcher.calls.clear();
+        cache.query("q", DAY1 + 2 * DAY, DAY1 + 12 * DAY - STEP, "1m", fetcher);
+        assertThat(fetcher.calls).isEmpty();
+        cache.query("q", DAY1, DAY1 + DAY - STEP, "1m", fetcher);
+        assertThat(fetcher.calls).hasSize(1);
+
+        // 예산의 1/10 을 넘는 chunk (2 series × 1,440) 는 저장하지 않음
+        PrometheusRangeCache small = new PrometheusRangeCache(20_000, DAY, 300);
+        RecordingFetcher twoSeries = new RecordingFetcher(DAY1, DAY2);
+        small.query("q", DAY1, DAY2 - STEP, "1m", twoSeries);
+        assertThat(small.size()).isZero();
+    }
+
+    @Test
+    void unknownStepBypassesCache() {
+        PrometheusRangeCache cache = newCache();
+        RecordingFetcher fetcher = new RecordingFetcher();
+
+        cache.query("q", DAY1, DAY1 + 600, "abc", fetcher);
+        cache.query("q", DAY1, DAY1 + 600, "abc", fetcher);
+
+        assertThat(fetcher.calls).hasSize(2);
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,53 @@
+package com.study.monitoring.studymonitoring.config;
+
+import com.study.monitoring.studymonitoring.model.dto.response.PageResponseDTO;
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightConfigTest {
+
+    @Test
+    void copiesNestedMapsAndLists() {
+        Map<String, Object> inner = new HashMap<>(Map.of("ERROR", 3L));
+        List<Object> buckets = new ArrayList<>(List.of(new HashMap<>(Map.of("count", 1L))));
+        Map<String, Object> original = new HashMap<>(Map.of("logCounts", inner, "distribution", buckets, "took", 5L));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> copy = (Map<String, Object>) SingleFlightConfig.copyResult(original);
+
+        assertThat(copy).isEqualTo(original).isNotSameAs(original);
+        assertThat(copy.get("logCounts")).isNotSameAs(inner);
+        assertThat(copy.get("distribution")).isNotSameAs(buckets);
+        assertThat(((List<?>) copy.get("distribution")).get(0)).isNotSameAs(buckets.get(0));
+
+        copy.put("error", "x");
+        inner.put("WARN", 1L);
+        assertThat(original).doesNotContainKey("error");
+        assertThat(((Map<?, ?>) copy.get("logCounts")).containsKey("WARN")).isFalse();
+    }
+
+    @Test
+    void copiesPageAndSeries() {
+        PageResponseDTO<Map<String, Object>> page = new PageResponseDTO<>(
+                new ArrayList<>(List.of(new HashMap<>(Map.of("id", "a")))), 1, 1, 0, 10, "next");
+        PageResponseDTO<?> pageCopy = (PageResponseDTO<?>) SingleFlightConfig.copyResult(page);
+        assertThat(pageCopy.getContent()).isEqualTo(page.getContent()).isNotSameAs(page.getContent());
+        assertThat(pageCopy.getNextCursor()).isEqualTo("next");
+
+        PrometheusMatrixDecoder.Series series = new PrometheusMatrixDecoder.Series(
+                Map.of("instance", "a"), new long[]{1, 2}, new double[]{0.5, 0.6});
+        PrometheusMatrixDecoder.Series seriesCopy = (PrometheusMatrixDecoder.Series) SingleFlightConfig.copyResult(series);
+        assertThat(seriesCopy.values()).containsExactly(0.5, 0.6).isNotSameAs(series.values());
+        assertThat(seriesCopy.timestamps()).isNotSameAs(series.timestamps());
+
+        assertThat(SingleFlightConfig.copyResult("value")).isEqualTo("value");
+        assertThat(SingleFlightConfig.copyResult(null)).isNull();
+    }
+}
@@ -0,0 +1,47 @@
+package com.study.monitoring.studymonitoring.util;
+
+/**
+ * LogLevelClassifier 이전의 String.contains 규칙 (ElasticsearchServiceImpl 에서 옮겨 온 그대로)
+ * - 동등성 테스트와 벤치마크의 비교 기준으로만 사용
+ */
+final class LegacyLogLevelRules {
+
+    private LegacyLogLevelRules() {
+    }
+
+    static boolean hasFatalKeyword(String message) {
+        return message.contains("OutOfMemory") ||
+                message.contains("StackOverflow") ||
+                message.contains("Deadlock") ||
+                message.contains("Connection refused") ||
+                message.contains("Fatal") ||
+                message.contains("CRITICAL") ||
+                message.contains("🚨");
+    }
+
+    static boolean hasManualCritical(String message) {
+        return message != null && (message.contains("Critical") || message.contains("🚨"));
+    }
+
+    static LogLevelClassifier.SecurityCategory classifySecurity(String rawMessage) {
+        if (rawMessage == null) {
+            return null;
+        }
+        if (rawMessage.contains("Bad credentials") ||
+                rawMessage.contains("password does not match") ||
+                rawMessage.contains("User not found") ||
+                rawMessage.contains("Authentication failed")) {
+            return LogLevelClassifier.SecurityCategory.LOGIN_FAILURE;
+        } else if (rawMessage.contains("Access is denied") ||
+                rawMessage.contains("AccessDeniedException") ||
+                rawMessage.contains("AnonymouseAuthenticationToken")) {
+            return LogLevelClassifier.SecurityCategory.ACCESS_DENIED;
+        } else if (rawMessage.contains("Invalid CSRF") ||
+                rawMessage.contains("Missing CSRF")) {
+            return LogLevelClassifier.SecurityCategory.CSRF_WARNING;
+        } else if (rawMessage.contains("Session") && rawMessage.contains("expired")) {
+            return LogLevelClassifier.SecurityCategory.SESSION_EXPIRED;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.study.monitoring.studymonitoring.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LogLevelClassifier vs 이전 String.contains 규칙 벤치마크
+ * - 메시지 길이별: SHORT(한 줄 로그 ~100자), MEDIUM(요청/SQL 로그 ~500자), STACK_TRACE(스택 트레이스 ~6KB)
+ * - 대부분의 로그는 키워드가 없으므로 키워드 없는 메시지 90%, 키워드가 뒤쪽에 있는 메시지 10%
+ * - 한 번 호출에 메시지 1,000개를 판정 (결과는 ops 당 1,000 건 기준), 실제 호출처럼 메시지당 규칙 하나씩
+ *
+ * - 참고 (JDK 21, 1000건 기준 µs): Aho-Corasick DFA 1회 스캔은 SHORT 421 / STACK_TRACE 24,212 로
+ *   contains 의 285 / 9,982 보다 느려서 분류기는 contains 규칙을 유지함
+ *
+ * 실행 (mvn test 에서는 실행되지 않음):
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main LogLevelClassifierBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogLevelClassifierBenchmark {
+
+    private static final int MESSAGE_COUNT = 1_000;
+
+    private static final String[] KEYWORDS = {
+            "OutOfMemoryError", "Deadlock detected", "Connection refused", "🚨", "Bad credentials",
+            "Access is denied", "Invalid CSRF token", "Session expired"
+    };
+
+    public enum MessageSize {
+        SHORT, MEDIUM, STACK_TRACE
+    }
+
+    @Param({"SHORT", "MEDIUM", "STACK_TRACE"})
+    public MessageSize size;
+
+    private List<String> messages;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        messages = new ArrayList<>(MESSAGE_COUNT);
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            String body = body(size, random);
+            messages.add(random.nextInt(10) == 0
+                    ? body + " " + KEYWORDS[random.nextInt(KEYWORDS.length)]
+                    : body);
+        }
+    }
+
+    // 애플리케이션 로그 레벨 판정 (determineLogLevel)
+    @Benchmark
+    public void fatalKeywordLegacy(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(LegacyLogLevelRules.hasFatalKeyword(message));
+        }
+    }
+
+    @Benchmark
+    public void fatalKeywordClassifier(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(LogLevelClassifier.hasFatalKeyword(message));
+        }
+    }
+
+    // 보안 로그 유형 분류 (convertHitToMap)
+    @Benchmark
+    public void securityLegacy(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(LegacyLogLevelRules.classifySecurity(message));
+        }
+    }
+
+    @Benchmark
+    public void securityClassifier(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(LogLevelClassifier.classifySecurity(message));
+        }
+    }
+
+    private static String body(MessageSize size, Random random) {
+        String line = "2024-01-01 12:00:00.123 INFO [http-nio-8080-exec-" + random.nextInt(200)
+                + "] c.s.m.service.UserService - request completed userId=" + random.nextInt(100_000)
+                + " in " + random.nextInt(500) + "ms";
+        return switch (size) {
+            case SHORT -> line;
+            case MEDIUM -> line + " query=SELECT u.id, u.name, u.email, u.created_at FROM users u "
+                    + "JOIN user_roles r ON r.user_id = u.id WHERE u.status = 'ACTIVE' AND r.role IN ('ADMIN', 'USER') "
+                    + "ORDER BY u.created_at DESC LIMIT 50 params=[ACTIVE, ADMIN, USER] headers={accept=application/json, "
+                    + "user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/120.0}";
+            case STACK_TRACE -> {
+                StringBuilder trace = new StringBuilder(line)
+                        .append("\njava.lang.IllegalStateException: unexpected state for order ")
+                        .append(random.nextInt(100_000));
+                for (int frame = 0; frame < 60; frame++) {
+                    trace.append("\n\tat com.study.monitoring.studymonitoring.service.impl.OrderServiceImpl.process")
+                            .append(frame).append("(OrderServiceImpl.java:").append(100 + frame).append(')');
+                }
+                yield trace.toString();
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.study.monitoring.studymonitoring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogLevelClassifierTest {
+
+    // 규칙 키워드 + 일부만 겹치는 조각 + 일반 로그 문구
+    private static final String[] FRAGMENTS = {
+            "OutOfMemory", "OutOfMem", "StackOverflow", "Stack", "Deadlock", "Dead", "Connection refused",
+            "Connection re", "Fatal", "fatal", "CRITICAL", "Critical", "critical", "CRIT", "🚨", "😀", "\uD83D",
+            "Bad credentials", "Bad cred", "password does not match", "User not found", "Authentication failed",
+            "Access is denied", "AccessDeniedException", "AnonymouseAuthenticationToken", "Invalid CSRF",
+            "Missing CSRF", "CSRF", "Session", "session", "expired", "expire",
+            " ", "INFO ", "c.s.m.s.service.UserService - ", "request completed in 12ms", "\n\tat ", "한글 로그 "
+    };
+
+    private static final List<String> SAMPLES = List.of(
+            "",
+            "2024-01-01 INFO c.s.m.UserService - user logged in",
+            "java.lang.OutOfMemoryError: Java heap space",
+            "🚨 manual critical alert",
+            "Critical path slow",
+            "CRITICAL disk full",
+            "Bad credentials for user admin",
+            "Access is denied (user is anonymous); AnonymouseAuthenticationToken",
+            "Invalid CSRF token found",
+            "Session abc123 expired",
+            "Session started, token expired later",
+            "expired Session",
+            "Bad credentials and Access is denied and Invalid CSRF and Session expired"
+    );
+
+    @Test
+    void matchesLegacyContainsRulesOnSamples() {
+        SAMPLES.forEach(LogLevelClassifierTest::assertSameAsLegacy);
+    }
+
+    @Test
+    void matchesLegacyContainsRulesOnRandomMessages() {
+        Random random = new Random(20240101);
+        for (String message : randomMessages(random, 20_000)) {
+            assertSameAsLegacy(message);
+        }
+    }
+
+    @Test
+    void matchesSurrogatePairKeywordOnly() {
+        // 🚨 = U+1F6A8 (D83D DEA8), 😀 = U+1F600 (D83D DE00) - high surrogate 가 같음
+        assertThat(LogLevelClassifier.hasFatalKeyword("장애 발생 🚨 즉시 확인")).isTrue();
+        assertThat(LogLevelClassifier.hasManualCritical("\uD83D🚨")).isTrue();
+        assertThat(LogLevelClassifier.hasFatalKeyword("😀")).isFalse();
+        assertThat(LogLevelClassifier.hasManualCritical("\uD83D")).isFalse();
+        assertThat(LogLevelClassifier.hasManualCritical("\uDEA8\uD83D")).isFalse();
+    }
+
+    @Test
+    void findsKeywordsThatOverlapOrRestartMidMatch() {
+        // "Connection re" 까지 진행한 뒤 다시 시작되는 키워드, 서로 겹치는 키워드
+        assertThat(LogLevelClassifier.hasFatalKeyword("Connection reFatal")).isTrue();
+        assertThat(LogLevelClassifier.hasFatalKeyword("Connection Connection refused")).isTrue();
+        assertThat(LogLevelClassifier.hasFatalKeyword("Connection re")).isFalse();
+        assertThat(LogLevelClassifier.classifySecurity("Sessionexpired"))
+                .isEqualTo(LogLevelClassifier.SecurityCategory.SESSION_EXPIRED);
+        assertThat(LogLevelClassifier.classifySecurity("Bad credentials; Access is denied"))
+                .isEqualTo(LogLevelClassifier.SecurityCategory.LOGIN_FAILURE);
+    }
+
+    @Test
+    void manualCriticalAcceptsNull() {
+        assertThat(LogLevelClassifier.hasManualCritical(null)).isFalse();
+        assertThat(LogLevelClassifier.classifySecurity(null)).isNull();
+    }
+
+    @Test
+    void normalizesStandardLevelsIgnoringCase() {
+        assertThat(LogLevelClassifier.normalizeLevel("warn")).isEqualTo("WARN");
+        assertThat(LogLevelClassifier.normalizeLevel("Critical")).isEqualTo("CRITICAL");
+        assertThat(LogLevelClassifier.normalizeLevel("WARNING")).isNull();
+        assertThat(LogLevelClassifier.normalizeLevel("null")).isNull();
+        assertThat(LogLevelClassifier.normalizeLevel(null)).isNull();
+    }
+
+    private static void assertSameAsLegacy(String message) {
+        assertThat(LogLevelClassifier.hasFatalKeyword(message))
+                .as("hasFatalKeyword(%s)", message)
+                .isEqualTo(LegacyLogLevelRules.hasFatalKeyword(message));
+        assertThat(LogLevelClassifier.hasManualCritical(message))
+                .as("hasManualCritical(%s)", message)
+                .isEqualTo(LegacyLogLevelRules.hasManualCritical(message));
+        assertThat(LogLevelClassifier.classifySecurity(message))
+                .as("classifySecurity(%s)", message)
+                .isEqualTo(LegacyLogLevelRules.classifySecurity(message));
+    }
+
+    static List<String> randomMessages(Random random, int count) {
+        List<String> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder message = new StringBuilder();
+            int parts = random.nextInt(6);
+            for (int p = 0; p < parts; p++) {
+                message.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            messages.add(message.toString());
+        }
+        return messages;
+    }
+}
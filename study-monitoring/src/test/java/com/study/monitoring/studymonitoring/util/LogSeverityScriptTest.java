@@ -0,0 +1,90 @@
+package com.study.monitoring.studymonitoring.util;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * log-severity.painless (색인 시점 판정) 와 LogLevelClassifier / determineLogLevel (조회 시점 판정) 규칙 비교
+ * - 두 규칙이 다르면 같은 로그가 색인 시점에 따라 다른 레벨로 필터/집계됨
+ */
+class LogSeverityScriptTest {
+
+    private static final Pattern KEYWORD_ARRAY = Pattern.compile("String\\[] (\\w+) = new String\\[] \\{([^}]*)}");
+    private static final Pattern QUOTED = Pattern.compile("'([^']*)'");
+
+    private static String script;
+    private static Map<String, List<String>> keywordArrays;
+
+    @BeforeAll
+    static void loadScript() throws IOException {
+        script = new ClassPathResource("elasticsearch/log-severity.painless").getContentAsString(StandardCharsets.UTF_8);
+        keywordArrays = new HashMap<>();
+        Matcher array = KEYWORD_ARRAY.matcher(script);
+        while (array.find()) {
+            List<String> keywords = new ArrayList<>();
+            Matcher quoted = QUOTED.matcher(array.group(2));
+            while (quoted.find()) {
+                keywords.add(quoted.group(1));
+            }
+            keywordArrays.put(array.group(1), keywords);
+        }
+    }
+
+    @Test
+    void fatalKeywordsMatchClassifier() {
+        assertThat(keywordArrays.get("fatalKeywords")).isEqualTo(LogLevelClassifier.fatalKeywords());
+    }
+
+    @Test
+    void securityKeywordsMatchClassifier() {
+        assertThat(keywordArrays.get("loginFailureKeywords"))
+                .isEqualTo(LogLevelClassifier.securityKeywords(LogLevelClassifier.SecurityCategory.LOGIN_FAILURE));
+        assertThat(keywordArrays.get("accessDeniedKeywords"))
+                .isEqualTo(LogLevelClassifier.securityKeywords(LogLevelClassifier.SecurityCategory.ACCESS_DENIED));
+        assertThat(keywordArrays.get("csrfKeywords"))
+                .isEqualTo(LogLevelClassifier.securityKeywords(LogLevelClassifier.SecurityCategory.CSRF_WARNING));
+        assertThat(script).contains("message.contains('Session') && message.contains('expired')");
+    }
+
+    @Test
+    void doesNotApplyRecentErrorsOnlyEscalation() {
+        // resolveLogLevel("Critical", MDC CRITICAL) 은 최근 에러 패널 전용 - determineLogLevel 에는 없음
+        assertThat(LogLevelClassifier.fatalKeywords()).doesNotContain("Critical");
+        assertThat(script).doesNotContain("'Critical'").doesNotContain("ctx.mdc");
+    }
+
+    @Test
+    void securityLevelsMatchClassifier() {
+        // 스크립트 분기 순서: 로그인 실패(WARN) → 권한 없음(ERROR) → CSRF(ERROR) → 세션 만료(WARN)
+        int login = script.indexOf("containsAny(message, loginFailureKeywords)");
+        int access = script.indexOf("containsAny(message, accessDeniedKeywords)");
+        int csrf = script.indexOf("containsAny(message, csrfKeywords)");
+        int session = script.indexOf("message.contains('Session')");
+        assertThat(login).isPositive().isLessThan(access);
+        assertThat(access).isLessThan(csrf);
+        assertThat(csrf).isLessThan(session);
+
+        assertThat(levelAfter(login)).isEqualTo(LogLevelClassifier.SecurityCategory.LOGIN_FAILURE.getLevel());
+        assertThat(levelAfter(access)).isEqualTo(LogLevelClassifier.SecurityCategory.ACCESS_DENIED.getLevel());
+        assertThat(levelAfter(csrf)).isEqualTo(LogLevelClassifier.SecurityCategory.CSRF_WARNING.getLevel());
+        assertThat(levelAfter(session)).isEqualTo(LogLevelClassifier.SecurityCategory.SESSION_EXPIRED.getLevel());
+    }
+
+    private static String levelAfter(int position) {
+        Matcher candidate = Pattern.compile("candidate = '(\\w+)'").matcher(script);
+        assertThat(candidate.find(position)).isTrue();
+        return candidate.group(1);
+    }
+}
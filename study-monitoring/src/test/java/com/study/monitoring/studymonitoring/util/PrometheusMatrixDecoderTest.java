@@ -0,0 +1,161 @@
+package com.study.monitoring.studymonitoring.util;
+
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder.Series;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrometheusMatrixDecoderTest {
+
+    private static List<Series> decode(String json, int expectedPoints) throws IOException {
+        return PrometheusMatrixDecoder.decode(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), expectedPoints);
+    }
+
+    private static String matrix(String result) {
+        return "{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\",\"result\":[" + result + "]}}";
+    }
+
+    // [from, from + 60, ...] 포인트 count 개, 값 = 인덱스
+    private static String values(long from, int count) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append('[').append(from + i * 60L).append(",\"").append(i).append("\"]");
+        }
+        return builder.append(']').toString();
+    }
+
+    private static Series series(Map<String, String> labels, long[] timestamps, double[] values) {
+        return new Series(labels, timestamps, values);
+    }
+
+    @Test
+    void decodesSeriesWithLabelsAndTruncatesFractionalTimestamps() throws IOException {
+        List<Series> result = decode(matrix(
+                "{\"metric\":{\"job\":\"api\",\"instance\":\"a:9100\"},"
+                        + "\"values\":[[1700000000.123,\"1.5\"],[1700000060,\"-2\"]]},"
+                        + "{\"metric\":{},\"values\":[[1700000000,\"3\"]]}"), 2);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).labels()).containsExactlyInAnyOrderEntriesOf(Map.of("job", "api", "instance", "a:9100"));
+        assertThat(result.get(0).timestamps()).containsExactly(1_700_000_000L, 1_700_000_060L);
+        assertThat(result.get(0).values()).containsExactly(1.5, -2.0);
+        assertThat(result.get(1).labels()).isEmpty();
+        assertThat(result.get(1).values()).containsExactly(3.0);
+    }
+
+    @Test
+    void nonSuccessStatusReturnsEmptyEvenWithData() throws IOException {
+        String body = "{\"data\":{\"resultType\":\"matrix\",\"result\":[{\"metric\":{},\"values\":[[1,\"1\"]]}]},"
+                + "\"status\":\"error\",\"errorType\":\"bad_data\",\"error\":\"invalid step\"}";
+
+        assertThat(decode(body, 0)).isEmpty();
+    }
+
+    @Test
+    void statusAfterDataStillCountsAsSuccess() throws IOException {
+        String body = "{\"data\":{\"resultType\":\"matrix\",\"result\":[{\"metric\":{},\"values\":[[1,\"1\"]]}]},"
+                + "\"warnings\":[\"partial\"],\"status\":\"success\"}";
+
+        assertThat(decode(body, 0)).hasSize(1);
+    }
+
+    @Test
+    void emptyOrMissingResultReturnsEmpty() throws IOException {
+        assertThat(decode(matrix(""), 10)).isEmpty();
+        assertThat(decode("{\"status\":\"success\",\"data\":{\"resultType\":\"matrix\"}}", 10)).isEmpty();
+        assertThat(decode("{\"status\":\"success\"}", 10)).isEmpty();
+        assertThat(decode("[]", 10)).isEmpty();
+    }
+
+    @Test
+    void specialValuesAreDecodedWithoutStringParsing() throws IOException {
+        List<Series> result = decode(matrix("{\"metric\":{},\"values\":["
+                + "[1,\"NaN\"],[2,\"+Inf\"],[3,\"-Inf\"],[4,\"Inf\"],[5,\"-0.25\"],[6,\"1e3\"],[7,\"garbage\"]]}"), 7);
+
+        double[] values = result.get(0).values();
+        assertThat(values[0]).isNaN();
+        assertThat(values[1]).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(values[2]).isEqualTo(Double.NEGATIVE_INFINITY);
+        assertThat(values[3]).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(values[4]).isEqualTo(-0.25);
+        assertThat(values[5]).isEqualTo(1000.0);
+        assertThat(values[6]).isNaN();
+    }
+
+    @Test
+    void arraysGrowPastExpectedPointsAndAreTrimmedToSize() throws IOException {
+        // 예상보다 많은 포인트 (2 → 5), 예상 없음 + 기본 용량 초과 (0 → 300), 예상보다 적은 포인트 (10 → 3)
+        Series grown = decode(matrix("{\"metric\":{},\"values\":" + values(0, 5) + "}"), 2).get(0);
+        Series unknown = decode(matrix("{\"metric\":{},\"values\":" + values(0, 300) + "}"), 0).get(0);
+        Series trimmed = decode(matrix("{\"metric\":{},\"values\":" + values(0, 3) + "}"), 10).get(0);
+
+        assertThat(grown.size()).isEqualTo(5);
+        assertThat(grown.values()).containsExactly(0, 1, 2, 3, 4);
+        assertThat(grown.timestamps()).containsExactly(0, 60, 120, 180, 240);
+
+        assertThat(unknown.size()).isEqualTo(300);
+        assertThat(unknown.values()).hasSize(300);
+        assertThat(unknown.values()[299]).isEqualTo(299.0);
+        assertThat(unknown.timestamps()[299]).isEqualTo(299 * 60L);
+
+        assertThat(trimmed.timestamps()).hasSize(3);
+        assertThat(trimmed.values()).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void unknownFieldsAreSkipped() throws IOException {
+        List<Series> result = decode(matrix("{\"metric\":{\"job\":\"api\"},\"histograms\":[[1,{\"count\":\"2\"}]],"
+                + "\"values\":[[1,\"1\",\"extra\"],[2,\"2\"]],\"extra\":{\"nested\":[1,2]}}"), 2);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).timestamps()).containsExactly(1, 2);
+        assertThat(result.get(0).values()).containsExactly(1, 2);
+    }
+
+    @Test
+    void sameLabelSetReusesInstanceAcrossResponses() throws IOException {
+        String body = matrix("{\"metric\":{\"job\":\"interned-test\"},\"values\":[[1,\"1\"]]}");
+
+        assertThat(decode(body, 1).get(0).labels()).isSameAs(decode(body, 1).get(0).labels());
+    }
+
+    @Test
+    void concatJoinsSeriesByLabelsInPartOrder() {
+        Map<String, String> a = Map.of("job", "a");
+        Map<String, String> b = Map.of("job", "b");
+        Map<String, String> c = Map.of("job", "c");
+        List<Series> part1 = List.of(
+                series(a, new long[]{0, 60}, new double[]{1, 2}),
+                series(c, new long[]{0}, new double[]{9}));
+        List<Series> part2 = List.of(
+                series(b, new long[]{120}, new double[]{5}),
+                series(a, new long[]{120, 180}, new double[]{3, Double.NaN}));
+
+        List<Series> merged = PrometheusMatrixDecoder.concat(List.of(part1, part2));
+
+        assertThat(merged).extracting(Series::labels).containsExactly(a, c, b);
+        assertThat(merged.get(0).timestamps()).containsExactly(0, 60, 120, 180);
+        assertThat(merged.get(0).values()).containsExactly(1, 2, 3, Double.NaN);
+        // 한 구간에만 있는 series 는 그대로
+        assertThat(merged.get(1)).isSameAs(part1.get(1));
+        assertThat(merged.get(2)).isSameAs(part2.get(0));
+    }
+
+    @Test
+    void concatOfSinglePartReturnsItAsIs() {
+        List<Series> part = List.of(series(Map.of(), new long[]{0}, new double[]{1}));
+
+        assertThat(PrometheusMatrixDecoder.concat(List.of(part))).isSameAs(part);
+        assertThat(PrometheusMatrixDecoder.concat(List.of(List.of(), part))).containsExactlyElementsOf(part);
+    }
+}
@@ -0,0 +1,33 @@
+package com.study.monitoring.studymonitoring.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrometheusStepTest {
+
+    @Test
+    void parsesUnitSuffixes() {
+        assertThat(PrometheusStep.toSeconds("15s")).isEqualTo(15);
+        assertThat(PrometheusStep.toSeconds("5m")).isEqualTo(300);
+        assertThat(PrometheusStep.toSeconds("6h")).isEqualTo(21_600);
+        assertThat(PrometheusStep.toSeconds("1d")).isEqualTo(86_400);
+        assertThat(PrometheusStep.toSeconds("1w")).isEqualTo(604_800);
+    }
+
+    @Test
+    void bareNumberIsSeconds() {
+        assertThat(PrometheusStep.toSeconds("60")).isEqualTo(60);
+    }
+
+    @Test
+    void unknownFormatIsZero() {
+        assertThat(PrometheusStep.toSeconds(null)).isZero();
+        assertThat(PrometheusStep.toSeconds("")).isZero();
+        assertThat(PrometheusStep.toSeconds("m")).isZero();
+        assertThat(PrometheusStep.toSeconds("1y")).isZero();
+        assertThat(PrometheusStep.toSeconds("1h30m")).isZero();
+        assertThat(PrometheusStep.toSeconds("1.5m")).isZero();
+        assertThat(PrometheusStep.toSeconds("-1m")).isZero();
+    }
+}
@@ -0,0 +1,78 @@
+package com.study.monitoring.studymonitoring.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    @Test
+    void coalescedCallersGetIndependentCopies() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(5),
+                value -> new HashMap<>((Map<?, ?>) value));
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> execute(singleFlight, () -> {
+            calls.incrementAndGet();
+            leaderStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new HashMap<>(Map.of("count", 1));
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> execute(singleFlight, () -> {
+            calls.incrementAndGet();
+            return new HashMap<>(Map.of("count", 2));
+        }));
+        // follower 가 leader 의 future 를 받은 뒤에 leader 를 끝냄 (그 전에 끝나면 follower 가 새 leader 가 됨)
+        awaitWaiting(singleFlight, 1);
+        release.countDown();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> leaderResult = (Map<String, Object>) leader.get(5, TimeUnit.SECONDS);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> followerResult = (Map<String, Object>) follower.get(5, TimeUnit.SECONDS);
+
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.waitingCount()).isZero();
+        assertThat(followerResult).isEqualTo(leaderResult).isNotSameAs(leaderResult);
+
+        leaderResult.put("mutated", true);
+        assertThat(followerResult).doesNotContainKey("mutated");
+    }
+
+    @Test
+    void defaultCopierReturnsResultAsIs() throws Throwable {
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(1));
+        Map<String, Object> result = new HashMap<>();
+
+        assertThat(singleFlight.execute("key", () -> result)).isSameAs(result);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    private static void awaitWaiting(SingleFlight singleFlight, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.waitingCount() < expected) {
+            assertThat(System.nanoTime()).as("follower did not join the in-flight call").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static Object execute(SingleFlight singleFlight, SingleFlight.Call call) {
+        try {
+            return singleFlight.execute("key", call);
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
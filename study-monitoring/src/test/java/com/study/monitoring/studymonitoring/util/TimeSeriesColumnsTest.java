@@ -0,0 +1,116 @@
+package com.study.monitoring.studymonitoring.util;
+
+import com.study.monitoring.studymonitoring.model.dto.response.StatisticsResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeSeriesColumnsTest {
+
+    private static final long START = 1_700_000_000L;
+
+    // value = 1, min = 0, max = 2, sampleCount = 1 인 포인트 size 개
+    private static TimeSeriesColumns flat(int size) {
+        TimeSeriesColumns columns = new TimeSeriesColumns(size);
+        for (int i = 0; i < size; i++) {
+            columns.add(START + i * 60L, 1.0, 0.0, 2.0, 1);
+        }
+        return columns;
+    }
+
+    @Test
+    void downsampleReturnsSameInstanceWhenWithinLimit() {
+        TimeSeriesColumns columns = flat(10);
+
+        assertThat(columns.downsample(10)).isSameAs(columns);
+        assertThat(columns.downsample(100)).isSameAs(columns);
+    }
+
+    @Test
+    void downsampleIsBoundedAndKeepsFirstAndLast() {
+        TimeSeriesColumns columns = flat(1000);
+
+        TimeSeriesColumns result = columns.downsample(40);
+
+        assertThat(result.size()).isEqualTo(40);
+        assertThat(result.timestamp(0)).isEqualTo(START);
+        assertThat(result.timestamp(39)).isEqualTo(START + 999 * 60L);
+        for (int i = 1; i < result.size(); i++) {
+            assertThat(result.timestamp(i)).isGreaterThan(result.timestamp(i - 1));
+        }
+    }
+
+    @Test
+    void valueSpikeIsKept() {
+        TimeSeriesColumns columns = new TimeSeriesColumns(1000);
+        for (int i = 0; i < 1000; i++) {
+            columns.add(START + i * 60L, i == 421 ? 95.0 : 5.0, Double.NaN, Double.NaN, 1);
+        }
+
+        TimeSeriesColumns result = columns.downsample(30);
+
+        int spike = result.indexOf(START + 421 * 60L);
+        assertThat(spike).isNotNegative();
+        assertThat(result.value(spike)).isEqualTo(95.0);
+    }
+
+    @Test
+    void droppedPointsFoldMinMaxAndSampleCountIntoPreviousKeptPoint() {
+        TimeSeriesColumns columns = flat(1000);
+        // 값은 평평하고 max 컬럼에만 spike → LTTB 가 고르지 않아도 밴드에 남아야 함
+        columns.setMaxValue(600, 500.0);
+        columns.setMinValue(601, -500.0);
+
+        TimeSeriesColumns result = columns.downsample(25);
+
+        double max = Double.NEGATIVE_INFINITY;
+        double min = Double.POSITIVE_INFINITY;
+        int samples = 0;
+        for (int i = 0; i < result.size(); i++) {
+            max = Math.max(max, result.maxValue(i));
+            min = Math.min(min, result.minValue(i));
+            samples += result.sampleCount(i);
+        }
+        assertThat(max).isEqualTo(500.0);
+        assertThat(min).isEqualTo(-500.0);
+        assertThat(samples).isEqualTo(1000);
+    }
+
+    @Test
+    void allNaNRangesKeepNoValueMinMax() {
+        TimeSeriesColumns columns = new TimeSeriesColumns(100);
+        for (int i = 0; i < 100; i++) {
+            boolean gap = i >= 20 && i < 60;
+            columns.add(START + i * 60L, gap ? Double.NaN : i % 7, Double.NaN, Double.NaN, gap ? 0 : 1);
+        }
+
+        TimeSeriesColumns result = columns.downsample(12);
+
+        assertThat(result.size()).isEqualTo(12);
+        List<StatisticsResponseDTO.DataPoint> points = result.toDataPoints();
+        assertThat(points).allSatisfy(point -> {
+            assertThat(point.getMinValue()).isNull();
+            assertThat(point.getMaxValue()).isNull();
+        });
+        assertThat(points.stream().mapToInt(StatisticsResponseDTO.DataPoint::getSampleCount).sum()).isEqualTo(60);
+    }
+
+    @Test
+    void sortByTimestampIsStableAndIndexOfFindsLastDuplicate() {
+        TimeSeriesColumns columns = new TimeSeriesColumns(4);
+        columns.add(START + 120, 3.0, Double.NaN, Double.NaN, 1);
+        columns.add(START, 1.0, Double.NaN, Double.NaN, 1);
+        columns.add(START + 60, 2.0, Double.NaN, Double.NaN, 1);
+        columns.add(START, 4.0, Double.NaN, Double.NaN, 1);
+
+        columns.sortByTimestamp();
+
+        assertThat(columns.value(0)).isEqualTo(1.0);
+        assertThat(columns.value(1)).isEqualTo(4.0);
+        assertThat(columns.indexOf(START)).isEqualTo(1);
+        assertThat(columns.indexOf(START + 120)).isEqualTo(3);
+        assertThat(columns.indexOf(START + 30)).isEqualTo(-1);
+    }
+}
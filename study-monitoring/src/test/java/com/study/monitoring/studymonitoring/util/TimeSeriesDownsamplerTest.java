@@ -0,0 +1,116 @@
+package com.study.monitoring.studymonitoring.util;
+
+import com.study.monitoring.studymonitoring.util.PrometheusMatrixDecoder.Series;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeSeriesDownsamplerTest {
+
+    private static long[] timestamps(int size) {
+        long[] timestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            timestamps[i] = 1_700_000_000L + i * 15L;
+        }
+        return timestamps;
+    }
+
+    private static double[] wave(int size) {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = Math.sin(i / 7.0) * 10 + (i % 3);
+        }
+        return values;
+    }
+
+    private static void assertStrictlyIncreasing(int[] kept) {
+        for (int i = 1; i < kept.length; i++) {
+            assertThat(kept[i]).isGreaterThan(kept[i - 1]);
+        }
+    }
+
+    @Test
+    void keepsEverythingWhenSizeIsWithinThreshold() {
+        assertThat(TimeSeriesDownsampler.lttb(timestamps(5), wave(5), 5, 10)).containsExactly(0, 1, 2, 3, 4);
+        assertThat(TimeSeriesDownsampler.lttb(timestamps(5), wave(5), 5, 5)).containsExactly(0, 1, 2, 3, 4);
+        // size 는 배열 길이가 아니라 앞에서부터 사용할 포인트 수
+        assertThat(TimeSeriesDownsampler.lttb(timestamps(10), wave(10), 3, 5)).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void outputIsBoundedAndKeepsFirstAndLast() {
+        for (int size : new int[]{4, 10, 101, 1000, 4321}) {
+            for (int maxPoints : new int[]{1, 3, 7, 50, 500}) {
+                int[] kept = TimeSeriesDownsampler.lttb(timestamps(size), wave(size), size, maxPoints);
+                int threshold = Math.max(maxPoints, TimeSeriesDownsampler.MIN_POINTS);
+
+                assertThat(kept).hasSize(Math.min(size, threshold));
+                assertThat(kept[0]).isZero();
+                assertThat(kept[kept.length - 1]).isEqualTo(size - 1);
+                assertStrictlyIncreasing(kept);
+            }
+        }
+    }
+
+    @Test
+    void spikesSurviveDownsampling() {
+        int size = 1000;
+        double[] values = new double[size];
+        Arrays.fill(values, 1.0);
+        values[537] = 100.0;
+        values[812] = -80.0;
+
+        int[] kept = TimeSeriesDownsampler.lttb(timestamps(size), values, size, 50);
+
+        assertThat(kept).hasSize(50).contains(537, 812);
+    }
+
+    @Test
+    void allNaNBucketKeepsItsFirstPointAndOtherBucketsSkipNaN() {
+        int size = 100;
+        double[] values = wave(size);
+        Arrays.fill(values, 20, 60, Double.NaN);
+
+        // bucketSize = (100 - 2) / (12 - 2) = 9.8 → 버킷 2 ~ 5 = [20,30) [30,40) [40,50) [50,59) 은 전부 NaN,
+        // 버킷 6 = [59,69) 는 첫 포인트만 NaN
+        int[] kept = TimeSeriesDownsampler.lttb(timestamps(size), values, size, 12);
+
+        assertThat(kept).hasSize(12).contains(20, 30, 40, 50).doesNotContain(59);
+        assertStrictlyIncreasing(kept);
+        long nanKept = Arrays.stream(kept).filter(index -> Double.isNaN(values[index])).count();
+        assertThat(nanKept).isEqualTo(4);
+    }
+
+    @Test
+    void downsampleSeriesKeepsLabelsAndSelectedPoints() {
+        int size = 200;
+        long[] timestamps = timestamps(size);
+        double[] values = wave(size);
+        values[123] = 1_000.0;
+        Series series = new Series(Map.of("job", "api"), timestamps, values);
+
+        Series downsampled = TimeSeriesDownsampler.downsample(series, 20);
+
+        assertThat(downsampled.labels()).isSameAs(series.labels());
+        assertThat(downsampled.size()).isEqualTo(20);
+        assertThat(downsampled.timestamps()[0]).isEqualTo(timestamps[0]);
+        assertThat(downsampled.timestamps()[19]).isEqualTo(timestamps[size - 1]);
+        assertThat(downsampled.values()).contains(1_000.0);
+        for (int i = 0; i < downsampled.size(); i++) {
+            int index = Arrays.binarySearch(timestamps, downsampled.timestamps()[i]);
+            assertThat(downsampled.values()[i]).isEqualTo(values[index]);
+        }
+    }
+
+    @Test
+    void downsampleSeriesReturnsSameInstanceWhenNotNeeded() {
+        Series series = new Series(Map.of(), timestamps(10), wave(10));
+
+        assertThat(TimeSeriesDownsampler.downsample(series, null)).isSameAs(series);
+        assertThat(TimeSeriesDownsampler.downsample(series, 10)).isSameAs(series);
+        assertThat(TimeSeriesDownsampler.downsample(series, 1).size()).isEqualTo(TimeSeriesDownsampler.MIN_POINTS);
+    }
+}